@@ -0,0 +1,73 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.factory.AccessorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Compares the field accessors created by {@link AccessorFactory} with the plain reflection
+ * ({@code Field.get}/{@code Field.set}) and with the direct field access.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessorBenchmark {
+
+	private Dto dto;
+	private String value;
+	private Field field;
+	private Function<Dto,String> getter;
+	private BiConsumer<Dto,String> setter;
+
+	@Setup
+	public void setup() throws NoSuchFieldException {
+		dto = new Dto();
+		value = "value";
+		field = Dto.class.getDeclaredField("name");
+		field.setAccessible(true);
+		getter = AccessorFactory.getter(field);
+		setter = AccessorFactory.setter(field);
+	}
+
+	@Benchmark
+	public String getDirect() {
+		return dto.name;
+	}
+	@Benchmark
+	public Object getReflection() throws IllegalAccessException {
+		return field.get(dto);
+	}
+	@Benchmark
+	public String getAccessor() {
+		return getter.apply(dto);
+	}
+
+	@Benchmark
+	public Dto setDirect() {
+		dto.name = value;
+		return dto;
+	}
+	@Benchmark
+	public Dto setReflection() throws IllegalAccessException {
+		field.set(dto,value);
+		return dto;
+	}
+	@Benchmark
+	public Dto setAccessor() {
+		setter.accept(dto,value);
+		return dto;
+	}
+
+	public static class Dto {
+		private String name = "name";
+	}
+
+}
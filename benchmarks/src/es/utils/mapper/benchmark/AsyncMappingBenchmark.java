@@ -0,0 +1,61 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.OrderLine;
+import es.utils.mapper.benchmark.model.OrderLineDto;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the asynchronous mapping, run by the default executor of the configuration
+ * (virtual threads on Java 21 or later, a bounded pool otherwise), compared with the synchronous mapping.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncMappingBenchmark {
+
+	@Param({"1","100"})
+	private int size;
+
+	private Mapper mapper;
+	private List<OrderLine> list;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		mapper.add(OrderLine.class,OrderLineDto.class);
+		mapper.build();
+		list = new ArrayList<>(size);
+		for(int i=0; i<size; ++i) {
+			list.add(new OrderLine("product"+i,i,i*1.5));
+		}
+	}
+
+	@Benchmark
+	public OrderLineDto mapSync() throws MappingException, MappingNotFoundException {
+		return mapper.map(list.get(0),OrderLineDto.class);
+	}
+	@Benchmark
+	public OrderLineDto mapAsync() {
+		return mapper.mapAsync(list.get(0),OrderLineDto.class).join();
+	}
+	@Benchmark
+	public List<OrderLineDto> mapListSync() {
+		return mapper.mapList(list,OrderLineDto.class);
+	}
+	@Benchmark
+	public List<OrderLineDto> mapAllAsync() {
+		return mapper.mapAllAsync(list,OrderLineDto.class).join();
+	}
+
+}
@@ -0,0 +1,28 @@
+package es.utils.mapper.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler enabled, so that the allocation per operation ({@code gc.alloc.rate.norm})
+ * is always reported next to the throughput and the latency percentiles.<br>
+ * The arguments are the same of the JMH command line (for example a regular expression to select the benchmarks):
+ * {@code java -cp target/benchmarks.jar es.utils.mapper.benchmark.BenchmarkRunner CoreMapping}
+ * @author eschoysman
+ */
+public class BenchmarkRunner {
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+
+}
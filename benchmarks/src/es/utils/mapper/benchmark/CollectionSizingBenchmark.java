@@ -0,0 +1,85 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of large collections into destination collections created already sized by the {@code Mapper}
+ * and into empty collections that grow while the elements are added.
+ * Run with {@code -prof gc} to compare the allocation of the two cases.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionSizingBenchmark {
+
+	@Param({"1000","100000"})
+	private int size;
+
+	private Mapper mapper;
+	private List<Source> list;
+	private Set<Source> set;
+	private Container container;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		mapper.add(Source.class,Dest.class);
+		mapper.add(Container.class,ContainerDto.class);
+		mapper.build();
+		list = new ArrayList<>(size);
+		set = new HashSet<>();
+		for(int i=0; i<size; i++) {
+			Source source = new Source();
+			source.id = i;
+			list.add(source);
+			set.add(source);
+		}
+		container = new Container();
+		container.elements = list;
+	}
+
+	@Benchmark
+	public List<Dest> mapListSized() {
+		return mapper.mapList(list,Dest.class);
+	}
+	@Benchmark
+	public List<Dest> mapListGrowing() {
+		return mapper.mapList(list,new ArrayList<>(),Dest.class);
+	}
+	@Benchmark
+	public Set<Dest> mapSetSized() {
+		return mapper.mapSet(set,Dest.class);
+	}
+	@Benchmark
+	public Set<Dest> mapSetGrowing() {
+		return mapper.mapSet(set,new HashSet<>(),Dest.class);
+	}
+	@Benchmark
+	public ContainerDto mapCollectionField() throws MappingException, MappingNotFoundException {
+		return mapper.map(container,ContainerDto.class);
+	}
+
+	public static class Source {
+		private int id;
+	}
+	public static class Dest {
+		private int id;
+	}
+	public static class Container {
+		private List<Source> elements;
+	}
+	public static class ContainerDto {
+		private List<Dest> elements;
+	}
+
+}
@@ -0,0 +1,57 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the mapping of a flat bean with the compiled {@code ClassMapper} and with the element-by-element one.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompiledMappingBenchmark {
+
+	@Param({"false","true"})
+	private boolean compiled;
+
+	private Mapper mapper;
+	private Source source;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		if(compiled) {
+			mapper.config().enableCompiledMapping();
+		}
+		mapper.addForClass(Source.class,Dest.class);
+		mapper.build();
+		source = new Source();
+	}
+
+	@Benchmark
+	public Dest map() throws MappingNotFoundException, MappingException {
+		return mapper.map(source,Dest.class);
+	}
+
+	public static class Source {
+		private String name = "name";
+		private String surname = "surname";
+		private Integer age = 42;
+		private String city = "city";
+	}
+	public static class Dest {
+		private String name;
+		private String surname;
+		private Integer age;
+		private String city;
+	}
+
+}
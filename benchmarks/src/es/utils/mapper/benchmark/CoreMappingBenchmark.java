@@ -0,0 +1,105 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.*;
+import es.utils.mapper.defaultvalue.DefaultValueStrategy;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the core mapping paths of the {@link Mapper} over realistic fixtures:
+ * flat, nested, collection-heavy and enum-heavy DTOs, plus the {@code @Default} and {@code @Converter} annotations.<br>
+ * The throughput and the latency percentiles are reported by the {@code Throughput} and {@code SampleTime} modes;
+ * the allocation per operation ({@code gc.alloc.rate.norm}) is reported running with {@code -prof gc} or through {@link BenchmarkRunner}.
+ * @author eschoysman
+ */
+@BenchmarkMode({Mode.Throughput,Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CoreMappingBenchmark {
+
+	@Param({"10"})
+	private int collectionSize;
+
+	private Mapper mapper;
+	private Mapper defaultValueMapper;
+
+	private Customer customer;
+	private Order order;
+	private List<OrderLine> orderLines;
+	private OrderLine[] orderLinesArray;
+	private Status status;
+	private Shipment shipment;
+	private Annotated annotated;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper("benchmark");
+		mapper.add(Customer.class,CustomerDto.class);
+		mapper.add(Address.class,AddressDto.class);
+		mapper.add(OrderLine.class,OrderLineDto.class);
+		mapper.add(Order.class,OrderDto.class);
+		mapper.add(Status.class,StatusDto.class);
+		mapper.add(Shipment.class,ShipmentDto.class);
+		mapper.build();
+
+		defaultValueMapper = new Mapper("benchmarkDefaultValues");
+		defaultValueMapper.config().setDefaultValueStrategy(DefaultValueStrategy.DEFAULT);
+		defaultValueMapper.add(Annotated.class,AnnotatedDto.class);
+		defaultValueMapper.build();
+
+		customer = new Customer();
+		order = new Order(collectionSize);
+		orderLines = order.getLines();
+		orderLinesArray = order.getGifts();
+		status = Status.DELIVERED;
+		shipment = new Shipment();
+		annotated = new Annotated();
+	}
+
+	@Benchmark
+	public CustomerDto mapFlat() throws MappingNotFoundException, MappingException {
+		return mapper.map(customer,CustomerDto.class);
+	}
+	@Benchmark
+	public CustomerDto mapFlatIntoInstance() throws MappingNotFoundException, MappingException {
+		return mapper.map(customer,new CustomerDto());
+	}
+	@Benchmark
+	public CustomerDto mapFlatImplicit() throws MappingNotFoundException, MappingException {
+		return mapper.map(customer);
+	}
+	@Benchmark
+	public OrderDto mapNestedWithCollections() throws MappingNotFoundException, MappingException {
+		return mapper.map(order,OrderDto.class);
+	}
+	@Benchmark
+	public List<OrderLineDto> mapCollection() {
+		return mapper.mapCollection(orderLines,new ArrayList<>(),OrderLineDto.class);
+	}
+	@Benchmark
+	public OrderLineDto[] mapArray() {
+		return mapper.mapArray(orderLinesArray,OrderLineDto.class);
+	}
+	@Benchmark
+	public StatusDto mapEnum() throws MappingNotFoundException, MappingException {
+		return mapper.map(status,StatusDto.class);
+	}
+	@Benchmark
+	public ShipmentDto mapEnumHeavy() throws MappingNotFoundException, MappingException {
+		return mapper.map(shipment,ShipmentDto.class);
+	}
+	@Benchmark
+	public AnnotatedDto mapDefaultValuesAndConverters() throws MappingNotFoundException, MappingException {
+		return defaultValueMapper.map(annotated,AnnotatedDto.class);
+	}
+
+}
@@ -0,0 +1,47 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.*;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.factory.CreationStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the mapping into a destination created by its empty constructor and then filled by the setters
+ * ({@link CreationStrategy#INSTANTIATOR}) with the mapping into an immutable destination created by its all-args constructor
+ * ({@link CreationStrategy#CONSTRUCTOR}).
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreationStrategyBenchmark {
+
+	private Mapper mapper;
+	private Address address;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		mapper.add(Address.class,AddressDto.class);
+		mapper.add(Address.class,ImmutableAddressDto.class);
+		mapper.build();
+		address = new Address();
+	}
+
+	@Benchmark
+	public AddressDto instantiator() throws MappingException, MappingNotFoundException {
+		return mapper.map(address,AddressDto.class);
+	}
+	@Benchmark
+	public ImmutableAddressDto constructor() throws MappingException, MappingNotFoundException {
+		return mapper.map(address,ImmutableAddressDto.class);
+	}
+
+}
@@ -0,0 +1,64 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.*;
+import es.utils.mapper.copy.DeepCopier;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the built-in deep copy engine: the copy of a nested and collection-heavy object by the {@link DeepCopier},
+ * and the mapping of the same object without deep copy and with the deep copy of every mapped value.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeepCopyBenchmark {
+
+	@Param({"10","100"})
+	private int collectionSize;
+
+	private DeepCopier copier;
+	private Mapper mapper;
+	private Mapper deepCopyMapper;
+	private Order order;
+
+	@Setup
+	public void setup() throws MappingException {
+		copier = new DeepCopier();
+		mapper = createMapper();
+		deepCopyMapper = createMapper();
+		deepCopyMapper.config().enableDeepCopy();
+		order = new Order(collectionSize);
+	}
+
+	@Benchmark
+	public Order copy() {
+		return copier.copy(order);
+	}
+	@Benchmark
+	public OrderDto map() throws MappingException, MappingNotFoundException {
+		return mapper.map(order,OrderDto.class);
+	}
+	@Benchmark
+	public OrderDto mapWithDeepCopy() throws MappingException, MappingNotFoundException {
+		return deepCopyMapper.map(order,OrderDto.class);
+	}
+
+	private static Mapper createMapper() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(Customer.class,CustomerDto.class);
+		mapper.add(Address.class,AddressDto.class);
+		mapper.add(OrderLine.class,OrderLineDto.class);
+		mapper.add(Order.class,OrderDto.class);
+		return mapper.build();
+	}
+
+}
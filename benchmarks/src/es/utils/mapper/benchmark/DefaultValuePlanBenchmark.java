@@ -0,0 +1,51 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.*;
+import es.utils.mapper.defaultvalue.DefaultValueStrategy;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mappings with the {@link DefaultValueStrategy#DEFAULT} strategy, where the empty fields of the origin and
+ * destination objects are filled through their {@code DefaultValuePlan}: a type without {@code @Default} fields,
+ * whose plan is empty, and a type with {@code @Default} fields.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultValuePlanBenchmark {
+
+	private Mapper mapper;
+	private Customer customer;
+	private Annotated annotated;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		mapper.config().setDefaultValueStrategy(DefaultValueStrategy.DEFAULT);
+		mapper.add(Customer.class,CustomerDto.class);
+		mapper.add(Address.class,AddressDto.class);
+		mapper.add(Annotated.class,AnnotatedDto.class);
+		mapper.build();
+		customer = new Customer();
+		annotated = new Annotated();
+	}
+
+	@Benchmark
+	public CustomerDto withoutDefaultValues() throws MappingException, MappingNotFoundException {
+		return mapper.map(customer,CustomerDto.class);
+	}
+	@Benchmark
+	public AnnotatedDto withDefaultValues() throws MappingException, MappingNotFoundException {
+		return mapper.map(annotated,AnnotatedDto.class);
+	}
+
+}
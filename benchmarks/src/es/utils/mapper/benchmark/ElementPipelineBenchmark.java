@@ -0,0 +1,54 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.*;
+import es.utils.mapper.defaultvalue.DefaultValueStrategy;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the element mappings of a flat DTO with the default configuration, where every element mapping
+ * is only a getter and a setter, against the same mapping with the default values and the deep copy enabled,
+ * where every stage of the element mappings is applied.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ElementPipelineBenchmark {
+
+	private Mapper plainMapper;
+	private Mapper fullMapper;
+	private Customer customer;
+
+	@Setup
+	public void setup() throws MappingException {
+		plainMapper = new Mapper();
+		plainMapper.add(Customer.class,CustomerDto.class);
+		plainMapper.add(Address.class,AddressDto.class);
+		plainMapper.build();
+		fullMapper = new Mapper();
+		fullMapper.config().setDefaultValueStrategy(DefaultValueStrategy.ALWAYS,DefaultValueStrategy.INPUT,DefaultValueStrategy.OUTPUT);
+		fullMapper.config().enableDeepCopy();
+		fullMapper.add(Customer.class,CustomerDto.class);
+		fullMapper.add(Address.class,AddressDto.class);
+		fullMapper.build();
+		customer = new Customer();
+	}
+
+	@Benchmark
+	public CustomerDto plainPipeline() throws MappingException, MappingNotFoundException {
+		return plainMapper.map(customer,CustomerDto.class);
+	}
+	@Benchmark
+	public CustomerDto fullPipeline() throws MappingException, MappingNotFoundException {
+		return fullMapper.map(customer,CustomerDto.class);
+	}
+
+}
@@ -0,0 +1,73 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.OrderLine;
+import es.utils.mapper.benchmark.model.OrderLineDto;
+import es.utils.mapper.exception.MappingException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code mapCollection} on a collection of a single type and on a collection mixing a class and its subclasses,
+ * where each element is mapped with the mapping of its own class.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HeterogeneousCollectionBenchmark {
+
+	@Param({"1000"})
+	private int size;
+
+	private Mapper mapper;
+	private List<OrderLine> monomorphic;
+	private List<OrderLine> polymorphic;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		mapper.add(OrderLine.class,OrderLineDto.class);
+		mapper.add(DiscountedLine.class,OrderLineDto.class);
+		mapper.build();
+		monomorphic = new ArrayList<>(size);
+		polymorphic = new ArrayList<>(size);
+		for(int i=0; i<size; ++i) {
+			monomorphic.add(new OrderLine("product"+i,i,i*1.5));
+			switch(i%3) {
+				case 0: polymorphic.add(new OrderLine("product"+i,i,i*1.5)); break;
+				case 1: polymorphic.add(new DiscountedLine("product"+i,i,i*1.5)); break;
+				default: polymorphic.add(new GiftLine("product"+i,i,i*1.5)); break;
+			}
+		}
+	}
+
+	@Benchmark
+	public List<OrderLineDto> mapMonomorphic() {
+		return mapper.mapCollection(monomorphic,new ArrayList<>(size),OrderLineDto.class);
+	}
+	@Benchmark
+	public List<OrderLineDto> mapPolymorphic() {
+		return mapper.mapCollection(polymorphic,new ArrayList<>(size),OrderLineDto.class);
+	}
+
+	public static class DiscountedLine extends OrderLine {
+		private Double discount = 0.1;
+		public DiscountedLine(String product, Integer quantity, Double price) {
+			super(product,quantity,price);
+		}
+	}
+	/** Without a mapping of its own: it is mapped with the mapping of {@code OrderLine} */
+	public static class GiftLine extends OrderLine {
+		public GiftLine(String product, Integer quantity, Double price) {
+			super(product,quantity,price);
+		}
+	}
+
+}
@@ -0,0 +1,86 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the implicit mapping {@link Mapper#map(Object)}, that looks up the unique mapping from the class of the input object,
+ * with an increasing number of registered mappings. The cost is expected not to depend on {@code registeredTypes}.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ImplicitMappingBenchmark {
+
+	private static final Class<?>[] TYPES = {
+		String.class,Integer.class,Long.class,Short.class,Byte.class,Double.class,Float.class,Character.class,Boolean.class,
+		BigDecimal.class,BigInteger.class,Date.class,UUID.class,Duration.class,Instant.class,LocalDate.class,LocalTime.class,LocalDateTime.class
+	};
+
+	@Param({"1","6","18"})
+	private int registeredTypes;
+
+	private Mapper mapper;
+	private Source source;
+	private Ambiguous ambiguous;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		for(int i=0; i<registeredTypes; i++) {
+			for(Class<?> to : TYPES) {
+				register(mapper,TYPES[i],to);
+			}
+		}
+		mapper.add(Source.class,Dest.class);
+		mapper.add(Ambiguous.class,Dest.class);
+		mapper.add(Ambiguous.class,Source.class);
+		mapper.build();
+		source = new Source();
+		ambiguous = new Ambiguous();
+	}
+
+	@Benchmark
+	public Dest implicitMap() throws MappingException, MappingNotFoundException {
+		return mapper.map(source);
+	}
+	@Benchmark
+	public Optional<Object> implicitMapAsOptionalAmbiguous() {
+		return mapper.mapAsOptional(ambiguous);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T,U> void register(Mapper mapper, Class<T> from, Class<?> to) throws MappingException {
+		mapper.add(from,(Class<U>)to,(Function<T,U>)obj->null);
+	}
+
+	public static class Source {
+		private String name = "name";
+	}
+	public static class Ambiguous {
+		private String name = "name";
+	}
+	public static class Dest {
+		private String name;
+	}
+
+}
@@ -0,0 +1,61 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.factory.CollectionFactory;
+import es.utils.mapper.factory.InstantiatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares the creation of the destination objects through the reflective constructor lookup,
+ * the instantiators cached by {@link InstantiatorFactory} and the plain {@code new} call.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InstantiationBenchmark {
+
+	private Mapper mapper;
+	private Supplier<Dto> instantiator;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		mapper = new Mapper();
+		instantiator = InstantiatorFactory.instantiator(Dto.class);
+	}
+
+	@Benchmark
+	public Dto direct() {
+		return new Dto();
+	}
+	@Benchmark
+	public Dto reflection() throws ReflectiveOperationException {
+		return Dto.class.getDeclaredConstructor().newInstance();
+	}
+	@Benchmark
+	public Dto instantiator() {
+		return instantiator.get();
+	}
+	@Benchmark
+	public Dto mapperCreateNewInstance() throws MappingException {
+		return mapper.createNewInstance(Dto.class);
+	}
+	@Benchmark
+	public Collection<Object> collectionFactory() {
+		return CollectionFactory.create(ArrayList.class,null);
+	}
+
+	public static class Dto {
+		private String name;
+	}
+
+}
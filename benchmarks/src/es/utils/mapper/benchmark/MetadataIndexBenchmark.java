@@ -0,0 +1,53 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.*;
+import es.utils.mapper.index.MetadataIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of the {@code FieldHolder}s of a set of annotated and plain classes by a new {@link Mapper},
+ * reading the annotations by reflection or from a {@link MetadataIndex} created in advance.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataIndexBenchmark {
+
+	private static final Class<?>[] TYPES = {
+		Annotated.class,AnnotatedDto.class,Customer.class,CustomerDto.class,Address.class,AddressDto.class,
+		Order.class,OrderDto.class,OrderLine.class,OrderLineDto.class,Shipment.class,ShipmentDto.class
+	};
+
+	private MetadataIndex index;
+
+	@Setup
+	public void setup() {
+		index = MetadataIndex.of(TYPES);
+	}
+
+	@Benchmark
+	public Mapper reflection() {
+		return scan(MetadataIndex.empty());
+	}
+	@Benchmark
+	public Mapper indexed() {
+		return scan(index);
+	}
+
+	private static Mapper scan(MetadataIndex metadataIndex) {
+		Mapper mapper = new Mapper();
+		mapper.config().setMetadataIndex(metadataIndex);
+		for(Class<?> type : TYPES) {
+			mapper.getFieldsHolderFromCache(type);
+		}
+		return mapper;
+	}
+
+}
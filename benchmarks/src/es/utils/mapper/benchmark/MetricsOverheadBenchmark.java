@@ -0,0 +1,60 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.*;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.metrics.InMemoryMappingMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the mapping metrics: {@code none} does not set any metrics, {@code inMemory} records the counters
+ * and the latencies of each mapping and element, {@code sampled} also measures the allocations of one mapping out of 100.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+	@Param({"none","inMemory","sampled"})
+	private String metrics;
+
+	private Mapper mapper;
+	private Customer customer;
+	private Order order;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper("metrics");
+		if("inMemory".equals(metrics)) {
+			mapper.config().setMetrics(new InMemoryMappingMetrics());
+		}
+		else if("sampled".equals(metrics)) {
+			mapper.config().setMetrics(new InMemoryMappingMetrics(100));
+		}
+		mapper.add(Customer.class,CustomerDto.class);
+		mapper.add(Address.class,AddressDto.class);
+		mapper.add(OrderLine.class,OrderLineDto.class);
+		mapper.add(Order.class,OrderDto.class);
+		mapper.add(Status.class,StatusDto.class);
+		mapper.build();
+		customer = new Customer();
+		order = new Order(10);
+	}
+
+	@Benchmark
+	public CustomerDto flat() throws MappingException, MappingNotFoundException {
+		return mapper.map(customer,CustomerDto.class);
+	}
+	@Benchmark
+	public OrderDto nested() throws MappingException, MappingNotFoundException {
+		return mapper.map(order,OrderDto.class);
+	}
+
+}
@@ -0,0 +1,64 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.OrderLine;
+import es.utils.mapper.benchmark.model.OrderLineDto;
+import es.utils.mapper.exception.MappingException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sequential and the parallel mapping of large collections and arrays.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelMappingBenchmark {
+
+	@Param({"10000","1000000"})
+	private int size;
+	@Param({"1024"})
+	private int chunkSize;
+
+	private Mapper mapper;
+	private List<OrderLine> list;
+	private OrderLine[] array;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		mapper.config().setParallelChunkSize(chunkSize);
+		mapper.add(OrderLine.class,OrderLineDto.class);
+		mapper.build();
+		list = new ArrayList<>(size);
+		for(int i=0; i<size; ++i) {
+			list.add(new OrderLine("product"+i,i,i*1.5));
+		}
+		array = list.toArray(new OrderLine[size]);
+	}
+
+	@Benchmark
+	public List<OrderLineDto> mapCollectionSequential() {
+		return mapper.mapCollection(list,new ArrayList<>(size),OrderLineDto.class);
+	}
+	@Benchmark
+	public List<OrderLineDto> mapCollectionParallel() {
+		return mapper.mapCollectionParallel(list,new ArrayList<>(size),OrderLineDto.class);
+	}
+	@Benchmark
+	public OrderLineDto[] mapArraySequential() {
+		return mapper.mapArray(array,OrderLineDto.class);
+	}
+	@Benchmark
+	public OrderLineDto[] mapArrayParallel() {
+		return mapper.mapArrayParallel(array,OrderLineDto.class);
+	}
+
+}
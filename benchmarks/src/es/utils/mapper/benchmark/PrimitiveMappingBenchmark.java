@@ -0,0 +1,66 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of a DTO made of primitive fields, that are copied without boxing.<br>
+ * Run with {@code -prof gc}: the allocation per operation ({@code gc.alloc.rate.norm}) is expected to be only the destination object.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveMappingBenchmark {
+
+	@Param({"false","true"})
+	private boolean compiled;
+
+	private Mapper mapper;
+	private Source source;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		if(compiled) {
+			mapper.config().enableCompiledMapping();
+		}
+		mapper.add(Source.class,Dest.class);
+		mapper.build();
+		source = new Source();
+	}
+
+	@Benchmark
+	public Dest map() throws MappingNotFoundException, MappingException {
+		return mapper.map(source,Dest.class);
+	}
+
+	public static class Source {
+		private int id = 123_456;
+		private long timestamp = 1_600_000_000_000L;
+		private double price = 1234.5678;
+		private double quantity = 98.76;
+		private float ratio = 0.75f;
+		private int count = 1_000;
+		private boolean active = true;
+		private int widened = 42;
+	}
+	public static class Dest {
+		private int id;
+		private long timestamp;
+		private double price;
+		private double quantity;
+		private float ratio;
+		private int count;
+		private boolean active;
+		private long widened;
+	}
+
+}
@@ -0,0 +1,42 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.*;
+import es.utils.mapper.exception.MappingException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the registration of {@code registeredMappings} {@code ClassMapper}s, calling {@link Mapper#build()} after each registration.
+ * Each build activates only the new mapping and the ones depending on it, so the total cost is expected to grow
+ * linearly with {@code registeredMappings} and not quadratically.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistrationScalingBenchmark {
+
+	private static final Class<?>[] TYPES = {
+		Annotated.class,AnnotatedDto.class,Customer.class,CustomerDto.class,Address.class,AddressDto.class,
+		Order.class,OrderDto.class,OrderLine.class,OrderLineDto.class,Shipment.class,ShipmentDto.class
+	};
+
+	@Param({"12","48","144"})
+	private int registeredMappings;
+
+	@Benchmark
+	public Mapper registerAndBuild() throws MappingException {
+		Mapper mapper = new Mapper();
+		for(int i=0; i<registeredMappings; i++) {
+			mapper.add(TYPES[i/TYPES.length],TYPES[i%TYPES.length]);
+			mapper.build();
+		}
+		return mapper;
+	}
+
+}
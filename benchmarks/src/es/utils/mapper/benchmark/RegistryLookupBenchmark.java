@@ -0,0 +1,70 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.doublekeymap.IdentityTwoKeyMap;
+import es.utils.doublekeymap.TwoKeyMap;
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.impl.MapperObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the lookup of a mapping by its pair of classes in the {@link TwoKeyMap} and in the {@link IdentityTwoKeyMap}.<br>
+ * Run with {@code -prof gc} to check the allocation rate: the {@code IdentityTwoKeyMap} and {@code Mapper.getMappingBetween} lookups
+ * are expected to allocate nothing ({@code gc.alloc.rate.norm} equal to 0).
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegistryLookupBenchmark {
+
+	private TwoKeyMap<Class<?>,Class<?>,String> twoKeyMap;
+	private IdentityTwoKeyMap<Class<?>,Class<?>,String> identityTwoKeyMap;
+	private Mapper mapper;
+	private Class<?> from;
+	private Class<?> to;
+
+	@Setup
+	public void setup() throws MappingException {
+		Class<?>[] types = {String.class,Integer.class,Long.class,Double.class,Source.class,Dest.class};
+		twoKeyMap = new TwoKeyMap<>();
+		identityTwoKeyMap = new IdentityTwoKeyMap<>();
+		for(Class<?> t1 : types) {
+			for(Class<?> t2 : types) {
+				twoKeyMap.put(t1,t2,t1+"->"+t2);
+				identityTwoKeyMap.put(t1,t2,t1+"->"+t2);
+			}
+		}
+		mapper = new Mapper();
+		mapper.add(Source.class,Dest.class);
+		mapper.build();
+		from = Source.class;
+		to = Dest.class;
+	}
+
+	@Benchmark
+	public String twoKeyMap() {
+		return twoKeyMap.get(from,to);
+	}
+	@Benchmark
+	public String identityTwoKeyMap() {
+		return identityTwoKeyMap.get(from,to);
+	}
+	@Benchmark
+	public MapperObject<?,?> mapperLookup() {
+		return mapper.getMappingBetween(from,to);
+	}
+
+	public static class Source {
+		private String name = "name";
+	}
+	public static class Dest {
+		private String name;
+	}
+
+}
@@ -0,0 +1,62 @@
+package es.utils.mapper.benchmark;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.benchmark.model.OrderLine;
+import es.utils.mapper.benchmark.model.OrderLineDto;
+import es.utils.mapper.exception.MappingException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the materialized mapping of a list with the lazy mapping of a stream and of an iterator.
+ * @author eschoysman
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StreamMappingBenchmark {
+
+	@Param({"1000"})
+	private int size;
+
+	private Mapper mapper;
+	private List<OrderLine> list;
+
+	@Setup
+	public void setup() throws MappingException {
+		mapper = new Mapper();
+		mapper.add(OrderLine.class,OrderLineDto.class);
+		mapper.build();
+		list = new ArrayList<>(size);
+		for(int i=0; i<size; ++i) {
+			list.add(new OrderLine("product"+i,i,i*1.5));
+		}
+	}
+
+	@Benchmark
+	public void mapList(Blackhole blackhole) {
+		for(OrderLineDto dto : mapper.mapList(list,OrderLineDto.class)) {
+			blackhole.consume(dto);
+		}
+	}
+	@Benchmark
+	public void mapStream(Blackhole blackhole) {
+		mapper.mapStream(list.stream(),OrderLineDto.class).forEach(blackhole::consume);
+	}
+	@Benchmark
+	public void mapIterator(Blackhole blackhole) {
+		Iterator<OrderLineDto> iterator = mapper.mapIterator(list.iterator(),OrderLineDto.class);
+		while(iterator.hasNext()) {
+			blackhole.consume(iterator.next());
+		}
+	}
+
+}
@@ -0,0 +1,14 @@
+package es.utils.mapper.benchmark.model;
+
+/**
+ * Nested source fixture, used as field of {@link Order}.
+ * @author eschoysman
+ */
+public class Address {
+
+	private String street = "Via Roma 1";
+	private String city = "Milano";
+	private String zipCode = "20100";
+	private String country = "IT";
+
+}
@@ -0,0 +1,14 @@
+package es.utils.mapper.benchmark.model;
+
+/**
+ * Nested destination fixture of {@link Address}.
+ * @author eschoysman
+ */
+public class AddressDto {
+
+	private String street;
+	private String city;
+	private String zipCode;
+	private String country;
+
+}
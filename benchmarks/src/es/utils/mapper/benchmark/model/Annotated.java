@@ -0,0 +1,23 @@
+package es.utils.mapper.benchmark.model;
+
+import es.utils.mapper.annotation.Converter;
+
+import java.util.Date;
+
+/**
+ * Source fixture of the {@code @Default} and {@code @Converter} annotations: most fields are {@code null} so that the default values are used.
+ * @author eschoysman
+ */
+public class Annotated {
+
+	private String name;
+	private String description;
+	private Integer priority;
+	private Double weight;
+	private Boolean enabled;
+	@Converter(DateToStringConverter.class)
+	private Date created = new Date(1_600_000_000_000L);
+	@Converter(DateToStringConverter.class)
+	private Date updated = new Date(1_600_000_000_000L);
+
+}
@@ -0,0 +1,24 @@
+package es.utils.mapper.benchmark.model;
+
+import es.utils.mapper.annotation.Default;
+
+/**
+ * Destination fixture of {@link Annotated}.
+ * @author eschoysman
+ */
+public class AnnotatedDto {
+
+	@Default("unknown")
+	private String name;
+	@Default("no description")
+	private String description;
+	@Default(number=5)
+	private Integer priority;
+	@Default(decimal=1.0)
+	private Double weight;
+	@Default(bool=true)
+	private Boolean enabled;
+	private String created;
+	private String updated;
+
+}
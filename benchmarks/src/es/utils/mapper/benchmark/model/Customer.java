@@ -0,0 +1,22 @@
+package es.utils.mapper.benchmark.model;
+
+import java.util.Date;
+
+/**
+ * Flat source fixture: a bean made only of simple fields.
+ * @author eschoysman
+ */
+public class Customer {
+
+	private Long id = 1L;
+	private String firstName = "Mario";
+	private String lastName = "Rossi";
+	private String email = "mario.rossi@example.com";
+	private String phone = "+39 012 3456789";
+	private Integer age = 42;
+	private Double balance = 1234.56;
+	private Boolean active = Boolean.TRUE;
+	private Date registration = new Date(1_600_000_000_000L);
+	private String notes = "no notes";
+
+}
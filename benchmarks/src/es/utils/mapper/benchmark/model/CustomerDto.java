@@ -0,0 +1,22 @@
+package es.utils.mapper.benchmark.model;
+
+import java.util.Date;
+
+/**
+ * Flat destination fixture of {@link Customer}.
+ * @author eschoysman
+ */
+public class CustomerDto {
+
+	private Long id;
+	private String firstName;
+	private String lastName;
+	private String email;
+	private String phone;
+	private Integer age;
+	private Double balance;
+	private Boolean active;
+	private Date registration;
+	private String notes;
+
+}
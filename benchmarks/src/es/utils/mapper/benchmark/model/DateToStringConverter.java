@@ -0,0 +1,22 @@
+package es.utils.mapper.benchmark.model;
+
+import es.utils.mapper.converter.AbstractConverter;
+
+import java.util.Date;
+
+/**
+ * Converter used by the {@link Annotated} fixture.
+ * @author eschoysman
+ */
+public class DateToStringConverter extends AbstractConverter<Date,String> {
+
+	public DateToStringConverter() {
+		super(Date.class,String.class);
+	}
+
+	@Override
+	public String convert(Date input) {
+		return Long.toString(input.getTime());
+	}
+
+}
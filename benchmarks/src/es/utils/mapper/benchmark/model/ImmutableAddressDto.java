@@ -0,0 +1,24 @@
+package es.utils.mapper.benchmark.model;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Immutable destination fixture of {@link Address}, created through its all-args constructor.
+ * @author eschoysman
+ */
+public class ImmutableAddressDto {
+
+	private final String street;
+	private final String city;
+	private final String zipCode;
+	private final String country;
+
+	@ConstructorProperties({"street","city","zipCode","country"})
+	public ImmutableAddressDto(String street, String city, String zipCode, String country) {
+		this.street = street;
+		this.city = city;
+		this.zipCode = zipCode;
+		this.country = country;
+	}
+
+}
@@ -0,0 +1,41 @@
+package es.utils.mapper.benchmark.model;
+
+import es.utils.mapper.annotation.CollectionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nested and collection-heavy source fixture.
+ * @author eschoysman
+ */
+public class Order {
+
+	private String code = "ORD-0001";
+	private Customer customer = new Customer();
+	private Address shippingAddress = new Address();
+	private Address billingAddress = new Address();
+	@CollectionType(ArrayList.class)
+	private List<OrderLine> lines;
+	private OrderLine[] gifts;
+
+	public Order() {
+		this(10);
+	}
+	public Order(int size) {
+		this.lines = new ArrayList<>(size);
+		this.gifts = new OrderLine[size];
+		for(int i=0; i<size; ++i) {
+			lines.add(new OrderLine("product"+i,i,i*1.5));
+			gifts[i] = new OrderLine("gift"+i,1,0.0);
+		}
+	}
+
+	public List<OrderLine> getLines() {
+		return lines;
+	}
+	public OrderLine[] getGifts() {
+		return gifts;
+	}
+
+}
@@ -0,0 +1,22 @@
+package es.utils.mapper.benchmark.model;
+
+import es.utils.mapper.annotation.CollectionType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nested and collection-heavy destination fixture of {@link Order}.
+ * @author eschoysman
+ */
+public class OrderDto {
+
+	private String code;
+	private CustomerDto customer;
+	private AddressDto shippingAddress;
+	private AddressDto billingAddress;
+	@CollectionType(ArrayList.class)
+	private List<OrderLineDto> lines;
+	private OrderLineDto[] gifts;
+
+}
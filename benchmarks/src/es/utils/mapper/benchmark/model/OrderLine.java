@@ -0,0 +1,21 @@
+package es.utils.mapper.benchmark.model;
+
+/**
+ * Element of the collections of {@link Order}.
+ * @author eschoysman
+ */
+public class OrderLine {
+
+	private String product;
+	private Integer quantity;
+	private Double price;
+
+	public OrderLine() {
+	}
+	public OrderLine(String product, Integer quantity, Double price) {
+		this.product = product;
+		this.quantity = quantity;
+		this.price = price;
+	}
+
+}
@@ -0,0 +1,13 @@
+package es.utils.mapper.benchmark.model;
+
+/**
+ * Destination fixture of {@link OrderLine}.
+ * @author eschoysman
+ */
+public class OrderLineDto {
+
+	private String product;
+	private Integer quantity;
+	private Double price;
+
+}
@@ -0,0 +1,16 @@
+package es.utils.mapper.benchmark.model;
+
+/**
+ * Enum-heavy source fixture.
+ * @author eschoysman
+ */
+public class Shipment {
+
+	private Status orderStatus = Status.SHIPPED;
+	private Status paymentStatus = Status.APPROVED;
+	private Status deliveryStatus = Status.PENDING;
+	private Status returnStatus = Status.NEW;
+	private Status invoiceStatus = Status.DELIVERED;
+	private Status refundStatus = Status.CANCELLED;
+
+}
@@ -0,0 +1,16 @@
+package es.utils.mapper.benchmark.model;
+
+/**
+ * Enum-heavy destination fixture of {@link Shipment}.
+ * @author eschoysman
+ */
+public class ShipmentDto {
+
+	private StatusDto orderStatus;
+	private StatusDto paymentStatus;
+	private StatusDto deliveryStatus;
+	private StatusDto returnStatus;
+	private StatusDto invoiceStatus;
+	private StatusDto refundStatus;
+
+}
@@ -0,0 +1,9 @@
+package es.utils.mapper.benchmark.model;
+
+/**
+ * Source enum of the enum-heavy fixtures.
+ * @author eschoysman
+ */
+public enum Status {
+	NEW, PENDING, APPROVED, SHIPPED, DELIVERED, CANCELLED, REFUNDED
+}
@@ -0,0 +1,9 @@
+package es.utils.mapper.benchmark.model;
+
+/**
+ * Destination enum of {@link Status}.
+ * @author eschoysman
+ */
+public enum StatusDto {
+	NEW, PENDING, APPROVED, SHIPPED, DELIVERED, CANCELLED, REFUNDED
+}
@@ -0,0 +1,109 @@
+package es.utils.doublekeymap;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * This class represent a Map that has two keys compared by identity, stored as a map of maps.<br>
+ * Unlike {@link TwoKeyMap}, the lookup of a value does not need to create a {@link PairKey}
+ * instance, so it does not allocate any object. It is intended for keys, like {@code Class} instances,
+ * whose equality is the identity.
+ * @author eschoysman
+ *
+ * @param <K1> type of the first key
+ * @param <K2> type of the second key
+ * @param <V> type of the value
+ * @see TwoKeyMap
+ */
+public class IdentityTwoKeyMap<K1,K2,V> {
+
+	private final Map<K1,Map<K2,V>> map = new IdentityHashMap<>();
+	private int size;
+
+	/**
+	 * Create an empty map
+	 */
+	public IdentityTwoKeyMap() {
+	}
+	/**
+	 * Create a map containing all the values of {@code other}
+	 * @param other the map whose values are to be placed in this map
+	 */
+	public IdentityTwoKeyMap(IdentityTwoKeyMap<K1,K2,V> other) {
+		other.map.forEach((key1,inner)->this.map.put(key1,new IdentityHashMap<>(inner)));
+		this.size = other.size;
+	}
+
+	/**
+	 * Add to the map a value associated to booth the keys
+	 * @param key1 first key
+	 * @param key2 second key
+	 * @param value the value
+	 * @return the previous value associated with {@code key1} and {@code key2}, or {@code null} if there was no mapping for the keys.
+	 */
+	public V put(K1 key1, K2 key2, V value) {
+		Map<K2,V> inner = map.computeIfAbsent(key1,k->new IdentityHashMap<>());
+		if(!inner.containsKey(key2)) {
+			size++;
+		}
+		return inner.put(key2,value);
+	}
+	/**
+	 *
+	 * @param key1 first key
+	 * @param key2 second key
+	 * @return the value to which the specified {@code key1} and {@code key2} is mapped, or {@code null} if this map contains no mapping for the {@code key1} and {@code key2}.
+	 */
+	public V get(K1 key1, K2 key2) {
+		Map<K2,V> inner = map.get(key1);
+		return inner==null ? null : inner.get(key2);
+	}
+	/**
+	 *
+	 * @param key1 first key
+	 * @param key2 second key
+	 * @return {@code true} if this map contains a mapping for the specified keys.
+	 */
+	public boolean containsKey(K1 key1, K2 key2) {
+		Map<K2,V> inner = map.get(key1);
+		return inner!=null && inner.containsKey(key2);
+	}
+	/**
+	 * Remove the value associated to booth the keys
+	 * @param key1 first key
+	 * @param key2 second key
+	 * @return the previous value associated with {@code key1} and {@code key2}, or {@code null} if there was no mapping for the keys.
+	 */
+	public V remove(K1 key1, K2 key2) {
+		Map<K2,V> inner = map.get(key1);
+		if(inner==null || !inner.containsKey(key2)) {
+			return null;
+		}
+		V result = inner.remove(key2);
+		size--;
+		if(inner.isEmpty()) {
+			map.remove(key1);
+		}
+		return result;
+	}
+	/**
+	 * @return the number of values present in this map
+	 */
+	public int size() {
+		return size;
+	}
+	/**
+	 * @return {@code true} if this map contains no values
+	 */
+	public boolean isEmpty() {
+		return size==0;
+	}
+	/**
+	 * Removes all the values from this map
+	 */
+	public void clear() {
+		map.clear();
+		size = 0;
+	}
+
+}
@@ -26,7 +26,7 @@ public class PairKey<K1,K2> {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(key1,key2);
+		return 31*(31+Objects.hashCode(key1))+Objects.hashCode(key2);
 	}
 	@Override
 	public boolean equals(Object obj) {
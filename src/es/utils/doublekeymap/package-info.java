@@ -4,9 +4,11 @@
  * <ul>
  * <li>{@code PairKey} : wrapper for the TwoKeyMap key object.</li>
  * <li>{@code TwoKeyMap} : Map that has two keys encapsulated inside a {@code PairKey} instance.</li>
+ * <li>{@code IdentityTwoKeyMap} : Map that has two keys compared by identity, whose lookup does not allocate any object.</li>
  * </ul>
  * @author eschoysman
  * @see es.utils.doublekeymap.PairKey
  * @see es.utils.doublekeymap.TwoKeyMap
+ * @see es.utils.doublekeymap.IdentityTwoKeyMap
  */
 package es.utils.doublekeymap;
\ No newline at end of file
@@ -0,0 +1,38 @@
+package es.utils.mapper;
+
+import es.utils.mapper.impl.MapperObject;
+import es.utils.mapper.impl.object.ClassMapper;
+
+/**
+ * This class is an immutable {@link Mapper} created by {@link Mapper#freeze()}.<br>
+ * All its mappings are already activated and every {@link ClassMapper} holds a fixed array of element mappings,
+ * so the mapping operations never check whether the mappings need to be activated again.
+ * Any attempt to add a new mapping throws an {@code IllegalStateException}.
+ * @author eschoysman
+ *
+ * @see Mapper#freeze()
+ * @see MapperObject#freeze()
+ */
+public final class FrozenMapper extends Mapper {
+
+	FrozenMapper(Mapper mapper) {
+		super(mapper);
+	}
+
+	/**
+	 * The mappings of a {@code FrozenMapper} are already activated: this operation does nothing.
+	 * @return the current {@code FrozenMapper} instance
+	 */
+	@Override
+	public FrozenMapper build() {
+		return this;
+	}
+	/**
+	 * @return the current {@code FrozenMapper} instance
+	 */
+	@Override
+	public FrozenMapper freeze() {
+		return this;
+	}
+
+}
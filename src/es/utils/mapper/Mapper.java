@@ -1,5 +1,6 @@
 package es.utils.mapper;
 
+import es.utils.doublekeymap.IdentityTwoKeyMap;
 import es.utils.doublekeymap.PairKey;
 import es.utils.doublekeymap.TwoKeyMap;
 import es.utils.mapper.annotation.CollectionType;
@@ -8,11 +9,15 @@ import es.utils.mapper.exception.CustomException;
 import es.utils.mapper.exception.MappingException;
 import es.utils.mapper.exception.MappingNotFoundException;
 import es.utils.mapper.factory.CollectionFactory;
+import es.utils.mapper.holder.DefaultValuePlan;
 import es.utils.mapper.holder.FieldHolder;
 import es.utils.mapper.impl.MapperObject;
+import es.utils.mapper.impl.MappingContext;
 import es.utils.mapper.impl.object.ClassMapper;
 import es.utils.mapper.impl.object.DirectMapper;
 import es.utils.mapper.impl.object.EnumMapper;
+import es.utils.mapper.index.MetadataIndex;
+import es.utils.mapper.plan.MappingPlan;
 import es.utils.mapper.utils.MapperUtil;
 import lombok.AllArgsConstructor;
 import org.slf4j.Logger;
@@ -20,16 +25,24 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.text.MessageFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RecursiveAction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This class handle a set of mapping between two objects. It is the central part of
- * the mapping logic and allow the user to create multiple mappings easily.
+ * the mapping logic and allow the user to create multiple mappings easily.<br>
+ * A {@code Mapper} instance can be shared between threads: the registered mappings are published as immutable snapshots,
+ * so the lookup of a mapping during {@code map} calls does not take any lock. The registrations change a private copy of the mappings
+ * and the first lookup following them publishes a single new snapshot, so registering {@code n} mappings does not copy them {@code n} times.
+ * The registration of new mappings and their activation are serialized.
  * @author eschoysman
  * 
  * @see MapperObject
@@ -41,11 +54,24 @@ import java.util.stream.Collectors;
 public class Mapper {
 
 	private static final Logger logger = LoggerFactory.getLogger(Mapper.class);
+	private static final Object UNMAPPED = new Object();
+	private static final Object AMBIGUOUS = new Object();
 
 	private String name;
+	private final Object registrationLock = new Object();
+	// guarded by registrationLock: the readers use the published registry
 	private TwoKeyMap<Class<?>,Class<?>,MapperObject<?,?>> mappings;
+	private IdentityTwoKeyMap<Class<?>,Class<?>,MapperObject<?,?>> mappingsIndex;
+	private Map<Class<?>,Object> sourceIndex;
+	// null when the last registrations are not published yet
+	private volatile Registry registry;
 	private Map<Class<?>,Map<String,FieldHolder>> fieldHolderCache;
-	private boolean isDirty;
+	private Map<Class<?>,Set<String>> ambiguousFieldNames;
+	private Map<Class<?>,DefaultValuePlan> defaultValuePlanCache;
+	private Set<MapperObject<?,?>> pendingActivation;
+	private Map<PairKey<Class<?>,Class<?>>,Set<MapperObject<?,?>>> dependents;
+	private volatile boolean isDirty;
+	private volatile boolean frozen;
 	private Configuration config;
 	
 	/**
@@ -61,9 +87,40 @@ public class Mapper {
 	public Mapper(String name) {
 		this.name = name;
 		this.mappings = new TwoKeyMap<>();
-		this.fieldHolderCache = new HashMap<>();
+		this.mappingsIndex = new IdentityTwoKeyMap<>();
+		this.sourceIndex = new IdentityHashMap<>();
+		this.fieldHolderCache = new ConcurrentHashMap<>();
+		this.ambiguousFieldNames = new ConcurrentHashMap<>();
+		this.defaultValuePlanCache = new ConcurrentHashMap<>();
+		this.pendingActivation = Collections.newSetFromMap(new IdentityHashMap<>());
+		this.dependents = new HashMap<>();
 		this.config = new Configuration();
 		this.isDirty = false;
+		this.frozen = false;
+	}
+	/**
+	 * Create a frozen Mapper instance that takes over the mappings of the given {@code mapper}.
+	 * @param mapper the {@code Mapper} instance to freeze
+	 * @see FrozenMapper
+	 */
+	Mapper(Mapper mapper) {
+		this.name = mapper.name;
+		this.registry = mapper.registry();
+		this.mappings = mapper.mappings;
+		this.mappingsIndex = mapper.mappingsIndex;
+		this.sourceIndex = mapper.sourceIndex;
+		this.fieldHolderCache = mapper.fieldHolderCache;
+		this.ambiguousFieldNames = mapper.ambiguousFieldNames;
+		this.defaultValuePlanCache = mapper.defaultValuePlanCache;
+		this.pendingActivation = mapper.pendingActivation;
+		this.dependents = mapper.dependents;
+		this.config = mapper.config.freeze();
+		this.isDirty = false;
+		this.frozen = true;
+		for(MapperObject<?,?> mapperObject : this.registry.mappings.values()) {
+			mapperObject.setMapper(this);
+			mapperObject.freeze();
+		}
 	}
 
 	/**
@@ -196,17 +253,94 @@ public class Mapper {
 	/**
 	 * Operation that activate all the mappings present in this {@code Mapper} instance.
 	 * This operation is called automatically when the first mapping is required but
-	 * it is possible to call it when preferred.
+	 * it is possible to call it when preferred.<br>
+	 * Only the mappings that need it are activated: the ones registered after the previous call and the ones
+	 * depending on a pair of types whose mapping was added or replaced in the meantime (see {@link MapperObject#getDependencies()}).
 	 * @return the current {@code Mapper} instance
 	 */
 	public Mapper build() {
 		if(isDirty) {
-//			this.fieldHolderCache.keySet().forEach(k->this.fieldHolderCache.put(k,getAllFields(k)));
-			mappings.values().forEach(MapperObject::activate);
-			isDirty = false;
+			synchronized(registrationLock) {
+				if(isDirty) {
+//					this.fieldHolderCache.keySet().forEach(k->this.fieldHolderCache.put(k,getAllFields(k)));
+					List<MapperObject<?,?>> toActivate = new ArrayList<>(pendingActivation);
+					pendingActivation.clear();
+					for(MapperObject<?,?> mapperObject : toActivate) {
+						if(mappingsIndex.get(mapperObject.fromClass(),mapperObject.toClass())!=mapperObject) {
+							continue;
+						}
+						mapperObject.getDependencies().forEach(pair->removeDependent(pair,mapperObject));
+						mapperObject.activate();
+						mapperObject.getDependencies().forEach(pair->addDependent(pair,mapperObject));
+					}
+					isDirty = !pendingActivation.isEmpty();
+				}
+			}
 		}
 		return this;
 	}
+	/**
+	 * Eagerly prepares all the mappings present in this {@code Mapper} instance, with the default {@link WarmupOptions}.
+	 * It is the same as calling {@link #build(WarmupOptions)} without validation, so that the first mapping does not pay
+	 * the scan of the fields, the parsing of the annotations and the activation of the mappings.
+	 * @return the report of the warm-up
+	 * @see #build(WarmupOptions)
+	 */
+	public WarmupReport warmUp() {
+		return warmUp(new WarmupOptions());
+	}
+	/**
+	 * Eagerly prepares all the mappings present in this {@code Mapper} instance:
+	 * <ul>
+	 * <li>creates the {@code FieldHolder}s of all the types of the {@code ClassMapper}s, with their converters, default values, getters and setters</li>
+	 * <li>activates all the mappings, as {@link #build()} does</li>
+	 * <li>runs the sample mappings requested by the options</li>
+	 * <li>looks for the unmapped and the ambiguous fields</li>
+	 * </ul>
+	 * @param options the options of the warm-up
+	 * @return the report of the warm-up, with the time spent in each phase and the problems found
+	 * @throws MappingException if the validation requested by the options finds unmapped or ambiguous fields
+	 * @throws NullPointerException if {@code options} is {@code null}
+	 * @see WarmupOptions
+	 */
+	public WarmupReport build(WarmupOptions options) throws MappingException {
+		Objects.requireNonNull(options);
+		WarmupReport report = warmUp(options);
+		List<String> problems = new ArrayList<>();
+		if(options.isFailOnUnmappedFields()) {
+			problems.addAll(report.getUnmappedFields());
+		}
+		if(options.isFailOnAmbiguousFields()) {
+			problems.addAll(report.getAmbiguousFields());
+		}
+		if(!problems.isEmpty()) {
+			throw CustomException.forType(MappingException.class).message(MessageFormat.format("The validation of the mapper \"{0}\" failed:{1}",name,problems.stream().collect(Collectors.joining("\n\t","\n\t","")))).build();
+		}
+		return report;
+	}
+	/**
+	 * Activates all the mappings present in this {@code Mapper} instance and returns an immutable {@code FrozenMapper} containing them.<br>
+	 * After this call the registration of new mappings, both in this instance and in the returned one, throws an {@code IllegalStateException},
+	 * and the {@code ClassMapper}s cannot be modified anymore.
+	 * The returned instance uses a frozen copy of the configuration of this instance (see {@link Configuration#freeze()}).
+	 * The returned instance never checks whether the mappings need to be activated again.
+	 * @return the {@code FrozenMapper} containing the mappings of this instance
+	 * @see FrozenMapper
+	 */
+	public FrozenMapper freeze() {
+		synchronized(registrationLock) {
+			build();
+			frozen = true;
+			return new FrozenMapper(this);
+		}
+	}
+	/**
+	 * Returns {@code true} if this {@code Mapper} instance does not accept new mappings anymore
+	 * @return {@code true} if {@link #freeze()} was called on this instance, {@code false} otherwise
+	 */
+	public boolean isFrozen() {
+		return frozen;
+	}
 
 	/**
 	 * @param <T> the type of the object to be mapped
@@ -257,9 +391,17 @@ public class Mapper {
 	 * @see #map(Object)
 	 */
 	public <T,U> Optional<U> mapAsOptional(T from) {
+		if(from==null) {
+			return Optional.empty();
+		}
+		MapperObject<T,U> mapper = getUniqueMappingFrom(from.getClass());
+		build();
+		if(mapper==null) {
+			return Optional.empty();
+		}
 		try {
-			return Optional.ofNullable(map(from));
-		} catch (MappingNotFoundException | MappingException e) {
+			return Optional.ofNullable(mapper.map(from));
+		} catch (MappingException e) {
 			return Optional.<U>empty();
 		}
 	}
@@ -335,16 +477,12 @@ public class Mapper {
 		if(from==null) {
 			return map;
 		}
+		MapperObject<T,U> mapper = getUniqueMappingFrom(from.getClass());
 		build();
-		List<MapperObject<?,?>> list = getAllMappings().values().stream()
-											.filter(m->from.getClass().equals(m.fromClass()))
-											.filter(m->from.getClass().isAssignableFrom(m.fromClass()))
-											.collect(Collectors.toList());
-		if(list.size()!=1) {
-			throw CustomException.forType(MappingNotFoundException.class).message(MessageFormat.format("Found {0} mapping(s) from {1}. Cannot uniquely map the input {2}.",list.size(),from.getClass(),from)).build();
+		if(mapper==null) {
+			long count = registry().mappings.values().stream().filter(m->from.getClass().equals(m.fromClass())).count();
+			throw CustomException.forType(MappingNotFoundException.class).message(MessageFormat.format("Found {0} mapping(s) from {1}. Cannot uniquely map the input {2}.",count,from.getClass(),from)).build();
 		}
-		@SuppressWarnings("unchecked")
-		MapperObject<T,U> mapper = (MapperObject<T,U>)list.get(0);
 		map = mapper.map(from);
 		return map;
 	}
@@ -441,7 +579,8 @@ public class Mapper {
 		Class<U> destinationType = (Class<U>)destination.getClass().getComponentType();
 		MapperObject<T,U> mapper = getMappingBetween(originType,destinationType);
 		if(mapper!=null) {
-			Arrays.setAll(destination,i->mapper.mapOrNull(origin[i]));
+			U[] result = destination;
+			runInMappingContext(()->Arrays.setAll(result,i->mapper.mapOrNull(origin[i])));
 		}
 		return destination;
 	}
@@ -471,7 +610,7 @@ public class Mapper {
 	 * @param resultElementType destination type of the mapping 
 	 * @return the mapped collection
 	 * @see CollectionType
-	 * @see CollectionFactory#create(Class, Class)
+	 * @see CollectionFactory#create(Class, Class, int)
 	 */
 	public <T,U,CT extends Collection<T>, CU extends Collection<U>> CU mapCollection(CT origin, Class<CU> collectionType, Class<U> resultElementType) {
 		if(origin==null) {
@@ -479,7 +618,7 @@ public class Mapper {
 		}
 		Objects.requireNonNull(collectionType);
 		@SuppressWarnings("unchecked")
-		CU destination = (CU)CollectionFactory.create(null,collectionType);
+		CU destination = (CU)CollectionFactory.create(null,collectionType,origin.size());
 		return mapCollection(origin, destination, resultElementType);
 	}
 	/** Allow to map each element of a List.
@@ -492,7 +631,10 @@ public class Mapper {
 	 * @see #mapCollection(Collection,Collection,Class)
 	 */
 	public <T,U> List<U> mapList(List<T> origin, Class<U> resultElementType) {
-		return mapList(origin, new ArrayList<U>(), resultElementType);
+		if(origin==null) {
+			return null;
+		}
+		return mapList(origin, new ArrayList<U>(origin.size()), resultElementType);
 	}
 	/** Allow to map each element of a List into a custom List implementation.
 	 * @param origin the input list to map
@@ -518,7 +660,12 @@ public class Mapper {
 	 * @see #mapCollection(Collection,Collection,Class)
 	 */
 	public <T,U> Set<U> mapSet(Set<T> origin, Class<U> resultElementType) {
-		return mapSet(origin, new HashSet<U>(), resultElementType);
+		if(origin==null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		Set<U> destination = (Set<U>)CollectionFactory.<T,U>create(HashSet.class,null,origin.size());
+		return mapSet(origin, destination, resultElementType);
 	}
 	/** Allow to map each element of a Set.
 	 * @param origin the input set to map
@@ -536,6 +683,10 @@ public class Mapper {
 	}
 
 	/**
+	 * Maps each element of {@code origin} with the mapping of its own class, or of its nearest superclass having a mapping,
+	 * so collections of mixed types are supported. The mappings are cached by element class for the whole call.<br>
+	 * The {@code null} elements are added as {@code null}, while the elements without a mapping are not added to {@code destination}.
+	 * If the graph mapping is enabled, the objects referenced by more than one element are mapped only once.
 	 * @param <T> the type of the source object
 	 * @param <U> the type of the destination object
 	 * @param <CU> the type of the resulting collection
@@ -555,19 +706,294 @@ public class Mapper {
 		Objects.requireNonNull(destination);
 		Objects.requireNonNull(resultElementType);
 
-		Class<?> srcGenericType = null;
-		Iterator<T>	iter = origin.iterator();
-		if(iter.hasNext())
-			srcGenericType = iter.next().getClass();
-		if(!origin.isEmpty() && srcGenericType!=null && resultElementType!=null) {
-			@SuppressWarnings("unchecked")
-			MapperObject<T,U> mapper = (MapperObject<T,U>)getMappingBetween(srcGenericType,resultElementType);
-			if(mapper!=null) {
-				origin.stream().map(mapper::mapOrNull).forEach(destination::add);
+		ElementMappingCache<T,U> elementMapping = new ElementMappingCache<>(this,resultElementType);
+		runInMappingContext(()->{
+			for(T element : origin) {
+				if(element==null) {
+					destination.add(null);
+					continue;
+				}
+				MapperObject<T,U> mapper = elementMapping.get(element);
+				if(mapper!=null) {
+					destination.add(mapper.mapOrNull(element));
+				}
 			}
+		});
+		return destination;
+	}
+
+	/**
+	 * Same as {@link #mapArray(Object[], Object[])}, but the elements are mapped in parallel by the pool of the configuration,
+	 * split in chunks of {@link Configuration#getParallelChunkSize()} elements.
+	 * Each element is written in the same position of the input.<br>
+	 * If the graph mapping is enabled, the elements are mapped sequentially by the calling thread, as in {@link #mapArray(Object[], Object[])},
+	 * so that the objects referenced by more than one element are mapped only once.
+	 * @param <T> the type of the source class
+	 * @param <U> the type of the destination class
+	 * @param origin array of type {@code T} object 
+	 * @param destination array of type {@code U} object
+	 * @return the {@code destination} array filled with {@code origin} elements mapped or {@code null}s if the mapping does not exists.
+	 * @see Configuration#setParallelPool(java.util.concurrent.ForkJoinPool)
+	 * @see Configuration#setParallelChunkSize(int)
+	 */
+	public <T,U> U[] mapArrayParallel(T[] origin, U[] destination) {
+		if(origin==null) {
+			return destination;
+		}
+		Objects.requireNonNull(destination);
+		destination = Arrays.copyOf(destination,Math.max(destination.length,origin.length));
+		@SuppressWarnings("unchecked")
+		Class<T> originType = (Class<T>)origin.getClass().getComponentType();
+		@SuppressWarnings("unchecked")
+		Class<U> destinationType = (Class<U>)destination.getClass().getComponentType();
+		MapperObject<T,U> mapper = getMappingBetween(originType,destinationType);
+		if(mapper!=null) {
+			mapChunks(mapper::mapOrNull,origin,destination);
 		}
 		return destination;
 	}
+	/**
+	 * Same as {@link #mapArray(Object[], Class)}, but the elements are mapped in parallel.
+	 * @param <T> the type of the source class
+	 * @param <U> the type of the destination class
+	 * @param origin array of type {@code T} object 
+	 * @param destinationType destination type of the mapping
+	 * @return a {@code U[]} filled with {@code origin} elements mapped
+	 * @see #mapArrayParallel(Object[], Object[])
+	 */
+	public <T,U> U[] mapArrayParallel(T[] origin, Class<U> destinationType) {
+		if(origin==null) {
+			return null;
+		}
+		@SuppressWarnings("unchecked")
+		U[] destination = (U[])Array.newInstance(destinationType,origin.length);
+		return mapArrayParallel(origin,destination);
+	}
+	/**
+	 * Same as {@link #mapCollection(Collection, Collection, Class)}, but the elements are mapped in parallel by the pool of the configuration,
+	 * split in chunks of {@link Configuration#getParallelChunkSize()} elements.<br>
+	 * The mapped elements are added to {@code destination} by the calling thread, in the iteration order of {@code origin},
+	 * so {@code destination} does not need to be thread-safe.<br>
+	 * If the graph mapping is enabled, the elements are mapped sequentially by the calling thread, as in {@link #mapCollection(Collection, Collection, Class)},
+	 * so that the objects referenced by more than one element are mapped only once.
+	 * @param <T> the type of the source object
+	 * @param <U> the type of the destination object
+	 * @param <CU> the type of the resulting collection
+	 * @param origin original collection to map
+	 * @param destination destination collection
+	 * @param resultElementType destination type of the mapping
+	 * @return the mapped collection
+	 * @see Configuration#setParallelPool(java.util.concurrent.ForkJoinPool)
+	 * @see Configuration#setParallelChunkSize(int)
+	 */
+	public <T,U, CU extends Collection<U>> CU mapCollectionParallel(Collection<T> origin, CU destination, Class<U> resultElementType) {
+		if(origin==null) {
+			return null;
+		}
+		Objects.requireNonNull(destination);
+		Objects.requireNonNull(resultElementType);
+
+		ElementMappingCache<T,U> elementMapping = new ElementMappingCache<>(this,resultElementType);
+		@SuppressWarnings("unchecked")
+		T[] input = (T[])origin.toArray();
+		Object[] output = new Object[input.length];
+		mapChunks(element->{
+			if(element==null) {
+				return null;
+			}
+			MapperObject<T,U> mapper = elementMapping.get(element);
+			return mapper==null ? UNMAPPED : mapper.mapOrNull(element);
+		},input,output);
+		for(Object element : output) {
+			if(element!=UNMAPPED) {
+				@SuppressWarnings("unchecked")
+				U mapped = (U)element;
+				destination.add(mapped);
+			}
+		}
+		return destination;
+	}
+	/**
+	 * Same as {@link #mapCollection(Collection, Class, Class)}, but the elements are mapped in parallel.
+	 * @param <T> the type of the source object
+	 * @param <U> the type of the destination object
+	 * @param <CT> the type of the input collection
+	 * @param <CU> the type of the resulting collection
+	 * @param origin original collection to map
+	 * @param collectionType type of the destination collection
+	 * @param resultElementType destination type of the mapping 
+	 * @return the mapped collection
+	 * @see #mapCollectionParallel(Collection, Collection, Class)
+	 */
+	public <T,U,CT extends Collection<T>, CU extends Collection<U>> CU mapCollectionParallel(CT origin, Class<CU> collectionType, Class<U> resultElementType) {
+		if(origin==null) {
+			return null;
+		}
+		Objects.requireNonNull(collectionType);
+		@SuppressWarnings("unchecked")
+		CU destination = (CU)CollectionFactory.create(null,collectionType,origin.size());
+		return mapCollectionParallel(origin, destination, resultElementType);
+	}
+
+	/**
+	 * Lazily maps each element of the given stream. The elements are mapped one by one while the returned stream is consumed,
+	 * so the input is never stored in memory; a parallel input stream is split and mapped in parallel.<br>
+	 * The mapping of each element is resolved as in {@link #mapCollection(Collection, Collection, Class)} and cached by element class.
+	 * The elements that are {@code null}, do not have a mapping or fail to be mapped are mapped to {@code null}.<br>
+	 * If the graph mapping is enabled, each element is mapped in its own mapping operation: the identity of the objects
+	 * referenced by more than one element is not kept across the elements.
+	 * @param <T> the type of the source object
+	 * @param <U> the type of the destination object
+	 * @param origin the stream of elements to map
+	 * @param resultElementType destination type of the mapping
+	 * @return a stream of the mapped elements, or {@code null} if {@code origin} is {@code null}
+	 * @see #mapStream(Stream, Class, Class)
+	 * @see #mapIterator(Iterator, Class)
+	 */
+	public <T,U> Stream<U> mapStream(Stream<T> origin, Class<U> resultElementType) {
+		if(origin==null) {
+			return null;
+		}
+		Objects.requireNonNull(resultElementType);
+		return origin.map(new ElementMappingCache<T,U>(this,resultElementType));
+	}
+	/**
+	 * Lazily maps each element of the given stream, using the mapping between {@code originElementType} and {@code resultElementType}
+	 * resolved once before the stream is consumed.
+	 * @param <T> the type of the source object
+	 * @param <U> the type of the destination object
+	 * @param origin the stream of elements to map
+	 * @param originElementType type of the elements of {@code origin}
+	 * @param resultElementType destination type of the mapping
+	 * @return a stream of the mapped elements, or {@code null} if {@code origin} is {@code null}
+	 * @throws MappingNotFoundException if no mapping between types {@code T} and {@code U} is found
+	 * @see #mapStream(Stream, Class)
+	 */
+	public <T,U> Stream<U> mapStream(Stream<T> origin, Class<T> originElementType, Class<U> resultElementType) throws MappingNotFoundException {
+		if(origin==null) {
+			return null;
+		}
+		MapperObject<T,U> mapper = getMappingBetween(Objects.requireNonNull(originElementType),Objects.requireNonNull(resultElementType));
+		if(mapper==null) {
+			throw CustomException.forType(MappingNotFoundException.class).message(MessageFormat.format("No mapping found from {0} to {1}",originElementType,resultElementType)).build();
+		}
+		return origin.map(mapper::mapOrNull);
+	}
+	/**
+	 * Lazily maps each element of the given iterator: an element is read from {@code origin} and mapped only when the returned iterator is advanced.<br>
+	 * The mapping is resolved as in {@link #mapStream(Stream, Class)}: if the graph mapping is enabled, each element is mapped in its own mapping operation.
+	 * @param <T> the type of the source object
+	 * @param <U> the type of the destination object
+	 * @param origin the iterator of the elements to map
+	 * @param resultElementType destination type of the mapping
+	 * @return an iterator of the mapped elements, or {@code null} if {@code origin} is {@code null}
+	 * @see #mapStream(Stream, Class)
+	 */
+	public <T,U> Iterator<U> mapIterator(Iterator<T> origin, Class<U> resultElementType) {
+		if(origin==null) {
+			return null;
+		}
+		Objects.requireNonNull(resultElementType);
+		ElementMappingCache<T,U> elementMapping = new ElementMappingCache<>(this,resultElementType);
+		return new Iterator<U>() {
+			@Override
+			public boolean hasNext() {
+				return origin.hasNext();
+			}
+			@Override
+			public U next() {
+				return elementMapping.apply(origin.next());
+			}
+			@Override
+			public void remove() {
+				origin.remove();
+			}
+		};
+	}
+
+	/**
+	 * Same as {@link #map(Object, Class)}, but the mapping is run by the executor of the configuration.
+	 * @param <T> the type of the object to be mapped
+	 * @param <U> the type of the resulting object
+	 * @param from the input object to be mapped
+	 * @param to the destination type required for the mapping
+	 * @return a future completed with the mapped object, or completed exceptionally with the exception thrown by the mapping.
+	 * @see Configuration#setAsyncExecutor(Executor)
+	 * @see #mapAsync(Object, Class, Executor)
+	 */
+	public <T,U> CompletableFuture<U> mapAsync(T from, Class<U> to) {
+		return mapAsync(from,to,config().getAsyncExecutor());
+	}
+	/**
+	 * Same as {@link #map(Object, Class)}, but the mapping is run by the given executor.
+	 * @param <T> the type of the object to be mapped
+	 * @param <U> the type of the resulting object
+	 * @param from the input object to be mapped
+	 * @param to the destination type required for the mapping
+	 * @param executor the executor running the mapping
+	 * @return a future completed with the mapped object, or completed exceptionally with the exception thrown by the mapping
+	 * (a {@link MappingNotFoundException} or a {@link MappingException}) or by the executor.
+	 * @see #mapAsync(Object, Class)
+	 */
+	public <T,U> CompletableFuture<U> mapAsync(T from, Class<U> to, Executor executor) {
+		Objects.requireNonNull(executor);
+		CompletableFuture<U> result = new CompletableFuture<>();
+		try {
+			executor.execute(()->{
+				try {
+					result.complete(map(from,to));
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+				}
+			});
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+	/**
+	 * Maps each element of the given collection as in {@link #mapAsync(Object, Class)}, each one in its own task run by the executor of the configuration.<br>
+	 * If the graph mapping is enabled, each element is mapped in its own mapping operation: the identity of the objects
+	 * referenced by more than one element is not kept across the elements.
+	 * @param <T> the type of the objects to be mapped
+	 * @param <U> the type of the resulting objects
+	 * @param origin the collection of objects to be mapped
+	 * @param to the destination type required for the mapping
+	 * @return a future completed with the list of the mapped elements, in the same order of {@code origin}, or {@code null} if {@code origin} is {@code null}.
+	 * The future is completed exceptionally if the mapping of any element fails.
+	 * @see Configuration#setAsyncExecutor(Executor)
+	 * @see #mapAllAsync(Collection, Class, Executor)
+	 */
+	public <T,U> CompletableFuture<List<U>> mapAllAsync(Collection<T> origin, Class<U> to) {
+		return mapAllAsync(origin,to,config().getAsyncExecutor());
+	}
+	/**
+	 * Maps each element of the given collection as in {@link #mapAsync(Object, Class, Executor)}, each one in its own task run by the given executor.
+	 * @param <T> the type of the objects to be mapped
+	 * @param <U> the type of the resulting objects
+	 * @param origin the collection of objects to be mapped
+	 * @param to the destination type required for the mapping
+	 * @param executor the executor running the mapping
+	 * @return a future completed with the list of the mapped elements, in the same order of {@code origin}, or {@code null} if {@code origin} is {@code null}.
+	 * The future is completed exceptionally if the mapping of any element fails.
+	 * @see #mapAllAsync(Collection, Class)
+	 */
+	public <T,U> CompletableFuture<List<U>> mapAllAsync(Collection<T> origin, Class<U> to, Executor executor) {
+		if(origin==null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		Objects.requireNonNull(executor);
+		List<CompletableFuture<U>> futures = new ArrayList<>(origin.size());
+		for(T element : origin) {
+			futures.add(mapAsync(element,to,executor));
+		}
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+								.thenApply(v->{
+									List<U> result = new ArrayList<>(futures.size());
+									futures.forEach(future->result.add(future.join()));
+									return result;
+								});
+	}
 
 	/**
 	 * @param <T> the type of the source class
@@ -577,7 +1003,7 @@ public class Mapper {
 	 * @return {@code true} the mapping between types {@code T} and {@code U} is present, {@code false} otherwise
 	 */
 	public <T,U> boolean hasMappingBetween(Class<T> src, Class<U> dest) {
-		return mappings.containsKey(src,dest);
+		return registry().mappingsIndex.containsKey(src,dest);
 	}
 
 	/**
@@ -585,14 +1011,15 @@ public class Mapper {
 	 * @param <U> the type of the destination class
 	 * @param from origin type
 	 * @param to destination type
-	 * @return the mapping between types {@code T} and {@code U} if present, {@code null} otherwise 
+	 * @return the mapping between types {@code T} and {@code U} if present, {@code null} otherwise.
+	 * If {@code U} is assignable from {@code T} and no mapping is present, a direct mapping is returned:
+	 * it is registered in this {@code Mapper} instance only if the instance is not frozen.
 	 */
 	public <T,U> MapperObject<T,U> getMappingBetween(Class<T> from, Class<U> to) {
 		@SuppressWarnings("unchecked")
-		MapperObject<T,U> result = (MapperObject<T,U>)mappings.get(from,to);
+		MapperObject<T,U> result = (MapperObject<T,U>)registry().mappingsIndex.get(from,to);
 		if(result==null && to.isAssignableFrom(from)) {
-			result = new DirectMapper<T,U>(from,to,to::cast);
-			add(result);
+			result = addDirectMapperIfAbsent(from,to);
 		}
 		build();
 		return result;
@@ -600,25 +1027,78 @@ public class Mapper {
 
 	
 	/**
+	 * Returns the mapping registered between types {@code T} and {@code U}.<br>
+	 * Differently from {@link #getMappingBetween(Class, Class)}, no direct mapping is created and the mappings are not activated.
+	 * @param <T> the type of the source class
+	 * @param <U> the type of the destination class
+	 * @param from origin type
+	 * @param to destination type
+	 * @return the mapping registered between types {@code T} and {@code U} if present, {@code null} otherwise
+	 */
+	@SuppressWarnings("unchecked")
+	public <T,U> MapperObject<T,U> getRegisteredMapping(Class<T> from, Class<U> to) {
+		return (MapperObject<T,U>)registry().mappingsIndex.get(from,to);
+	}
+	/**
+	 * Returns all the mappings present in this {@code Mapper} instance.<br>
+	 * The returned map is a copy meant to inspect the mappings: it is not updated by the mappings added later and modifying it does not change this {@code Mapper},
+	 * new mappings must be registered through the {@code add} methods, that also update the index used to resolve the mapping during {@code map} calls.
 	 * @return the {@code TwoKeyMap} containing all the mappings present in this {@code Mapper} instance
 	 * @see TwoKeyMap
 	 */
 	public TwoKeyMap<Class<?>,Class<?>,MapperObject<?,?>> getAllMappings() {
-		return mappings;
+		TwoKeyMap<Class<?>,Class<?>,MapperObject<?,?>> result = new TwoKeyMap<>();
+		result.putAll(registry().mappings);
+		return result;
 	}
 	/**
 	 * Returns a human readable representation of the mappings present in this {@code Mapper} instance
 	 */
 	@Override
 	public String toString() {
-		return "Mapper["+name+"]["+mappings.keySet().stream().map(PairKey::toString).collect(Collectors.joining(", "))+"]";
+		return "Mapper["+name+"]["+registry().mappings.keySet().stream().map(PairKey::toString).collect(Collectors.joining(", "))+"]";
 	}
 	/**
 	 * Prints the same output as {@code toString} in a nicer way
 	 * @return a string representation of the mapper
 	 */
 	public String prettyPrint() {
-		return "Mapper \""+name+"\""+mappings.values().stream().map(MapperObject::toString).collect(Collectors.joining("\n\t","\n\t",""));
+		return "Mapper \""+name+"\""+registry().mappings.values().stream().map(MapperObject::toString).collect(Collectors.joining("\n\t","\n\t",""));
+	}
+	/**
+	 * Activates all the mappings present in this {@code Mapper} instance and returns the plans of the {@code ClassMapper}s,
+	 * describing for each element mapping how it is accessed, transformed and defaulted and its estimated cost.
+	 * @return the plans of the {@code ClassMapper}s of this {@code Mapper} instance
+	 * @see MappingPlan
+	 */
+	public List<MappingPlan> getMappingPlans() {
+		build();
+		return registry().mappings.values().stream()
+							   .filter(ClassMapper.class::isInstance)
+							   .map(mapper->((ClassMapper<?,?>)mapper).getMappingPlan())
+							   .collect(Collectors.toList());
+	}
+	/**
+	 * Activates all the mappings present in this {@code Mapper} instance and returns the plan of the {@code ClassMapper} from type {@code T} to type {@code U}.
+	 * @param <T> the type of the origin object
+	 * @param <U> the type of the destination object
+	 * @param from the class of the origin object
+	 * @param to the class of the destination object
+	 * @return the plan of the mapping if it is a {@code ClassMapper}, an empty {@code Optional} otherwise
+	 * @see MappingPlan
+	 */
+	public <T,U> Optional<MappingPlan> getMappingPlan(Class<T> from, Class<U> to) {
+		build();
+		MapperObject<?,?> mapper = registry().mappingsIndex.get(from,to);
+		return mapper instanceof ClassMapper ? Optional.of(((ClassMapper<?,?>)mapper).getMappingPlan()) : Optional.empty();
+	}
+	/**
+	 * Prints the plans of all the {@code ClassMapper}s of this {@code Mapper} instance, one element mapping per line.
+	 * @return a string representation of the mapping plans
+	 * @see #getMappingPlans()
+	 */
+	public String explain() {
+		return "Mapper \""+name+"\""+getMappingPlans().stream().map(plan->plan.toString().replace("\n","\n\t")).collect(Collectors.joining("\n\t","\n\t",""));
 	}
 
 	/**
@@ -628,7 +1108,35 @@ public class Mapper {
 	 * @see FieldHolder
 	 */
 	public <T> Map<String,FieldHolder> getFieldsHolderFromCache(Class<T> from) {
-		return this.fieldHolderCache.computeIfAbsent(from,this::getAllFields);
+		Map<String,FieldHolder> result = this.fieldHolderCache.get(from);
+		if(result==null) {
+			// not computeIfAbsent: the creation of the FieldHolders may look up other types in this cache
+			result = getAllFields(from);
+			Map<String,FieldHolder> previous = this.fieldHolderCache.putIfAbsent(from,result);
+			if(previous!=null) {
+				result = previous;
+			}
+		}
+		return result;
+	}
+	/**
+	 * Returns the plan used to fill the empty fields of the objects of the given type with their default values.
+	 * The plan is created only once for each type.
+	 * @param type class type
+	 * @return the default value plan of {@code type}
+	 * @see DefaultValuePlan
+	 * @see #getFieldsHolderFromCache(Class)
+	 */
+	public DefaultValuePlan getDefaultValuePlan(Class<?> type) {
+		DefaultValuePlan result = this.defaultValuePlanCache.get(type);
+		if(result==null) {
+			result = DefaultValuePlan.of(type,getFieldsHolderFromCache(type).values());
+			DefaultValuePlan previous = this.defaultValuePlanCache.putIfAbsent(type,result);
+			if(previous!=null) {
+				result = previous;
+			}
+		}
+		return result;
 	}
 	
 	/**
@@ -651,8 +1159,10 @@ public class Mapper {
 	 * Set the configuration to use
 	 * @param config The {@code Configuration} instance to associate
 	 * @return The current {@code Mapper} instance
+	 * @throws IllegalStateException if this instance is frozen
 	 */
 	public Mapper setConfig(Configuration config) {
+		checkNotFrozen();
 		this.config = config;
 		return this;
 	}
@@ -681,11 +1191,99 @@ public class Mapper {
 	}
     
 	private <T,U> Mapper add(Class<T> from, Class<U> to, MapperObject<T,U> objectMapper) {
-		mappings.put(from,to, objectMapper);
+		checkNotFrozen();
+		return register(from,to,objectMapper);
+	}
+	private <T,U> Mapper register(Class<T> from, Class<U> to, MapperObject<T,U> objectMapper) {
 		objectMapper.setMapper(this);
-		isDirty = true;
+		synchronized(registrationLock) {
+			mappings.put(from,to, objectMapper);
+			MapperObject<?,?> previous = mappingsIndex.put(from,to, objectMapper);
+			Object current = sourceIndex.get(from);
+			if(current==null || (previous!=null && current==previous)) {
+				sourceIndex.put(from, objectMapper);
+			}
+			else if(previous==null) {
+				sourceIndex.put(from, AMBIGUOUS);
+			}
+			// the activation must be pending before the registry is published: a lookup seeing the new mapping always sees isDirty set
+			if(!frozen) {
+				pendingActivation.add(objectMapper);
+				Set<MapperObject<?,?>> affected = dependents.get(new PairKey<Class<?>,Class<?>>(from,to));
+				if(affected!=null) {
+					pendingActivation.addAll(affected);
+				}
+				isDirty = true;
+			}
+			registry = null;
+		}
 		return this;
 	}
+	private Registry registry() {
+		Registry current = registry;
+		return current!=null ? current : publish();
+	}
+	private Registry publish() {
+		synchronized(registrationLock) {
+			if(registry==null) {
+				registry = new Registry(mappings,mappingsIndex,sourceIndex);
+			}
+			return registry;
+		}
+	}
+	private void addDependent(PairKey<Class<?>,Class<?>> pair, MapperObject<?,?> mapperObject) {
+		dependents.computeIfAbsent(pair,k->Collections.newSetFromMap(new IdentityHashMap<>())).add(mapperObject);
+	}
+	private void removeDependent(PairKey<Class<?>,Class<?>> pair, MapperObject<?,?> mapperObject) {
+		Set<MapperObject<?,?>> current = dependents.get(pair);
+		if(current!=null) {
+			current.remove(mapperObject);
+		}
+	}
+	@SuppressWarnings("unchecked")
+	private <T,U> MapperObject<T,U> getUniqueMappingFrom(Class<?> from) {
+		Object mapper = registry().sourceIndex.get(from);
+		return mapper==AMBIGUOUS ? null : (MapperObject<T,U>)mapper;
+	}
+	private void runInMappingContext(Runnable mapping) {
+		if(!config().isGraphMappingEnabled()) {
+			mapping.run();
+			return;
+		}
+		MappingContext context = MappingContext.open();
+		try {
+			mapping.run();
+		} finally {
+			context.close();
+		}
+	}
+	private void checkNotFrozen() {
+		if(frozen) {
+			throw new IllegalStateException("Mapper "+name+" is frozen: no mapping can be added");
+		}
+	}
+	private <T,U> MapperObject<T,U> addDirectMapperIfAbsent(Class<T> from, Class<U> to) {
+		if(frozen) {
+			return createDirectMapper(from,to);
+		}
+		synchronized(registrationLock) {
+			@SuppressWarnings("unchecked")
+			MapperObject<T,U> result = (MapperObject<T,U>)mappingsIndex.get(from,to);
+			if(result==null) {
+				result = createDirectMapper(from,to);
+				if(!frozen) {
+					register(from,to,result);
+				}
+			}
+			return result;
+		}
+	}
+	// the registry of a frozen instance is read-only: its direct mappings are created for the single call and never registered
+	private <T,U> MapperObject<T,U> createDirectMapper(Class<T> from, Class<U> to) {
+		DirectMapper<T,U> result = new DirectMapper<T,U>(from,to,to::cast);
+		result.setMapper(this);
+		return result;
+	}
 	private <T,U> MapperObject<T,U> createEnumMapper(Class<T> from, Class<U> to) {
 		@SuppressWarnings("unchecked")
 		Class<? extends Enum<?>> enumFrom = (Class<? extends Enum<?>>)from;
@@ -712,7 +1310,7 @@ public class Mapper {
 		ArrayList<String> dest  = new ArrayList<>();
 		ArrayList<String> src   = new ArrayList<>();
 		ArrayList<String> other = new ArrayList<>();
-		for(MapperObject<?,?> mapper : mappings.values()) {
+		for(MapperObject<?,?> mapper : registry().mappings.values()) {
 			if(mapper.fromClass().equals(fromClass)) {
 				dest.add(mapper.toClass().toString());
 			}
@@ -742,13 +1340,15 @@ public class Mapper {
 	}
 	private Map<String,FieldHolder> getAllFields(Class<?> type) {
     	Map<String,FieldHolder> result = new HashMap<>();
+    	MetadataIndex metadataIndex = config().getMetadataIndex();
 		MapperUtil.getAllFields(type).stream()
-				.map(field->new FieldHolder(field, this))
+				.map(field->new FieldHolder(field, this, metadataIndex.get(field)))
 				.filter(fieldHolder -> !fieldHolder.ignoreField())
 				.flatMap(fieldHolder -> fieldHolder.getAllNames().stream().map(name -> new PairBox(name,fieldHolder)))
 				.filter(pair -> result.put(pair.name,pair.fieldHolder)!=null)
 				.map(pair->pair.name)
 				.forEachOrdered(name -> {
+					ambiguousFieldNames.computeIfAbsent(type,k->ConcurrentHashMap.newKeySet()).add(name);
 					try {
 						throw CustomException.forType(MappingException.class).message(MessageFormat.format("At least two fields in {0} have the same name or alias \"{1}\"", type, name)).build();
 					} catch (MappingException e) {
@@ -771,16 +1371,193 @@ public class Mapper {
 //    	}
     	return result;
     }
+    private WarmupReport warmUp(WarmupOptions options) {
+    	WarmupReport report = new WarmupReport();
+    	Collection<MapperObject<?,?>> mapperObjects = registry().mappings.values();
+    	List<ClassMapper<?,?>> classMappers = mapperObjects.stream().filter(ClassMapper.class::isInstance).map(mapperObject->(ClassMapper<?,?>)mapperObject).collect(Collectors.toList());
+    	long start = System.nanoTime();
+    	Set<Class<?>> types = new LinkedHashSet<>();
+    	for(ClassMapper<?,?> classMapper : classMappers) {
+    		types.add(classMapper.fromClass());
+    		types.add(classMapper.toClass());
+    	}
+    	for(Class<?> type : types) {
+    		for(FieldHolder fieldHolder : getFieldsHolderFromCache(type).values()) {
+    			fieldHolder.getGetterFunction();
+    			fieldHolder.getSetterFunction();
+    		}
+    	}
+    	report.fieldScan(types.size(),System.nanoTime()-start);
+    	start = System.nanoTime();
+    	build();
+    	report.activation(mapperObjects.size(),System.nanoTime()-start);
+    	for(Class<?> type : types) {
+    		for(String fieldName : new TreeSet<>(ambiguousFieldNames.getOrDefault(type,Collections.emptySet()))) {
+    			report.addAmbiguousField(MessageFormat.format("At least two fields in {0} have the same name or alias \"{1}\"",type,fieldName));
+    		}
+    	}
+    	for(ClassMapper<?,?> classMapper : classMappers) {
+    		for(String fieldName : classMapper.getUnmappedFields()) {
+    			report.addUnmappedField(MessageFormat.format("The field \"{0}\" of {1} is not mapped from {2}",fieldName,classMapper.toClass(),classMapper.fromClass()));
+    		}
+    	}
+    	start = System.nanoTime();
+    	long sampleMappings = 0;
+    	if(options.getSampleIterations()>0) {
+    		for(ClassMapper<?,?> classMapper : classMappers) {
+    			sampleMappings += runSampleMappings(classMapper,options.getSampleIterations(),report);
+    		}
+    	}
+    	report.sampleMapping(sampleMappings,System.nanoTime()-start);
+    	logger.debug("Warm-up of the mapper \"{}\": {}",name,report);
+    	return report;
+    }
+    private <T,U> long runSampleMappings(ClassMapper<T,U> classMapper, int iterations, WarmupReport report) {
+    	T sample;
+    	try {
+    		sample = config().getInstantiator(classMapper.fromClass()).get();
+    	} catch (MappingException | RuntimeException e) {
+    		return 0;
+    	}
+    	for(int i=0; i<iterations; ++i) {
+    		try {
+    			map(sample,classMapper.toClass());
+    		} catch (MappingException | MappingNotFoundException | RuntimeException e) {
+    			report.addFailedSampleMapping(classMapper+": "+e.getMessage());
+    			return i;
+    		}
+    	}
+    	return iterations;
+    }
     private <T> T newInstance(Class<T> type) throws MappingException {
+		Supplier<T> instantiator = config().getInstantiator(type);
 		try {
-			T dest = type.getDeclaredConstructor().newInstance();
-			return dest;
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
-				| InvocationTargetException | NoSuchMethodException | SecurityException e) {
-				throw CustomException.forType(MappingException.class).message("Destination class does not have a public empty constructor. Please provide a public empty constructor or a Supplier in the configuration such that the mapping can be done.").build();
+			return instantiator.get();
+		} catch (RuntimeException e) {
+			throw CustomException.forType(MappingException.class).message("Destination class does not have a public empty constructor. Please provide a public empty constructor or a Supplier in the configuration such that the mapping can be done.").cause(e).build();
 		}
     }
 
+    private <T,R> void mapChunks(Function<T,R> mapping, T[] origin, R[] destination) {
+    	if(config().isGraphMappingEnabled()) {
+    		// the MappingContext is bound to a single thread: the elements sharing references must be mapped by the same thread
+    		runInMappingContext(()->Arrays.setAll(destination,i->mapping.apply(origin[i])));
+    		return;
+    	}
+    	MapChunkTask<T,R> task = new MapChunkTask<>(mapping,origin,destination,0,origin.length,config().getParallelChunkSize());
+    	if(origin.length<=task.chunkSize) {
+    		task.compute();
+    	}
+    	else {
+    		config().getParallelPool().invoke(task);
+    	}
+    }
+
+	private static class MapChunkTask<T,R> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final Function<T,R> mapping;
+		private final T[] origin;
+		private final R[] destination;
+		private final int start;
+		private final int end;
+		private final int chunkSize;
+		private MapChunkTask(Function<T,R> mapping, T[] origin, R[] destination, int start, int end, int chunkSize) {
+			this.mapping = mapping;
+			this.origin = origin;
+			this.destination = destination;
+			this.start = start;
+			this.end = end;
+			this.chunkSize = chunkSize;
+		}
+		@Override
+		protected void compute() {
+			if(end-start<=chunkSize) {
+				for(int i=start; i<end; ++i) {
+					destination[i] = mapping.apply(origin[i]);
+				}
+				return;
+			}
+			int middle = (start+end)>>>1;
+			invokeAll(new MapChunkTask<>(mapping,origin,destination,start,middle,chunkSize),
+					  new MapChunkTask<>(mapping,origin,destination,middle,end,chunkSize));
+		}
+	}
+
+	/**
+	 * Immutable snapshot of the registered mappings, read without locks by the lookups.
+	 */
+	private static class Registry {
+		private final TwoKeyMap<Class<?>,Class<?>,MapperObject<?,?>> mappings;
+		private final IdentityTwoKeyMap<Class<?>,Class<?>,MapperObject<?,?>> mappingsIndex;
+		private final Map<Class<?>,Object> sourceIndex;
+		private Registry(TwoKeyMap<Class<?>,Class<?>,MapperObject<?,?>> mappings, IdentityTwoKeyMap<Class<?>,Class<?>,MapperObject<?,?>> mappingsIndex, Map<Class<?>,Object> sourceIndex) {
+			this.mappings = new TwoKeyMap<>();
+			this.mappings.putAll(mappings);
+			this.mappingsIndex = new IdentityTwoKeyMap<>(mappingsIndex);
+			this.sourceIndex = new IdentityHashMap<>(sourceIndex);
+		}
+	}
+
+	/**
+	 * Inline cache of the mappings used by a single bulk operation, keyed by the class of the element.
+	 * It holds up to {@code MAX_ENTRIES} classes; the other classes are resolved every time by the registry.
+	 * If the class of an element has no mapping, the mapping of its nearest superclass is used.
+	 */
+	private static class ElementMappingCache<T,U> implements Function<T,U> {
+		private static final int MAX_ENTRIES = 4;
+		private final Mapper mapper;
+		private final Class<U> resultElementType;
+		private volatile Class<?>[] types = new Class<?>[0];
+		private volatile MapperObject<?,?>[] mappers = new MapperObject<?,?>[0];
+		private ElementMappingCache(Mapper mapper, Class<U> resultElementType) {
+			this.mapper = mapper;
+			this.resultElementType = resultElementType;
+		}
+		/**
+		 * Maps the element with the mapping of its class, or returns {@code null} if the element is {@code null} or there is no mapping.
+		 */
+		@Override
+		public U apply(T element) {
+			if(element==null) {
+				return null;
+			}
+			MapperObject<T,U> elementMapper = get(element);
+			return elementMapper==null ? null : elementMapper.mapOrNull(element);
+		}
+		@SuppressWarnings("unchecked")
+		private MapperObject<T,U> get(T element) {
+			Class<?> type = element.getClass();
+			Class<?>[] currentTypes = types;
+			MapperObject<?,?>[] currentMappers = mappers;
+			for(int i=0; i<currentTypes.length && i<currentMappers.length; ++i) {
+				if(currentTypes[i]==type) {
+					return (MapperObject<T,U>)currentMappers[i];
+				}
+			}
+			MapperObject<T,U> result = resolve((Class<T>)type);
+			synchronized(this) {
+				if(types.length<MAX_ENTRIES) {
+					Class<?>[] newTypes = Arrays.copyOf(types,types.length+1);
+					MapperObject<?,?>[] newMappers = Arrays.copyOf(mappers,mappers.length+1);
+					newTypes[newTypes.length-1] = type;
+					newMappers[newMappers.length-1] = result;
+					mappers = newMappers;
+					types = newTypes;
+				}
+			}
+			return result;
+		}
+		@SuppressWarnings("unchecked")
+		private MapperObject<T,U> resolve(Class<T> type) {
+			for(Class<?> current=type; current!=null; current=current.getSuperclass()) {
+				MapperObject<T,U> result = mapper.getMappingBetween((Class<T>)current,resultElementType);
+				if(result!=null) {
+					return result;
+				}
+			}
+			return null;
+		}
+	}
 
 	@AllArgsConstructor
 	private static class PairBox {
@@ -0,0 +1,88 @@
+package es.utils.mapper;
+
+/**
+ * This class contains the options of the eager warm-up of a {@code Mapper}, done by {@link Mapper#build(WarmupOptions)}.<br>
+ * By default the warm-up only prepares the mappings: it creates the {@code FieldHolder}s of all the mapped types
+ * (parsing their annotations and creating their converters and default values) and activates all the mappings.
+ * The options allow to also run some sample mappings and to validate the mappings.
+ * @author eschoysman
+ * @see Mapper#warmUp()
+ * @see WarmupReport
+ */
+public class WarmupOptions {
+
+	private int sampleIterations;
+	private boolean failOnUnmappedFields;
+	private boolean failOnAmbiguousFields;
+
+	/**
+	 * Create the default options: no sample mappings and no validation.
+	 */
+	public WarmupOptions() {
+		this.sampleIterations = 0;
+		this.failOnUnmappedFields = false;
+		this.failOnAmbiguousFields = false;
+	}
+
+	/**
+	 * Run each {@code ClassMapper} the given number of times on a new instance of its origin type, so that the mapping code
+	 * is already optimized by the JIT compiler when the first real mapping is required.
+	 * The mappings whose origin type cannot be instantiated are skipped.
+	 * @param iterations the number of sample mappings to run for each {@code ClassMapper}
+	 * @return The current options instance
+	 * @throws IllegalArgumentException if {@code iterations} is negative
+	 */
+	public WarmupOptions sampleMappings(int iterations) {
+		if(iterations<0) {
+			throw new IllegalArgumentException("The number of sample mappings cannot be negative: "+iterations);
+		}
+		this.sampleIterations = iterations;
+		return this;
+	}
+	/**
+	 * Make the warm-up fail if a field of the destination type of a {@code ClassMapper} is not written by any element mapping
+	 * and is not ignored.
+	 * @return The current options instance
+	 */
+	public WarmupOptions failOnUnmappedFields() {
+		this.failOnUnmappedFields = true;
+		return this;
+	}
+	/**
+	 * Make the warm-up fail if two fields of a mapped type have the same name or alias.
+	 * @return The current options instance
+	 */
+	public WarmupOptions failOnAmbiguousFields() {
+		this.failOnAmbiguousFields = true;
+		return this;
+	}
+	/**
+	 * Make the warm-up fail on both unmapped and ambiguous fields.
+	 * @return The current options instance
+	 * @see #failOnUnmappedFields()
+	 * @see #failOnAmbiguousFields()
+	 */
+	public WarmupOptions validate() {
+		return failOnUnmappedFields().failOnAmbiguousFields();
+	}
+
+	/**
+	 * @return the number of sample mappings to run for each {@code ClassMapper}
+	 */
+	public int getSampleIterations() {
+		return sampleIterations;
+	}
+	/**
+	 * @return {@code true} if the warm-up fails on unmapped fields
+	 */
+	public boolean isFailOnUnmappedFields() {
+		return failOnUnmappedFields;
+	}
+	/**
+	 * @return {@code true} if the warm-up fails on ambiguous fields
+	 */
+	public boolean isFailOnAmbiguousFields() {
+		return failOnAmbiguousFields;
+	}
+
+}
@@ -0,0 +1,127 @@
+package es.utils.mapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class contains the result of the eager warm-up of a {@code Mapper}: the time spent in each phase
+ * and the problems found in the mappings.
+ * @author eschoysman
+ * @see Mapper#build(WarmupOptions)
+ * @see WarmupOptions
+ */
+public class WarmupReport {
+
+	private int scannedTypes;
+	private int activatedMappings;
+	private long sampleMappings;
+	private long fieldScanNanos;
+	private long activationNanos;
+	private long sampleMappingNanos;
+	private final List<String> unmappedFields = new ArrayList<>();
+	private final List<String> ambiguousFields = new ArrayList<>();
+	private final List<String> failedSampleMappings = new ArrayList<>();
+
+	WarmupReport() {
+	}
+
+	/**
+	 * @return the number of types whose {@code FieldHolder}s were created
+	 */
+	public int getScannedTypes() {
+		return scannedTypes;
+	}
+	/**
+	 * @return the number of mappings activated
+	 */
+	public int getActivatedMappings() {
+		return activatedMappings;
+	}
+	/**
+	 * @return the number of sample mappings run
+	 */
+	public long getSampleMappings() {
+		return sampleMappings;
+	}
+	/**
+	 * @return the time spent creating the {@code FieldHolder}s, in nanoseconds
+	 */
+	public long getFieldScanNanos() {
+		return fieldScanNanos;
+	}
+	/**
+	 * @return the time spent activating the mappings, in nanoseconds
+	 */
+	public long getActivationNanos() {
+		return activationNanos;
+	}
+	/**
+	 * @return the time spent running the sample mappings, in nanoseconds
+	 */
+	public long getSampleMappingNanos() {
+		return sampleMappingNanos;
+	}
+	/**
+	 * @return the total time of the warm-up, in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return fieldScanNanos+activationNanos+sampleMappingNanos;
+	}
+	/**
+	 * @return the descriptions of the fields of the destination types not written by any element mapping
+	 */
+	public List<String> getUnmappedFields() {
+		return Collections.unmodifiableList(unmappedFields);
+	}
+	/**
+	 * @return the descriptions of the names or aliases shared by more than one field of the same type
+	 */
+	public List<String> getAmbiguousFields() {
+		return Collections.unmodifiableList(ambiguousFields);
+	}
+	/**
+	 * @return the descriptions of the sample mappings that threw an exception
+	 */
+	public List<String> getFailedSampleMappings() {
+		return Collections.unmodifiableList(failedSampleMappings);
+	}
+
+	/**
+	 * Returns a human readable summary of the warm-up
+	 */
+	@Override
+	public String toString() {
+		return "WarmupReport[types="+scannedTypes+", mappings="+activatedMappings+", samples="+sampleMappings
+				+", fieldScan="+millis(fieldScanNanos)+"ms, activation="+millis(activationNanos)+"ms, sampleMappings="+millis(sampleMappingNanos)+"ms"
+				+", unmappedFields="+unmappedFields.size()+", ambiguousFields="+ambiguousFields.size()+", failedSampleMappings="+failedSampleMappings.size()+"]";
+	}
+
+	void fieldScan(int scannedTypes, long nanos) {
+		this.scannedTypes = scannedTypes;
+		this.fieldScanNanos = nanos;
+	}
+	void activation(int activatedMappings, long nanos) {
+		this.activatedMappings = activatedMappings;
+		this.activationNanos = nanos;
+	}
+	void sampleMapping(long sampleMappings, long nanos) {
+		this.sampleMappings = sampleMappings;
+		this.sampleMappingNanos = nanos;
+	}
+	void addUnmappedField(String description) {
+		unmappedFields.add(description);
+	}
+	void addAmbiguousField(String description) {
+		ambiguousFields.add(description);
+	}
+	void addFailedSampleMapping(String description) {
+		failedSampleMappings.add(description);
+	}
+
+	private static long millis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+
+}
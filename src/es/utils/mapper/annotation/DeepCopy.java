@@ -0,0 +1,39 @@
+package es.utils.mapper.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Deep copy annotation lets you specify the fields whose value should be deep copied during the mapping,
+ * regardless of the deep copy setting of the {@code Configuration}.
+ * This annotation can be used on single field or on class:
+ * <ul>
+ * <li>on a field, the value of the field is deep copied, or never deep copied if {@link #ignore()} is {@code true}</li>
+ * <li>on a class, the values of all its fields are deep copied except the ones listed in {@link #ignoreFields()}.
+ * If {@link #ignoreAllExceptFields()} is not empty, only the listed fields are deep copied.
+ * If {@link #ignore()} is {@code true}, none of the fields is deep copied</li>
+ * </ul>
+ * The annotation of a field overrides the annotation of its class. The annotation of the origin field overrides the annotation of the destination field.
+ * @author eschoysman
+ *
+ */
+@Retention(RUNTIME)
+@Target({FIELD,TYPE})
+public @interface DeepCopy {
+	/**
+	 * @return {@code true} if the annotated field, or all the fields of the annotated class, must not be deep copied
+	 */
+	boolean ignore() default false;
+	/**
+	 * @return if the target is a {@code TYPE} the list of the fields not to be deep copied, otherwise (target is a {@code FIELD}) an empty array
+	 */
+	String[] ignoreFields() default {};
+	/**
+	 * @return if the target is a {@code TYPE} the list of the only fields to be deep copied, otherwise (target is a {@code FIELD}) an empty array
+	 */
+	String[] ignoreAllExceptFields() default {};
+}
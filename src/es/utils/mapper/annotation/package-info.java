@@ -5,6 +5,7 @@
  * <li>{@code @AliasNames} : used to specify the alternative names of a field.</li>
  * <li>{@code @CollectionType} : used for field of a type that extends {@code Collection}, it allow the user to specify the type of collection to have in the destination class.</li>
  * <li>{@code @Converter} : used to specify the converter to use for a field. This is a repeatable annotation.</li>
+ * <li>{@code @DeepCopy} : used to specify the fields whose value is deep copied during the mapping. If used on a class, it can take the list of the fields to exclude or to include.</li>
  * <li>{@code @Default} : used to specify a default value to use for a field.</li>
  * <li>{@code @IgnoreField} : the annotated field will be ignored during the mapping. If used on a class, it can take a list of string containing the field names or aliases to be ignored.</li>
  * </ul>
@@ -12,6 +13,7 @@
  * @see es.utils.mapper.annotation.AliasNames
  * @see es.utils.mapper.annotation.CollectionType
  * @see es.utils.mapper.annotation.Converter
+ * @see es.utils.mapper.annotation.DeepCopy
  * @see es.utils.mapper.annotation.Default
  * @see es.utils.mapper.annotation.IgnoreField
  */
@@ -2,45 +2,98 @@ package es.utils.mapper.configuration;
 
 import es.utils.mapper.Mapper;
 import es.utils.mapper.annotation.AliasNames;
+import es.utils.mapper.copy.DeepCopier;
 import es.utils.mapper.defaultvalue.DefaultValueStrategy;
 import es.utils.mapper.exception.CustomException;
 import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.factory.InstantiatorFactory;
+import es.utils.mapper.impl.MappingContext;
+import es.utils.mapper.index.MetadataIndex;
+import es.utils.mapper.metrics.MappingMetrics;
 
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
 import static es.utils.mapper.defaultvalue.DefaultValueStrategy.*;
 
 /**
- * This class handle the configuration at Mapper level.
+ * This class handle the configuration at Mapper level.<br>
+ * A frozen configuration, created by {@link #freeze()} for a {@link es.utils.mapper.FrozenMapper}, cannot be modified:
+ * all the methods changing it throw an {@code IllegalStateException}.
  * @author eschoysman
  *
  */
 public class Configuration {
 
+	private static final AtomicInteger VERSIONS = new AtomicInteger();
+
 	private Map<Class<?>,Supplier<?>> suppliers;
 	private Map<Class<?>,Supplier<?>> defaultValues;
 	private Map<Class<? extends Annotation>,String> annotations;
 	private boolean deepCopyEnabled;
+	private boolean compiledMappingEnabled;
+	private boolean graphMappingEnabled;
+	private ForkJoinPool parallelPool;
+	private int parallelChunkSize;
+	private Executor asyncExecutor;
+	private MappingMetrics metrics;
+	private MetadataIndex metadataIndex;
 	private UnaryOperator<?> cloner;
-	private EnumSet<DefaultValueStrategy> defaultValuesStrategy;
+	private DeepCopier deepCopier;
+	private volatile EnumSet<DefaultValueStrategy> defaultValuesStrategy;
+	private volatile int version;
+	private final boolean frozen;
 
 	/**
 	 * Create a configuration associated to set to a {@code Mapper} instance.
 	 * @see Mapper
 	 */
 	public Configuration() {
+		this.frozen = false;
 		this.suppliers = new HashMap<>();
 		this.annotations = new HashMap<>();
 		this.defaultValues = new HashMap<>();
 		this.defaultValuesStrategy = EnumSet.noneOf(DefaultValueStrategy.class);
+		this.parallelChunkSize = 1024;
+		this.metadataIndex = MetadataIndex.classpath();
+		this.deepCopier = new DeepCopier();
 		initDefaultValues();
 	}
+	private Configuration(Configuration configuration) {
+		this.frozen = true;
+		this.suppliers = Collections.unmodifiableMap(new HashMap<>(configuration.suppliers));
+		this.annotations = Collections.unmodifiableMap(new HashMap<>(configuration.annotations));
+		this.defaultValues = Collections.unmodifiableMap(new HashMap<>(configuration.defaultValues));
+		this.defaultValuesStrategy = EnumSet.copyOf(configuration.defaultValuesStrategy);
+		this.deepCopyEnabled = configuration.deepCopyEnabled;
+		this.compiledMappingEnabled = configuration.compiledMappingEnabled;
+		this.graphMappingEnabled = configuration.graphMappingEnabled;
+		this.parallelPool = configuration.parallelPool;
+		this.parallelChunkSize = configuration.parallelChunkSize;
+		this.asyncExecutor = configuration.asyncExecutor;
+		this.metrics = configuration.metrics;
+		this.metadataIndex = configuration.metadataIndex;
+		this.cloner = configuration.cloner;
+		this.deepCopier = new DeepCopier(configuration.deepCopier).freeze();
+		this.version = VERSIONS.incrementAndGet();
+	}
 
 	private final void initDefaultValues() {
 		try {
@@ -58,6 +111,7 @@ public class Configuration {
 	 * @return The current configuration instance
 	 */
 	public <T> Configuration addSupplier(Class<T> type, Supplier<T> supplier) {
+		checkNotFrozen();
 		this.suppliers.put(type,supplier);
 		return this;
 	}
@@ -71,6 +125,26 @@ public class Configuration {
 		Supplier<T> supplier = (Supplier<T>)suppliers.get(type);
 		return supplier;
 	}
+	/**
+	 * Returns the operation used to create a new instance of the given type: the supplier added with {@link #addSupplier(Class, Supplier)}
+	 * if present, otherwise the empty constructor of the type, resolved only once per type.
+	 * @param <T> the type of the class
+	 * @param type the type to instantiate
+	 * @return The supplier of new instances of the given type
+	 * @throws MappingException if no supplier is present and the type does not have a public empty constructor
+	 * @see InstantiatorFactory#instantiator(Class)
+	 */
+	public <T> Supplier<T> getInstantiator(Class<T> type) throws MappingException {
+		Supplier<T> supplier = getSupplier(type);
+		if(supplier!=null) {
+			return supplier;
+		}
+		try {
+			return InstantiatorFactory.instantiator(type);
+		} catch (ReflectiveOperationException e) {
+			throw CustomException.forType(MappingException.class).message("Destination class does not have a public empty constructor. Please provide a public empty constructor or a Supplier in the configuration such that the mapping can be done.").cause(e).build();
+		}
+	}
 	
 	/**
 	 * Customize how to create a default value for the given type.
@@ -80,6 +154,7 @@ public class Configuration {
 	 * @return The current configuration instance
 	 */
 	public <T> Configuration addDefaultValueSupplier(Class<T> type, Supplier<T> defaultValue) {
+		checkNotFrozen();
 		this.defaultValues.put(type,defaultValue);
 		return this;
 	}
@@ -116,6 +191,7 @@ public class Configuration {
 	 * @see #useAnnotation(Class)
 	 */
 	public <T extends Annotation> Configuration useAnnotation(Class<T> annotationType, String fieldName) throws MappingException {
+		checkNotFrozen();
 		if(fieldName==null || fieldName.trim().isEmpty()) {
 			fieldName = "value";
 		}
@@ -139,15 +215,26 @@ public class Configuration {
 	public <T extends Annotation> String getAnnotationField(Class<T> annotationType) {
 		return this.annotations.get(annotationType);
 	}
+	/**
+	 * @return The annotations used to specify the alias names of the fields
+	 * @see #useAnnotation(Class, String)
+	 */
+	public Set<Class<? extends Annotation>> getAliasAnnotations() {
+		return Collections.unmodifiableSet(this.annotations.keySet());
+	}
 
 	/**
-	 * Enable the deep copy of the field
+	 * Enable the deep copy of the field.<br>
+	 * If no cloner is set with {@link #setCloner(UnaryOperator)}, the values are copied by the {@link DeepCopier} of this configuration.
 	 * @return The current configuration instance
 	 * @see #disableDeepCopy()
 	 * @see #isDeepCopyEnabled()
+	 * @see #getDeepCopier()
 	 */
 	public Configuration enableDeepCopy() {
+		checkNotFrozen();
 		this.deepCopyEnabled = true;
+		this.version = VERSIONS.incrementAndGet();
 		return this;
 	}
 	/**
@@ -157,7 +244,9 @@ public class Configuration {
 	 * @see #isDeepCopyEnabled()
 	 */
 	public Configuration disableDeepCopy() {
+		checkNotFrozen();
 		this.deepCopyEnabled = false;
+		this.version = VERSIONS.incrementAndGet();
 		return this;
 	}
 	/**
@@ -169,6 +258,191 @@ public class Configuration {
 		return this.deepCopyEnabled;
 	}
 
+	/**
+	 * Enable the compiled mapping: each {@code ClassMapper} merges all its element mappings into a single {@code MethodHandle}
+	 * the first time it is used after the {@code Mapper} is built, instead of applying them one by one.
+	 * @return The current configuration instance
+	 * @see #disableCompiledMapping()
+	 * @see #isCompiledMappingEnabled()
+	 */
+	public Configuration enableCompiledMapping() {
+		checkNotFrozen();
+		this.compiledMappingEnabled = true;
+		return this;
+	}
+	/**
+	 * Disable the compiled mapping
+	 * @return The current configuration instance
+	 * @see #enableCompiledMapping()
+	 * @see #isCompiledMappingEnabled()
+	 */
+	public Configuration disableCompiledMapping() {
+		checkNotFrozen();
+		this.compiledMappingEnabled = false;
+		return this;
+	}
+	/**
+	 * @return Returns {@code true} only if the compiled mapping is enabled, {@code false} otherwise
+	 * @see #enableCompiledMapping()
+	 * @see #disableCompiledMapping()
+	 */
+	public boolean isCompiledMappingEnabled() {
+		return this.compiledMappingEnabled;
+	}
+
+	/**
+	 * Enable the graph mapping: during a mapping operation each source object is mapped only once for each destination type,
+	 * so an object referenced more than once is mapped into a single destination object and the cycles of the source objects are preserved.<br>
+	 * Without the graph mapping, each reference is mapped into a new object and a cycle causes a {@code StackOverflowError}.<br>
+	 * The identity of the objects is kept across all the elements mapped by {@link Mapper#mapArray(Object[], Object[])},
+	 * {@link Mapper#mapCollection(java.util.Collection, java.util.Collection, Class)} (and the {@code mapList} and {@code mapSet} methods),
+	 * {@link Mapper#mapArrayParallel(Object[], Object[])} and {@link Mapper#mapCollectionParallel(java.util.Collection, java.util.Collection, Class)}:
+	 * the parallel methods map the elements sequentially when the graph mapping is enabled.
+	 * {@link Mapper#mapStream(java.util.stream.Stream, Class)}, {@link Mapper#mapIterator(java.util.Iterator, Class)} and
+	 * {@link Mapper#mapAllAsync(java.util.Collection, Class)} map each element in its own mapping operation, so the identity is kept only inside each element.
+	 * @return The current configuration instance
+	 * @see #disableGraphMapping()
+	 * @see #isGraphMappingEnabled()
+	 * @see MappingContext
+	 */
+	public Configuration enableGraphMapping() {
+		checkNotFrozen();
+		this.graphMappingEnabled = true;
+		return this;
+	}
+	/**
+	 * Disable the graph mapping
+	 * @return The current configuration instance
+	 * @see #enableGraphMapping()
+	 * @see #isGraphMappingEnabled()
+	 */
+	public Configuration disableGraphMapping() {
+		checkNotFrozen();
+		this.graphMappingEnabled = false;
+		return this;
+	}
+	/**
+	 * @return Returns {@code true} only if the graph mapping is enabled, {@code false} otherwise
+	 * @see #enableGraphMapping()
+	 * @see #disableGraphMapping()
+	 */
+	public boolean isGraphMappingEnabled() {
+		return this.graphMappingEnabled;
+	}
+
+	/**
+	 * Set the pool used by the parallel mapping of arrays and collections.<br>
+	 * If {@code parallelPool} is {@code null}, the {@link ForkJoinPool#commonPool()} will be used.
+	 * @param parallelPool the pool running the parallel mapping
+	 * @return The current configuration instance
+	 * @see #getParallelPool()
+	 * @see Mapper#mapCollectionParallel(java.util.Collection, java.util.Collection, Class)
+	 * @see Mapper#mapArrayParallel(Object[], Object[])
+	 */
+	public Configuration setParallelPool(ForkJoinPool parallelPool) {
+		checkNotFrozen();
+		this.parallelPool = parallelPool;
+		return this;
+	}
+	/**
+	 * @return Returns the pool used by the parallel mapping, by default the {@link ForkJoinPool#commonPool()}
+	 * @see #setParallelPool(ForkJoinPool)
+	 */
+	public ForkJoinPool getParallelPool() {
+		return this.parallelPool==null ? ForkJoinPool.commonPool() : this.parallelPool;
+	}
+	/**
+	 * Set the maximum number of elements mapped by a single task during the parallel mapping (by default 1024).
+	 * The inputs smaller than this size are mapped on the calling thread.
+	 * @param parallelChunkSize the number of elements of each chunk
+	 * @return The current configuration instance
+	 * @throws IllegalArgumentException if {@code parallelChunkSize} is lower than 1
+	 * @see #getParallelChunkSize()
+	 */
+	public Configuration setParallelChunkSize(int parallelChunkSize) {
+		checkNotFrozen();
+		if(parallelChunkSize<1) {
+			throw new IllegalArgumentException("The chunk size of the parallel mapping must be positive: "+parallelChunkSize);
+		}
+		this.parallelChunkSize = parallelChunkSize;
+		return this;
+	}
+	/**
+	 * @return Returns the maximum number of elements mapped by a single task during the parallel mapping
+	 * @see #setParallelChunkSize(int)
+	 */
+	public int getParallelChunkSize() {
+		return this.parallelChunkSize;
+	}
+
+	/**
+	 * Set the executor running the asynchronous mapping.<br>
+	 * If {@code asyncExecutor} is {@code null}, the default executor will be used: on Java 21 or later it starts a new virtual thread for each mapping,
+	 * on the previous versions it is a pool of daemon threads bounded to the number of available processors, whose queue holds up to 1024 mappings per thread:
+	 * when the queue is full the new mappings are rejected, and the future returned by {@code mapAsync} is completed exceptionally with a {@code RejectedExecutionException}.
+	 * @param asyncExecutor the executor running the asynchronous mapping
+	 * @return The current configuration instance
+	 * @see #getAsyncExecutor()
+	 * @see Mapper#mapAsync(Object, Class)
+	 * @see Mapper#mapAllAsync(java.util.Collection, Class)
+	 */
+	public Configuration setAsyncExecutor(Executor asyncExecutor) {
+		checkNotFrozen();
+		this.asyncExecutor = asyncExecutor;
+		return this;
+	}
+	/**
+	 * @return Returns the executor running the asynchronous mapping, by default an executor shared by all the configurations
+	 * @see #setAsyncExecutor(Executor)
+	 */
+	public Executor getAsyncExecutor() {
+		return this.asyncExecutor==null ? DefaultAsyncExecutor.INSTANCE : this.asyncExecutor;
+	}
+
+	/**
+	 * Set the metrics receiving the measures of each mapping and of each element of the mappings.<br>
+	 * If {@code metrics} is {@code null} (the default), the mappings are not measured. While measured, the {@code ClassMapper}s apply
+	 * their element mappings one by one, also if the compiled mapping is enabled, so that each element can be measured.
+	 * @param metrics the metrics receiving the measures
+	 * @return The current configuration instance
+	 * @see #getMetrics()
+	 * @see es.utils.mapper.metrics.InMemoryMappingMetrics
+	 */
+	public Configuration setMetrics(MappingMetrics metrics) {
+		checkNotFrozen();
+		this.metrics = metrics;
+		return this;
+	}
+	/**
+	 * @return Returns the metrics receiving the measures of the mappings, or {@code null} if the mappings are not measured
+	 * @see #setMetrics(MappingMetrics)
+	 */
+	public MappingMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Set the index of the mapping annotations used instead of reading the annotations by reflection.<br>
+	 * By default the index of all the {@value MetadataIndex#RESOURCE} resources of the classpath is used.
+	 * The classes missing from the index are processed by reflection. The index must be set before the fields of the classes are used by the {@code Mapper}.
+	 * @param metadataIndex the index to use, use {@link MetadataIndex#empty()} to always read the annotations by reflection
+	 * @return The current configuration instance
+	 * @throws NullPointerException if {@code metadataIndex} is {@code null}
+	 * @see #getMetadataIndex()
+	 */
+	public Configuration setMetadataIndex(MetadataIndex metadataIndex) {
+		checkNotFrozen();
+		this.metadataIndex = Objects.requireNonNull(metadataIndex);
+		return this;
+	}
+	/**
+	 * @return Returns the index of the mapping annotations
+	 * @see #setMetadataIndex(MetadataIndex)
+	 */
+	public MetadataIndex getMetadataIndex() {
+		return this.metadataIndex;
+	}
+
 	/**
 	 * Set to cloner to use if {@code deepCopy} is enabled.<br>
 	 * If {@code cloner} is not {@code null}, {@code deepCopy} will be enabled.
@@ -180,6 +454,7 @@ public class Configuration {
 	 * @see #getCloner()
 	 */
 	public <T> Configuration setCloner(UnaryOperator<T> cloner) {
+		checkNotFrozen();
 		this.cloner = cloner;
 		return cloner==null ? disableDeepCopy() : enableDeepCopy();
 	}
@@ -193,6 +468,26 @@ public class Configuration {
 		UnaryOperator<T> cloner = (UnaryOperator<T>)this.cloner;
 		return cloner;
 	}
+	/**
+	 * @return Returns the built-in deep copy engine, used when {@code deepCopy} is enabled and no cloner is set
+	 * @see #enableDeepCopy()
+	 * @see #addImmutableType(Class...)
+	 */
+	public DeepCopier getDeepCopier() {
+		return this.deepCopier;
+	}
+	/**
+	 * Declare the given types as immutable: their instances are shared instead of being copied by the built-in deep copy engine.
+	 * @param types the immutable types
+	 * @return The current configuration instance
+	 * @see DeepCopier#addImmutableType(Class...)
+	 */
+	public Configuration addImmutableType(Class<?>... types) {
+		checkNotFrozen();
+		this.deepCopier.addImmutableType(types);
+		this.version = VERSIONS.incrementAndGet();
+		return this;
+	}
 
 	/**
 	 * Set the logic of the defaultValue strategy.
@@ -202,32 +497,33 @@ public class Configuration {
 	 * @see DefaultValueStrategy
 	 */
 	public Configuration setDefaultValueStrategy(DefaultValueStrategy... defaultValuesStrategy) {
+		checkNotFrozen();
 		EnumSet<DefaultValueStrategy> input = EnumSet.noneOf(DefaultValueStrategy.class);
 		input.addAll(Arrays.asList(defaultValuesStrategy));
 		// contains only INPUT and/or OUTPUT
 		if(!input.isEmpty() && !input.contains(NEVER) && !input.contains(DEFAULT) && !input.contains(ALWAYS) && !input.contains(CUSTOM)) {
 			input.add(CUSTOM);
 		}
-		if(this.defaultValuesStrategy!=null) {
-			this.defaultValuesStrategy.clear();
-		}
+		EnumSet<DefaultValueStrategy> strategies;
 		if(input.isEmpty() || input.remove(NEVER)) {
-			this.defaultValuesStrategy = EnumSet.of(NEVER);
-			return this;
+			strategies = EnumSet.of(NEVER);
 		}
-		if(input.remove(DEFAULT)) {
-			this.defaultValuesStrategy = EnumSet.of(ALWAYS,INPUT,OUTPUT);
-			return this;
+		else if(input.remove(DEFAULT)) {
+			strategies = EnumSet.of(ALWAYS,INPUT,OUTPUT);
 		}
-		this.defaultValuesStrategy.addAll(input);
-		if((this.defaultValuesStrategy.contains(ALWAYS) || this.defaultValuesStrategy.contains(CUSTOM))
-				&& !this.defaultValuesStrategy.contains(INPUT) && !this.defaultValuesStrategy.contains(OUTPUT)) {
-			this.defaultValuesStrategy.add(INPUT);
-			this.defaultValuesStrategy.add(OUTPUT);
-		}
-		if(!this.defaultValuesStrategy.contains(ALWAYS)) {
-			this.defaultValuesStrategy.add(CUSTOM);
+		else {
+			strategies = input;
+			if((strategies.contains(ALWAYS) || strategies.contains(CUSTOM)) && !strategies.contains(INPUT) && !strategies.contains(OUTPUT)) {
+				strategies.add(INPUT);
+				strategies.add(OUTPUT);
+			}
+			if(!strategies.contains(ALWAYS)) {
+				strategies.add(CUSTOM);
+			}
 		}
+		// the new strategies are published before the version, so that a specialization done with the new version sees them
+		this.defaultValuesStrategy = strategies;
+		this.version = VERSIONS.incrementAndGet();
 		return this;
 	}
 	/**
@@ -240,4 +536,61 @@ public class Configuration {
 		return this.defaultValuesStrategy.contains(strategy);
 	}
 
+	/**
+	 * Returns the version of the settings used to specialize the mapping of the elements: the deep copy, the cloner, the immutable types and the defaultValue strategy.
+	 * The version changes every time one of these settings is modified, so that the element mappings are specialized again,
+	 * and it is never shared by two {@code Configuration} instances.
+	 * @return the current version of the settings
+	 * @see es.utils.mapper.impl.element.ElementMapper
+	 */
+	public int getVersion() {
+		return this.version;
+	}
+
+	/**
+	 * Returns an immutable copy of this configuration, used by the {@link es.utils.mapper.FrozenMapper}s.<br>
+	 * The copy has the same settings of this configuration and its own copy of the {@link DeepCopier}:
+	 * the later changes of this configuration are not visible in the copy, and all the methods changing the copy throw an {@code IllegalStateException}.
+	 * @return a frozen copy of this configuration, or this instance if it is already frozen
+	 * @see #isFrozen()
+	 */
+	public Configuration freeze() {
+		return frozen ? this : new Configuration(this);
+	}
+	/**
+	 * @return {@code true} if this configuration cannot be modified, {@code false} otherwise
+	 * @see #freeze()
+	 */
+	public boolean isFrozen() {
+		return this.frozen;
+	}
+	private void checkNotFrozen() {
+		if(frozen) {
+			throw new IllegalStateException("The configuration is frozen: it cannot be modified");
+		}
+	}
+
+	private static class DefaultAsyncExecutor {
+		private static final int QUEUE_CAPACITY_PER_THREAD = 1024;
+		private static final ExecutorService INSTANCE = create();
+
+		private static ExecutorService create() {
+			try {
+				return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+			} catch (ReflectiveOperationException | RuntimeException e) {
+				int threads = Runtime.getRuntime().availableProcessors();
+				AtomicInteger count = new AtomicInteger();
+				ThreadFactory threadFactory = runnable->{
+					Thread thread = new Thread(runnable,"mapper-async-"+count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				};
+				// the queue is bounded so that a burst of mappings cannot exhaust the memory: the rejected mappings fail their future
+				ThreadPoolExecutor executor = new ThreadPoolExecutor(threads,threads,60,TimeUnit.SECONDS,new LinkedBlockingQueue<>(threads*QUEUE_CAPACITY_PER_THREAD),threadFactory,new ThreadPoolExecutor.AbortPolicy());
+				executor.allowCoreThreadTimeOut(true);
+				return executor;
+			}
+		}
+	}
+
 }
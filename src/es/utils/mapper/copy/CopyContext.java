@@ -0,0 +1,64 @@
+package es.utils.mapper.copy;
+
+import java.util.IdentityHashMap;
+
+/**
+ * This class keeps track of the objects already copied by the {@link DeepCopier} during a single mapping operation.<br>
+ * While a context is open in the current thread, all the deep copies done in the thread share the same copies:
+ * an object referenced by more than one field of the mapped objects is copied only once, and all the fields reference the same copy.
+ * Without an open context, the identity is kept only within the single value copied by {@link DeepCopier#copy(Object)}.<br>
+ * The context is bound to the current thread from the outermost mapping call to its end,
+ * so it is shared by all the nested mappings without changing their signature.
+ * @author eschoysman
+ * @see DeepCopier
+ * @see es.utils.mapper.impl.MappingContext
+ */
+public final class CopyContext implements AutoCloseable {
+
+	private static final ThreadLocal<CopyContext> CURRENT = new ThreadLocal<>();
+
+	private IdentityHashMap<Object,Object> copies;
+	private int depth;
+
+	private CopyContext() {}
+
+	/**
+	 * Returns the context bound to the current thread, creating it if this is the outermost mapping call.
+	 * Every call must be paired with a call to {@link #close()}, that unbinds the context when the outermost call ends.
+	 * @return the copy context of the current mapping operation
+	 */
+	public static CopyContext open() {
+		CopyContext context = CURRENT.get();
+		if(context==null) {
+			context = new CopyContext();
+			CURRENT.set(context);
+		}
+		context.depth++;
+		return context;
+	}
+	/**
+	 * @return the context bound to the current thread, or {@code null} if no mapping operation with deep copy is running
+	 */
+	public static CopyContext current() {
+		return CURRENT.get();
+	}
+
+	// the map is created only when the first mutable value is copied
+	IdentityHashMap<Object,Object> getCopies() {
+		if(copies==null) {
+			copies = new IdentityHashMap<>();
+		}
+		return copies;
+	}
+
+	/**
+	 * Ends a call started by {@link #open()}. When the outermost call ends, the context is unbound from the current thread.
+	 */
+	@Override
+	public void close() {
+		if(--depth==0) {
+			CURRENT.remove();
+		}
+	}
+
+}
@@ -0,0 +1,532 @@
+package es.utils.mapper.copy;
+
+import es.utils.mapper.configuration.Configuration;
+import es.utils.mapper.factory.AccessorFactory;
+import es.utils.mapper.factory.CollectionFactory;
+import es.utils.mapper.factory.InstantiatorFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * This class creates the deep copies of the values read during the mapping, when the deep copy is enabled and no custom cloner is set.<br>
+ * The copy operation of each class is created only the first time an instance of the class is copied:
+ * <ul>
+ * <li>the instances of the immutable types (the primitive wrappers, {@code String}, the enums, the {@code java.time} types and the types
+ * added with {@link #addImmutableType(Class...)}) are shared instead of copied</li>
+ * <li>the arrays of primitive or immutable values are copied with {@link System#arraycopy(Object,int,Object,int,int)},
+ * the other arrays element by element</li>
+ * <li>the collections and the maps are created already sized to hold all the elements, then filled with the copies of the elements.
+ * The unmodifiable and synchronized wrappers of {@link Collections} and the lists of {@link Arrays#asList(Object...)} are copied wrapping the copy in the same way,
+ * the empty, singleton and immutable collections of the JDK are shared when their elements are immutable</li>
+ * <li>the other objects are created with their empty constructor and their fields are copied with the accessors of {@link AccessorFactory},
+ * the primitive fields without boxing. The other types of the JDK (as {@code Date} and {@code Calendar}) are copied with their public {@code clone()} method</li>
+ * </ul>
+ * Each call to {@link #copy(Object)} keeps track of the objects already copied, so that an object referenced more than once
+ * is copied only once and the cycles of the graph are reproduced in the copy.
+ * While a {@link CopyContext} is open, as during the mapping of an object, the objects already copied are shared by all the calls,
+ * so that two fields referencing the same object are assigned the same copy.<br>
+ * The objects that cannot be copied (the types without an empty constructor and the types of the JDK
+ * without a public {@code clone()} method) are shared as they are, logging a warning the first time.
+ * @author eschoysman
+ * @see Configuration#enableDeepCopy()
+ * @see Configuration#getDeepCopier()
+ */
+@Slf4j
+public class DeepCopier {
+
+	private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+		String.class,Boolean.class,Character.class,Byte.class,Short.class,Integer.class,Long.class,Float.class,Double.class,Void.class,
+		BigDecimal.class,BigInteger.class,UUID.class,Locale.class,Currency.class,Pattern.class,URI.class,URL.class,File.class,
+		Class.class,Object.class,OptionalInt.class,OptionalLong.class,OptionalDouble.class,
+		Collections.emptyList().getClass(),Collections.emptySet().getClass(),Collections.emptyMap().getClass()
+	));
+	private static final MethodType CLONE_TYPE = MethodType.methodType(Object.class,Object.class);
+	private static final Copier SHARE = (source,copies)->source;
+
+	private final Set<Class<?>> immutableTypes;
+	private final Map<Class<?>,Copier> copiers;
+	private final Set<Class<?>> sharedTypes;
+	private volatile boolean frozen;
+
+	/**
+	 * Create a {@code DeepCopier} knowing only the immutable types of the JDK.
+	 */
+	public DeepCopier() {
+		this.immutableTypes = ConcurrentHashMap.newKeySet();
+		this.copiers = new ConcurrentHashMap<>();
+		this.sharedTypes = ConcurrentHashMap.newKeySet();
+	}
+	/**
+	 * Create a {@code DeepCopier} knowing the same immutable types of the given one.
+	 * @param deepCopier the {@code DeepCopier} to copy
+	 */
+	public DeepCopier(DeepCopier deepCopier) {
+		this();
+		this.immutableTypes.addAll(deepCopier.immutableTypes);
+	}
+
+	/**
+	 * Add the given types to the immutable types: their instances are shared by the copy instead of being copied.<br>
+	 * Only the exact types are added, not their subtypes.
+	 * @param types the immutable types
+	 * @return the current {@code DeepCopier} instance
+	 * @throws IllegalStateException if this {@code DeepCopier} is frozen
+	 */
+	public DeepCopier addImmutableType(Class<?>... types) {
+		if(frozen) {
+			throw new IllegalStateException("The DeepCopier is frozen: no immutable type can be added");
+		}
+		for(Class<?> type : types) {
+			immutableTypes.add(Objects.requireNonNull(type));
+		}
+		copiers.clear();
+		return this;
+	}
+	/**
+	 * Prevents the addition of new immutable types: after this call {@link #addImmutableType(Class...)} throws an {@code IllegalStateException}.
+	 * @return the current {@code DeepCopier} instance
+	 */
+	public DeepCopier freeze() {
+		frozen = true;
+		return this;
+	}
+	/**
+	 * @param type the type to check
+	 * @return {@code true} if the instances of {@code type} are shared by the copy instead of being copied, {@code false} otherwise
+	 */
+	public boolean isImmutable(Class<?> type) {
+		return type.isPrimitive()
+			|| IMMUTABLE_TYPES.contains(type)
+			|| immutableTypes.contains(type)
+			|| Enum.class.isAssignableFrom(type)
+			|| Charset.class.isAssignableFrom(type)
+			|| InetAddress.class.isAssignableFrom(type)
+			|| type.getName().startsWith("java.time.");
+	}
+
+	/**
+	 * Create a deep copy of the given value.
+	 * @param <T> the type of the value
+	 * @param value the value to copy
+	 * @return the copy of {@code value}, or {@code value} itself if it is {@code null}, immutable or cannot be copied
+	 */
+	public <T> T copy(T value) {
+		if(value==null || getCopier(value.getClass())==SHARE) {
+			return value;
+		}
+		CopyContext context = CopyContext.current();
+		@SuppressWarnings("unchecked")
+		T copy = (T)copy(value,context!=null ? context.getCopies() : new IdentityHashMap<>());
+		return copy;
+	}
+
+	private Object copy(Object source, IdentityHashMap<Object,Object> copies) {
+		if(source==null) {
+			return null;
+		}
+		Copier copier = getCopier(source.getClass());
+		if(copier==SHARE) {
+			return source;
+		}
+		Object copy = copies.get(source);
+		if(copy==null) {
+			copy = copier.copy(source,copies);
+		}
+		return copy;
+	}
+	private Copier getCopier(Class<?> type) {
+		Copier copier = copiers.get(type);
+		if(copier==null) {
+			copier = createCopier(type);
+			Copier previous = copiers.putIfAbsent(type,copier);
+			if(previous!=null) {
+				copier = previous;
+			}
+		}
+		return copier;
+	}
+	private Copier createCopier(Class<?> type) {
+		if(isImmutable(type)) {
+			return SHARE;
+		}
+		if(type.isArray()) {
+			return arrayCopier(type.getComponentType());
+		}
+		boolean container = Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+		if(container && isInternalType(type) && !hasEmptyConstructor(type)) {
+			return jdkContainerCopier(type);
+		}
+		if(Collection.class.isAssignableFrom(type)) {
+			return collectionCopier(type);
+		}
+		if(Map.class.isAssignableFrom(type)) {
+			return mapCopier(type);
+		}
+		return objectCopier(type);
+	}
+
+	private Copier arrayCopier(Class<?> componentType) {
+		if(componentType.isPrimitive() || (isImmutable(componentType) && Modifier.isFinal(componentType.getModifiers()))) {
+			return (source,copies)->{
+				int length = Array.getLength(source);
+				Object copy = Array.newInstance(componentType,length);
+				System.arraycopy(source,0,copy,0,length);
+				copies.put(source,copy);
+				return copy;
+			};
+		}
+		return (source,copies)->{
+			Object[] array = (Object[])source;
+			Object[] copy = (Object[])Array.newInstance(componentType,array.length);
+			copies.put(source,copy);
+			for(int i=0; i<array.length; i++) {
+				copy[i] = copy(array[i],copies);
+			}
+			return copy;
+		};
+	}
+	@SuppressWarnings({"unchecked","rawtypes"})
+	private Copier collectionCopier(Class<?> type) {
+		Function<Collection<Object>,Collection<Object>> factory;
+		if(type==TreeSet.class) {
+			factory = source->new TreeSet<>(((SortedSet<Object>)source).comparator());
+		}
+		else if(type==PriorityQueue.class) {
+			factory = source->new PriorityQueue<>(Math.max(1,source.size()),((PriorityQueue<Object>)source).comparator());
+		}
+		else if(hasEmptyConstructor(type)) {
+			factory = source->CollectionFactory.create((Class<? extends Collection>)type,null,source.size());
+		}
+		else {
+			return share(type);
+		}
+		return (source,copies)->{
+			Collection<Object> collection = (Collection<Object>)source;
+			Collection<Object> copy = factory.apply(collection);
+			copies.put(source,copy);
+			for(Object element : collection) {
+				copy.add(copy(element,copies));
+			}
+			return copy;
+		};
+	}
+	@SuppressWarnings({"unchecked","rawtypes"})
+	private Copier mapCopier(Class<?> type) {
+		Function<Map<Object,Object>,Map<Object,Object>> factory;
+		if(type==HashMap.class) {
+			factory = source->new HashMap<>(hashCapacity(source.size()));
+		}
+		else if(type==LinkedHashMap.class) {
+			factory = source->new LinkedHashMap<>(hashCapacity(source.size()));
+		}
+		else if(type==EnumMap.class) {
+			factory = source->new EnumMap(((EnumMap)source));
+		}
+		else if(type==TreeMap.class) {
+			factory = source->new TreeMap<>(((SortedMap<Object,Object>)source).comparator());
+		}
+		else if(hasEmptyConstructor(type)) {
+			Supplier<?> instantiator = instantiator(type);
+			factory = source->(Map<Object,Object>)instantiator.get();
+		}
+		else {
+			return share(type);
+		}
+		return (source,copies)->{
+			Map<Object,Object> map = (Map<Object,Object>)source;
+			Map<Object,Object> copy = factory.apply(map);
+			copies.put(source,copy);
+			for(Map.Entry<Object,Object> entry : map.entrySet()) {
+				copy.put(copy(entry.getKey(),copies),copy(entry.getValue(),copies));
+			}
+			return copy;
+		};
+	}
+	/*
+	 * The collections and maps of the JDK without an empty constructor are views or immutable containers:
+	 * the copy is filled in a mutable container, then wrapped as the source was
+	 */
+	private Copier jdkContainerCopier(Class<?> type) {
+		String name = type.getName();
+		Function<Object,Object> backing = backingFactory(type);
+		if(name.startsWith("java.util.Collections$Unmodifiable") || name.startsWith("java.util.Collections$Synchronized")) {
+			boolean synchronizedView = name.startsWith("java.util.Collections$Synchronized");
+			return (source,copies)->{
+				Object target = backing.apply(source);
+				Object copy = synchronizedView ? synchronizedView(type,target) : unmodifiableView(type,target);
+				copies.put(source,copy);
+				if(synchronizedView) {
+					// the synchronized wrappers lock on themselves: the source is iterated holding its lock
+					synchronized(source) {
+						copyElements(source,target,copies);
+					}
+				}
+				else {
+					copyElements(source,target,copies);
+				}
+				return copy;
+			};
+		}
+		if(name.startsWith("java.util.Collections$Singleton") || name.startsWith("java.util.ImmutableCollections$")) {
+			boolean singleton = name.startsWith("java.util.Collections$Singleton");
+			return (source,copies)->{
+				// an immutable container cannot be created before its elements: a cycle passing through it shares the source
+				copies.put(source,source);
+				Object target = backing.apply(source);
+				Object copy = source;
+				if(copyElements(source,target,copies)) {
+					copy = singleton ? singleton(target) : unmodifiableView(type,target);
+				}
+				copies.put(source,copy);
+				return copy;
+			};
+		}
+		if(name.equals("java.util.Arrays$ArrayList")) {
+			return (source,copies)->{
+				List<?> list = (List<?>)source;
+				Object[] array = new Object[list.size()];
+				List<Object> copy = Arrays.asList(array);
+				copies.put(source,copy);
+				for(int i=0; i<array.length; i++) {
+					array[i] = copy(list.get(i),copies);
+				}
+				return copy;
+			};
+		}
+		return share(type);
+	}
+	@SuppressWarnings("unchecked")
+	private boolean copyElements(Object source, Object target, IdentityHashMap<Object,Object> copies) {
+		boolean changed = false;
+		if(source instanceof Map) {
+			Map<Object,Object> map = (Map<Object,Object>)target;
+			for(Map.Entry<?,?> entry : ((Map<?,?>)source).entrySet()) {
+				Object key = copy(entry.getKey(),copies);
+				Object value = copy(entry.getValue(),copies);
+				changed |= key!=entry.getKey() || value!=entry.getValue();
+				map.put(key,value);
+			}
+		}
+		else {
+			Collection<Object> collection = (Collection<Object>)target;
+			for(Object element : (Collection<?>)source) {
+				Object copy = copy(element,copies);
+				changed |= copy!=element;
+				collection.add(copy);
+			}
+		}
+		return changed;
+	}
+	private Copier share(Class<?> type) {
+		if(sharedTypes.add(type)) {
+			log.warn("The instances of {} cannot be copied and are shared by the deep copy.",type);
+		}
+		return SHARE;
+	}
+	private Copier objectCopier(Class<?> type) {
+		if(isInternalType(type)) {
+			return cloneCopier(type);
+		}
+		if(!hasEmptyConstructor(type)) {
+			return share(type);
+		}
+		Supplier<?> instantiator = instantiator(type);
+		List<FieldCopier> fieldCopiers = new ArrayList<>();
+		for(Class<?> current=type; current!=null && current!=Object.class; current=current.getSuperclass()) {
+			for(Field field : current.getDeclaredFields()) {
+				if(Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				FieldCopier fieldCopier = fieldCopier(field);
+				if(fieldCopier==null) {
+					return share(type);
+				}
+				fieldCopiers.add(fieldCopier);
+			}
+		}
+		FieldCopier[] fields = fieldCopiers.toArray(new FieldCopier[fieldCopiers.size()]);
+		return (source,copies)->{
+			Object copy = instantiator.get();
+			copies.put(source,copy);
+			for(FieldCopier field : fields) {
+				field.copy(source,copy,copies);
+			}
+			return copy;
+		};
+	}
+	private Copier cloneCopier(Class<?> type) {
+		MethodHandle clone;
+		try {
+			clone = MethodHandles.publicLookup().findVirtual(type,"clone",MethodType.methodType(Object.class)).asType(CLONE_TYPE);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return share(type);
+		}
+		return (source,copies)->{
+			try {
+				Object copy = clone.invokeExact(source);
+				copies.put(source,copy);
+				return copy;
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+	private FieldCopier fieldCopier(Field field) {
+		try {
+			MethodHandle primitiveCopy = AccessorFactory.primitiveCopy(field,field);
+			if(primitiveCopy!=null) {
+				return (source,copy,copies)->{
+					try {
+						primitiveCopy.invokeExact(source,copy);
+					} catch (RuntimeException | Error e) {
+						throw e;
+					} catch (Throwable e) {
+						throw new IllegalStateException(e);
+					}
+				};
+			}
+			Function<Object,Object> getter = AccessorFactory.getter(field);
+			BiConsumer<Object,Object> setter = AccessorFactory.setter(field);
+			Class<?> fieldType = field.getType();
+			if(field.isSynthetic() || (isImmutable(fieldType) && Modifier.isFinal(fieldType.getModifiers()))) {
+				return (source,copy,copies)->setter.accept(copy,getter.apply(source));
+			}
+			return (source,copy,copies)->setter.accept(copy,copy(getter.apply(source),copies));
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static boolean isInternalType(Class<?> type) {
+		String name = type.getName();
+		return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.") || name.startsWith("com.sun.");
+	}
+	private static boolean hasEmptyConstructor(Class<?> type) {
+		if(type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+			return false;
+		}
+		try {
+			InstantiatorFactory.instantiator(type);
+			return true;
+		} catch (ReflectiveOperationException e) {
+			return false;
+		}
+	}
+	private static Supplier<?> instantiator(Class<?> type) {
+		try {
+			return InstantiatorFactory.instantiator(type);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+	@SuppressWarnings("unchecked")
+	private static Function<Object,Object> backingFactory(Class<?> type) {
+		if(SortedSet.class.isAssignableFrom(type)) {
+			return source->new TreeSet<>(((SortedSet<Object>)source).comparator());
+		}
+		if(SortedMap.class.isAssignableFrom(type)) {
+			return source->new TreeMap<>(((SortedMap<Object,Object>)source).comparator());
+		}
+		if(Map.class.isAssignableFrom(type)) {
+			return source->new LinkedHashMap<>(hashCapacity(((Map<?,?>)source).size()));
+		}
+		if(Set.class.isAssignableFrom(type)) {
+			return source->new LinkedHashSet<>(hashCapacity(((Collection<?>)source).size()));
+		}
+		return source->new ArrayList<>(((Collection<?>)source).size());
+	}
+	@SuppressWarnings("unchecked")
+	private static Object unmodifiableView(Class<?> type, Object target) {
+		if(NavigableSet.class.isAssignableFrom(type)) {
+			return Collections.unmodifiableNavigableSet((NavigableSet<Object>)target);
+		}
+		if(SortedSet.class.isAssignableFrom(type)) {
+			return Collections.unmodifiableSortedSet((SortedSet<Object>)target);
+		}
+		if(NavigableMap.class.isAssignableFrom(type)) {
+			return Collections.unmodifiableNavigableMap((NavigableMap<Object,Object>)target);
+		}
+		if(SortedMap.class.isAssignableFrom(type)) {
+			return Collections.unmodifiableSortedMap((SortedMap<Object,Object>)target);
+		}
+		if(Map.class.isAssignableFrom(type)) {
+			return Collections.unmodifiableMap((Map<Object,Object>)target);
+		}
+		if(Set.class.isAssignableFrom(type)) {
+			return Collections.unmodifiableSet((Set<Object>)target);
+		}
+		if(List.class.isAssignableFrom(type)) {
+			return Collections.unmodifiableList((List<Object>)target);
+		}
+		return Collections.unmodifiableCollection((Collection<Object>)target);
+	}
+	@SuppressWarnings("unchecked")
+	private static Object synchronizedView(Class<?> type, Object target) {
+		if(NavigableSet.class.isAssignableFrom(type)) {
+			return Collections.synchronizedNavigableSet((NavigableSet<Object>)target);
+		}
+		if(SortedSet.class.isAssignableFrom(type)) {
+			return Collections.synchronizedSortedSet((SortedSet<Object>)target);
+		}
+		if(NavigableMap.class.isAssignableFrom(type)) {
+			return Collections.synchronizedNavigableMap((NavigableMap<Object,Object>)target);
+		}
+		if(SortedMap.class.isAssignableFrom(type)) {
+			return Collections.synchronizedSortedMap((SortedMap<Object,Object>)target);
+		}
+		if(Map.class.isAssignableFrom(type)) {
+			return Collections.synchronizedMap((Map<Object,Object>)target);
+		}
+		if(Set.class.isAssignableFrom(type)) {
+			return Collections.synchronizedSet((Set<Object>)target);
+		}
+		if(List.class.isAssignableFrom(type)) {
+			return Collections.synchronizedList((List<Object>)target);
+		}
+		return Collections.synchronizedCollection((Collection<Object>)target);
+	}
+	private static Object singleton(Object target) {
+		if(target instanceof Map) {
+			Map.Entry<?,?> entry = ((Map<?,?>)target).entrySet().iterator().next();
+			return Collections.singletonMap(entry.getKey(),entry.getValue());
+		}
+		if(target instanceof List) {
+			return Collections.singletonList(((List<?>)target).get(0));
+		}
+		return Collections.singleton(((Collection<?>)target).iterator().next());
+	}
+	private static int hashCapacity(int expectedSize) {
+		return (int)Math.min(Integer.MAX_VALUE,(long)Math.ceil(expectedSize/0.75d));
+	}
+
+	@FunctionalInterface
+	private interface Copier {
+		Object copy(Object source, IdentityHashMap<Object,Object> copies);
+	}
+	@FunctionalInterface
+	private interface FieldCopier {
+		void copy(Object source, Object copy, IdentityHashMap<Object,Object> copies);
+	}
+
+}
@@ -0,0 +1,11 @@
+/**
+ * Provides the built-in deep copy engine, used when the deep copy is enabled and no custom cloner is set.<br>
+ * The package contains the following classes:
+ * <ul>
+ * <li>{@code DeepCopier} : creates the deep copies of the values, sharing the instances of the immutable types</li>
+ * <li>{@code CopyContext} : keeps track of the objects already copied during a single mapping operation</li>
+ * </ul>
+ * @author eschoysman
+ * @see es.utils.mapper.configuration.Configuration#enableDeepCopy()
+ */
+package es.utils.mapper.copy;
@@ -0,0 +1,200 @@
+package es.utils.mapper.factory;
+
+import es.utils.mapper.holder.FieldHolder;
+import es.utils.mapper.utils.MapperUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * This class creates the getter and setter operations used to read and write a field during the mapping.<br>
+ * The operations are backed by a {@link MethodHandle} resolved once for the field, so that the access checks
+ * are done only at creation time and not every time the field is read or written.
+ * If the {@code MethodHandle} cannot be created (for example for a {@code static final} field),
+ * the operations fall back to the plain reflection ({@link Field#get(Object)} and {@link Field#set(Object,Object)}).
+ * @author eschoysman
+ * @see FieldHolder#getGetterFunction()
+ * @see FieldHolder#getSetterFunction()
+ */
+public class AccessorFactory {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,Object.class,Object.class);
+
+	/**
+	 * Create the getter operation of the given field.
+	 * @param <T> the type of the object containing the field
+	 * @param <OUT> the type of the field
+	 * @param field the field to read
+	 * @return a function that returns the value of {@code field} in the input object, or {@code null} if the field cannot be read from the input object.
+	 * @throws NullPointerException if {@code field} is {@code null}
+	 */
+	public static <T,OUT> Function<T,OUT> getter(Field field) {
+		Objects.requireNonNull(field);
+		field.setAccessible(true);
+		Function<T,OUT> reflectiveGetter = reflectiveGetter(field);
+		MethodHandle handle = getterHandle(field);
+		if(handle==null) {
+			return reflectiveGetter;
+		}
+		return obj -> {
+			try {
+				@SuppressWarnings("unchecked")
+				OUT out = (OUT)(Object)handle.invokeExact((Object)obj);
+				return out;
+			} catch (ClassCastException e) {
+				return reflectiveGetter.apply(obj);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+	/**
+	 * Create the setter operation of the given field.
+	 * @param <T> the type of the object containing the field
+	 * @param <IN> the type of the field
+	 * @param field the field to write
+	 * @return an operation that assign the given value to {@code field} in the input object. If the value cannot be assigned, the operation does nothing.
+	 * @throws NullPointerException if {@code field} is {@code null}
+	 */
+	public static <T,IN> BiConsumer<T,IN> setter(Field field) {
+		Objects.requireNonNull(field);
+		field.setAccessible(true);
+		BiConsumer<T,IN> reflectiveSetter = reflectiveSetter(field);
+		MethodHandle handle = setterHandle(field);
+		if(handle==null) {
+			return reflectiveSetter;
+		}
+		boolean isPrimitive = field.getType().isPrimitive();
+		return (obj,data) -> {
+			if(data==null && isPrimitive) {
+				return;
+			}
+			try {
+				handle.invokeExact((Object)obj,(Object)data);
+			} catch (ClassCastException e) {
+				reflectiveSetter.accept(obj,data);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+
+	/**
+	 * Create an operation that copies the value of the primitive field {@code from} into the primitive field {@code to}
+	 * without boxing the value. The operation is a {@link MethodHandle} of type {@code (Object,Object)void} taking the
+	 * origin and the destination objects.
+	 * @param from the primitive field to read
+	 * @param to the primitive field to write
+	 * @return the copy operation, or {@code null} if the fields are not primitive, the type of {@code from}
+	 * cannot be assigned to the type of {@code to} or the fields are not accessible.
+	 * @throws NullPointerException if {@code from} or {@code to} is {@code null}
+	 * @see MapperUtil#isPrimitiveAssignable(Class,Class)
+	 */
+	public static MethodHandle primitiveCopy(Field from, Field to) {
+		Objects.requireNonNull(from);
+		Objects.requireNonNull(to);
+		if(!MapperUtil.isPrimitiveAssignable(from.getType(),to.getType())) {
+			return null;
+		}
+		try {
+			from.setAccessible(true);
+			to.setAccessible(true);
+			MethodHandle getter = LOOKUP.unreflectGetter(from);
+			if(Modifier.isStatic(from.getModifiers())) {
+				getter = MethodHandles.dropArguments(getter,0,Object.class);
+			}
+			MethodHandle setter = LOOKUP.unreflectSetter(to);
+			if(Modifier.isStatic(to.getModifiers())) {
+				setter = MethodHandles.dropArguments(setter,0,Object.class);
+			}
+			getter = getter.asType(MethodType.methodType(to.getType(),Object.class));
+			setter = setter.asType(MethodType.methodType(void.class,Object.class,to.getType()));
+			MethodHandle copy = MethodHandles.filterArguments(setter,1,getter);
+			return MethodHandles.permuteArguments(copy,SETTER_TYPE,1,0);
+		} catch (IllegalAccessException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param field the field to read
+	 * @return {@code true} if the getter operation of {@code field} is backed by a {@link MethodHandle},
+	 * {@code false} if it falls back to the plain reflection
+	 * @throws NullPointerException if {@code field} is {@code null}
+	 * @see #getter(Field)
+	 */
+	public static boolean hasGetterHandle(Field field) {
+		Objects.requireNonNull(field);
+		field.setAccessible(true);
+		return getterHandle(field)!=null;
+	}
+	/**
+	 * @param field the field to write
+	 * @return {@code true} if the setter operation of {@code field} is backed by a {@link MethodHandle},
+	 * {@code false} if it falls back to the plain reflection
+	 * @throws NullPointerException if {@code field} is {@code null}
+	 * @see #setter(Field)
+	 */
+	public static boolean hasSetterHandle(Field field) {
+		Objects.requireNonNull(field);
+		field.setAccessible(true);
+		return setterHandle(field)!=null;
+	}
+
+	private static MethodHandle getterHandle(Field field) {
+		try {
+			MethodHandle handle = LOOKUP.unreflectGetter(field);
+			if(Modifier.isStatic(field.getModifiers())) {
+				handle = MethodHandles.dropArguments(handle,0,Object.class);
+			}
+			return handle.asType(GETTER_TYPE);
+		} catch (IllegalAccessException | RuntimeException e) {
+			return null;
+		}
+	}
+	private static MethodHandle setterHandle(Field field) {
+		try {
+			MethodHandle handle = LOOKUP.unreflectSetter(field);
+			if(Modifier.isStatic(field.getModifiers())) {
+				handle = MethodHandles.dropArguments(handle,0,Object.class);
+			}
+			return handle.asType(SETTER_TYPE);
+		} catch (IllegalAccessException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static <T,OUT> Function<T,OUT> reflectiveGetter(Field field) {
+		return obj -> {
+			OUT result = null;
+			try {
+				@SuppressWarnings("unchecked")
+				OUT out = (OUT)field.get(obj);
+				result = out;
+			} catch (IllegalArgumentException | IllegalAccessException | SecurityException e) {
+			}
+			return result;
+		};
+	}
+	private static <T,IN> BiConsumer<T,IN> reflectiveSetter(Field field) {
+		return (obj,data) -> {
+			try {
+				field.set(obj,data);
+			} catch (IllegalArgumentException | IllegalAccessException | SecurityException e) {
+			}
+		};
+	}
+
+}
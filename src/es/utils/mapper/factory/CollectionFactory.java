@@ -1,20 +1,30 @@
 package es.utils.mapper.factory;
 
-import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
+import java.util.*;
+import java.util.function.IntFunction;
 
 /**
  * This class lets you instantiate a collection based on destination class type.
  * The destination class type should be a concrete class (e.g. subclasses of Collection), otherwise
  * an exception is thrown.
- * If the destination class type is an array, an ArrayList is created.
+ * If the destination class type is an array, an ArrayList is created.<br>
+ * When the expected number of elements is known, the collections of the JDK having a constructor with an initial capacity
+ * ({@code ArrayList}, {@code Vector}, {@code ArrayDeque}, {@code PriorityQueue}, {@code HashSet} and {@code LinkedHashSet})
+ * are created already sized to hold them without resizing.
  * @author eschoysman
  */
 public class CollectionFactory {
 	
     private static final Class<?> ARRAY_AS_LIST_CLASS = Arrays.asList().getClass();
+    private static final Map<Class<?>,IntFunction<Collection<?>>> SIZED_CONSTRUCTORS = new IdentityHashMap<>();
+    static {
+    	SIZED_CONSTRUCTORS.put(ArrayList.class, ArrayList::new);
+    	SIZED_CONSTRUCTORS.put(Vector.class, Vector::new);
+    	SIZED_CONSTRUCTORS.put(ArrayDeque.class, ArrayDeque::new);
+    	SIZED_CONSTRUCTORS.put(PriorityQueue.class, size->new PriorityQueue<>(Math.max(1,size)));
+    	SIZED_CONSTRUCTORS.put(HashSet.class, size->new HashSet<>(hashCapacity(size)));
+    	SIZED_CONSTRUCTORS.put(LinkedHashSet.class, size->new LinkedHashSet<>(hashCapacity(size)));
+    }
 
     /**
      * This method instantiate a new collection based on collectionType.
@@ -28,14 +38,39 @@ public class CollectionFactory {
 	public static <IN,OUT> Collection<OUT> create(Class<? extends Collection> inputCollectionType, Class<? extends Collection> collectionType) {
 		inputCollectionType = getClassType(inputCollectionType,collectionType);
 		try {
-			return (Collection<OUT>)inputCollectionType.getDeclaredConstructor().newInstance();
-		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
-				| NoSuchMethodException | SecurityException e) {
+			return (Collection<OUT>)InstantiatorFactory.instantiator(inputCollectionType).get();
+		} catch (ReflectiveOperationException | RuntimeException e) {
 			e.printStackTrace();
 			System.err.println("Error during the creation of the destination collection. Returning null value.");
 			return null;
 		}
 	}
+    /**
+     * This method instantiate a new collection based on collectionType, able to contain {@code expectedSize} elements without being resized.
+     * If the type has no constructor taking the initial capacity, this method is the same as {@link #create(Class, Class)}.
+     * @param <IN> the type of the objects in the origin collection
+     * @param <OUT> the type of the objects in the destination collection
+     * @param inputCollectionType the class of input. It must extend Collection.
+     * @param collectionType the class of input. It must extend Collection.
+     * @param expectedSize the number of elements that will be added to the collection. A negative value means that the size is unknown.
+     * @return a new instance of collectionType.
+     */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static <IN,OUT> Collection<OUT> create(Class<? extends Collection> inputCollectionType, Class<? extends Collection> collectionType, int expectedSize) {
+		IntFunction<Collection<?>> sizedConstructor = SIZED_CONSTRUCTORS.get(getClassType(inputCollectionType,collectionType));
+		if(sizedConstructor==null || expectedSize<0) {
+			return create(inputCollectionType,collectionType);
+		}
+		return (Collection<OUT>)sizedConstructor.apply(expectedSize);
+	}
+
+	/**
+	 * @param expectedSize the number of elements of a hash based collection
+	 * @return the initial capacity that let the collection hold {@code expectedSize} elements without rehashing with the default load factor
+	 */
+	private static int hashCapacity(int expectedSize) {
+		return (int)Math.min(Integer.MAX_VALUE,(long)Math.ceil(expectedSize/0.75d));
+	}
 
 	/**
 	 * @param inputCollectionType
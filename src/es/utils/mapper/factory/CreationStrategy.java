@@ -0,0 +1,31 @@
+package es.utils.mapper.factory;
+
+/**
+ * This enum describe how a {@code ClassMapper} creates the destination objects.
+ * @author eschoysman
+ * @see CreatorFactory
+ * @see es.utils.mapper.impl.object.ClassMapper#getCreationStrategy()
+ */
+public enum CreationStrategy {
+	/**
+	 * The object is created by the supplier of the {@code Configuration} or by the empty constructor, then every element is assigned by its setter
+	 */
+	INSTANTIATOR,
+	/**
+	 * The object is created by the canonical constructor of a record, with the mapped elements as arguments
+	 */
+	RECORD,
+	/**
+	 * The object is created by a constructor, with the mapped elements as arguments
+	 */
+	CONSTRUCTOR,
+	/**
+	 * The object is created by a static factory method of the destination type, with the mapped elements as arguments
+	 */
+	STATIC_FACTORY,
+	/**
+	 * The object is created by a builder, obtained with the static {@code builder()} method of the destination type,
+	 * having one method for each mapped element and a {@code build()} method
+	 */
+	BUILDER
+}
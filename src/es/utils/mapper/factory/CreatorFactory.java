@@ -0,0 +1,345 @@
+package es.utils.mapper.factory;
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * This class creates the operations used to instantiate the destination objects that do not have an empty constructor,
+ * passing the mapped elements all at once instead of assigning them one by one after the creation.<br>
+ * The following ways to create an object of the type are looked for, in order:
+ * <ol>
+ * <li>the canonical constructor of a record</li>
+ * <li>a constructor with at least one parameter, preferring the one with more parameters</li>
+ * <li>a static factory method returning the type, preferring the one with more parameters</li>
+ * <li>a builder in the Lombok style: a static {@code builder()} method returning an object with a {@code build()} method
+ * and one method for each field of the type, named as the field</li>
+ * </ol>
+ * The parameters of a constructor or a factory method are associated to the fields by the names of the {@link ConstructorProperties} annotation,
+ * or by their names when the code is compiled with the {@code -parameters} option: every name must be the name of a field of the type,
+ * otherwise the constructor or factory method is skipped.
+ * Without names, the parameters must have the same types of the fields of the type, in the order they are declared,
+ * as for the constructors generated by Lombok, and no two parameters can have the same type: since the order of the declared fields
+ * is not guaranteed by the JDK, two values of the same type could be swapped. The creation operation of each type is resolved only once.
+ * @author eschoysman
+ * @see CreationStrategy
+ * @see InstantiatorFactory
+ */
+public class CreatorFactory {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final Method IS_RECORD = findMethod(Class.class,"isRecord");
+	private static final Method GET_RECORD_COMPONENTS = findMethod(Class.class,"getRecordComponents");
+
+	private static final ClassValue<Optional<Creator<?>>> CREATORS = new ClassValue<Optional<Creator<?>>>() {
+		@Override
+		protected Optional<Creator<?>> computeValue(Class<?> type) {
+			return Optional.ofNullable(resolve(type));
+		}
+	};
+
+	/**
+	 * Returns the operation that creates a new instance of {@code type} from the values of its fields.
+	 * @param <T> the type to instantiate
+	 * @param type the type to instantiate
+	 * @return the creation operation of {@code type}, or an empty {@code Optional} if the type is abstract or no constructor,
+	 * factory method or builder can be associated to its fields
+	 * @throws NullPointerException if {@code type} is {@code null}
+	 */
+	public static <T> Optional<Creator<T>> creator(Class<T> type) {
+		Objects.requireNonNull(type);
+		@SuppressWarnings("unchecked")
+		Optional<Creator<T>> creator = (Optional<Creator<T>>)(Optional<?>)CREATORS.get(type);
+		return creator;
+	}
+
+	private static <T> Creator<T> resolve(Class<T> type) {
+		if(type.isInterface() || type.isArray() || type.isPrimitive() || type.isEnum() || Modifier.isAbstract(type.getModifiers())) {
+			return null;
+		}
+		Creator<T> creator = recordCreator(type);
+		if(creator==null) {
+			creator = constructorCreator(type);
+		}
+		if(creator==null) {
+			creator = staticFactoryCreator(type);
+		}
+		if(creator==null) {
+			creator = builderCreator(type);
+		}
+		return creator;
+	}
+
+	private static <T> Creator<T> recordCreator(Class<T> type) {
+		if(IS_RECORD==null || GET_RECORD_COMPONENTS==null) {
+			return null;
+		}
+		try {
+			if(!(Boolean)IS_RECORD.invoke(type)) {
+				return null;
+			}
+			Object[] components = (Object[])GET_RECORD_COMPONENTS.invoke(type);
+			String[] names = new String[components.length];
+			Class<?>[] types = new Class<?>[components.length];
+			for(int i=0; i<components.length; ++i) {
+				names[i] = (String)components[i].getClass().getMethod("getName").invoke(components[i]);
+				types[i] = (Class<?>)components[i].getClass().getMethod("getType").invoke(components[i]);
+			}
+			Constructor<T> constructor = type.getDeclaredConstructor(types);
+			constructor.setAccessible(true);
+			return new Creator<>(CreationStrategy.RECORD,names,types,invoker(LOOKUP.unreflectConstructor(constructor),types));
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+	private static <T> Creator<T> constructorCreator(Class<T> type) {
+		for(Executable constructor : byParameterCount(type.getDeclaredConstructors())) {
+			String[] names = parameterNames(type,constructor);
+			if(names==null) {
+				continue;
+			}
+			try {
+				constructor.setAccessible(true);
+				MethodHandle handle = LOOKUP.unreflectConstructor((Constructor<?>)constructor);
+				return new Creator<>(CreationStrategy.CONSTRUCTOR,names,constructor.getParameterTypes(),invoker(handle,constructor.getParameterTypes()));
+			} catch (IllegalAccessException | RuntimeException e) {
+			}
+		}
+		return null;
+	}
+	private static <T> Creator<T> staticFactoryCreator(Class<T> type) {
+		List<Method> factories = new ArrayList<>();
+		for(Method method : type.getDeclaredMethods()) {
+			if(Modifier.isStatic(method.getModifiers()) && method.getReturnType()==type) {
+				factories.add(method);
+			}
+		}
+		for(Executable factory : byParameterCount(factories.toArray(new Method[0]))) {
+			String[] names = parameterNames(type,factory);
+			if(names==null) {
+				continue;
+			}
+			try {
+				factory.setAccessible(true);
+				MethodHandle handle = LOOKUP.unreflect((Method)factory);
+				return new Creator<>(CreationStrategy.STATIC_FACTORY,names,factory.getParameterTypes(),invoker(handle,factory.getParameterTypes()));
+			} catch (IllegalAccessException | RuntimeException e) {
+			}
+		}
+		return null;
+	}
+	private static <T> Creator<T> builderCreator(Class<T> type) {
+		try {
+			Method builderMethod = type.getDeclaredMethod("builder");
+			if(!Modifier.isStatic(builderMethod.getModifiers())) {
+				return null;
+			}
+			Class<?> builderType = builderMethod.getReturnType();
+			Method buildMethod = builderType.getDeclaredMethod("build");
+			if(!type.isAssignableFrom(buildMethod.getReturnType())) {
+				return null;
+			}
+			List<String> names = new ArrayList<>();
+			List<Class<?>> types = new ArrayList<>();
+			List<MethodHandle> steps = new ArrayList<>();
+			for(Field field : instanceFields(type)) {
+				Method step;
+				try {
+					step = builderType.getDeclaredMethod(field.getName(),field.getType());
+				} catch (NoSuchMethodException e) {
+					continue;
+				}
+				step.setAccessible(true);
+				names.add(field.getName());
+				types.add(field.getType());
+				steps.add(LOOKUP.unreflect(step).asType(MethodType.methodType(Object.class,Object.class,Object.class)));
+			}
+			if(names.isEmpty()) {
+				return null;
+			}
+			builderMethod.setAccessible(true);
+			buildMethod.setAccessible(true);
+			MethodHandle builder = LOOKUP.unreflect(builderMethod).asType(MethodType.methodType(Object.class));
+			MethodHandle build = LOOKUP.unreflect(buildMethod).asType(MethodType.methodType(Object.class,Object.class));
+			MethodHandle[] stepHandles = steps.toArray(new MethodHandle[0]);
+			Function<Object[],Object> factory = arguments->{
+				try {
+					Object current = builder.invokeExact();
+					for(int i=0; i<stepHandles.length; ++i) {
+						// a null value keeps the default value of the builder
+						if(arguments[i]!=null) {
+							current = stepHandles[i].invokeExact(current,arguments[i]);
+						}
+					}
+					return build.invokeExact(current);
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable e) {
+					throw new IllegalStateException(e);
+				}
+			};
+			return new Creator<>(CreationStrategy.BUILDER,names.toArray(new String[0]),types.toArray(new Class<?>[0]),factory);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static List<Executable> byParameterCount(Executable[] executables) {
+		List<Executable> result = new ArrayList<>();
+		for(Executable executable : executables) {
+			if(executable.getParameterCount()>0 && !executable.isSynthetic()) {
+				result.add(executable);
+			}
+		}
+		result.sort(Comparator.comparingInt(Executable::getParameterCount).reversed());
+		return result;
+	}
+	private static String[] parameterNames(Class<?> type, Executable executable) {
+		Parameter[] parameters = executable.getParameters();
+		ConstructorProperties properties = executable.getAnnotation(ConstructorProperties.class);
+		if(properties!=null) {
+			String[] names = properties.value();
+			return names.length==parameters.length && areFieldNames(type,names) ? names.clone() : null;
+		}
+		String[] names = new String[parameters.length];
+		boolean namesPresent = true;
+		for(int i=0; i<parameters.length && namesPresent; ++i) {
+			namesPresent = parameters[i].isNamePresent();
+			names[i] = parameters[i].getName();
+		}
+		if(namesPresent) {
+			return areFieldNames(type,names) ? names : null;
+		}
+		List<Field> fields = instanceFields(type);
+		if(fields.size()!=parameters.length || new HashSet<>(Arrays.asList(executable.getParameterTypes())).size()!=parameters.length) {
+			return null;
+		}
+		for(int i=0; i<parameters.length; ++i) {
+			if(fields.get(i).getType()!=parameters[i].getType()) {
+				return null;
+			}
+			names[i] = fields.get(i).getName();
+		}
+		return names;
+	}
+	private static boolean areFieldNames(Class<?> type, String[] names) {
+		List<String> fieldNames = new ArrayList<>();
+		for(Class<?> current=type; current!=null && current!=Object.class; current=current.getSuperclass()) {
+			for(Field field : instanceFields(current)) {
+				fieldNames.add(field.getName());
+			}
+		}
+		return fieldNames.containsAll(Arrays.asList(names));
+	}
+	private static List<Field> instanceFields(Class<?> type) {
+		List<Field> fields = new ArrayList<>();
+		for(Field field : type.getDeclaredFields()) {
+			if(!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+				fields.add(field);
+			}
+		}
+		return fields;
+	}
+	private static Function<Object[],Object> invoker(MethodHandle handle, Class<?>[] types) {
+		MethodHandle spreader = handle.asType(MethodType.genericMethodType(types.length)).asSpreader(Object[].class,types.length);
+		Object[] primitiveDefaults = new Object[types.length];
+		for(int i=0; i<types.length; ++i) {
+			if(types[i].isPrimitive()) {
+				primitiveDefaults[i] = Array.get(Array.newInstance(types[i],1),0);
+			}
+		}
+		return arguments->{
+			for(int i=0; i<arguments.length; ++i) {
+				if(arguments[i]==null && primitiveDefaults[i]!=null) {
+					arguments[i] = primitiveDefaults[i];
+				}
+			}
+			try {
+				return spreader.invokeExact(arguments);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		};
+	}
+	private static Method findMethod(Class<?> type, String name) {
+		try {
+			return type.getMethod(name);
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The operation that creates a new instance of a type from the values of its fields.
+	 * @param <T> the type to instantiate
+	 * @see CreatorFactory#creator(Class)
+	 */
+	public static class Creator<T> {
+		private final CreationStrategy strategy;
+		private final List<String> parameterNames;
+		private final List<Class<?>> parameterTypes;
+		private final Function<Object[],Object> factory;
+
+		private Creator(CreationStrategy strategy, String[] parameterNames, Class<?>[] parameterTypes, Function<Object[],Object> factory) {
+			this.strategy = strategy;
+			this.parameterNames = Collections.unmodifiableList(Arrays.asList(parameterNames));
+			this.parameterTypes = Collections.unmodifiableList(Arrays.asList(parameterTypes));
+			this.factory = factory;
+		}
+
+		/**
+		 * @return how the instances are created
+		 */
+		public CreationStrategy getStrategy() {
+			return strategy;
+		}
+		/**
+		 * @return the names of the fields passed to the creation, in the order of the arguments
+		 */
+		public List<String> getParameterNames() {
+			return parameterNames;
+		}
+		/**
+		 * @return the types of the fields passed to the creation, in the order of the arguments
+		 */
+		public List<Class<?>> getParameterTypes() {
+			return parameterTypes;
+		}
+		/**
+		 * Create a new instance with the given values of the fields.<br>
+		 * A {@code null} value of a primitive parameter is passed as the default value of the primitive type,
+		 * a {@code null} value passed to a builder is not set, keeping the default value of the builder.
+		 * @param arguments the values of the fields, in the order of {@link #getParameterNames()}. The {@code null} values of the primitive parameters are replaced in the array.
+		 * @return the new instance
+		 * @throws IllegalArgumentException if the number of values is not the number of parameters
+		 */
+		public T create(Object... arguments) {
+			if(arguments.length!=parameterNames.size()) {
+				throw new IllegalArgumentException("Expected "+parameterNames.size()+" arguments, found "+arguments.length);
+			}
+			@SuppressWarnings("unchecked")
+			T instance = (T)factory.apply(arguments);
+			return instance;
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+package es.utils.mapper.factory;
+
+import es.utils.mapper.configuration.Configuration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * This class creates the operations used to instantiate the destination objects and collections of the mapping.<br>
+ * The empty constructor of each type is looked up and turned into a {@link MethodHandle} only the first time the type
+ * is instantiated, so that the following instances are created without any reflective lookup or access check.
+ * The failure of the lookup is cached too, and reported again at every request by a new exception of the same type, having the cached failure as cause.
+ * @author eschoysman
+ * @see Configuration#getInstantiator(Class)
+ * @see CollectionFactory
+ */
+public class InstantiatorFactory {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+	private static final ClassValue<Instantiator<?>> INSTANTIATORS = new ClassValue<Instantiator<?>>() {
+		@Override
+		protected Instantiator<?> computeValue(Class<?> type) {
+			return new Instantiator<>(type);
+		}
+	};
+
+	/**
+	 * Returns the operation that creates a new instance of {@code type} using its empty constructor.
+	 * @param <T> the type to instantiate
+	 * @param type the type to instantiate
+	 * @return a supplier of new instances of {@code type}. If the constructor throws an exception, the supplier throws it
+	 * as is when unchecked, or wrapped into an {@code IllegalStateException} otherwise.
+	 * @throws ReflectiveOperationException if {@code type} does not have an accessible empty constructor or cannot be instantiated
+	 * @throws NullPointerException if {@code type} is {@code null}
+	 */
+	public static <T> Supplier<T> instantiator(Class<T> type) throws ReflectiveOperationException {
+		Objects.requireNonNull(type);
+		@SuppressWarnings("unchecked")
+		Instantiator<T> instantiator = (Instantiator<T>)INSTANTIATORS.get(type);
+		if(instantiator.error!=null) {
+			throw instantiator.newError();
+		}
+		return instantiator;
+	}
+
+	private static class Instantiator<T> implements Supplier<T> {
+		private final MethodHandle constructor;
+		private final ReflectiveOperationException error;
+
+		private Instantiator(Class<T> type) {
+			MethodHandle handle = null;
+			ReflectiveOperationException exception = null;
+			try {
+				handle = LOOKUP.unreflectConstructor(type.getDeclaredConstructor()).asType(CONSTRUCTOR_TYPE);
+			} catch (ReflectiveOperationException e) {
+				exception = e;
+			} catch (SecurityException e) {
+				exception = new IllegalAccessException(e.getMessage());
+				exception.initCause(e);
+			}
+			this.constructor = handle;
+			this.error = exception;
+		}
+
+		// the cached failure is never thrown: its stack trace and suppressed exceptions would be shared by all the callers
+		private ReflectiveOperationException newError() {
+			ReflectiveOperationException exception = error instanceof NoSuchMethodException ? new NoSuchMethodException(error.getMessage()) : new IllegalAccessException(error.getMessage());
+			exception.initCause(error);
+			return exception;
+		}
+
+		@Override
+		public T get() {
+			try {
+				@SuppressWarnings("unchecked")
+				T instance = (T)constructor.invokeExact();
+				return instance;
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+}
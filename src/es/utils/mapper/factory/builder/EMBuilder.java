@@ -7,6 +7,7 @@ import es.utils.mapper.Mapper;
 import es.utils.mapper.converter.AbstractConverter;
 import es.utils.mapper.exception.CustomException;
 import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.factory.AccessorFactory;
 import es.utils.mapper.impl.element.ElementMapper;
 import es.utils.mapper.impl.element.Getter;
 import es.utils.mapper.impl.element.Setter;
@@ -165,17 +166,13 @@ public class EMBuilder<IN,GETTER_OUT,SETTER_IN,OUT> implements  Name		<IN,OUT>,
 	public ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> getElementMapper() {
 		if(_elementMapper==null) {
 			if (this.defaultInput == null) {
-				this.defaultInput = () -> null;
-			}
-			if (this.transformer == null) {
-				@SuppressWarnings("unchecked")
-				FunctionX<GETTER_OUT, SETTER_IN> defaultTransform = obj -> (SETTER_IN)obj;
-				this.transformer = defaultTransform;
+				this.defaultInput = ElementMapper.noDefaultValue();
 			}
+			Function<GETTER_OUT,SETTER_IN> currentTransformer = this.transformer!=null ? this.transformer : ElementMapper.identity();
 			if (this.defaultOutput == null) {
-				this.defaultOutput = () -> null;
+				this.defaultOutput = ElementMapper.noDefaultValue();
 			}
-			_elementMapper = new ElementMapper<>(mapper, name, getter, defaultInput, transformer, defaultOutput, setter);
+			_elementMapper = new ElementMapper<>(mapper, name, getter, defaultInput, currentTransformer, defaultOutput, setter);
 		}
 		return _elementMapper;
 	}
@@ -186,28 +183,10 @@ public class EMBuilder<IN,GETTER_OUT,SETTER_IN,OUT> implements  Name		<IN,OUT>,
 
 	// UTILITY METHODS
 	protected static <T,OUT> Function<T,OUT> createGetterFunction(Field field) {
-		Objects.requireNonNull(field);
-		field.setAccessible(true);
-		return obj -> {
-			OUT result = null;
-			try {
-				@SuppressWarnings("unchecked")
-				OUT out = (OUT)field.get(obj);
-				result = out;
-			} catch (IllegalArgumentException | IllegalAccessException | SecurityException e) {
-			}
-			return result;
-		};
+		return AccessorFactory.getter(field);
 	}
 	protected static <T,IN> BiConsumer<T,IN> createSetterFunction(Field field) {
-		Objects.requireNonNull(field);
-		field.setAccessible(true);
-		return (obj,data) -> {
-			try {
-				field.set(obj,data);
-			} catch (IllegalArgumentException | IllegalAccessException | SecurityException e) {
-			}
-		};
+		return AccessorFactory.setter(field);
 	}
 
 }
@@ -185,7 +185,7 @@ public interface From<IN,OUT> {
 	default <GETTER_OUT_NEW> DefaultInput<IN,GETTER_OUT_NEW,GETTER_OUT_NEW,OUT> from(String idName, FieldHolder fieldHolder) {
 		Objects.requireNonNull(idName);
 		Objects.requireNonNull(fieldHolder);
-		Getter<IN,GETTER_OUT_NEW> getter = new Getter<>(fieldHolder.getFieldName(),EMBuilder.createGetterFunction(fieldHolder.getField()));
+		Getter<IN,GETTER_OUT_NEW> getter = new Getter<>(fieldHolder.getFieldName(),fieldHolder.getGetterFunction());
 		return from(getter);
 	}
 	
@@ -97,7 +97,7 @@ public interface To<IN,GETTER_OUT,SETTER_IN,OUT> extends Consume<IN,GETTER_OUT,S
 	default Builder<IN,GETTER_OUT,SETTER_IN,OUT> to(String idName, FieldHolder fieldHolder) {
 		Objects.requireNonNull(idName);
 		Objects.requireNonNull(fieldHolder);
-		Setter<OUT,SETTER_IN> setter = new Setter<>(idName,EMBuilder.createSetterFunction(fieldHolder.getField()));
+		Setter<OUT,SETTER_IN> setter = new Setter<>(idName,fieldHolder.getSetterFunction());
 		return to(setter);
 	}
 
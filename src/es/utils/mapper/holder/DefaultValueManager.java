@@ -3,6 +3,7 @@ package es.utils.mapper.holder;
 import es.utils.mapper.Mapper;
 import es.utils.mapper.annotation.Default;
 import es.utils.mapper.defaultvalue.DefaultValueFactory;
+import es.utils.mapper.impl.element.ElementMapper;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Field;
@@ -56,7 +57,7 @@ public class DefaultValueManager {
 			this.supplier = mapper.config().getDefaultValueSupplier(fieldType);
 		}
 		if(this.supplier==null) {
-			this.supplier = ()->null;
+			this.supplier = ElementMapper.noDefaultValue();
 		}
 	}
 
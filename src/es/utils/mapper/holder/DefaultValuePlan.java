@@ -0,0 +1,117 @@
+package es.utils.mapper.holder;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.defaultvalue.DefaultValueStrategy;
+import es.utils.mapper.impl.element.ElementMapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * This class holds the operations needed to fill the empty fields of an object with their default values,
+ * used by the {@link DefaultValueStrategy#ALWAYS} strategy on the origin and destination objects of the mappings.<br>
+ * The plan is created once per type and lists only the fields that can receive a default value:
+ * the primitive fields, that are never empty, and the fields without a default value supplier are left out,
+ * so that the plan of a type without default values is empty and its application costs nothing.
+ * The fields are read and written with the getter and setter operations of their {@link FieldHolder}.
+ * @author eschoysman
+ * @see Mapper#getDefaultValuePlan(Class)
+ * @see FieldHolder#getDefaultValueSupplier()
+ */
+public class DefaultValuePlan {
+
+	private final Class<?> type;
+	private final Step[] steps;
+
+	private DefaultValuePlan(Class<?> type, List<Step> steps) {
+		this.type = type;
+		this.steps = steps.toArray(new Step[0]);
+	}
+
+	/**
+	 * Create the plan of the given type from the {@code FieldHolder}s of its fields.
+	 * @param type the type of the objects the plan is applied to
+	 * @param fieldHolders the {@code FieldHolder}s of the fields of {@code type}. The same {@code FieldHolder} can be present more than once (for example once for each alias).
+	 * @return the default value plan of {@code type}
+	 * @throws NullPointerException if {@code type} or {@code fieldHolders} is {@code null}
+	 * @see Mapper#getFieldsHolderFromCache(Class)
+	 */
+	public static DefaultValuePlan of(Class<?> type, Collection<FieldHolder> fieldHolders) {
+		Objects.requireNonNull(type);
+		Set<FieldHolder> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Step> steps = new ArrayList<>();
+		for(FieldHolder fieldHolder : fieldHolders) {
+			if(!visited.add(fieldHolder) || !acceptsDefaultValue(fieldHolder)) {
+				continue;
+			}
+			steps.add(new Step(fieldHolder.getGetterFunction(),fieldHolder.getSetterFunction(),fieldHolder.getDefaultValueSupplier()));
+		}
+		return new DefaultValuePlan(type,steps);
+	}
+	private static boolean acceptsDefaultValue(FieldHolder fieldHolder) {
+		if(fieldHolder.getField().getType().isPrimitive()) {
+			return false;
+		}
+		return fieldHolder.getDefaultValueSupplier()!=ElementMapper.noDefaultValue();
+	}
+
+	/**
+	 * @return the type of the objects the plan is applied to
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+	/**
+	 * @return the number of fields that can receive a default value
+	 */
+	public int size() {
+		return steps.length;
+	}
+	/**
+	 * @return {@code true} if no field of the type can receive a default value, {@code false} otherwise
+	 */
+	public boolean isEmpty() {
+		return steps.length==0;
+	}
+
+	/**
+	 * Fills the empty fields of {@code obj} with their default values.
+	 * @param <OBJ> the type of the object
+	 * @param obj the object to fill with default values
+	 * @return the {@code obj} instance updated
+	 */
+	public <OBJ> OBJ apply(OBJ obj) {
+		for(Step step : steps) {
+			step.apply(obj);
+		}
+		return obj;
+	}
+
+	private static class Step {
+		private final Function<Object,Object> getter;
+		private final BiConsumer<Object,Object> setter;
+		private final Supplier<Object> supplier;
+		private Step(Function<Object,Object> getter, BiConsumer<Object,Object> setter, Supplier<Object> supplier) {
+			this.getter = getter;
+			this.setter = setter;
+			this.supplier = supplier;
+		}
+		private void apply(Object obj) {
+			if(getter.apply(obj)==null) {
+				Object value = supplier.get();
+				if(value!=null) {
+					setter.accept(obj,value);
+				}
+			}
+		}
+	}
+
+}
@@ -4,11 +4,16 @@ import es.utils.mapper.Mapper;
 import es.utils.mapper.annotation.AliasNames;
 import es.utils.mapper.annotation.CollectionType;
 import es.utils.mapper.annotation.Converter;
+import es.utils.mapper.annotation.DeepCopy;
 import es.utils.mapper.annotation.IgnoreField;
 import es.utils.mapper.configuration.Configuration;
 import es.utils.mapper.converter.AbstractConverter;
 import es.utils.mapper.defaultvalue.DefaultValueStrategy;
+import es.utils.mapper.factory.AccessorFactory;
+import es.utils.mapper.impl.element.ElementMapper;
 import es.utils.mapper.impl.object.DirectMapper;
+import es.utils.mapper.index.FieldMetadata;
+import es.utils.mapper.index.MetadataIndex;
 import es.utils.mapper.utils.MapperUtil;
 
 import java.lang.annotation.Annotation;
@@ -17,6 +22,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -39,12 +46,26 @@ public class FieldHolder {
 	@SuppressWarnings("rawtypes")
 	private Class<? extends Collection> collectionType;
 	private boolean ignoreField;
+	private Boolean deepCopy;
+	private final FieldMetadata metadata;
+	private Class<?> elementType;
+	private boolean elementTypeResolved;
+	private Function<?,?> getterFunction;
+	private BiConsumer<?,?> setterFunction;
 	
 	/**
 	 * @param field the field used to hold
 	 * @param mapper the {@code Mapper} instance of belonging configuration used
 	 */
 	public FieldHolder(Field field, Mapper mapper) {
+		this(field,mapper,null);
+	}
+	/**
+	 * @param field the field used to hold
+	 * @param mapper the {@code Mapper} instance of belonging configuration used
+	 * @param metadata the annotations of the field read from the {@link MetadataIndex}, or {@code null} to read them by reflection
+	 */
+	public FieldHolder(Field field, Mapper mapper, FieldMetadata metadata) {
 		this.field = Objects.requireNonNull(field);
 		Objects.requireNonNull(mapper);
 		this.fieldName = field.getName();
@@ -53,17 +74,23 @@ public class FieldHolder {
 		this.genericType = field.getGenericType();
 		this.aliases = new TreeSet<>();
 		this.converters = new LinkedHashSet<>();
-		this.defaultValue = ()->null;
+		this.defaultValue = ElementMapper.noDefaultValue();
+		this.metadata = metadata;
 		processAnnotations(mapper);
 	}
 	
 	private void processAnnotations(Mapper mapper) {
+		if(this.metadata!=null) {
+			processMetadata(mapper);
+			return;
+		}
 		processIgnoreField();
 		if(!this.ignoreField) {
 			processAliases(mapper.config());
 			processConverters(mapper);
 			processDefaultValue(mapper);
 			processCollectionType();
+			processDeepCopy();
 		}
 	}
 
@@ -77,24 +104,101 @@ public class FieldHolder {
 			this.ignoreField = Arrays.asList(classLevelAnnotation.value()).contains(this.fieldName);
 		}
 	}
+	private void processDeepCopy() {
+		DeepCopy fieldLevelAnnotation = this.field.getAnnotation(DeepCopy.class);
+		if(fieldLevelAnnotation!=null) {
+			this.deepCopy = !fieldLevelAnnotation.ignore();
+			return;
+		}
+		DeepCopy classLevelAnnotation = this.field.getDeclaringClass().getAnnotation(DeepCopy.class);
+		if(classLevelAnnotation!=null) {
+			if(classLevelAnnotation.ignore()) {
+				this.deepCopy = false;
+			}
+			else if(classLevelAnnotation.ignoreAllExceptFields().length>0) {
+				this.deepCopy = Arrays.asList(classLevelAnnotation.ignoreAllExceptFields()).contains(this.fieldName);
+			}
+			else {
+				this.deepCopy = !Arrays.asList(classLevelAnnotation.ignoreFields()).contains(this.fieldName);
+			}
+		}
+	}
+	private void processMetadata(Mapper mapper) {
+		this.ignoreField = this.metadata.isIgnored();
+		if(this.ignoreField) {
+			return;
+		}
+		this.deepCopy = this.metadata.getDeepCopy();
+		Configuration config = mapper.config();
+		this.metadata.getAliases().forEach(this::addAlias);
+		for(Class<? extends Annotation> annotationType : config.getAliasAnnotations()) {
+			if(annotationType!=AliasNames.class) {
+				Annotation annotation = this.field.getAnnotation(annotationType);
+				if(annotation!=null) {
+					processAlias(config,annotation);
+				}
+			}
+		}
+		processConverters(mapper,this.metadata.getConverters());
+		if(this.metadata.hasDefault()) {
+			processDefaultValue(mapper);
+		}
+		else {
+			Supplier<?> configDefaultValue = config.getDefaultValueSupplier(this.wrappedType);
+			this.defaultValue = configDefaultValue!=null ? configDefaultValue : ElementMapper.noDefaultValue();
+		}
+		if(this.metadata.getCollectionType()!=null) {
+			@SuppressWarnings({"rawtypes","unchecked"})
+			Class<? extends Collection> indexedCollectionType = (Class<? extends Collection>)loadClass(this.metadata.getCollectionType());
+			this.collectionType = indexedCollectionType;
+			if(this.collectionType==null) {
+				processCollectionType();
+			}
+		}
+	}
+	private void processConverters(Mapper mapper, List<String> converterNames) {
+		for(String converterName : converterNames) {
+			@SuppressWarnings("unchecked")
+			Class<? extends AbstractConverter<Object,Object>> converterClass = (Class<? extends AbstractConverter<Object,Object>>)loadClass(converterName);
+			if(converterClass==null) {
+				this.converters.clear();
+				processConverters(mapper);
+				return;
+			}
+			DirectMapper<?,?> converterInstance = MapperUtil.createFromConverter(converterClass,mapper);
+			if(converterInstance!=null)
+				converters.add(converterInstance);
+		}
+	}
+	private Class<?> loadClass(String className) {
+		try {
+			return Class.forName(className,true,this.field.getDeclaringClass().getClassLoader());
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
 	private void processAliases(Configuration config) {
 		Annotation[] annotations = field.getAnnotations();
 		for(Annotation annotation : annotations) {
-			String name = config.getAnnotationField(annotation.annotationType());
-			if(name!=null) {
-				try {
-					Method method = annotation.annotationType().getMethod(name);
-					Object value = method.invoke(annotation);
-					if(value.getClass().isArray()) {
-						for(String aliasName : (String[])value) {
-							addAlias(aliasName);
-						}
-					}
-					else {
-						addAlias((String)value);
+			processAlias(config,annotation);
+		}
+	}
+	private void processAlias(Configuration config, Annotation annotation) {
+		String name = config.getAnnotationField(annotation.annotationType());
+		if(name!=null) {
+			try {
+				Method method = annotation.annotationType().getMethod(name);
+				Object value = method.invoke(annotation);
+				if(value.getClass().isArray()) {
+					for(String aliasName : (String[])value) {
+						addAlias(aliasName);
 					}
-				} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 				}
+				else {
+					addAlias((String)value);
+				}
+			} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
 			}
 		}
 	}
@@ -131,6 +235,37 @@ public class FieldHolder {
 		return field;
 	}
 
+	/**
+	 * The getter operation of the field, created only once for the current {@code FieldHolder}.
+	 * @param <T> the type of the object containing the field
+	 * @param <OUT> the type of the field
+	 * @return the getter operation of the field
+	 * @see AccessorFactory#getter(Field)
+	 */
+	public <T,OUT> Function<T,OUT> getGetterFunction() {
+		if(getterFunction==null) {
+			getterFunction = AccessorFactory.getter(field);
+		}
+		@SuppressWarnings("unchecked")
+		Function<T,OUT> result = (Function<T,OUT>)getterFunction;
+		return result;
+	}
+	/**
+	 * The setter operation of the field, created only once for the current {@code FieldHolder}.
+	 * @param <T> the type of the object containing the field
+	 * @param <IN> the type of the field
+	 * @return the setter operation of the field
+	 * @see AccessorFactory#setter(Field)
+	 */
+	public <T,IN> BiConsumer<T,IN> getSetterFunction() {
+		if(setterFunction==null) {
+			setterFunction = AccessorFactory.setter(field);
+		}
+		@SuppressWarnings("unchecked")
+		BiConsumer<T,IN> result = (BiConsumer<T,IN>)setterFunction;
+		return result;
+	}
+
 	/**
 	 * @return the field name
 	 */
@@ -187,6 +322,29 @@ public class FieldHolder {
 	public Type getGenericType() {
 		return genericType;
 	}
+	/**
+	 * Returns the type argument of the generic type of the field, read from the {@link MetadataIndex} if the field is indexed.
+	 * The type is resolved only the first time this method is called.
+	 * @param <TYPE> the type argument
+	 * @return the type argument of the field, or {@code null} if the field is not a generic type with a single class as type argument
+	 * @see MapperUtil#getGenericType(Type)
+	 */
+	public <TYPE> Class<TYPE> getGenericElementType() {
+		if(!elementTypeResolved) {
+			Class<?> resolvedType = null;
+			if(metadata!=null && metadata.getElementType()!=null) {
+				resolvedType = loadClass(metadata.getElementType());
+			}
+			if(resolvedType==null && (metadata==null || metadata.getElementType()!=null)) {
+				resolvedType = MapperUtil.getGenericType(genericType);
+			}
+			elementType = resolvedType;
+			elementTypeResolved = true;
+		}
+		@SuppressWarnings("unchecked")
+		Class<TYPE> result = (Class<TYPE>)elementType;
+		return result;
+	}
 
 	/**
 	 * @return {@code true} if the field must be ignored
@@ -195,6 +353,15 @@ public class FieldHolder {
 	public boolean ignoreField() {
 		return this.ignoreField;
 	}
+	/**
+	 * @return {@code true} if the value of the field must be deep copied, {@code false} if it must not be deep copied,
+	 * empty if the field and its class are not annotated and the deep copy setting of the {@code Configuration} is used
+	 * @see DeepCopy
+	 * @see Configuration#enableDeepCopy()
+	 */
+	public Optional<Boolean> getDeepCopy() {
+		return Optional.ofNullable(this.deepCopy);
+	}
 	
 	/**
 	 * @return the sub-collection type
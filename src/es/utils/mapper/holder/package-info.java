@@ -1,10 +1,12 @@
 /**
  * Provides a class that contains the information of a field used in the mappings.<br>
- * The package contains the following class:
+ * The package contains the following classes:
  * <ul>
  * <li>{@code FieldHolder} : wrapper object to hold a Field and its information (field, name, aliases, type, generic type, collection type and if the field is ignored)</li>
+ * <li>{@code DefaultValuePlan} : the fields of a type that can receive a default value, with the operations used to fill them</li>
  * </ul>
  * @author eschoysman
  * @see es.utils.mapper.holder.FieldHolder
+ * @see es.utils.mapper.holder.DefaultValuePlan
  */
 package es.utils.mapper.holder;
\ No newline at end of file
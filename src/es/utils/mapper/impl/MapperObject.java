@@ -1,16 +1,20 @@
 package es.utils.mapper.impl;
 
+import es.utils.doublekeymap.PairKey;
 import es.utils.mapper.Mapper;
 import es.utils.mapper.defaultvalue.DefaultValueStrategy;
 import es.utils.mapper.exception.MappingException;
-import es.utils.mapper.holder.FieldHolder;
+import es.utils.mapper.holder.DefaultValuePlan;
 import es.utils.mapper.impl.object.ClassMapper;
 import es.utils.mapper.impl.object.DirectMapper;
 import es.utils.mapper.impl.object.EnumMapper;
+import es.utils.mapper.metrics.AllocationMeter;
+import es.utils.mapper.metrics.MappingMetrics;
 
-import java.lang.reflect.Field;
-import java.util.Map;
+import java.util.Collections;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class handle the abstract logic for mapping an object of type {@code T} into a {@code U} object 
@@ -28,6 +32,8 @@ public abstract class MapperObject<T,U> {
 	protected Mapper mapper;
 	protected Class<T> from;
 	protected Class<U> to;
+	private volatile DefaultValuePlan inputPlan;
+	private volatile DefaultValuePlan outputPlan;
 	
 	/**
 	 * Create a mapping between the types {@code from} and {@code to}
@@ -46,6 +52,8 @@ public abstract class MapperObject<T,U> {
 	 */
 	public void setMapper(Mapper mapper) {
 		this.mapper = mapper;
+		this.inputPlan = null;
+		this.outputPlan = null;
 	}
 	
 	/**
@@ -67,6 +75,23 @@ public abstract class MapperObject<T,U> {
 	 * The activation of a {@code MapperObject} takes into account all the present mappings to create the default mappings of the current mapping 
 	 */
 	public abstract void activate();
+	/**
+	 * Returns the pairs of types whose mapping was used by the last activation of this {@code MapperObject}.
+	 * When a mapping between one of these pairs is added or replaced, the {@code Mapper} activates this {@code MapperObject} again;
+	 * the other registrations leave it untouched.<br>
+	 * The default implementation returns an empty set.
+	 * @return the pairs of types this mapping depends on
+	 * @see Mapper#build()
+	 */
+	public Set<PairKey<Class<?>,Class<?>>> getDependencies() {
+		return Collections.emptySet();
+	}
+	/**
+	 * Prevents any further change of this {@code MapperObject}. It is called by {@link Mapper#freeze()} after the activation of the mapping.<br>
+	 * The default implementation does nothing.
+	 */
+	public void freeze() {
+	}
 	/**
 	 * Maps the input according to the class logic 
 	 * @param from the object to map
@@ -85,14 +110,34 @@ public abstract class MapperObject<T,U> {
 	protected abstract U mapValue(T from, U to);
 	
 	/**
-	 * Returns an instance of the destination type of this mapping. If the input is {@code null} return {@code null}.
+	 * Returns an instance of the destination type of this mapping. If the input is {@code null} return {@code null}.<br>
+	 * If the graph mapping is enabled and {@code from} was already mapped into the destination type during the current mapping operation,
+	 * the object already created is returned.
 	 * @param from The input object to be mapped
 	 * @return An instance of the destination type of this mapping. If the input is {@code null} return {@code null}.
 	 * @throws MappingException If an error occurs during the mapping
+	 * @see MappingContext
 	 */
     public U map(T from) throws MappingException {
     	if(from==null)
             return null;
+    	if(mapper!=null && mapper.config().isGraphMappingEnabled()) {
+    		try(MappingContext context = MappingContext.open()) {
+    			U mapped = context.get(from,to);
+    			if(mapped==null) {
+    				mapped = mapWithDefaultValues(from);
+    				context.put(from,to,mapped);
+    			}
+    			return mapped;
+    		}
+    	}
+    	return mapWithDefaultValues(from);
+    }
+    private U mapWithDefaultValues(T from) throws MappingException {
+    	MappingMetrics metrics = mapper==null ? null : mapper.config().getMetrics();
+    	if(metrics!=null) {
+    		return mapMeasured(from,metrics);
+    	}
    		from = setDefaultValuesInput(from);
     	U result = mapValue(from);
 		result = setDefaultValuesOutput(result);
@@ -110,6 +155,24 @@ public abstract class MapperObject<T,U> {
     	U result = mapValue(from,to);
 		return result;
     }
+    private U mapMeasured(T from, MappingMetrics metrics) throws MappingException {
+    	int samplingRate = metrics.getAllocationSamplingRate();
+    	boolean sampled = samplingRate>0 && ThreadLocalRandom.current().nextInt(samplingRate)==0;
+    	long allocatedBefore = sampled ? AllocationMeter.currentThreadAllocatedBytes() : -1;
+    	long start = System.nanoTime();
+    	boolean failed = true;
+    	try {
+    		from = setDefaultValuesInput(from);
+    		U result = mapValue(from);
+    		result = setDefaultValuesOutput(result);
+    		failed = false;
+    		return result;
+    	} finally {
+    		long nanos = System.nanoTime()-start;
+    		long allocatedBytes = allocatedBefore<0 ? -1 : AllocationMeter.currentThreadAllocatedBytes()-allocatedBefore;
+    		metrics.recordMapping(this.from,this.to,nanos,allocatedBytes,failed);
+    	}
+    }
     
 	/**
 	 * Returns an instance of the destination type of this mapping or {@code null if any exception is thrown}
@@ -139,10 +202,18 @@ public abstract class MapperObject<T,U> {
 	 * @return the {@code obj} instance updated
 	 */
 	protected T setDefaultValuesInput(T obj) {
+    	if(obj==null) {
+    		return null;
+    	}
     	if(mapper==null || !(mapper.config().hasStrategy(DefaultValueStrategy.ALWAYS) && mapper.config().hasStrategy(DefaultValueStrategy.INPUT))) {
     		return obj;
     	}
-    	return applyDefault(obj);
+    	DefaultValuePlan lastPlan = inputPlan;
+    	DefaultValuePlan plan = getDefaultValuePlan(obj,lastPlan);
+    	if(plan!=lastPlan) {
+    		inputPlan = plan;
+    	}
+    	return plan.apply(obj);
     }
 	/**
 	 * Fills the fields of {@code obj} with the default values
@@ -156,21 +227,18 @@ public abstract class MapperObject<T,U> {
     	if(mapper==null || !(mapper.config().hasStrategy(DefaultValueStrategy.ALWAYS) && mapper.config().hasStrategy(DefaultValueStrategy.OUTPUT))) {
     		return obj;
     	}
-    	return applyDefault(obj);
-    }
-	private <OBJ> OBJ applyDefault(OBJ obj) {
-		Map<String,FieldHolder> fieldsHolder = mapper.getFieldsHolderFromCache(obj.getClass());
-    	for(FieldHolder fh : fieldsHolder.values()) {
-    		Field field = fh.getField();
-    		field.setAccessible(true);
-			try {
-				if(field.get(obj)==null) {
-					field.set(obj,fh.getDefaultValueSupplier().get());
-				}
-			} catch (IllegalArgumentException | IllegalAccessException e) {
-			}
+    	DefaultValuePlan lastPlan = outputPlan;
+    	DefaultValuePlan plan = getDefaultValuePlan(obj,lastPlan);
+    	if(plan!=lastPlan) {
+    		outputPlan = plan;
     	}
-    	return obj;
-	}
+    	return plan.apply(obj);
+    }
+	private DefaultValuePlan getDefaultValuePlan(Object obj, DefaultValuePlan lastPlan) {
+		if(lastPlan!=null && lastPlan.getType()==obj.getClass()) {
+			return lastPlan;
+		}
+		return mapper.getDefaultValuePlan(obj.getClass());
+    }
 	
 }
@@ -0,0 +1,83 @@
+package es.utils.mapper.impl;
+
+import es.utils.doublekeymap.IdentityTwoKeyMap;
+import es.utils.mapper.Mapper;
+import es.utils.mapper.configuration.Configuration;
+
+/**
+ * This class keeps track of the objects already mapped during a single mapping operation, when the graph mapping is enabled.<br>
+ * Each source object is mapped only once for each destination type: an object referenced more than once in the source graph
+ * is mapped into a single destination object, and the cycles of the source graph are reproduced in the destination graph.<br>
+ * The context is bound to the current thread from the outermost mapping call to its end,
+ * so it is shared by all the nested mappings without changing their signature.
+ * @author eschoysman
+ * @see Configuration#enableGraphMapping()
+ * @see MapperObject#map(Object)
+ */
+public final class MappingContext implements AutoCloseable {
+
+	private static final ThreadLocal<MappingContext> CURRENT = new ThreadLocal<>();
+
+	private final IdentityTwoKeyMap<Object,Class<?>,Object> mappedObjects;
+	private int depth;
+
+	private MappingContext() {
+		this.mappedObjects = new IdentityTwoKeyMap<>();
+	}
+
+	/**
+	 * Returns the context bound to the current thread, creating it if this is the outermost mapping call.
+	 * Every call must be paired with a call to {@link #close()}, that unbinds the context when the outermost call ends.
+	 * @return the context of the current mapping operation
+	 * @see Mapper#mapCollection(java.util.Collection, java.util.Collection, Class)
+	 */
+	public static MappingContext open() {
+		MappingContext context = CURRENT.get();
+		if(context==null) {
+			context = new MappingContext();
+			CURRENT.set(context);
+		}
+		context.depth++;
+		return context;
+	}
+	/**
+	 * @return the context bound to the current thread, or {@code null} if no mapping operation with graph mapping is running
+	 */
+	public static MappingContext current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * @param <U> the destination type
+	 * @param source the source object
+	 * @param destinationType the destination type
+	 * @return the object already created from {@code source} for {@code destinationType}, or {@code null} if {@code source} was not mapped yet
+	 */
+	public <U> U get(Object source, Class<U> destinationType) {
+		@SuppressWarnings("unchecked")
+		U destination = (U)mappedObjects.get(source,destinationType);
+		return destination;
+	}
+	/**
+	 * Register the object created from {@code source} for {@code destinationType}.
+	 * It should be called as soon as the destination object is created, before mapping its fields, to let the cycles be resolved.
+	 * @param <U> the destination type
+	 * @param source the source object
+	 * @param destinationType the destination type
+	 * @param destination the object created from {@code source}
+	 */
+	public <U> void put(Object source, Class<U> destinationType, U destination) {
+		mappedObjects.put(source,destinationType,destination);
+	}
+
+	/**
+	 * Ends a call started by {@link #open()}. When the outermost call ends, the context is unbound from the current thread.
+	 */
+	@Override
+	public void close() {
+		if(--depth==0) {
+			CURRENT.remove();
+		}
+	}
+
+}
@@ -1,13 +1,23 @@
 package es.utils.mapper.impl.element;
 
 import es.utils.mapper.Mapper;
+import es.utils.mapper.configuration.Configuration;
+import es.utils.mapper.copy.DeepCopier;
 import es.utils.mapper.defaultvalue.DefaultValueStrategy;
+import es.utils.mapper.metrics.ElementOutcome;
+import es.utils.mapper.metrics.MappingMetrics;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * This class contains the informations and the logic needed the execute the mapping of an single element:
@@ -16,6 +26,10 @@ import java.util.function.Supplier;
  * <li>a <b>Transformer</b>: a function that maps the result of the {@code getter} into the correct type for the {@code setter}</li>
  * <li>a <b>Setter</b>: a operation that assign the result of the {@code transformer} to the destination object</li>
  * </ul>
+ * The stages that do nothing with the current {@code Configuration} (the deep copy when disabled, the default values when their strategy is not set
+ * or no default value is given, the {@link #identity()} transformer) are removed once, the first time the element is mapped:
+ * the common case of a plain copy is a single getter followed by the setter.
+ * The stages are resolved again only when the deep copy or the default value strategy of the {@code Configuration} change.
  * 
  * @author eschoysman
  *
@@ -29,6 +43,24 @@ import java.util.function.Supplier;
 @Slf4j
 public class ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> {
 
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,Object.class,Object.class);
+	private static final MethodHandle FUNCTION_APPLY;
+	private static final MethodHandle BICONSUMER_ACCEPT;
+	private static final MethodHandle DEFAULT_IF_NULL;
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			FUNCTION_APPLY = lookup.findVirtual(Function.class,"apply",GETTER_TYPE);
+			BICONSUMER_ACCEPT = lookup.findVirtual(BiConsumer.class,"accept",SETTER_TYPE);
+			DEFAULT_IF_NULL = lookup.findStatic(ElementMapper.class,"defaultIfNull",MethodType.methodType(Object.class,Supplier.class,Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	private static final Function<?,?> IDENTITY = obj->obj;
+	private static final Supplier<?> NO_DEFAULT_VALUE = ()->null;
+
 	private static int id_incr = 0;
 	private int id = ++id_incr;
 
@@ -39,6 +71,9 @@ public class ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> {
 	private Function<GETTER_OUT,SETTER_IN> transformer;
 	private Supplier<SETTER_IN> defaultOutput;
 	private Setter<OUT,SETTER_IN> setter;
+	private Boolean deepCopy;
+	private Class<?> getterType;
+	private volatile Pipeline pipeline;
 	
 	/**
 	 * @param mapper the mapper of belonging
@@ -62,6 +97,45 @@ public class ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> {
 		this.defaultOutput = Objects.requireNonNull(defaultOutput);
 		this.setter = Objects.requireNonNull(setter);
 	}
+	/**
+	 * Create a copy of the given {@code ElementMapper}, to be used by the specialized subclasses.
+	 * @param elementMapper the {@code ElementMapper} to copy
+	 */
+	protected ElementMapper(ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> elementMapper) {
+		this.id = elementMapper.id;
+		this.mapper = elementMapper.mapper;
+		this.name = elementMapper.name;
+		this.getter = elementMapper.getter;
+		this.defaultInput = elementMapper.defaultInput;
+		this.transformer = elementMapper.transformer;
+		this.defaultOutput = elementMapper.defaultOutput;
+		this.setter = elementMapper.setter;
+		this.deepCopy = elementMapper.deepCopy;
+		this.getterType = elementMapper.getterType;
+	}
+
+	/**
+	 * Returns the transformer that returns its input unchanged. It is the transformer of the {@code ElementMapper}s
+	 * created without a transformation, and it is removed from the mapping of the element.
+	 * @param <T> the type of the input
+	 * @param <R> the type of the output
+	 * @return the identity transformer
+	 */
+	public static <T,R> Function<T,R> identity() {
+		@SuppressWarnings("unchecked")
+		Function<T,R> identity = (Function<T,R>)IDENTITY;
+		return identity;
+	}
+	/**
+	 * Returns the supplier used when no default value is given. It always returns {@code null}, and it is removed from the mapping of the element.
+	 * @param <T> the type of the default value
+	 * @return the supplier of no default value
+	 */
+	public static <T> Supplier<T> noDefaultValue() {
+		@SuppressWarnings("unchecked")
+		Supplier<T> noDefaultValue = (Supplier<T>)NO_DEFAULT_VALUE;
+		return noDefaultValue;
+	}
 
 	/**
 	 * Set a supplier (from the mapper configuration) for the default value to set in the destination if the value in this point is {@code null}.  
@@ -69,10 +143,43 @@ public class ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> {
 	 * @return a supplier of the given type
 	 */
 	public ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> setDefaultValue(Class<SETTER_IN> defaultOutput) {
-		this.defaultOutput = mapper.config().getDefaultValueSupplier(defaultOutput);
+		Supplier<SETTER_IN> supplier = mapper.config().getDefaultValueSupplier(defaultOutput);
+		this.defaultOutput = supplier!=null ? supplier : noDefaultValue();
+		this.pipeline = null;
 		return this;
 	}
 
+	/**
+	 * Set whether the value read by the getter must be deep copied, regardless of the deep copy setting of the {@code Configuration}.
+	 * @param deepCopy {@code true} to always deep copy the value, {@code false} to never deep copy it
+	 * @return the current instance
+	 * @see es.utils.mapper.annotation.DeepCopy
+	 */
+	public ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> setDeepCopy(boolean deepCopy) {
+		this.deepCopy = deepCopy;
+		this.pipeline = null;
+		return this;
+	}
+	/**
+	 * Set the declared type of the values read by the getter. When it is a final type whose instances are shared by the built-in deep copy engine,
+	 * the values are not passed to the deep copy at all.
+	 * @param getterType the declared type of the values read by the getter, or {@code null} if it is not known
+	 * @return the current instance
+	 * @see es.utils.mapper.copy.DeepCopier#isImmutable(Class)
+	 */
+	public ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> setGetterType(Class<?> getterType) {
+		this.getterType = getterType;
+		this.pipeline = null;
+		return this;
+	}
+	/**
+	 * @return {@code true} if the value read by the getter is deep copied, as set by {@link #setDeepCopy(boolean)}
+	 * or, if not set, by the {@code Configuration} of the mapper
+	 */
+	public boolean isDeepCopyEnabled() {
+		return deepCopy!=null ? deepCopy : mapper.config().isDeepCopyEnabled();
+	}
+
 	/**
 	 * The name of the current ElementMapper
 	 * @return the name of the current ElementMapper
@@ -116,11 +223,78 @@ public class ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> {
 	 * @param out the destination object
 	 */
 	public void apply(IN in, OUT out) {
-		GETTER_OUT getterResult = getter(in);
-		getterResult = defaultValueGetter(getterResult);
-		SETTER_IN transformed = transform(getterResult);
-		transformed = defaultValueSetter(transformed);
-		setter(out,transformed);
+		pipeline().apply(in,out);
+	}
+	/**
+	 * Returns the value that {@link #apply(Object,Object)} would assign to the destination element, without assigning it.
+	 * It is used to collect the arguments of the constructor, factory method or builder creating the destination object.
+	 * @param in the original object
+	 * @return the value of the element after the deep copy, the default values and the transformation
+	 */
+	@SuppressWarnings("unchecked")
+	public SETTER_IN getValue(IN in) {
+		return (SETTER_IN)pipeline().value(in);
+	}
+
+	/**
+	 * Same as {@link #apply(Object,Object)}, but returns the kind of value assigned to the destination element. It is used when the mapping is measured.
+	 * @param in the original object
+	 * @param out the destination object
+	 * @return {@link ElementOutcome#DEFAULT_VALUE} if a default value was assigned, {@link ElementOutcome#NULL_VALUE} if {@code null} was assigned,
+	 * {@link ElementOutcome#VALUE} otherwise
+	 * @see MappingMetrics
+	 */
+	public ElementOutcome applyWithOutcome(IN in, OUT out) {
+		Pipeline current = pipeline();
+		Object value = current.getter.apply(in);
+		if(current.copy!=null) {
+			value = current.copy.apply(value);
+		}
+		boolean isDefaultValue = false;
+		if(value==null && current.defaultInput!=null) {
+			value = current.defaultInput.get();
+			isDefaultValue = value!=null;
+		}
+		if(current.transformer!=null) {
+			value = current.transformer.apply(value);
+		}
+		if(value==null && current.defaultOutput!=null) {
+			value = current.defaultOutput.get();
+			isDefaultValue = value!=null;
+		}
+		current.setter.accept(out,value);
+		if(value==null) {
+			return ElementOutcome.NULL_VALUE;
+		}
+		return isDefaultValue ? ElementOutcome.DEFAULT_VALUE : ElementOutcome.VALUE;
+	}
+
+	/**
+	 * Returns the logic of {@link #apply(Object,Object)} as a single {@link MethodHandle} of type {@code (Object,Object)void}.<br>
+	 * The getter, transformer and setter operations are bound into the handle, so that applying the element does not go through
+	 * the checks of {@link #apply(Object,Object)}. Only the stages needed with the current {@code Configuration} are part of the handle,
+	 * so the handle must be created again when the {@linkplain Configuration#getVersion() version} of the {@code Configuration} changes.
+	 * @return the mapping of the current element as a {@code MethodHandle} taking the origin and the destination objects
+	 * @see #apply(Object,Object)
+	 */
+	public MethodHandle compile() {
+		Pipeline current = pipeline();
+		MethodHandle value = FUNCTION_APPLY.bindTo(current.getter);
+		if(current.copy!=null) {
+			value = MethodHandles.filterReturnValue(value,FUNCTION_APPLY.bindTo(current.copy));
+		}
+		if(current.defaultInput!=null) {
+			value = MethodHandles.filterReturnValue(value,DEFAULT_IF_NULL.bindTo(current.defaultInput));
+		}
+		if(current.transformer!=null) {
+			value = MethodHandles.filterReturnValue(value,FUNCTION_APPLY.bindTo(current.transformer));
+		}
+		if(current.defaultOutput!=null) {
+			value = MethodHandles.filterReturnValue(value,DEFAULT_IF_NULL.bindTo(current.defaultOutput));
+		}
+		MethodHandle assign = BICONSUMER_ACCEPT.bindTo(current.setter);
+		MethodHandle outIn = MethodHandles.filterArguments(assign,1,value);
+		return MethodHandles.permuteArguments(outIn,SETTER_TYPE,1,0);
 	}
 
 	/**
@@ -134,48 +308,116 @@ public class ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> {
 	
 	// PRIVATE METHODS
 	
-	private GETTER_OUT getter(IN in) {
-		GETTER_OUT getterResult = null;
-//		// controllo se il cloner è abilitato e presente e in tal caso lo eseguo
-//		if(mapper.config().isDeepCopyEnabled() && mapper.config().getCloner()!=null) {
-//			getterResult = mapper.config().<GETTER_OUT>getCloner().apply(getter.apply(in));
-//		}
-//		else {
-//			getterResult = getter.apply(in);
-//		}
-		getterResult = getter.apply(in);
-		// controllo se il cloner è abilitato e presente e in tal caso lo eseguo
-		if(mapper.config().isDeepCopyEnabled() && mapper.config().getCloner()!=null) {
-			getterResult = mapper.config().<GETTER_OUT>getCloner().apply(getterResult);
-		}
-		return getterResult;
-	}
-	private GETTER_OUT defaultValueGetter(GETTER_OUT current) {
-		if(current==null) {
-			if(mapper.config().hasStrategy(DefaultValueStrategy.INPUT) && defaultInput!=null) {
-				current = defaultInput.get();
-			}
+	private Pipeline pipeline() {
+		Configuration config = mapper.config();
+		Pipeline current = pipeline;
+		if(current==null || current.config!=config || current.version!=config.getVersion()) {
+			current = specialize(config);
+			pipeline = current;
 		}
 		return current;
 	}
-	private SETTER_IN transform(GETTER_OUT getterResult) {
-//		if(mapper.config().isDeepCopyEnabled() && mapper.config().getCloner()!=null) {
-//			this.transformer = this.transformer.compose(mapper.config().<GETTER_OUT>getCloner()::apply);
-//		}
-		SETTER_IN transformed = transformer.apply(getterResult);
-		return transformed;
-	}
-	private SETTER_IN defaultValueSetter(SETTER_IN current) {
-		if(current==null) {
-			if(mapper.config().hasStrategy(DefaultValueStrategy.OUTPUT) && defaultOutput!=null) {
-				current = defaultOutput.get();
+	// risolve gli step dell'elemento con la configurazione corrente, eliminando quelli che non fanno niente
+	@SuppressWarnings("unchecked")
+	private Pipeline specialize(Configuration config) {
+		int version = config.getVersion();
+		Function<Object,Object> getterFunction = getter.getClass()==Getter.class ? (Function<Object,Object>)getter.getFunction() : obj->getter.apply((IN)obj);
+		BiConsumer<Object,Object> setterFunction = setter.getClass()==Setter.class ? (BiConsumer<Object,Object>)setter.getConsumer() : (obj,data)->setter.apply((OUT)obj,(SETTER_IN)data);
+		Function<Object,Object> copy = null;
+		if(deepCopy!=null ? deepCopy : config.isDeepCopyEnabled()) {
+			UnaryOperator<Object> cloner = config.getCloner();
+			DeepCopier deepCopier = config.getDeepCopier();
+			if(cloner!=null) {
+				copy = cloner;
+			}
+			else if(getterType==null || !Modifier.isFinal(getterType.getModifiers()) || !deepCopier.isImmutable(getterType)) {
+				copy = deepCopier::copy;
 			}
 		}
-		return current;
+		Supplier<Object> input = defaultInput!=NO_DEFAULT_VALUE && config.hasStrategy(DefaultValueStrategy.INPUT) ? (Supplier<Object>)defaultInput : null;
+		Function<Object,Object> transform = transformer!=IDENTITY ? (Function<Object,Object>)transformer : null;
+		Supplier<Object> output = defaultOutput!=NO_DEFAULT_VALUE && config.hasStrategy(DefaultValueStrategy.OUTPUT) ? (Supplier<Object>)defaultOutput : null;
+		if(copy==null && input==null && output==null) {
+			return transform==null ? new PlainCopy(config,version,getterFunction,setterFunction)
+								   : new TransformOnly(config,version,getterFunction,transform,setterFunction);
+		}
+		return new Pipeline(config,version,getterFunction,copy,input,transform,output,setterFunction);
+	}
+	private static Object defaultIfNull(Supplier<?> defaultValue, Object value) {
+		return value!=null ? value : defaultValue.get();
+	}
+
+	/**
+	 * The stages of the element resolved with a given version of the {@code Configuration}: the stages that do nothing are {@code null}.
+	 * This class applies all the stages still present, the subclasses are the specialized variants without any optional stage.
+	 */
+	private static class Pipeline {
+		private final Configuration config;
+		private final int version;
+		protected final Function<Object,Object> getter;
+		private final Function<Object,Object> copy;
+		private final Supplier<Object> defaultInput;
+		protected final Function<Object,Object> transformer;
+		private final Supplier<Object> defaultOutput;
+		protected final BiConsumer<Object,Object> setter;
+
+		private Pipeline(Configuration config, int version, Function<Object,Object> getter, Function<Object,Object> copy, Supplier<Object> defaultInput,
+						 Function<Object,Object> transformer, Supplier<Object> defaultOutput, BiConsumer<Object,Object> setter) {
+			this.config = config;
+			this.version = version;
+			this.getter = getter;
+			this.copy = copy;
+			this.defaultInput = defaultInput;
+			this.transformer = transformer;
+			this.defaultOutput = defaultOutput;
+			this.setter = setter;
+		}
+
+		protected void apply(Object in, Object out) {
+			setter.accept(out,value(in));
+		}
+		protected Object value(Object in) {
+			Object value = getter.apply(in);
+			if(copy!=null) {
+				value = copy.apply(value);
+			}
+			if(value==null && defaultInput!=null) {
+				value = defaultInput.get();
+			}
+			if(transformer!=null) {
+				value = transformer.apply(value);
+			}
+			if(value==null && defaultOutput!=null) {
+				value = defaultOutput.get();
+			}
+			return value;
+		}
 	}
-	private void setter(OUT out, SETTER_IN transformed) {
-		//log.trace("Applying setter \""+getDestName()+"\" with input: "+transformed);
-		setter.apply(out,transformed);
+	private static class PlainCopy extends Pipeline {
+		private PlainCopy(Configuration config, int version, Function<Object,Object> getter, BiConsumer<Object,Object> setter) {
+			super(config,version,getter,null,null,null,null,setter);
+		}
+		@Override
+		protected void apply(Object in, Object out) {
+			setter.accept(out,getter.apply(in));
+		}
+		@Override
+		protected Object value(Object in) {
+			return getter.apply(in);
+		}
+	}
+	private static class TransformOnly extends Pipeline {
+		private TransformOnly(Configuration config, int version, Function<Object,Object> getter, Function<Object,Object> transformer, BiConsumer<Object,Object> setter) {
+			super(config,version,getter,null,null,transformer,null,setter);
+		}
+		@Override
+		protected void apply(Object in, Object out) {
+			setter.accept(out,transformer.apply(getter.apply(in)));
+		}
+		@Override
+		protected Object value(Object in) {
+			return transformer.apply(getter.apply(in));
+		}
 	}
 
 }
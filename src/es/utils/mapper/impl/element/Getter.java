@@ -65,6 +65,10 @@ public class Getter<T,GETTER_OUT> {
 		return name;
 	}
 
+	Function<T,GETTER_OUT> getFunction() {
+		return getter;
+	}
+
 	private void setName(String name) {
 		this.name = Objects.requireNonNull(name, "The name of the getter cannot be null");
 	}
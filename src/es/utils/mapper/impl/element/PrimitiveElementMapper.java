@@ -0,0 +1,77 @@
+package es.utils.mapper.impl.element;
+
+import es.utils.mapper.factory.AccessorFactory;
+import es.utils.mapper.metrics.ElementOutcome;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Objects;
+
+/**
+ * This class is an {@link ElementMapper} between two primitive fields that copies the value without boxing it.<br>
+ * A primitive value is never {@code null} and does not need to be deep copied,
+ * so the default values and the deep copy steps of the {@code ElementMapper} have no effect and are skipped.
+ * The transformer is the identity (or a widening primitive conversion) and is applied directly on the primitive value.
+ * 
+ * @author eschoysman
+ *
+ * @param <IN> the type of the origin object
+ * @param <GETTER_OUT> the wrapper type of the field of the origin object
+ * @param <SETTER_IN> the wrapper type of the field of the destination object
+ * @param <OUT> the type of the destination object
+ * @see AccessorFactory#primitiveCopy(java.lang.reflect.Field,java.lang.reflect.Field)
+ */
+public class PrimitiveElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> extends ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> {
+
+	private final MethodHandle copy;
+
+	/**
+	 * @param elementMapper the {@code ElementMapper} between the two primitive fields
+	 * @param copy the operation of type {@code (Object,Object)void} that copies the primitive value from the origin object to the destination object
+	 */
+	public PrimitiveElementMapper(ElementMapper<IN,GETTER_OUT,SETTER_IN,OUT> elementMapper, MethodHandle copy) {
+		super(elementMapper);
+		this.copy = Objects.requireNonNull(copy);
+	}
+
+	/**
+	 * Copies the primitive value from {@code in} to {@code out}.
+	 * @param in the original object
+	 * @param out the destination object
+	 */
+	@Override
+	public void apply(IN in, OUT out) {
+		try {
+			copy.invokeExact((Object)in,(Object)out);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Copies the primitive value from {@code in} to {@code out}.
+	 * @param in the original object
+	 * @param out the destination object
+	 * @return always {@link ElementOutcome#VALUE}, since a primitive value is never {@code null}
+	 */
+	@Override
+	public ElementOutcome applyWithOutcome(IN in, OUT out) {
+		apply(in,out);
+		return ElementOutcome.VALUE;
+	}
+
+	@Override
+	public MethodHandle compile() {
+		return copy;
+	}
+
+	/**
+	 * Returns a human readable string of the current {@code PrimitiveElementMapper}
+	 */
+	@Override
+	public String toString() {
+		return "Primitive"+super.toString();
+	}
+
+}
@@ -66,6 +66,10 @@ public class Setter<U,SETTER_IN> {
 		return name;
 	}
 
+	BiConsumer<U,SETTER_IN> getConsumer() {
+		return setter;
+	}
+
 	private void setName(String name) {
 		this.name = Objects.requireNonNull(name,"The name of the setter cannot be null");
 	}
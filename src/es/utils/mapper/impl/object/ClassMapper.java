@@ -1,18 +1,36 @@
 package es.utils.mapper.impl.object;
 
+import es.utils.doublekeymap.PairKey;
 import es.utils.doublekeymap.TwoKeyMap;
 import es.utils.functionalinterfaces.throwing.SupplierX;
+import es.utils.mapper.configuration.Configuration;
+import es.utils.mapper.copy.CopyContext;
+import es.utils.mapper.defaultvalue.DefaultValueStrategy;
 import es.utils.mapper.exception.CustomException;
 import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.factory.AccessorFactory;
 import es.utils.mapper.factory.CollectionFactory;
+import es.utils.mapper.factory.CreationStrategy;
+import es.utils.mapper.factory.CreatorFactory;
+import es.utils.mapper.factory.CreatorFactory.Creator;
 import es.utils.mapper.factory.builder.EMBuilder;
 import es.utils.mapper.factory.builder.From;
 import es.utils.mapper.factory.builder.Name;
 import es.utils.mapper.holder.FieldHolder;
 import es.utils.mapper.impl.MapperObject;
+import es.utils.mapper.impl.MappingContext;
 import es.utils.mapper.impl.element.ElementMapper;
+import es.utils.mapper.impl.element.PrimitiveElementMapper;
+import es.utils.mapper.metrics.ElementOutcome;
+import es.utils.mapper.metrics.MappingMetrics;
+import es.utils.mapper.plan.*;
 import es.utils.mapper.utils.MapperUtil;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -30,14 +48,32 @@ import java.util.function.Function;
  * @see ElementMapper
  */
 public class ClassMapper<T,U> extends MapperObject<T,U> {
+
+	private static final MethodHandle NO_MAPPING;
+	static {
+		try {
+			NO_MAPPING = MethodHandles.lookup().findStatic(ClassMapper.class,"noMapping",MethodType.methodType(void.class,Object.class,Object.class));
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
 	
-	private TwoKeyMap<Integer,Integer,ElementMapper<T,?,?,U>> fieldMappings;
+	private TwoKeyMap<String,String,ElementMapper<T,?,?,U>> fieldMappings;
 	private TwoKeyMap<Integer,Integer,ElementMapper<T,?,?,U>> customMappings;
+	private TwoKeyMap<String,String,FieldElement> fieldElements;
+	private volatile Set<PairKey<Class<?>,Class<?>>> dependencies;
 	private Set<String> inputsToIgnore;
 	private Set<String> outputsToIgnore;
 	
-	private List<ElementMapper<T,?,?,U>> elementMappings;
-	private boolean isDirty;
+	private volatile List<ElementMapper<T,?,?,U>> elementMappings;
+	private volatile CompiledMapping compiledMapping;
+	private volatile boolean isDirty;
+	private volatile boolean activated;
+	private volatile boolean deepCopyElements;
+	private volatile ElementMapper<T,?,?,U>[] frozenElementMappings;
+	private volatile boolean creatorResolved;
+	private volatile Creator<U> creator;
+	private volatile CreatorBinding<T,U> creatorBinding;
 	
 	/**
 	 * Create a {@code MapperObject} from type {@code T} to type {@code U}.
@@ -48,6 +84,8 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 		super(fromClass,toClass);
 		this.fieldMappings = new TwoKeyMap<>();
 		this.customMappings = new TwoKeyMap<>();
+		this.fieldElements = new TwoKeyMap<>();
+		this.dependencies = Collections.emptySet();
 		this.inputsToIgnore = new TreeSet<>();
 		this.outputsToIgnore = new TreeSet<>();
 		this.elementMappings = new ArrayList<>();
@@ -55,24 +93,203 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 	}
 
 	protected U mapValue(T from) throws MappingException {
+		activateIfNeeded();
+		Creator<U> currentCreator = getCreator();
+		if(currentCreator!=null && mapper.config().getSupplier(to)==null) {
+			return mapValueWithCreator(from,currentCreator);
+		}
 		U dest = mapper.createNewInstance(to);
+		MappingContext context = mapper.config().isGraphMappingEnabled() ? MappingContext.current() : null;
+		if(context!=null) {
+			context.put(from,to,dest);
+		}
 		try {
 			return mapValue(from,dest);
 		} catch (Exception e) {
 			throw CustomException.forType(MappingException.class).message("Error mapping input value "+from).cause(e).build();
 		}
 	}
+	private U mapValueWithCreator(T from, Creator<U> currentCreator) throws MappingException {
+		CopyContext copyContext = openCopyContext();
+		try {
+			CreatorBinding<T,U> binding = getCreatorBinding(currentCreator);
+			MappingMetrics metrics = mapper.config().getMetrics();
+			U dest = metrics!=null ? createMeasured(from,binding,metrics) : binding.create(from);
+			MappingContext context = mapper.config().isGraphMappingEnabled() ? MappingContext.current() : null;
+			if(context!=null) {
+				context.put(from,to,dest);
+			}
+			// the element mappings that are not arguments of the creator are applied as in mapValue(T,U)
+			if(metrics!=null) {
+				applyMeasured(from,dest,metrics,Arrays.asList(binding.others));
+			}
+			else if(mapper.config().isCompiledMappingEnabled()) {
+				binding.applyCompiled(from,dest,mapper.config().getVersion());
+			}
+			else {
+				for(ElementMapper<T,?,?,U> me : binding.others) {
+					me.apply(from,dest);
+				}
+			}
+			return dest;
+		} catch (Exception e) {
+			throw CustomException.forType(MappingException.class).message("Error mapping input value "+from).cause(e).build();
+		} finally {
+			closeCopyContext(copyContext);
+		}
+	}
 	protected U mapValue(T from, U to) {
 		Objects.requireNonNull(to);
-		getElementMappings().forEach(me->me.apply(from,to));
+		activateIfNeeded();
+		CopyContext copyContext = openCopyContext();
+		try {
+			applyElementMappings(from,to);
+		} finally {
+			closeCopyContext(copyContext);
+		}
 		return to;
+	}
+	// the values deep copied by the element mappings of the same object share the objects already copied
+	private CopyContext openCopyContext() {
+		return mapper!=null && (deepCopyElements || mapper.config().isDeepCopyEnabled()) ? CopyContext.open() : null;
+	}
+	private static void closeCopyContext(CopyContext copyContext) {
+		if(copyContext!=null) {
+			copyContext.close();
+		}
+	}
+	private void applyElementMappings(T from, U to) {
+		ElementMapper<T,?,?,U>[] currentFrozenElementMappings = frozenElementMappings;
+		MappingMetrics metrics = mapper==null ? null : mapper.config().getMetrics();
+		if(metrics!=null) {
+			applyMeasured(from,to,metrics,currentFrozenElementMappings!=null ? Arrays.asList(currentFrozenElementMappings) : getElementMappings());
+		}
+		else if(mapper!=null && mapper.config().isCompiledMappingEnabled()) {
+			applyCompiledMapping(from,to);
+		}
+		else if(currentFrozenElementMappings!=null) {
+			for(ElementMapper<T,?,?,U> me : currentFrozenElementMappings) {
+				me.apply(from,to);
+			}
+		}
+		else {
+			getElementMappings().forEach(me->me.apply(from,to));
+		}
     }
 	
-	public void activate() {
+	/**
+	 * Creates the default element mappings between the fields of the origin and destination types having the same name or alias.<br>
+	 * The default element mappings are identified by the names of their fields, so activating the mapping again replaces them
+	 * instead of adding new ones. The custom element mappings are kept.
+	 */
+	public synchronized void activate() {
+		if(frozenElementMappings!=null) {
+			return;
+		}
 		createDefaultMappings();
+		activated = true;
+	}
+	/**
+	 * A mapping obtained from the {@code Mapper} just before being replaced is not activated by {@code Mapper.build()},
+	 * so it creates its default element mappings on first use.
+	 */
+	private void activateIfNeeded() {
+		if(!activated && mapper!=null && frozenElementMappings==null) {
+			activate();
+		}
+	}
+	/**
+	 * Returns the pairs of field types whose mapping was looked up in the {@code Mapper} during the last activation.
+	 * Adding or replacing a mapping between one of these pairs changes the default element mappings, so this {@code ClassMapper} must be activated again.
+	 * @return the pairs of types this mapping depends on
+	 */
+	@Override
+	public Set<PairKey<Class<?>,Class<?>>> getDependencies() {
+		return dependencies;
+	}
+	/**
+	 * Resolves the element mappings of this {@code ClassMapper}, with the ignored fields already removed, into a fixed array.<br>
+	 * After this call the mapping cannot be modified anymore: adding an {@code ElementMapper} or ignoring a field throws an {@code IllegalStateException}.
+	 */
+	@Override
+	public synchronized void freeze() {
+		if(frozenElementMappings!=null) {
+			return;
+		}
+		List<ElementMapper<T,?,?,U>> currentElementMappings = getElementMappings();
+		if(mapper!=null && mapper.config().isCompiledMappingEnabled()) {
+			compiledMapping = new CompiledMapping(mapper.config().getVersion(),compile(currentElementMappings));
+		}
+		@SuppressWarnings("unchecked")
+		ElementMapper<T,?,?,U>[] array = (ElementMapper<T,?,?,U>[])currentElementMappings.toArray(new ElementMapper<?,?,?,?>[currentElementMappings.size()]);
+		frozenElementMappings = array;
 	}
 
 
+	/**
+	 * Describes how this {@code ClassMapper} maps an object with the current configuration of the {@code Mapper}:
+	 * for each element mapping, in the order they are applied, the plan reports how the elements are accessed,
+	 * which transformation is applied, when the default values are used and the estimated cost.<br>
+	 * The default mappings are known only after the activation of this {@code ClassMapper}, done by {@code Mapper.build()}.
+	 * @return the plan of this mapping
+	 * @see MappingPlan
+	 */
+	public MappingPlan getMappingPlan() {
+		ElementMapper<T,?,?,U>[] currentFrozenElementMappings = frozenElementMappings;
+		List<ElementMapper<T,?,?,U>> currentElementMappings = currentFrozenElementMappings!=null ? Arrays.asList(currentFrozenElementMappings) : getElementMappings();
+		Configuration config = mapper==null ? null : mapper.config();
+		DefaultValuePolicy defaultValuePolicy = config==null ? DefaultValuePolicy.NONE :
+												DefaultValuePolicy.of(config.hasStrategy(DefaultValueStrategy.INPUT),config.hasStrategy(DefaultValueStrategy.OUTPUT));
+		List<ElementPlan> elements = new ArrayList<>(currentElementMappings.size());
+		for(ElementMapper<T,?,?,U> me : currentElementMappings) {
+			elements.add(getElementPlan(me,defaultValuePolicy));
+		}
+		return new MappingPlan(from,to,config!=null && config.isCompiledMappingEnabled(),elements);
+	}
+
+	/**
+	 * Returns how the destination objects are created. The strategy is chosen only once, the first time an object is mapped:
+	 * <ul>
+	 * <li>{@link CreationStrategy#INSTANTIATOR} if the {@code Configuration} has a supplier for the destination type or the type has an empty constructor</li>
+	 * <li>otherwise the strategy of the constructor, factory method or builder found by the {@link CreatorFactory}:
+	 * the element mappings writing the fields passed to the creation are used to compute the arguments,
+	 * the other element mappings are applied to the created object</li>
+	 * </ul>
+	 * When the destination object is created from the arguments and the graph mapping is enabled, a reference from one of its fields back to the object itself cannot be reproduced.
+	 * @return the creation strategy of the destination objects
+	 * @see CreatorFactory#creator(Class)
+	 */
+	public CreationStrategy getCreationStrategy() {
+		Creator<U> currentCreator = getCreator();
+		return currentCreator==null ? CreationStrategy.INSTANTIATOR : currentCreator.getStrategy();
+	}
+
+	/**
+	 * Returns the fields of the destination type that are not written by any element mapping of this {@code ClassMapper}.<br>
+	 * A field is written if an element mapping has its name or one of its aliases as name identifier of the setter.
+	 * The fields ignored with {@link #ignoreOutputs(String...)} or the {@code @IgnoreField} annotation and the static fields are not reported.
+	 * @return the names of the unmapped fields of the destination type
+	 */
+	public Set<String> getUnmappedFields() {
+		ElementMapper<T,?,?,U>[] currentFrozenElementMappings = frozenElementMappings;
+		List<ElementMapper<T,?,?,U>> currentElementMappings = currentFrozenElementMappings!=null ? Arrays.asList(currentFrozenElementMappings) : getElementMappings();
+		Set<String> mappedNames = new HashSet<>();
+		currentElementMappings.forEach(me->mappedNames.add(me.getDestName()));
+		synchronized(this) {
+			mappedNames.addAll(outputsToIgnore);
+		}
+		Set<String> unmappedFields = new TreeSet<>();
+		for(FieldHolder fieldHolder : new LinkedHashSet<>(mapper.getFieldsHolderFromCache(to).values())) {
+			if(Modifier.isStatic(fieldHolder.getField().getModifiers()) || fieldHolder.getField().isSynthetic()) {
+				continue;
+			}
+			if(Collections.disjoint(fieldHolder.getAllNames(),mappedNames)) {
+				unmappedFields.add(fieldHolder.getFieldName());
+			}
+		}
+		return unmappedFields;
+	}
+
 	// add methods
 	/**
 	 * Allow to add a custom {@code ElementMapper} into the mapping between type {@code T} and {@code U}.
@@ -101,6 +318,7 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 	 * Allow to ignore field (both origin and destination object) during the mapping
 	 * @param valuesToIgnore Set of the field name or alias names to ignore 
 	 * @return The current instance
+	 * @throws IllegalStateException if this mapping is frozen
 	 */
 	public ClassMapper<T,U> ignore(String... valuesToIgnore) {
 		ignoreInputs(valuesToIgnore);
@@ -111,8 +329,10 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 	 * Allow to ignore field from input object during the mapping
 	 * @param inputsToIgnore Set of the field name or alias names to ignore 
 	 * @return The current instance
+	 * @throws IllegalStateException if this mapping is frozen
 	 */
-	public ClassMapper<T,U> ignoreInputs(String... inputsToIgnore) {
+	public synchronized ClassMapper<T,U> ignoreInputs(String... inputsToIgnore) {
+		checkNotFrozen();
 		this.inputsToIgnore.addAll(Arrays.asList(inputsToIgnore));
 		isDirty = true;
 		return this;
@@ -121,8 +341,10 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 	 * Allow to ignore field from destination object during the mapping
 	 * @param outputsToIgnore Set of the field name or alias names to ignore 
 	 * @return The current instance
+	 * @throws IllegalStateException if this mapping is frozen
 	 */
-	public ClassMapper<T,U> ignoreOutputs(String... outputsToIgnore) {
+	public synchronized ClassMapper<T,U> ignoreOutputs(String... outputsToIgnore) {
+		checkNotFrozen();
 		this.outputsToIgnore.addAll(Arrays.asList(outputsToIgnore));
 		isDirty = true;
 		return this;
@@ -155,7 +377,7 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
      * @param idNameTo the name identifier of the {@code getter} associated to the {@code ElementMapper} to return
      * @return The {@code ElementMapper} if present and {@code from} and {@code to} are not ignored
      */
-    public <GETTER_OUT,SETTER_IN> Optional<ElementMapper<T,GETTER_OUT,SETTER_IN,U>> getMapping(String idNameFrom, String idNameTo) {
+    public synchronized <GETTER_OUT,SETTER_IN> Optional<ElementMapper<T,GETTER_OUT,SETTER_IN,U>> getMapping(String idNameFrom, String idNameTo) {
     	if(inputsToIgnore.contains(idNameFrom) || outputsToIgnore.contains(idNameTo)) {
     		return Optional.empty();
     	}
@@ -170,11 +392,15 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
     
 	// private methods
 	private void createDefaultMappings() {
-		createDefaultMappingForFields();
+		this.fieldMappings = new TwoKeyMap<>();
+		this.fieldElements = new TwoKeyMap<>();
+		Set<PairKey<Class<?>,Class<?>>> currentDependencies = new HashSet<>();
+		createDefaultMappingForFields(currentDependencies);
+		this.dependencies = Collections.unmodifiableSet(currentDependencies);
 		this.isDirty = true;
 	}
 	
-	private void createDefaultMappingForFields() {
+	private void createDefaultMappingForFields(Set<PairKey<Class<?>,Class<?>>> dependencies) {
 		Map<String,FieldHolder> fieldsSrc = mapper.getFieldsHolderFromCache(from);
 		Map<String,FieldHolder> fieldsDest = mapper.getFieldsHolderFromCache(to);
 		for(String fieldName : fieldsSrc.keySet()) {
@@ -186,11 +412,12 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 				}
 				Class<?> srcFieldType = fieldHolderFrom.getType();
 				Class<?> destFieldType = fieldHolderTo.getType();
-				if(srcFieldType.isArray() && destFieldType.isArray()) {
+				if(srcFieldType.isArray() && destFieldType.isArray() && !srcFieldType.getComponentType().isPrimitive() && !destFieldType.getComponentType().isPrimitive()) {
 					arrayCase(fieldHolderFrom, fieldHolderTo, destFieldType.getComponentType());
+					continue;
 				}
-				Class<Object> effectiveGenericTypeDest = MapperUtil.getGenericType(fieldHolderTo.getGenericType());
 				if(Collection.class.isAssignableFrom(srcFieldType) && Collection.class.isAssignableFrom(destFieldType)) {
+					Class<Object> effectiveGenericTypeDest = fieldHolderTo.getGenericElementType();
 					collectionCase(fieldHolderFrom, fieldHolderTo, fieldHolderTo.getType(), effectiveGenericTypeDest);
 					continue;
 				}
@@ -207,41 +434,69 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 				if(converter!=null) {
 					mapFieldWithConverter(fieldName, fieldHolderFrom, fieldHolderTo, converter);
 				}
-				else if(mapper.hasMappingBetween(srcFieldType,destFieldType)) {
+				else if(dependsOn(dependencies,srcFieldType,destFieldType)) {
 					mapFieldWithTranformation(fieldName, fieldHolderFrom, fieldHolderTo);
 				}
-				else if(destFieldType.isAssignableFrom(srcFieldType)) {
+				else if(destFieldType.isAssignableFrom(srcFieldType) || MapperUtil.isPrimitiveAssignable(fieldHolderFrom.getField().getType(),fieldHolderTo.getField().getType())) {
 					ElementMapper<T,Object,Object,U> elementMapper = addMapping().from(fieldHolderFrom)
 																				 .defaultOutput(fieldHolderTo.getDefaultValueSupplier())
 //																				 .defaultValue(fieldHolderTo.getDefaultValueSupplier())
 																				 .to(fieldHolderTo)
 																				 .getElementMapper();
-					addElementMapper(elementMapper,true);
+					MethodHandle primitiveCopy = AccessorFactory.primitiveCopy(fieldHolderFrom.getField(),fieldHolderTo.getField());
+					if(primitiveCopy!=null) {
+						elementMapper = new PrimitiveElementMapper<>(elementMapper,primitiveCopy);
+					}
+					else if(!destFieldType.isAssignableFrom(srcFieldType)) {
+						continue;
+					}
+					addFieldElementMapper(elementMapper,fieldHolderFrom,fieldHolderTo,TransformerKind.IDENTITY);
 				}
 			}
 		}
 	}
 
+	private boolean dependsOn(Set<PairKey<Class<?>,Class<?>>> dependencies, Class<?> srcFieldType, Class<?> destFieldType) {
+		dependencies.add(new PairKey<>(srcFieldType,destFieldType));
+		return mapper.hasMappingBetween(srcFieldType,destFieldType);
+	}
+
 	private <GETTER_OUT,SETTER_IN> void arrayCase(FieldHolder srcField, FieldHolder destField, Class<SETTER_IN> destClass) {
-		addElementMapper(addMapping().<GETTER_OUT[]>from(srcField).<SETTER_IN[]>transform(in->mapper.mapArray(in,destClass)).to(destField).getElementMapper(),true);
+		addFieldElementMapper(addMapping().<GETTER_OUT[]>from(srcField).<SETTER_IN[]>transform(in->mapper.mapArray(in,destClass)).to(destField).getElementMapper(),srcField,destField,TransformerKind.ARRAY);
 	}
 	private <GETTER_OUT, SETTER_IN> void collectionCase(FieldHolder srcField, FieldHolder destField, Class<?> destClass, Class<SETTER_IN> destGenericType) {
 		Function<Collection<GETTER_OUT>,Collection<SETTER_IN>> transformer =
 				in->in==null ? null : mapper.mapCollection(in,
-										 CollectionFactory.<GETTER_OUT,SETTER_IN>create(in.getClass(),destField.getCollectionType()),
+										 CollectionFactory.<GETTER_OUT,SETTER_IN>create(in.getClass(),destField.getCollectionType(),in.size()),
 										 destGenericType);
-		addElementMapper(addMapping().<Collection<GETTER_OUT>>from(srcField).<Collection<SETTER_IN>>transform(transformer::apply).to(destField).getElementMapper(),true);
+		addFieldElementMapper(addMapping().<Collection<GETTER_OUT>>from(srcField).<Collection<SETTER_IN>>transform(transformer::apply).to(destField).getElementMapper(),srcField,destField,TransformerKind.COLLECTION);
 	}	
 	private <GETTER_OUT,SETTER_IN> void mapFieldWithTranformation(String fieldName, FieldHolder srcFieldHolder, FieldHolder destFieldHolder) {
 		@SuppressWarnings("unchecked")
-		Function<GETTER_OUT,SETTER_IN> transformer = in->mapper.mapAsOptional(in,(Class<SETTER_IN>)destFieldHolder.getType()).orElse(null);
+		Class<GETTER_OUT> srcType = (Class<GETTER_OUT>)srcFieldHolder.getType();
+		@SuppressWarnings("unchecked")
+		Class<SETTER_IN> destType = (Class<SETTER_IN>)destFieldHolder.getType();
+		MapperObject<GETTER_OUT,SETTER_IN> nestedMapper = mapper.getRegisteredMapping(srcType,destType);
+		Function<GETTER_OUT,SETTER_IN> transformer = in->{
+			if(in==null) {
+				return null;
+			}
+			if(nestedMapper==null || in.getClass()!=srcType) {
+				return mapper.mapAsOptional(in,destType).orElse(null);
+			}
+			try {
+				return nestedMapper.map(in);
+			} catch (MappingException e) {
+				return null;
+			}
+		};
 		ElementMapper<T,GETTER_OUT,SETTER_IN,U> elementMapper = addMapping().<GETTER_OUT>from(fieldName,srcFieldHolder)
 																			.transform(transformer::apply)
 																			.defaultOutput(destFieldHolder.getDefaultValueSupplier())
 //																			.defaultValue((SupplierX<SETTER_IN>)destFieldHolder.getDefaultValueSupplier())
 																			.to(fieldName,destFieldHolder)
 																			.getElementMapper();
-		addElementMapper(elementMapper,true);
+		addFieldElementMapper(elementMapper,srcFieldHolder,destFieldHolder,TransformerKind.NESTED_MAPPING);
 	}
 	private <GETTER_OUT,SETTER_IN> void mapFieldWithConverter(String fieldName, FieldHolder srcFieldHolder, FieldHolder destFieldHolder, DirectMapper<GETTER_OUT,SETTER_IN> converter) {
 		ElementMapper<T,GETTER_OUT,SETTER_IN,U> elementMapper = addMapping().<GETTER_OUT>from(fieldName,srcFieldHolder)
@@ -250,12 +505,13 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 //																			.defaultValue((SupplierX<SETTER_IN>)destFieldHolder.getDefaultValueSupplier())
 																			.to(fieldName, destFieldHolder)
 																			.getElementMapper();
-		addElementMapper(elementMapper,true);
+		addFieldElementMapper(elementMapper,srcFieldHolder,destFieldHolder,TransformerKind.CONVERTER);
 	}
     
-    private <GETTER_OUT,SETTER_IN> ClassMapper<T,U> addElementMapper(ElementMapper<T,GETTER_OUT,SETTER_IN,U> elementMapper, boolean isCalledDuringConstruction) {
+    private synchronized <GETTER_OUT,SETTER_IN> ClassMapper<T,U> addElementMapper(ElementMapper<T,GETTER_OUT,SETTER_IN,U> elementMapper, boolean isCalledDuringConstruction) {
+    	checkNotFrozen();
     	if(isCalledDuringConstruction) {
-    		this.fieldMappings.put(elementMapper.getFromId(), elementMapper.getDestId(),elementMapper);
+    		this.fieldMappings.put(elementMapper.getFromName(), elementMapper.getDestName(),elementMapper);
     	}
     	else {
     		this.customMappings.put(elementMapper.getFromId(), elementMapper.getDestId(),elementMapper);
@@ -264,18 +520,236 @@ public class ClassMapper<T,U> extends MapperObject<T,U> {
 		return this;
     }
     
+    private synchronized <GETTER_OUT,SETTER_IN> void addFieldElementMapper(ElementMapper<T,GETTER_OUT,SETTER_IN,U> elementMapper, FieldHolder srcField, FieldHolder destField, TransformerKind transformerKind) {
+    	Optional<Boolean> deepCopy = srcField.getDeepCopy();
+    	if(!deepCopy.isPresent()) {
+    		deepCopy = destField.getDeepCopy();
+    	}
+    	deepCopy.ifPresent(elementMapper::setDeepCopy);
+    	elementMapper.setGetterType(srcField.getType());
+    	addElementMapper(elementMapper,true);
+    	this.fieldElements.put(elementMapper.getFromName(),elementMapper.getDestName(),new FieldElement(elementMapper,srcField,destField,transformerKind));
+    }
+    
     private List<ElementMapper<T,?,?,U>> getElementMappings() {
     	if(this.isDirty) {
-    		TwoKeyMap<Integer,Integer, ElementMapper<T,?,?,U>> tmpTwoKeyMap = new TwoKeyMap<>();
-    		tmpTwoKeyMap.putAll(fieldMappings);
-    		tmpTwoKeyMap.putAll(customMappings);
-    		Collection<ElementMapper<T,?,?,U>> tmpList = tmpTwoKeyMap.values();
-    		tmpList.removeIf(em->inputsToIgnore.contains(em.getFromName()));
-    		tmpList.removeIf(em->outputsToIgnore.contains(em.getDestName()));
-    		elementMappings = new ArrayList<>(tmpList);
-    		this.isDirty = false;
+    		synchronized(this) {
+    			if(this.isDirty) {
+		    		TwoKeyMap<Integer,Integer, ElementMapper<T,?,?,U>> tmpTwoKeyMap = new TwoKeyMap<>();
+		    		fieldMappings.values().forEach(em->tmpTwoKeyMap.put(em.getFromId(),em.getDestId(),em));
+		    		tmpTwoKeyMap.putAll(customMappings);
+		    		Collection<ElementMapper<T,?,?,U>> tmpList = tmpTwoKeyMap.values();
+		    		tmpList.removeIf(em->inputsToIgnore.contains(em.getFromName()));
+		    		tmpList.removeIf(em->outputsToIgnore.contains(em.getDestName()));
+		    		elementMappings = Collections.unmodifiableList(new ArrayList<>(tmpList));
+		    		deepCopyElements = tmpList.stream().anyMatch(ElementMapper::isDeepCopyEnabled);
+		    		compiledMapping = null;
+		    		this.isDirty = false;
+    			}
+    		}
     	}
     	return elementMappings;
     }
+
+    private Creator<U> getCreator() {
+    	if(!creatorResolved) {
+    		synchronized(this) {
+    			if(!creatorResolved) {
+    				creator = hasInstantiator() ? null : CreatorFactory.creator(to).orElse(null);
+    				creatorResolved = true;
+    			}
+    		}
+    	}
+    	return creator;
+    }
+    private boolean hasInstantiator() {
+    	try {
+    		mapper.config().getInstantiator(to);
+    		return true;
+    	} catch (MappingException e) {
+    		return false;
+    	}
+    }
+    private CreatorBinding<T,U> getCreatorBinding(Creator<U> currentCreator) {
+    	ElementMapper<T,?,?,U>[] currentFrozenElementMappings = frozenElementMappings;
+    	Object source = currentFrozenElementMappings!=null ? currentFrozenElementMappings : getElementMappings();
+    	CreatorBinding<T,U> binding = creatorBinding;
+    	if(binding==null || binding.source!=source) {
+    		List<ElementMapper<T,?,?,U>> currentElementMappings = currentFrozenElementMappings!=null ? Arrays.asList(currentFrozenElementMappings) : getElementMappings();
+    		binding = new CreatorBinding<>(source,currentCreator,currentElementMappings,mapper.getFieldsHolderFromCache(to));
+    		creatorBinding = binding;
+    	}
+    	return binding;
+    }
+    private void applyCompiledMapping(T from, U to) {
+    	CompiledMapping currentCompiledMapping = compiledMapping;
+    	int version = mapper.config().getVersion();
+    	if(currentCompiledMapping==null || this.isDirty || currentCompiledMapping.version!=version) {
+    		synchronized(this) {
+    			ElementMapper<T,?,?,U>[] currentFrozenElementMappings = frozenElementMappings;
+    			List<ElementMapper<T,?,?,U>> currentElementMappings = currentFrozenElementMappings!=null ? Arrays.asList(currentFrozenElementMappings) : getElementMappings();
+    			currentCompiledMapping = compiledMapping;
+    			if(currentCompiledMapping==null || currentCompiledMapping.version!=version) {
+    				currentCompiledMapping = new CompiledMapping(version,compile(currentElementMappings));
+    				compiledMapping = currentCompiledMapping;
+    			}
+    		}
+    	}
+    	invokeCompiled(currentCompiledMapping.handle,from,to);
+    }
+    private U createMeasured(T from, CreatorBinding<T,U> binding, MappingMetrics metrics) {
+    	Object[] values = new Object[binding.arguments.length];
+    	for(int i=0; i<values.length; ++i) {
+    		ElementMapper<T,?,?,U> me = binding.arguments[i];
+    		if(me==null) {
+    			continue;
+    		}
+    		ElementOutcome outcome = ElementOutcome.FAILED;
+    		long start = System.nanoTime();
+    		try {
+    			values[i] = me.getValue(from);
+    			outcome = values[i]==null ? ElementOutcome.NULL_VALUE : ElementOutcome.VALUE;
+    		} finally {
+    			metrics.recordElement(this.from,this.to,me.getDestName(),System.nanoTime()-start,outcome);
+    		}
+    	}
+    	return binding.creator.create(values);
+    }
+    private void applyMeasured(T from, U to, MappingMetrics metrics, List<ElementMapper<T,?,?,U>> currentElementMappings) {
+    	for(ElementMapper<T,?,?,U> me : currentElementMappings) {
+    		ElementOutcome outcome = ElementOutcome.FAILED;
+    		long start = System.nanoTime();
+    		try {
+    			outcome = me.applyWithOutcome(from,to);
+    		} finally {
+    			metrics.recordElement(this.from,this.to,me.getDestName(),System.nanoTime()-start,outcome);
+    		}
+    	}
+    }
+    private synchronized ElementPlan getElementPlan(ElementMapper<T,?,?,U> me, DefaultValuePolicy defaultValuePolicy) {
+    	boolean deepCopy = me.isDeepCopyEnabled();
+    	FieldElement fieldElement = fieldElements.get(me.getFromName(),me.getDestName());
+    	if(fieldElement==null || fieldElement.elementMapper!=me) {
+    		return new ElementPlan(me.getName(),me.getFromName(),me.getDestName(),null,null,AccessStrategy.CUSTOM,TransformerKind.CUSTOM,defaultValuePolicy,false,deepCopy);
+    	}
+    	Field srcField = fieldElement.srcField.getField();
+    	Field destField = fieldElement.destField.getField();
+    	boolean primitive = srcField.getType().isPrimitive() || destField.getType().isPrimitive();
+    	if(me instanceof PrimitiveElementMapper) {
+    		return new ElementPlan(me.getName(),me.getFromName(),me.getDestName(),srcField.getType(),destField.getType(),AccessStrategy.PRIMITIVE_COPY,fieldElement.transformerKind,DefaultValuePolicy.NONE,false,false);
+    	}
+    	AccessStrategy accessStrategy = AccessorFactory.hasGetterHandle(srcField) && AccessorFactory.hasSetterHandle(destField) ? AccessStrategy.METHOD_HANDLE : AccessStrategy.REFLECTION;
+    	return new ElementPlan(me.getName(),me.getFromName(),me.getDestName(),srcField.getType(),destField.getType(),accessStrategy,fieldElement.transformerKind,defaultValuePolicy,primitive,deepCopy);
+    }
+    private void checkNotFrozen() {
+    	if(frozenElementMappings!=null) {
+    		throw new IllegalStateException("The mapping "+this+" is frozen and cannot be modified");
+    	}
+    }
+    private static MethodHandle compile(List<? extends ElementMapper<?,?,?,?>> elementMappings) {
+    	MethodHandle result = NO_MAPPING;
+    	for(int i=elementMappings.size()-1; i>=0; --i) {
+    		result = MethodHandles.foldArguments(result,elementMappings.get(i).compile());
+    	}
+    	return result;
+    }
+    private static void invokeCompiled(MethodHandle compiled, Object from, Object to) {
+    	try {
+    		compiled.invokeExact(from,to);
+    	} catch (RuntimeException | Error e) {
+    		throw e;
+    	} catch (Throwable e) {
+    		throw new RuntimeException(e);
+    	}
+    }
+    private static void noMapping(Object from, Object to) {
+    }
+    
+    /**
+     * The element mappings of a {@code ClassMapper} split between the arguments of the creation of the destination object and the ones applied after the creation.
+     * An argument is computed by the last element mapping writing the field (or one of its aliases) with the name of the parameter, or is {@code null} if there is none.
+     */
+    private static class CreatorBinding<T,U> {
+    	private final Object source;
+    	private final Creator<U> creator;
+    	private final ElementMapper<T,?,?,U>[] arguments;
+    	private final ElementMapper<T,?,?,U>[] others;
+    	private volatile CompiledMapping compiledOthers;
+    	
+    	private CreatorBinding(Object source, Creator<U> creator, List<ElementMapper<T,?,?,U>> elementMappings, Map<String,FieldHolder> destFields) {
+    		this.source = source;
+    		this.creator = creator;
+    		List<String> parameterNames = creator.getParameterNames();
+    		@SuppressWarnings("unchecked")
+    		ElementMapper<T,?,?,U>[] currentArguments = (ElementMapper<T,?,?,U>[])new ElementMapper<?,?,?,?>[parameterNames.size()];
+    		List<ElementMapper<T,?,?,U>> currentOthers = new ArrayList<>(elementMappings);
+    		for(int i=0; i<currentArguments.length; ++i) {
+    			FieldHolder fieldHolder = destFields.get(parameterNames.get(i));
+    			Set<String> names = fieldHolder!=null ? fieldHolder.getAllNames() : Collections.singleton(parameterNames.get(i));
+    			for(ElementMapper<T,?,?,U> me : elementMappings) {
+    				if(names.contains(me.getDestName())) {
+    					currentArguments[i] = me;
+    				}
+    			}
+    			currentOthers.removeIf(me->names.contains(me.getDestName()));
+    		}
+    		this.arguments = currentArguments;
+    		@SuppressWarnings("unchecked")
+    		ElementMapper<T,?,?,U>[] currentOthersArray = (ElementMapper<T,?,?,U>[])currentOthers.toArray(new ElementMapper<?,?,?,?>[currentOthers.size()]);
+    		this.others = currentOthersArray;
+    	}
+    	
+    	private U create(T from) {
+    		Object[] values = new Object[arguments.length];
+    		for(int i=0; i<arguments.length; ++i) {
+    			if(arguments[i]!=null) {
+    				values[i] = arguments[i].getValue(from);
+    			}
+    		}
+    		return creator.create(values);
+    	}
+    	private void applyCompiled(T from, U to, int version) {
+    		CompiledMapping current = compiledOthers;
+    		if(current==null || current.version!=version) {
+    			synchronized(this) {
+    				current = compiledOthers;
+    				if(current==null || current.version!=version) {
+    					current = new CompiledMapping(version,compile(Arrays.asList(others)));
+    					compiledOthers = current;
+    				}
+    			}
+    		}
+    		invokeCompiled(current.handle,from,to);
+    	}
+    }
+    
+    /**
+     * A compiled mapping together with the version of the settings it was specialized for, published as a single object
+     * so that the handle and its version are always read together.
+     * The handle is read from a field, not from a constant: the JVM does not fold it into the calling code as it does with a generated class.
+     */
+    private static final class CompiledMapping {
+    	private final int version;
+    	private final MethodHandle handle;
+    	
+    	private CompiledMapping(int version, MethodHandle handle) {
+    		this.version = version;
+    		this.handle = handle;
+    	}
+    }
+    
+    private static class FieldElement {
+    	private final ElementMapper<?,?,?,?> elementMapper;
+    	private final FieldHolder srcField;
+    	private final FieldHolder destField;
+    	private final TransformerKind transformerKind;
+    	
+    	private FieldElement(ElementMapper<?,?,?,?> elementMapper, FieldHolder srcField, FieldHolder destField, TransformerKind transformerKind) {
+    		this.elementMapper = elementMapper;
+    		this.srcField = srcField;
+    		this.destField = destField;
+    		this.transformerKind = transformerKind;
+    	}
+    }
     
 }
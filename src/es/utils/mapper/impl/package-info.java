@@ -3,6 +3,7 @@
  * The package contains the following class:
  * <ul>
  * <li>{@code MapperObject} : handle the abstract logic for mapping an object of type {@code T} into a {@code U} object </li>
+ * <li>{@code MappingContext} : keeps track of the objects already mapped during a mapping operation when the graph mapping is enabled</li>
  * </ul>
  * @author eschoysman
  * @see es.utils.mapper.impl.MapperObject
@@ -0,0 +1,70 @@
+package es.utils.mapper.index;
+
+import java.util.*;
+
+/**
+ * This class contains the {@link FieldMetadata} of the fields declared by a class, as stored in the {@link MetadataIndex}.
+ * @author eschoysman
+ */
+public final class ClassMetadata {
+
+	private final String className;
+	private final Map<String,FieldMetadata> fields;
+
+	/**
+	 * @param className the binary name of the class, as returned by {@link Class#getName()}
+	 * @param fields the metadata of the fields declared by the class
+	 */
+	public ClassMetadata(String className, Collection<FieldMetadata> fields) {
+		this.className = Objects.requireNonNull(className);
+		Map<String,FieldMetadata> fieldsByName = new LinkedHashMap<>();
+		for(FieldMetadata field : fields) {
+			fieldsByName.put(field.getName(),field);
+		}
+		this.fields = Collections.unmodifiableMap(fieldsByName);
+	}
+
+	/**
+	 * @return the binary name of the class
+	 */
+	public String getClassName() {
+		return className;
+	}
+	/**
+	 * @return the metadata of the fields declared by the class
+	 */
+	public Collection<FieldMetadata> getFields() {
+		return fields.values();
+	}
+	/**
+	 * @param fieldName the name of a field declared by the class
+	 * @return the metadata of the field, or {@code null} if the field is not present in the index
+	 */
+	public FieldMetadata getField(String fieldName) {
+		return fields.get(fieldName);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this==obj) {
+			return true;
+		}
+		if(!(obj instanceof ClassMetadata)) {
+			return false;
+		}
+		ClassMetadata other = (ClassMetadata)obj;
+		return className.equals(other.className) && fields.equals(other.fields);
+	}
+	@Override
+	public int hashCode() {
+		return Objects.hash(className,fields);
+	}
+	/**
+	 * Returns a human readable string of the current {@code ClassMetadata}
+	 */
+	@Override
+	public String toString() {
+		return "ClassMetadata["+className+","+fields.values()+"]";
+	}
+
+}
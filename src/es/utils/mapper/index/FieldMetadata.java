@@ -0,0 +1,130 @@
+package es.utils.mapper.index;
+
+import es.utils.mapper.annotation.*;
+
+import java.util.*;
+
+/**
+ * This class contains the mapping annotations of a single field, as stored in the {@link MetadataIndex}:
+ * the aliases of {@link AliasNames}, the converters of {@link Converter}, the presence of {@link Default},
+ * the type of {@link CollectionType}, whether the field is ignored by {@link IgnoreField}, whether the field is deep copied by {@link DeepCopy}
+ * and the element type of the field when it is a generic type with a single type argument.<br>
+ * The classes are stored by name and loaded only when the field is used.
+ * @author eschoysman
+ * @see ClassMetadata
+ */
+public final class FieldMetadata {
+
+	private static final String FIELD_NAME_REGEX = "[a-zA-Z_$][a-zA-Z_$0-9]*";
+
+	private final String name;
+	private final boolean ignored;
+	private final Set<String> aliases;
+	private final List<String> converters;
+	private final boolean hasDefault;
+	private final Boolean deepCopy;
+	private final String collectionType;
+	private final String elementType;
+
+	/**
+	 * @param name the name of the field
+	 * @param ignored {@code true} if the field is ignored by the {@code @IgnoreField} annotation, on the field or on its class
+	 * @param aliases the values of the {@code @AliasNames} annotation. The values that are not valid field names are discarded.
+	 * @param converters the names of the classes of the {@code @Converter} annotations
+	 * @param hasDefault {@code true} if the field has a {@code @Default} annotation
+	 * @param deepCopy whether the field is deep copied according to the {@code @DeepCopy} annotation, on the field or on its class, or {@code null} if there is no annotation
+	 * @param collectionType the name of the class of the {@code @CollectionType} annotation, or {@code null}
+	 * @param elementType the name of the type argument of the field type, or {@code null} if the field is not a generic type with a single class as type argument
+	 */
+	public FieldMetadata(String name, boolean ignored, Collection<String> aliases, List<String> converters, boolean hasDefault, Boolean deepCopy, String collectionType, String elementType) {
+		this.name = Objects.requireNonNull(name);
+		this.ignored = ignored;
+		Set<String> validAliases = new TreeSet<>();
+		for(String alias : aliases) {
+			if(alias.matches(FIELD_NAME_REGEX)) {
+				validAliases.add(alias);
+			}
+		}
+		this.aliases = Collections.unmodifiableSet(validAliases);
+		this.converters = Collections.unmodifiableList(new ArrayList<>(converters));
+		this.hasDefault = hasDefault;
+		this.deepCopy = deepCopy;
+		this.collectionType = collectionType;
+		this.elementType = elementType;
+	}
+
+	/**
+	 * @return the name of the field
+	 */
+	public String getName() {
+		return name;
+	}
+	/**
+	 * @return {@code true} if the field is ignored by the {@code @IgnoreField} annotation
+	 */
+	public boolean isIgnored() {
+		return ignored;
+	}
+	/**
+	 * @return the aliases of the {@code @AliasNames} annotation
+	 */
+	public Set<String> getAliases() {
+		return aliases;
+	}
+	/**
+	 * @return the names of the classes of the {@code @Converter} annotations
+	 */
+	public List<String> getConverters() {
+		return converters;
+	}
+	/**
+	 * @return {@code true} if the field has a {@code @Default} annotation
+	 */
+	public boolean hasDefault() {
+		return hasDefault;
+	}
+	/**
+	 * @return whether the field is deep copied according to the {@code @DeepCopy} annotation, or {@code null} if there is no annotation
+	 */
+	public Boolean getDeepCopy() {
+		return deepCopy;
+	}
+	/**
+	 * @return the name of the class of the {@code @CollectionType} annotation, or {@code null}
+	 */
+	public String getCollectionType() {
+		return collectionType;
+	}
+	/**
+	 * @return the name of the type argument of the field type, or {@code null}
+	 */
+	public String getElementType() {
+		return elementType;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this==obj) {
+			return true;
+		}
+		if(!(obj instanceof FieldMetadata)) {
+			return false;
+		}
+		FieldMetadata other = (FieldMetadata)obj;
+		return name.equals(other.name) && ignored==other.ignored && aliases.equals(other.aliases) && converters.equals(other.converters)
+				&& hasDefault==other.hasDefault && Objects.equals(deepCopy,other.deepCopy) && Objects.equals(collectionType,other.collectionType) && Objects.equals(elementType,other.elementType);
+	}
+	@Override
+	public int hashCode() {
+		return Objects.hash(name,ignored,aliases,converters,hasDefault,deepCopy,collectionType,elementType);
+	}
+	/**
+	 * Returns a human readable string of the current {@code FieldMetadata}
+	 */
+	@Override
+	public String toString() {
+		return "FieldMetadata["+name+(ignored ? ",ignored" : "")+",aliases="+aliases+",converters="+converters+(hasDefault ? ",default" : "")+(deepCopy==null ? "" : ",deepCopy="+deepCopy)
+				+",collectionType="+collectionType+",elementType="+elementType+"]";
+	}
+
+}
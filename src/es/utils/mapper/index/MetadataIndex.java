@@ -0,0 +1,260 @@
+package es.utils.mapper.index;
+
+import es.utils.mapper.annotation.*;
+import es.utils.mapper.utils.MapperUtil;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * This class is an index of the mapping annotations of the fields of a set of classes, created at build time so that the {@code Mapper}
+ * does not need to parse the annotations of the indexed classes at runtime.<br>
+ * The index can be created:
+ * <ul>
+ * <li>by the {@link MetadataIndexProcessor} annotation processor, that writes it in the {@value #RESOURCE} resource during the compilation</li>
+ * <li>from the loaded classes with {@link #of(Class...)}, and saved with {@link #write(Writer)} as a resource of the application</li>
+ * </ul>
+ * By default a {@code Mapper} uses the index of all the {@value #RESOURCE} resources found in the classpath.
+ * The classes missing from the index, and the fields missing from the index of their class, are processed by reflection.
+ * The index must be created again when the annotations of the indexed classes change.
+ * @author eschoysman
+ * @see es.utils.mapper.configuration.Configuration#setMetadataIndex(MetadataIndex)
+ */
+public final class MetadataIndex {
+
+	/**
+	 * The name of the resource containing the index
+	 */
+	public static final String RESOURCE = "META-INF/es.utils.mapper/metadata.index";
+
+	private static final String HEADER = "# es.utils.mapper metadata index";
+	private static final String CLASS = "class";
+	private static final String FIELD = "field";
+	private static final String NONE = "-";
+	private static final String IGNORED = "I";
+	private static final String DEFAULT = "D";
+	private static final String DEEP_COPY = "C";
+	private static final String NO_DEEP_COPY = "N";
+	private static final MetadataIndex EMPTY = new MetadataIndex(Collections.emptyList());
+
+	private final Map<String,ClassMetadata> classes;
+
+	/**
+	 * @param classes the metadata of the indexed classes
+	 */
+	public MetadataIndex(Collection<ClassMetadata> classes) {
+		Map<String,ClassMetadata> classesByName = new LinkedHashMap<>();
+		for(ClassMetadata classMetadata : classes) {
+			classesByName.put(classMetadata.getClassName(),classMetadata);
+		}
+		this.classes = Collections.unmodifiableMap(classesByName);
+	}
+
+	/**
+	 * @return an index that does not contain any class
+	 */
+	public static MetadataIndex empty() {
+		return EMPTY;
+	}
+	/**
+	 * Returns the index of all the {@value #RESOURCE} resources visible from the context class loader of the current thread,
+	 * or from the class loader of this library if the context class loader is not set.
+	 * The resources are read only the first time this method is called.
+	 * @return the index found in the classpath, or an empty index if there are no resources
+	 */
+	public static MetadataIndex classpath() {
+		return ClasspathIndex.INSTANCE;
+	}
+	/**
+	 * Reads and merges all the {@value #RESOURCE} resources visible from the given class loader.
+	 * @param classLoader the class loader to use
+	 * @return the index contained in the resources, or an empty index if there are no resources
+	 * @throws UncheckedIOException if a resource cannot be read
+	 */
+	public static MetadataIndex load(ClassLoader classLoader) {
+		Objects.requireNonNull(classLoader);
+		List<ClassMetadata> classes = new ArrayList<>();
+		try {
+			Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+			while(resources.hasMoreElements()) {
+				try(Reader reader = new InputStreamReader(resources.nextElement().openStream(),StandardCharsets.UTF_8)) {
+					classes.addAll(read(reader).classes.values());
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return classes.isEmpty() ? EMPTY : new MetadataIndex(classes);
+	}
+	/**
+	 * Creates the index of the given classes reading their annotations by reflection.
+	 * It is meant to be called at build time, saving the result with {@link #write(Writer)}.
+	 * @param types the classes to index
+	 * @return the index of the given classes
+	 */
+	public static MetadataIndex of(Class<?>... types) {
+		List<ClassMetadata> classes = new ArrayList<>(types.length);
+		for(Class<?> type : types) {
+			List<FieldMetadata> fields = new ArrayList<>();
+			for(Field field : type.getDeclaredFields()) {
+				fields.add(reflect(field));
+			}
+			classes.add(new ClassMetadata(type.getName(),fields));
+		}
+		return new MetadataIndex(classes);
+	}
+	/**
+	 * Reads an index written by {@link #write(Writer)}.
+	 * @param reader the source of the index
+	 * @return the index read
+	 * @throws IOException if the index cannot be read or is not valid
+	 */
+	public static MetadataIndex read(Reader reader) throws IOException {
+		List<ClassMetadata> classes = new ArrayList<>();
+		String className = null;
+		List<FieldMetadata> fields = new ArrayList<>();
+		BufferedReader bufferedReader = new BufferedReader(reader);
+		String line;
+		while((line = bufferedReader.readLine())!=null) {
+			if(line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			String[] tokens = line.split("\t",-1);
+			if(CLASS.equals(tokens[0]) && tokens.length==2) {
+				if(className!=null) {
+					classes.add(new ClassMetadata(className,fields));
+				}
+				className = tokens[1];
+				fields = new ArrayList<>();
+			}
+			else if(FIELD.equals(tokens[0]) && tokens.length==7 && className!=null) {
+				String flags = tokens[2];
+				Boolean deepCopy = flags.contains(DEEP_COPY) ? Boolean.TRUE : flags.contains(NO_DEEP_COPY) ? Boolean.FALSE : null;
+				fields.add(new FieldMetadata(tokens[1],flags.contains(IGNORED),split(tokens[3]),split(tokens[4]),flags.contains(DEFAULT),deepCopy,nullable(tokens[5]),nullable(tokens[6])));
+			}
+			else {
+				throw new IOException("Invalid line in the metadata index: "+line);
+			}
+		}
+		if(className!=null) {
+			classes.add(new ClassMetadata(className,fields));
+		}
+		return new MetadataIndex(classes);
+	}
+	/**
+	 * Writes this index in the format read by {@link #read(Reader)}.
+	 * @param writer the destination of the index
+	 * @throws IOException if the index cannot be written
+	 */
+	public void write(Writer writer) throws IOException {
+		writer.write(HEADER);
+		writer.write('\n');
+		for(ClassMetadata classMetadata : classes.values()) {
+			writer.write(CLASS+"\t"+classMetadata.getClassName()+"\n");
+			for(FieldMetadata field : classMetadata.getFields()) {
+				String flags = (field.isIgnored() ? IGNORED : "")+(field.hasDefault() ? DEFAULT : "")
+							   +(field.getDeepCopy()==null ? "" : field.getDeepCopy() ? DEEP_COPY : NO_DEEP_COPY);
+				writer.write(FIELD+"\t"+field.getName()+"\t"+(flags.isEmpty() ? NONE : flags)+"\t"+join(field.getAliases())+"\t"+join(field.getConverters())
+							 +"\t"+Optional.ofNullable(field.getCollectionType()).orElse(NONE)+"\t"+Optional.ofNullable(field.getElementType()).orElse(NONE)+"\n");
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * @param type the class to look for
+	 * @return the metadata of the given class, or {@code null} if the class is not indexed
+	 */
+	public ClassMetadata get(Class<?> type) {
+		return classes.get(type.getName());
+	}
+	/**
+	 * @param field the field to look for
+	 * @return the metadata of the given field, or {@code null} if the field or its declaring class are not indexed
+	 */
+	public FieldMetadata get(Field field) {
+		ClassMetadata classMetadata = get(field.getDeclaringClass());
+		return classMetadata==null ? null : classMetadata.getField(field.getName());
+	}
+	/**
+	 * @return the metadata of all the indexed classes
+	 */
+	public Collection<ClassMetadata> getClasses() {
+		return classes.values();
+	}
+	/**
+	 * @return the number of indexed classes
+	 */
+	public int size() {
+		return classes.size();
+	}
+
+	/**
+	 * Returns a human readable string of the current {@code MetadataIndex}
+	 */
+	@Override
+	public String toString() {
+		return "MetadataIndex["+classes.keySet()+"]";
+	}
+
+	private static FieldMetadata reflect(Field field) {
+		IgnoreField ignoreField = field.getAnnotation(IgnoreField.class);
+		IgnoreField classIgnoreField = field.getDeclaringClass().getAnnotation(IgnoreField.class);
+		boolean ignored = ignoreField!=null || (classIgnoreField!=null && Arrays.asList(classIgnoreField.value()).contains(field.getName()));
+		AliasNames aliasNames = field.getAnnotation(AliasNames.class);
+		List<String> aliases = aliasNames==null ? Collections.emptyList() : Arrays.asList(aliasNames.value());
+		List<String> converters = new ArrayList<>();
+		for(Converter converter : field.getAnnotationsByType(Converter.class)) {
+			converters.add(converter.value().getName());
+		}
+		boolean hasDefault = field.getAnnotationsByType(Default.class).length>0;
+		CollectionType collectionType = field.getAnnotation(CollectionType.class);
+		Class<?> elementType = MapperUtil.getGenericType(field.getGenericType());
+		return new FieldMetadata(field.getName(),ignored,aliases,converters,hasDefault,deepCopy(field),
+								 collectionType==null ? null : collectionType.value().getName(),
+								 elementType==null ? null : elementType.getName());
+	}
+	private static Boolean deepCopy(Field field) {
+		DeepCopy deepCopy = field.getAnnotation(DeepCopy.class);
+		if(deepCopy!=null) {
+			return !deepCopy.ignore();
+		}
+		DeepCopy classDeepCopy = field.getDeclaringClass().getAnnotation(DeepCopy.class);
+		if(classDeepCopy==null) {
+			return null;
+		}
+		if(classDeepCopy.ignore()) {
+			return false;
+		}
+		if(classDeepCopy.ignoreAllExceptFields().length>0) {
+			return Arrays.asList(classDeepCopy.ignoreAllExceptFields()).contains(field.getName());
+		}
+		return !Arrays.asList(classDeepCopy.ignoreFields()).contains(field.getName());
+	}
+	private static List<String> split(String value) {
+		return NONE.equals(value) ? Collections.emptyList() : Arrays.asList(value.split(","));
+	}
+	private static String nullable(String value) {
+		return NONE.equals(value) ? null : value;
+	}
+	private static String join(Collection<String> values) {
+		return values.isEmpty() ? NONE : String.join(",",values);
+	}
+
+	private static class ClasspathIndex {
+		private static final MetadataIndex INSTANCE = load();
+
+		private static MetadataIndex load() {
+			ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+			try {
+				return MetadataIndex.load(classLoader!=null ? classLoader : MetadataIndex.class.getClassLoader());
+			} catch (UncheckedIOException e) {
+				return EMPTY;
+			}
+		}
+	}
+
+}
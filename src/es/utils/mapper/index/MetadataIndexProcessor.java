@@ -0,0 +1,193 @@
+package es.utils.mapper.index;
+
+import es.utils.mapper.annotation.*;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * This annotation processor creates the {@link MetadataIndex} of all the classes compiled together,
+ * and writes it in the {@value MetadataIndex#RESOURCE} resource of the compilation output.<br>
+ * The processor is not registered as a service, so it must be enabled explicitly, for example with the {@code -processor} option of {@code javac}
+ * or in the {@code annotationProcessors} of the {@code maven-compiler-plugin}.
+ * When only some classes are compiled, the index contains only those classes and the others are processed by reflection at runtime.
+ * @author eschoysman
+ * @see MetadataIndex
+ */
+@SupportedAnnotationTypes("*")
+public class MetadataIndexProcessor extends AbstractProcessor {
+
+	private static final String CONVERTERS = Converter.class.getPackage().getName()+".Converters";
+
+	private final Map<String,ClassMetadata> classes = new LinkedHashMap<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if(roundEnv.processingOver()) {
+			writeIndex();
+		}
+		else {
+			for(TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+				index(type);
+			}
+		}
+		return false;
+	}
+
+	private void index(TypeElement type) {
+		Set<String> ignoredFields = new HashSet<>(getStrings(getAnnotation(type,IgnoreField.class)));
+		AnnotationMirror classDeepCopy = getAnnotation(type,DeepCopy.class);
+		List<FieldMetadata> fields = new ArrayList<>();
+		for(VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			fields.add(metadata(field,ignoredFields,classDeepCopy));
+		}
+		String className = binaryName(type);
+		classes.put(className,new ClassMetadata(className,fields));
+		for(TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements())) {
+			index(nestedType);
+		}
+	}
+	private FieldMetadata metadata(VariableElement field, Set<String> ignoredFields, AnnotationMirror classDeepCopy) {
+		String name = field.getSimpleName().toString();
+		boolean ignored = getAnnotation(field,IgnoreField.class)!=null || ignoredFields.contains(name);
+		List<String> converters = new ArrayList<>();
+		AnnotationMirror converter = getAnnotation(field,Converter.class);
+		if(converter!=null) {
+			converters.add(getClassName(converter));
+		}
+		AnnotationMirror converterList = getAnnotation(field,CONVERTERS);
+		if(converterList!=null) {
+			for(AnnotationValue value : getValues(converterList)) {
+				converters.add(getClassName((AnnotationMirror)value.getValue()));
+			}
+		}
+		AnnotationMirror collectionType = getAnnotation(field,CollectionType.class);
+		return new FieldMetadata(name,ignored,getStrings(getAnnotation(field,AliasNames.class)),converters,getAnnotation(field,Default.class)!=null,
+								 deepCopy(field,classDeepCopy),collectionType==null ? null : getClassName(collectionType),elementType(field.asType()));
+	}
+	private Boolean deepCopy(VariableElement field, AnnotationMirror classDeepCopy) {
+		AnnotationMirror deepCopy = getAnnotation(field,DeepCopy.class);
+		if(deepCopy!=null) {
+			return !getBoolean(deepCopy,"ignore");
+		}
+		if(classDeepCopy==null) {
+			return null;
+		}
+		if(getBoolean(classDeepCopy,"ignore")) {
+			return false;
+		}
+		String name = field.getSimpleName().toString();
+		List<String> ignoreAllExceptFields = getStrings(classDeepCopy,"ignoreAllExceptFields");
+		if(!ignoreAllExceptFields.isEmpty()) {
+			return ignoreAllExceptFields.contains(name);
+		}
+		return !getStrings(classDeepCopy,"ignoreFields").contains(name);
+	}
+	private String elementType(TypeMirror type) {
+		if(type.getKind()!=TypeKind.DECLARED || ((DeclaredType)type).getTypeArguments().size()!=1) {
+			return null;
+		}
+		TypeMirror argument = ((DeclaredType)type).getTypeArguments().get(0);
+		if(argument.getKind()==TypeKind.WILDCARD) {
+			argument = ((WildcardType)argument).getExtendsBound();
+			if(argument==null || argument.getKind()!=TypeKind.DECLARED) {
+				return null;
+			}
+			return binaryName((TypeElement)((DeclaredType)argument).asElement());
+		}
+		if(argument.getKind()!=TypeKind.DECLARED || !((DeclaredType)argument).getTypeArguments().isEmpty()) {
+			return null;
+		}
+		return binaryName((TypeElement)((DeclaredType)argument).asElement());
+	}
+
+	private void writeIndex() {
+		if(classes.isEmpty()) {
+			return;
+		}
+		try {
+			FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT,"",MetadataIndex.RESOURCE);
+			try(Writer writer = resource.openWriter()) {
+				new MetadataIndex(classes.values()).write(writer);
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,"The mapper metadata index cannot be written: "+e.getMessage());
+		}
+	}
+
+	private String binaryName(TypeElement type) {
+		return processingEnv.getElementUtils().getBinaryName(type).toString();
+	}
+	private String getClassName(AnnotationMirror annotation) {
+		TypeMirror type = (TypeMirror)getValue(annotation).getValue();
+		return binaryName((TypeElement)processingEnv.getTypeUtils().asElement(type));
+	}
+	private static AnnotationMirror getAnnotation(Element element, Class<?> annotationType) {
+		return getAnnotation(element,annotationType.getCanonicalName());
+	}
+	private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+		for(AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if(((TypeElement)annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+				return annotation;
+			}
+		}
+		return null;
+	}
+	private static AnnotationValue getValue(AnnotationMirror annotation) {
+		return getValue(annotation,"value");
+	}
+	private static AnnotationValue getValue(AnnotationMirror annotation, String name) {
+		for(Map.Entry<? extends ExecutableElement,? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+			if(entry.getKey().getSimpleName().contentEquals(name)) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+	private static boolean getBoolean(AnnotationMirror annotation, String name) {
+		AnnotationValue value = getValue(annotation,name);
+		return value!=null && (Boolean)value.getValue();
+	}
+	private static List<? extends AnnotationValue> getValues(AnnotationMirror annotation) {
+		return getValues(annotation,"value");
+	}
+	private static List<? extends AnnotationValue> getValues(AnnotationMirror annotation, String name) {
+		AnnotationValue value = annotation==null ? null : getValue(annotation,name);
+		if(value==null) {
+			return Collections.emptyList();
+		}
+		@SuppressWarnings("unchecked")
+		List<? extends AnnotationValue> values = value.getValue() instanceof List ? (List<? extends AnnotationValue>)value.getValue() : Collections.singletonList(value);
+		return values;
+	}
+	private static List<String> getStrings(AnnotationMirror annotation) {
+		return getStrings(annotation,"value");
+	}
+	private static List<String> getStrings(AnnotationMirror annotation, String name) {
+		List<String> strings = new ArrayList<>();
+		for(AnnotationValue value : getValues(annotation,name)) {
+			strings.add((String)value.getValue());
+		}
+		return strings;
+	}
+
+}
@@ -0,0 +1,12 @@
+/**
+ * Provides the index of the mapping annotations created at build time, used to avoid parsing the annotations at runtime.<br>
+ * The package contains the following classes:
+ * <ul>
+ * <li>{@code MetadataIndex} : the index of a set of classes, that can be read from and written to a resource</li>
+ * <li>{@code ClassMetadata} and {@code FieldMetadata} : the indexed information of a class and of its fields</li>
+ * <li>{@code MetadataIndexProcessor} : the annotation processor that creates the index during the compilation</li>
+ * </ul>
+ * @author eschoysman
+ * @see es.utils.mapper.index.MetadataIndex
+ */
+package es.utils.mapper.index;
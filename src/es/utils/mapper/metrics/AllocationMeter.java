@@ -0,0 +1,58 @@
+package es.utils.mapper.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * This class reads the number of bytes allocated by the current thread, when the JVM supports it
+ * through {@code com.sun.management.ThreadMXBean}.
+ * @author eschoysman
+ * @see MappingMetrics#getAllocationSamplingRate()
+ */
+public final class AllocationMeter {
+
+	private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+	private static final Method ALLOCATED_BYTES = allocatedBytesMethod();
+
+	private AllocationMeter() {}
+
+	/**
+	 * @return {@code true} if the allocated bytes can be measured in this JVM
+	 */
+	public static boolean isSupported() {
+		return ALLOCATED_BYTES!=null;
+	}
+	/**
+	 * @return the total number of bytes allocated by the current thread, or {@code -1} if it cannot be measured
+	 */
+	public static long currentThreadAllocatedBytes() {
+		if(ALLOCATED_BYTES==null) {
+			return -1;
+		}
+		try {
+			return (Long)ALLOCATED_BYTES.invoke(THREAD_BEAN,Thread.currentThread().getId());
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return -1;
+		}
+	}
+
+	private static Method allocatedBytesMethod() {
+		try {
+			Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+			if(!type.isInstance(THREAD_BEAN)) {
+				return null;
+			}
+			Method method = type.getMethod("getThreadAllocatedBytes",long.class);
+			Method supported = type.getMethod("isThreadAllocatedMemorySupported");
+			if(!(Boolean)supported.invoke(THREAD_BEAN)) {
+				return null;
+			}
+			type.getMethod("setThreadAllocatedMemoryEnabled",boolean.class).invoke(THREAD_BEAN,true);
+			return method;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,25 @@
+package es.utils.mapper.metrics;
+
+/**
+ * This enum describe the value assigned by an {@code ElementMapper} to the destination element.
+ * @author eschoysman
+ * @see MappingMetrics#recordElement(Class, Class, String, long, ElementOutcome)
+ */
+public enum ElementOutcome {
+	/**
+	 * A value read from the origin object was assigned
+	 */
+	VALUE,
+	/**
+	 * A {@code null} value was assigned
+	 */
+	NULL_VALUE,
+	/**
+	 * The origin value was {@code null} and a default value was assigned
+	 */
+	DEFAULT_VALUE,
+	/**
+	 * The element mapping threw an exception
+	 */
+	FAILED
+}
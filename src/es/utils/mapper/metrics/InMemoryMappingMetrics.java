@@ -0,0 +1,115 @@
+package es.utils.mapper.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This class is a {@link MappingMetrics} that keeps the measures in memory, in a {@link MetricStats} for each mapping and for each element of a mapping.<br>
+ * The measures are looked up by classes and element name without creating any key object, so recording a measure does not allocate.
+ * @author eschoysman
+ * @see JmxMappingMetrics
+ */
+public class InMemoryMappingMetrics implements MappingMetrics {
+
+	private final ConcurrentMap<Class<?>,ConcurrentMap<Class<?>,MappingStats>> stats;
+	private final int allocationSamplingRate;
+
+	/**
+	 * Create an in-memory metrics without allocation sampling.
+	 */
+	public InMemoryMappingMetrics() {
+		this(0);
+	}
+	/**
+	 * Create an in-memory metrics measuring the allocated bytes of one mapping every {@code allocationSamplingRate} on average.
+	 * @param allocationSamplingRate the sampling rate of the allocations, or a number lower than 1 to disable the sampling
+	 */
+	public InMemoryMappingMetrics(int allocationSamplingRate) {
+		this.stats = new ConcurrentHashMap<>();
+		this.allocationSamplingRate = allocationSamplingRate;
+	}
+
+	@Override
+	public void recordMapping(Class<?> fromClass, Class<?> toClass, long nanos, long allocatedBytes, boolean failed) {
+		MetricStats mappingStats = getOrCreate(fromClass,toClass).mapping;
+		mappingStats.record(nanos);
+		mappingStats.recordAllocation(allocatedBytes);
+		if(failed) {
+			mappingStats.recordFailure();
+		}
+	}
+	@Override
+	public void recordElement(Class<?> fromClass, Class<?> toClass, String elementName, long nanos, ElementOutcome outcome) {
+		ConcurrentMap<String,MetricStats> elements = getOrCreate(fromClass,toClass).elements;
+		MetricStats elementStats = elements.get(elementName);
+		if(elementStats==null) {
+			elementStats = elements.computeIfAbsent(elementName,k->new MetricStats());
+		}
+		elementStats.record(nanos);
+		elementStats.recordOutcome(outcome);
+	}
+	@Override
+	public int getAllocationSamplingRate() {
+		return allocationSamplingRate;
+	}
+
+	/**
+	 * @param fromClass the origin class of the mapping
+	 * @param toClass the destination class of the mapping
+	 * @return the measures of the mapping between {@code fromClass} and {@code toClass}, or {@code null} if it was never executed
+	 */
+	public MetricStats getMappingStats(Class<?> fromClass, Class<?> toClass) {
+		MappingStats mappingStats = get(fromClass,toClass);
+		return mappingStats==null ? null : mappingStats.mapping;
+	}
+	/**
+	 * @param fromClass the origin class of the mapping
+	 * @param toClass the destination class of the mapping
+	 * @param elementName the name of the destination element
+	 * @return the measures of the element of the mapping between {@code fromClass} and {@code toClass}, or {@code null} if it was never executed
+	 */
+	public MetricStats getElementStats(Class<?> fromClass, Class<?> toClass, String elementName) {
+		MappingStats mappingStats = get(fromClass,toClass);
+		return mappingStats==null ? null : mappingStats.elements.get(elementName);
+	}
+	/**
+	 * @return a snapshot of all the measures, the mappings followed by their elements
+	 */
+	public Map<MetricKey,MetricStats> getAllStats() {
+		Map<MetricKey,MetricStats> result = new LinkedHashMap<>();
+		stats.forEach((fromClass,inner)->inner.forEach((toClass,mappingStats)->{
+			result.put(new MetricKey(fromClass,toClass,null),mappingStats.mapping);
+			mappingStats.elements.forEach((elementName,elementStats)->result.put(new MetricKey(fromClass,toClass,elementName),elementStats));
+		}));
+		return result;
+	}
+	/**
+	 * Resets all the measures
+	 */
+	public void reset() {
+		stats.values().forEach(inner->inner.values().forEach(mappingStats->{
+			mappingStats.mapping.reset();
+			mappingStats.elements.values().forEach(MetricStats::reset);
+		}));
+	}
+
+	private MappingStats get(Class<?> fromClass, Class<?> toClass) {
+		ConcurrentMap<Class<?>,MappingStats> inner = stats.get(fromClass);
+		return inner==null ? null : inner.get(toClass);
+	}
+	private MappingStats getOrCreate(Class<?> fromClass, Class<?> toClass) {
+		MappingStats result = get(fromClass,toClass);
+		if(result==null) {
+			result = stats.computeIfAbsent(fromClass,k->new ConcurrentHashMap<>()).computeIfAbsent(toClass,k->new MappingStats());
+		}
+		return result;
+	}
+
+	private static class MappingStats {
+		private final MetricStats mapping = new MetricStats();
+		private final ConcurrentMap<String,MetricStats> elements = new ConcurrentHashMap<>();
+	}
+
+}
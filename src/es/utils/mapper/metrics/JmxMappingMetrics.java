@@ -0,0 +1,106 @@
+package es.utils.mapper.metrics;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * This class exposes the measures of an {@link InMemoryMappingMetrics} as a JMX MBean,
+ * registered in the platform {@code MBeanServer} with the name {@code es.utils.mapper:type=MappingMetrics,name=<name>}.
+ * @author eschoysman
+ * @see MappingMetricsMXBean
+ */
+public class JmxMappingMetrics implements MappingMetricsMXBean {
+
+	private final InMemoryMappingMetrics metrics;
+	private final ObjectName objectName;
+
+	/**
+	 * @param metrics the measures to expose
+	 * @param name the value of the {@code name} property of the MBean, usually the name of the {@code Mapper}
+	 * @throws MalformedObjectNameException if {@code name} is not a valid value of an {@code ObjectName} property
+	 * @throws NullPointerException if {@code metrics} or {@code name} is {@code null}
+	 */
+	public JmxMappingMetrics(InMemoryMappingMetrics metrics, String name) throws MalformedObjectNameException {
+		this.metrics = Objects.requireNonNull(metrics);
+		this.objectName = new ObjectName("es.utils.mapper:type=MappingMetrics,name="+ObjectName.quote(Objects.requireNonNull(name)));
+	}
+
+	/**
+	 * Registers this MBean in the platform {@code MBeanServer}
+	 * @return the current instance
+	 * @throws JMException if the MBean cannot be registered, for example if a MBean with the same name is already registered
+	 */
+	public JmxMappingMetrics register() throws JMException {
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this,objectName);
+		return this;
+	}
+	/**
+	 * Removes this MBean from the platform {@code MBeanServer}, if registered
+	 * @throws JMException if the MBean cannot be unregistered
+	 */
+	public void unregister() throws JMException {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		if(server.isRegistered(objectName)) {
+			server.unregisterMBean(objectName);
+		}
+	}
+	/**
+	 * @return the name of this MBean
+	 */
+	public ObjectName getObjectName() {
+		return objectName;
+	}
+
+	@Override
+	public Map<String,Long> getInvocationCounts() {
+		return collect(key->true,MetricStats::getCount);
+	}
+	@Override
+	public Map<String,Long> getFailureCounts() {
+		return collect(key->true,MetricStats::getFailureCount);
+	}
+	@Override
+	public Map<String,Long> getTotalNanos() {
+		return collect(key->true,MetricStats::getTotalNanos);
+	}
+	@Override
+	public Map<String,Double> getMeanNanos() {
+		return collect(key->true,MetricStats::getMeanNanos);
+	}
+	@Override
+	public Map<String,Long> getP99Nanos() {
+		return collect(key->true,stats->stats.getPercentileNanos(99));
+	}
+	@Override
+	public Map<String,Double> getNullValueRates() {
+		return collect(key->key.getElementName()!=null,MetricStats::getNullValueRate);
+	}
+	@Override
+	public Map<String,Double> getDefaultValueRates() {
+		return collect(key->key.getElementName()!=null,MetricStats::getDefaultValueRate);
+	}
+	@Override
+	public Map<String,Double> getMeanAllocatedBytes() {
+		return collect(key->key.getElementName()==null,MetricStats::getMeanAllocatedBytes);
+	}
+	@Override
+	public void reset() {
+		metrics.reset();
+	}
+
+	private <V> Map<String,V> collect(Predicate<MetricKey> filter, Function<MetricStats,V> value) {
+		Map<String,V> result = new LinkedHashMap<>();
+		metrics.getAllStats().forEach((key,stats)->{
+			if(filter.test(key)) {
+				result.put(key.toString(),value.apply(stats));
+			}
+		});
+		return result;
+	}
+
+}
@@ -0,0 +1,48 @@
+package es.utils.mapper.metrics;
+
+import es.utils.mapper.configuration.Configuration;
+import es.utils.mapper.impl.MapperObject;
+import es.utils.mapper.impl.element.ElementMapper;
+
+/**
+ * This interface is the extension point receiving the measures of the mappings executed by a {@code Mapper}.<br>
+ * An implementation is enabled with {@link Configuration#setMetrics(MappingMetrics)}: while no implementation is set,
+ * the mappings are not measured at all. The methods are called by the mapping threads, so the implementations must be thread safe
+ * and as fast as possible.
+ * @author eschoysman
+ * @see InMemoryMappingMetrics
+ * @see JmxMappingMetrics
+ */
+public interface MappingMetrics {
+
+	/**
+	 * Records the execution of a {@link MapperObject} between {@code fromClass} and {@code toClass}.
+	 * @param fromClass the origin class of the mapping
+	 * @param toClass the destination class of the mapping
+	 * @param nanos the duration of the mapping in nanoseconds, nested mappings included
+	 * @param allocatedBytes the bytes allocated by the mapping if the execution was sampled, {@code -1} otherwise
+	 * @param failed {@code true} if the mapping threw an exception
+	 * @see #getAllocationSamplingRate()
+	 */
+	void recordMapping(Class<?> fromClass, Class<?> toClass, long nanos, long allocatedBytes, boolean failed);
+	/**
+	 * Records the execution of an {@link ElementMapper} of the mapping between {@code fromClass} and {@code toClass}.
+	 * @param fromClass the origin class of the mapping
+	 * @param toClass the destination class of the mapping
+	 * @param elementName the name of the destination element
+	 * @param nanos the duration of the element mapping in nanoseconds
+	 * @param outcome the value assigned to the destination element
+	 */
+	void recordElement(Class<?> fromClass, Class<?> toClass, String elementName, long nanos, ElementOutcome outcome);
+
+	/**
+	 * Returns how often the allocated bytes are measured: one mapping every {@code n} is sampled on average.
+	 * The default implementation returns 0, that disables the allocation sampling.
+	 * @return the sampling rate of the allocations, or a number lower than 1 to disable the sampling
+	 * @see AllocationMeter
+	 */
+	default int getAllocationSamplingRate() {
+		return 0;
+	}
+
+}
@@ -0,0 +1,50 @@
+package es.utils.mapper.metrics;
+
+import java.util.Map;
+
+/**
+ * This interface is the JMX view of an {@link InMemoryMappingMetrics}.<br>
+ * Each attribute is a table having as key the string representation of the {@link MetricKey} of a mapping or of an element.
+ * @author eschoysman
+ * @see JmxMappingMetrics
+ */
+public interface MappingMetricsMXBean {
+
+	/**
+	 * @return the number of executions of each mapping and element
+	 */
+	Map<String,Long> getInvocationCounts();
+	/**
+	 * @return the number of executions that threw an exception, for each mapping and element
+	 */
+	Map<String,Long> getFailureCounts();
+	/**
+	 * @return the cumulative duration in nanoseconds of each mapping and element
+	 */
+	Map<String,Long> getTotalNanos();
+	/**
+	 * @return the mean duration in nanoseconds of each mapping and element
+	 */
+	Map<String,Double> getMeanNanos();
+	/**
+	 * @return the approximated 99th percentile of the duration in nanoseconds of each mapping and element
+	 */
+	Map<String,Long> getP99Nanos();
+	/**
+	 * @return the fraction of executions that assigned a {@code null} value, for each element
+	 */
+	Map<String,Double> getNullValueRates();
+	/**
+	 * @return the fraction of executions that assigned a default value, for each element
+	 */
+	Map<String,Double> getDefaultValueRates();
+	/**
+	 * @return the mean bytes allocated by the sampled executions of each mapping
+	 */
+	Map<String,Double> getMeanAllocatedBytes();
+	/**
+	 * Resets all the measures
+	 */
+	void reset();
+
+}
@@ -0,0 +1,74 @@
+package es.utils.mapper.metrics;
+
+import java.util.Objects;
+
+/**
+ * This class identifies the measures of a mapping, by its origin and destination classes,
+ * or of a single element of the mapping, by its name too.
+ * @author eschoysman
+ * @see InMemoryMappingMetrics#getAllStats()
+ */
+public final class MetricKey {
+
+	private final Class<?> fromClass;
+	private final Class<?> toClass;
+	private final String elementName;
+
+	/**
+	 * @param fromClass the origin class of the mapping
+	 * @param toClass the destination class of the mapping
+	 * @param elementName the name of the element, or {@code null} for the whole mapping
+	 * @throws NullPointerException if {@code fromClass} or {@code toClass} is {@code null}
+	 */
+	public MetricKey(Class<?> fromClass, Class<?> toClass, String elementName) {
+		this.fromClass = Objects.requireNonNull(fromClass);
+		this.toClass = Objects.requireNonNull(toClass);
+		this.elementName = elementName;
+	}
+
+	/**
+	 * @return the origin class of the mapping
+	 */
+	public Class<?> getFromClass() {
+		return fromClass;
+	}
+	/**
+	 * @return the destination class of the mapping
+	 */
+	public Class<?> getToClass() {
+		return toClass;
+	}
+	/**
+	 * @return the name of the element, or {@code null} if this key identifies the whole mapping
+	 */
+	public String getElementName() {
+		return elementName;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31*(31*(31+fromClass.hashCode())+toClass.hashCode())+Objects.hashCode(elementName);
+	}
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		MetricKey other = (MetricKey)obj;
+		return fromClass==other.fromClass
+			&& toClass==other.toClass
+			&& Objects.equals(elementName,other.elementName);
+	}
+
+	/**
+	 * Returns a human readable string of the key, in the form {@code from.Class->to.Class} or {@code from.Class->to.Class#element}
+	 */
+	@Override
+	public String toString() {
+		return fromClass.getName()+"->"+toClass.getName()+(elementName==null ? "" : "#"+elementName);
+	}
+
+}
@@ -0,0 +1,179 @@
+package es.utils.mapper.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class accumulates the measures of a mapping or of a single element of a mapping.<br>
+ * The latencies are counted in buckets of powers of two nanoseconds, so the percentiles are approximated
+ * by the upper bound of their bucket (less than twice the real value).
+ * All the methods are thread safe and the recording does not allocate any object.
+ * @author eschoysman
+ * @see InMemoryMappingMetrics
+ */
+public final class MetricStats {
+
+	private static final int BUCKETS = 64;
+
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Long::max,0);
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder nullValues = new LongAdder();
+	private final LongAdder defaultValues = new LongAdder();
+	private final LongAdder allocationSamples = new LongAdder();
+	private final LongAdder allocatedBytes = new LongAdder();
+	private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+
+	void record(long nanos) {
+		long value = Math.max(0,nanos);
+		count.increment();
+		totalNanos.add(value);
+		maxNanos.accumulate(value);
+		latencies.incrementAndGet(BUCKETS-Long.numberOfLeadingZeros(value));
+	}
+	void recordFailure() {
+		failures.increment();
+	}
+	void recordOutcome(ElementOutcome outcome) {
+		switch(outcome) {
+			case NULL_VALUE: nullValues.increment(); break;
+			case DEFAULT_VALUE: defaultValues.increment(); break;
+			case FAILED: failures.increment(); break;
+			default: break;
+		}
+	}
+	void recordAllocation(long bytes) {
+		if(bytes>=0) {
+			allocationSamples.increment();
+			allocatedBytes.add(bytes);
+		}
+	}
+	void reset() {
+		count.reset();
+		totalNanos.reset();
+		maxNanos.reset();
+		failures.reset();
+		nullValues.reset();
+		defaultValues.reset();
+		allocationSamples.reset();
+		allocatedBytes.reset();
+		for(int i=0; i<BUCKETS; ++i) {
+			latencies.set(i,0);
+		}
+	}
+
+	/**
+	 * @return the number of recorded executions
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+	/**
+	 * @return the sum of the durations of the recorded executions, in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+	/**
+	 * @return the mean duration of the recorded executions in nanoseconds, or 0 if nothing was recorded
+	 */
+	public double getMeanNanos() {
+		long currentCount = getCount();
+		return currentCount==0 ? 0 : (double)getTotalNanos()/currentCount;
+	}
+	/**
+	 * @return the maximum duration of the recorded executions, in nanoseconds
+	 */
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+	/**
+	 * Returns the approximated duration within which the given percentage of the recorded executions completed.
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the upper bound, in nanoseconds, of the bucket containing the percentile, or 0 if nothing was recorded
+	 * @throws IllegalArgumentException if {@code percentile} is not between 0 and 100
+	 */
+	public long getPercentileNanos(double percentile) {
+		if(percentile<0 || percentile>100) {
+			throw new IllegalArgumentException("The percentile must be between 0 and 100: "+percentile);
+		}
+		long[] snapshot = new long[BUCKETS];
+		long total = 0;
+		for(int i=0; i<BUCKETS; ++i) {
+			snapshot[i] = latencies.get(i);
+			total += snapshot[i];
+		}
+		if(total==0) {
+			return 0;
+		}
+		long threshold = (long)Math.ceil(total*percentile/100);
+		long seen = 0;
+		for(int i=0; i<BUCKETS; ++i) {
+			seen += snapshot[i];
+			if(seen>=threshold && snapshot[i]>0) {
+				return i==BUCKETS-1 ? Long.MAX_VALUE : (1L<<i)-1;
+			}
+		}
+		return getMaxNanos();
+	}
+	/**
+	 * @return the number of recorded executions that threw an exception
+	 */
+	public long getFailureCount() {
+		return failures.sum();
+	}
+	/**
+	 * @return the number of recorded executions that assigned a {@code null} value
+	 */
+	public long getNullValueCount() {
+		return nullValues.sum();
+	}
+	/**
+	 * @return the number of recorded executions that assigned a default value
+	 */
+	public long getDefaultValueCount() {
+		return defaultValues.sum();
+	}
+	/**
+	 * @return the fraction of the recorded executions that assigned a {@code null} value, or 0 if nothing was recorded
+	 */
+	public double getNullValueRate() {
+		return rate(getNullValueCount());
+	}
+	/**
+	 * @return the fraction of the recorded executions that assigned a default value, or 0 if nothing was recorded
+	 */
+	public double getDefaultValueRate() {
+		return rate(getDefaultValueCount());
+	}
+	/**
+	 * @return the number of executions whose allocated bytes were measured
+	 */
+	public long getAllocationSampleCount() {
+		return allocationSamples.sum();
+	}
+	/**
+	 * @return the mean number of bytes allocated by the sampled executions, or -1 if no execution was sampled
+	 */
+	public double getMeanAllocatedBytes() {
+		long samples = getAllocationSampleCount();
+		return samples==0 ? -1 : (double)allocatedBytes.sum()/samples;
+	}
+
+	/**
+	 * Returns a human readable string of the current measures
+	 */
+	@Override
+	public String toString() {
+		return "MetricStats[count="+getCount()+", meanNanos="+getMeanNanos()+", p99Nanos="+getPercentileNanos(99)+", failures="+getFailureCount()
+			  +", nullValues="+getNullValueCount()+", defaultValues="+getDefaultValueCount()+", meanAllocatedBytes="+getMeanAllocatedBytes()+"]";
+	}
+
+	private double rate(long value) {
+		long currentCount = getCount();
+		return currentCount==0 ? 0 : (double)value/currentCount;
+	}
+
+}
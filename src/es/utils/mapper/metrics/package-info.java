@@ -0,0 +1,16 @@
+/**
+ * Provides the optional measures of the mappings.<br>
+ * The package contains the following classes:
+ * <ul>
+ * <li>{@code MappingMetrics} : the extension point receiving the measures, enabled with {@code Configuration.setMetrics(...)}</li>
+ * <li>{@code InMemoryMappingMetrics} : keeps counters, latencies, null and default value rates, exceptions and sampled allocations in memory</li>
+ * <li>{@code JmxMappingMetrics} : exposes an {@code InMemoryMappingMetrics} as a JMX MBean</li>
+ * <li>{@code MetricStats} and {@code MetricKey} : the measures of a mapping or of an element and their identifier</li>
+ * <li>{@code ElementOutcome} : the value assigned by an element mapping</li>
+ * <li>{@code AllocationMeter} : reads the bytes allocated by the current thread</li>
+ * </ul>
+ * @author eschoysman
+ * @see es.utils.mapper.metrics.MappingMetrics
+ * @see es.utils.mapper.configuration.Configuration#setMetrics(MappingMetrics)
+ */
+package es.utils.mapper.metrics;
@@ -1,10 +1,13 @@
 /**
  * Provides a all the code of the mapping.<br>
- * The package contains the following class:
+ * The package contains the following classes:
  * <ul>
  * <li>{@code Mapper} : the main class of the mapping logic, its contains the base logic for easily creating multiple mapping between objects (class or enum)</li>
+ * <li>{@code FrozenMapper} : an immutable {@code Mapper} with all the mappings already activated, created by {@code Mapper.freeze()}</li>
+ * <li>{@code WarmupOptions} and {@code WarmupReport} : the options and the result of the eager warm-up and validation done by {@code Mapper.build(WarmupOptions)}</li>
  * </ul>
  * @author eschoysman
  * @see es.utils.mapper.Mapper
+ * @see es.utils.mapper.FrozenMapper
  */
 package es.utils.mapper;
\ No newline at end of file
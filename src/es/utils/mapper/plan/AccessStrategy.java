@@ -0,0 +1,25 @@
+package es.utils.mapper.plan;
+
+/**
+ * This enum describe how an {@code ElementMapper} reads the origin element and writes the destination element.
+ * @author eschoysman
+ * @see ElementPlan#getAccessStrategy()
+ */
+public enum AccessStrategy {
+	/**
+	 * The primitive value is copied from the origin field to the destination field without boxing it
+	 */
+	PRIMITIVE_COPY,
+	/**
+	 * Both fields are accessed through a {@code MethodHandle} resolved once
+	 */
+	METHOD_HANDLE,
+	/**
+	 * At least one of the fields is accessed through the plain reflection, because its {@code MethodHandle} cannot be created
+	 */
+	REFLECTION,
+	/**
+	 * The getter or the setter is a custom operation given to the {@code ElementMapper} builder
+	 */
+	CUSTOM
+}
@@ -0,0 +1,30 @@
+package es.utils.mapper.plan;
+
+/**
+ * This enum gives a rough estimate of the cost of mapping an element, to find the slow mappings without measuring them.
+ * @author eschoysman
+ * @see ElementPlan#getCostClass()
+ * @see MappingPlan#getCostClass()
+ */
+public enum CostClass {
+	/**
+	 * A direct copy of the value, without boxing or allocations
+	 */
+	LOW,
+	/**
+	 * A copy that boxes the value, uses the plain reflection or calls a converter or a custom operation
+	 */
+	MEDIUM,
+	/**
+	 * A copy that maps the value with another mapping, maps a collection or an array, or deep copies the value
+	 */
+	HIGH;
+
+	/**
+	 * @param other another cost class
+	 * @return the highest between this cost class and {@code other}
+	 */
+	public CostClass max(CostClass other) {
+		return other!=null && other.compareTo(this)>0 ? other : this;
+	}
+}
@@ -0,0 +1,40 @@
+package es.utils.mapper.plan;
+
+import es.utils.mapper.defaultvalue.DefaultValueStrategy;
+
+/**
+ * This enum describe when an {@code ElementMapper} replaces a {@code null} value with a default value.
+ * @author eschoysman
+ * @see ElementPlan#getDefaultValuePolicy()
+ * @see DefaultValueStrategy
+ */
+public enum DefaultValuePolicy {
+	/**
+	 * The default values are never used
+	 */
+	NONE,
+	/**
+	 * A {@code null} value read from the origin object is replaced with the default value
+	 */
+	INPUT,
+	/**
+	 * A {@code null} value to assign to the destination object is replaced with the default value
+	 */
+	OUTPUT,
+	/**
+	 * Both the {@code null} values read from the origin object and the ones to assign to the destination object are replaced with the default values
+	 */
+	INPUT_AND_OUTPUT;
+
+	/**
+	 * @param input {@code true} if the default values are used for the values read from the origin object
+	 * @param output {@code true} if the default values are used for the values to assign to the destination object
+	 * @return the policy using the default values in the given cases
+	 */
+	public static DefaultValuePolicy of(boolean input, boolean output) {
+		if(input) {
+			return output ? INPUT_AND_OUTPUT : INPUT;
+		}
+		return output ? OUTPUT : NONE;
+	}
+}
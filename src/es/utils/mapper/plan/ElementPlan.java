@@ -0,0 +1,168 @@
+package es.utils.mapper.plan;
+
+import es.utils.mapper.impl.element.ElementMapper;
+
+import java.util.Objects;
+
+/**
+ * This class describes how a single {@link ElementMapper} of a mapping copies its element.
+ * @author eschoysman
+ * @see MappingPlan
+ */
+public class ElementPlan {
+
+	private final String name;
+	private final String fromName;
+	private final String destName;
+	private final Class<?> fromType;
+	private final Class<?> destType;
+	private final AccessStrategy accessStrategy;
+	private final TransformerKind transformerKind;
+	private final DefaultValuePolicy defaultValuePolicy;
+	private final boolean boxed;
+	private final boolean deepCopied;
+	private final CostClass costClass;
+
+	/**
+	 * @param name the name of the {@code ElementMapper}
+	 * @param fromName the name identifier of the getter
+	 * @param destName the name identifier of the setter
+	 * @param fromType the type of the origin field, or {@code null} if the getter is a custom operation
+	 * @param destType the type of the destination field, or {@code null} if the setter is a custom operation
+	 * @param accessStrategy how the elements are read and written
+	 * @param transformerKind the operation applied to the origin value
+	 * @param defaultValuePolicy when the {@code null} values are replaced with the default values
+	 * @param boxed {@code true} if a primitive value is boxed during the copy
+	 * @param deepCopied {@code true} if the origin value is deep copied before the transformation
+	 */
+	public ElementPlan(String name, String fromName, String destName, Class<?> fromType, Class<?> destType,
+					   AccessStrategy accessStrategy, TransformerKind transformerKind, DefaultValuePolicy defaultValuePolicy,
+					   boolean boxed, boolean deepCopied) {
+		this.name = name;
+		this.fromName = fromName;
+		this.destName = destName;
+		this.fromType = fromType;
+		this.destType = destType;
+		this.accessStrategy = Objects.requireNonNull(accessStrategy);
+		this.transformerKind = Objects.requireNonNull(transformerKind);
+		this.defaultValuePolicy = Objects.requireNonNull(defaultValuePolicy);
+		this.boxed = boxed;
+		this.deepCopied = deepCopied;
+		this.costClass = estimateCost();
+	}
+
+	/**
+	 * @return the name of the {@code ElementMapper}
+	 */
+	public String getName() {
+		return name;
+	}
+	/**
+	 * @return the name identifier of the getter
+	 */
+	public String getFromName() {
+		return fromName;
+	}
+	/**
+	 * @return the name identifier of the setter
+	 */
+	public String getDestName() {
+		return destName;
+	}
+	/**
+	 * @return the type of the origin field, or {@code null} if the getter is a custom operation
+	 */
+	public Class<?> getFromType() {
+		return fromType;
+	}
+	/**
+	 * @return the type of the destination field, or {@code null} if the setter is a custom operation
+	 */
+	public Class<?> getDestType() {
+		return destType;
+	}
+	/**
+	 * @return how the elements are read and written
+	 */
+	public AccessStrategy getAccessStrategy() {
+		return accessStrategy;
+	}
+	/**
+	 * @return the operation applied to the origin value
+	 */
+	public TransformerKind getTransformerKind() {
+		return transformerKind;
+	}
+	/**
+	 * @return when the {@code null} values are replaced with the default values
+	 */
+	public DefaultValuePolicy getDefaultValuePolicy() {
+		return defaultValuePolicy;
+	}
+	/**
+	 * @return {@code true} if a primitive value is boxed during the copy
+	 */
+	public boolean isBoxed() {
+		return boxed;
+	}
+	/**
+	 * @return {@code true} if the origin value is deep copied before the transformation
+	 */
+	public boolean isDeepCopied() {
+		return deepCopied;
+	}
+	/**
+	 * @return the estimated cost of the copy of the element
+	 */
+	public CostClass getCostClass() {
+		return costClass;
+	}
+
+	/**
+	 * Returns a human readable string of the current {@code ElementPlan}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(fromName).append(typeName(fromType)).append(" -> ").append(destName).append(typeName(destType));
+		sb.append(" [").append(costClass).append("] access=").append(accessStrategy);
+		sb.append(", transformer=").append(transformerKind);
+		sb.append(", defaults=").append(defaultValuePolicy);
+		if(boxed) {
+			sb.append(", boxed");
+		}
+		if(deepCopied) {
+			sb.append(", deep copy");
+		}
+		return sb.toString();
+	}
+
+	private CostClass estimateCost() {
+		if(accessStrategy==AccessStrategy.PRIMITIVE_COPY) {
+			return CostClass.LOW;
+		}
+		CostClass cost;
+		switch(transformerKind) {
+			case IDENTITY:
+				cost = CostClass.LOW;
+				break;
+			case CONVERTER:
+			case CUSTOM:
+				cost = CostClass.MEDIUM;
+				break;
+			default:
+				cost = CostClass.HIGH;
+		}
+		if(boxed || accessStrategy!=AccessStrategy.METHOD_HANDLE) {
+			cost = cost.max(CostClass.MEDIUM);
+		}
+		if(deepCopied) {
+			cost = CostClass.HIGH;
+		}
+		return cost;
+	}
+	private static String typeName(Class<?> type) {
+		return type==null ? "" : "("+type.getSimpleName()+")";
+	}
+
+}
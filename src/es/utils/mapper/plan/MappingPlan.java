@@ -0,0 +1,89 @@
+package es.utils.mapper.plan;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.impl.object.ClassMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * This class describes how a {@link ClassMapper} maps an object: it lists every element mapping in the order
+ * they are applied, with the way each element is accessed, transformed and defaulted, and its estimated cost.
+ * @author eschoysman
+ * @see ClassMapper#getMappingPlan()
+ * @see Mapper#getMappingPlans()
+ * @see Mapper#explain()
+ */
+public class MappingPlan {
+
+	private final Class<?> fromClass;
+	private final Class<?> toClass;
+	private final boolean compiled;
+	private final List<ElementPlan> elements;
+	private final CostClass costClass;
+
+	/**
+	 * @param fromClass the type of the origin object
+	 * @param toClass the type of the destination object
+	 * @param compiled {@code true} if the element mappings are composed into a single compiled operation
+	 * @param elements the plans of the element mappings, in the order they are applied
+	 */
+	public MappingPlan(Class<?> fromClass, Class<?> toClass, boolean compiled, List<ElementPlan> elements) {
+		this.fromClass = Objects.requireNonNull(fromClass);
+		this.toClass = Objects.requireNonNull(toClass);
+		this.compiled = compiled;
+		this.elements = Collections.unmodifiableList(new ArrayList<>(elements));
+		this.costClass = this.elements.stream().map(ElementPlan::getCostClass).reduce(CostClass.LOW,CostClass::max);
+	}
+
+	/**
+	 * @return the type of the origin object
+	 */
+	public Class<?> fromClass() {
+		return fromClass;
+	}
+	/**
+	 * @return the type of the destination object
+	 */
+	public Class<?> toClass() {
+		return toClass;
+	}
+	/**
+	 * @return {@code true} if the element mappings are composed into a single compiled operation
+	 */
+	public boolean isCompiled() {
+		return compiled;
+	}
+	/**
+	 * @return the plans of the element mappings, in the order they are applied
+	 */
+	public List<ElementPlan> getElements() {
+		return elements;
+	}
+	/**
+	 * @param costClass the cost class to look for
+	 * @return the plans of the element mappings having the given estimated cost
+	 */
+	public List<ElementPlan> getElements(CostClass costClass) {
+		return elements.stream().filter(element->element.getCostClass()==costClass).collect(Collectors.toList());
+	}
+	/**
+	 * @return the highest estimated cost of the element mappings, or {@link CostClass#LOW} if there are no element mappings
+	 */
+	public CostClass getCostClass() {
+		return costClass;
+	}
+
+	/**
+	 * Returns a human readable description of the mapping, one element mapping per line
+	 */
+	@Override
+	public String toString() {
+		String header = "MappingPlan["+fromClass.getName()+" -> "+toClass.getName()+"] ["+costClass+"]"+(compiled ? " compiled" : "");
+		return header+elements.stream().map(ElementPlan::toString).collect(Collectors.joining("\n\t","\n\t",""));
+	}
+
+}
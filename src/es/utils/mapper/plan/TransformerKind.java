@@ -0,0 +1,33 @@
+package es.utils.mapper.plan;
+
+/**
+ * This enum describe the operation applied by an {@code ElementMapper} to the origin value before assigning it to the destination.
+ * @author eschoysman
+ * @see ElementPlan#getTransformerKind()
+ */
+public enum TransformerKind {
+	/**
+	 * The origin value is assigned as is
+	 */
+	IDENTITY,
+	/**
+	 * The origin value is converted by a converter declared with the {@code @Converter} annotation
+	 */
+	CONVERTER,
+	/**
+	 * The origin value is mapped by another mapping of the same {@code Mapper}
+	 */
+	NESTED_MAPPING,
+	/**
+	 * The origin collection is mapped element by element into a new collection
+	 */
+	COLLECTION,
+	/**
+	 * The origin array is mapped element by element into a new array
+	 */
+	ARRAY,
+	/**
+	 * The transformation is a custom operation given to the {@code ElementMapper} builder
+	 */
+	CUSTOM
+}
@@ -0,0 +1,13 @@
+/**
+ * Describes how the mappings are executed, to find the slow mappings before running them.<br>
+ * The package contains the following classes:
+ * <ul>
+ * <li>{@code MappingPlan} : the plan of a {@code ClassMapper}, listing all its element mappings</li>
+ * <li>{@code ElementPlan} : the plan of a single element mapping</li>
+ * <li>{@code AccessStrategy}, {@code TransformerKind} and {@code DefaultValuePolicy} : how an element is read and written, transformed and defaulted</li>
+ * <li>{@code CostClass} : the estimated cost of an element mapping</li>
+ * </ul>
+ * @author eschoysman
+ * @see es.utils.mapper.Mapper#explain()
+ */
+package es.utils.mapper.plan;
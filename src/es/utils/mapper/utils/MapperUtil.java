@@ -143,6 +143,29 @@ public class MapperUtil {
 		return wrapType;
 	}
 
+	private static final List<Class<?>> numericWideningOrder = Arrays.asList(byte.class,short.class,int.class,long.class,float.class,double.class);
+	/**
+	 * Checks if a value of the primitive type {@code from} can be assigned to the primitive type {@code to}
+	 * without boxing, that is if the types are the same or there is a widening primitive conversion between them.
+	 * @param from the primitive type of the value
+	 * @param to the primitive type of the destination
+	 * @return {@code true} if both types are primitive and {@code from} can be assigned to {@code to}, {@code false} otherwise
+	 */
+	public static boolean isPrimitiveAssignable(Class<?> from, Class<?> to) {
+		if(from==null || to==null || !from.isPrimitive() || !to.isPrimitive() || from==void.class || to==void.class) {
+			return false;
+		}
+		if(from==to) {
+			return true;
+		}
+		int toIndex = numericWideningOrder.indexOf(to);
+		if(from==char.class) {
+			return toIndex>=numericWideningOrder.indexOf(int.class);
+		}
+		int fromIndex = numericWideningOrder.indexOf(from);
+		return fromIndex>=0 && fromIndex<toIndex;
+	}
+
 	private static <T> Field getDeclaredField(Class<T> type, String fieldName) {
 		try {
 			return type.getDeclaredField(fieldName);
@@ -0,0 +1,37 @@
+package from;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FromDeepCopy {
+
+    private String name = "name";
+    private Date date = new Date(0);
+    private int[] values = {1,2,3};
+    private Map<String,Date> dates = new LinkedHashMap<>();
+    private FromGraph node = new FromGraph("node");
+
+    public FromDeepCopy() {
+        dates.put("date",date);
+        node.setNext(node);
+        node.getChildren().add(node);
+    }
+
+    public String getName() {
+        return name;
+    }
+    public Date getDate() {
+        return date;
+    }
+    public int[] getValues() {
+        return values;
+    }
+    public Map<String,Date> getDates() {
+        return dates;
+    }
+    public FromGraph getNode() {
+        return node;
+    }
+
+}
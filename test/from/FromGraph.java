@@ -0,0 +1,38 @@
+package from;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FromGraph {
+
+    private String name;
+    private FromGraph next;
+    private FromGraph other;
+    private List<FromGraph> children = new ArrayList<>();
+
+    public FromGraph() {
+    }
+    public FromGraph(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+    public FromGraph getNext() {
+        return next;
+    }
+    public void setNext(FromGraph next) {
+        this.next = next;
+    }
+    public FromGraph getOther() {
+        return other;
+    }
+    public void setOther(FromGraph other) {
+        this.other = other;
+    }
+    public List<FromGraph> getChildren() {
+        return children;
+    }
+
+}
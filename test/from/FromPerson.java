@@ -0,0 +1,28 @@
+package from;
+
+import java.util.Date;
+
+public class FromPerson {
+
+	private String name = "Pippo";
+	private Integer age = 42;
+	private Date date = new Date(0);
+
+	public FromPerson() {}
+	public FromPerson(String name, Integer age, Date date) {
+		this.name = name;
+		this.age = age;
+		this.date = date;
+	}
+
+	public String getName() {
+		return name;
+	}
+	public Integer getAge() {
+		return age;
+	}
+	public Date getDate() {
+		return date;
+	}
+
+}
@@ -0,0 +1,22 @@
+package from;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FromPlan {
+
+    private int count = 1;
+    private int boxedCount = 2;
+    private String name = "name";
+    private List<String> tags = new ArrayList<>();
+    private FromGraph graph = new FromGraph("graph");
+    private String[] codes = new String[0];
+
+    public int getCount() {
+        return count;
+    }
+    public String getName() {
+        return name;
+    }
+
+}
@@ -0,0 +1,19 @@
+package from;
+
+public class FromPrimitives {
+
+    private boolean booleanValue = true;
+    private byte byteValue = 1;
+    private short shortValue = 2;
+    private char charValue = 'c';
+    private int intValue = 3;
+    private long longValue = 4L;
+    private float floatValue = 5.5f;
+    private double doubleValue = 6.5d;
+
+    private int intToLong = 7;
+    private float floatToDouble = 8.5f;
+    private char charToInt = 'A';
+    private long longToInt = 9L;
+
+}
@@ -0,0 +1,25 @@
+package from;
+
+import es.utils.mapper.annotation.DeepCopy;
+
+import java.util.Date;
+
+@DeepCopy(ignoreFields="shared")
+public class FromSelectiveCopy {
+
+    private Date copied = new Date(0);
+    private Date shared = new Date(1);
+    @DeepCopy(ignore=true)
+    private int[] values = {1,2,3};
+
+    public Date getCopied() {
+        return copied;
+    }
+    public Date getShared() {
+        return shared;
+    }
+    public int[] getValues() {
+        return values;
+    }
+
+}
@@ -0,0 +1,79 @@
+package testcase;
+
+import es.utils.mapper.factory.AccessorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AccessorFactoryTest {
+
+	@Test
+	public void shouldReadAndWritePrivateField() throws NoSuchFieldException {
+		Field field = Accessed.class.getDeclaredField("name");
+		Function<Accessed,String> getter = AccessorFactory.getter(field);
+		BiConsumer<Accessed,String> setter = AccessorFactory.setter(field);
+		Accessed obj = new Accessed();
+		assertThat(getter.apply(obj)).isEqualTo("Pippo");
+		setter.accept(obj,"Paperino");
+		assertThat(getter.apply(obj)).isEqualTo("Paperino");
+	}
+	@Test
+	public void shouldReadAndWritePrimitiveField() throws NoSuchFieldException {
+		Field field = Accessed.class.getDeclaredField("age");
+		Function<Accessed,Integer> getter = AccessorFactory.getter(field);
+		BiConsumer<Accessed,Integer> setter = AccessorFactory.setter(field);
+		Accessed obj = new Accessed();
+		assertThat(getter.apply(obj)).isEqualTo(42);
+		setter.accept(obj,18);
+		assertThat(getter.apply(obj)).isEqualTo(18);
+	}
+	@Test
+	public void shouldIgnoreNullValueForPrimitiveField() throws NoSuchFieldException {
+		Field field = Accessed.class.getDeclaredField("age");
+		BiConsumer<Accessed,Integer> setter = AccessorFactory.setter(field);
+		Accessed obj = new Accessed();
+		setter.accept(obj,null);
+		assertThat(obj.age).isEqualTo(42);
+	}
+	@Test
+	public void shouldIgnoreValueOfWrongType() throws NoSuchFieldException {
+		Field field = Accessed.class.getDeclaredField("name");
+		BiConsumer<Accessed,Object> setter = AccessorFactory.setter(field);
+		Accessed obj = new Accessed();
+		setter.accept(obj,42);
+		assertThat(obj.name).isEqualTo("Pippo");
+	}
+	@Test
+	public void shouldReturnNullForObjectOfWrongType() throws NoSuchFieldException {
+		Field field = Accessed.class.getDeclaredField("name");
+		Function<Object,String> getter = AccessorFactory.getter(field);
+		assertThat(getter.apply("not an Accessed instance")).isNull();
+	}
+	@Test
+	public void shouldReadStaticField() throws NoSuchFieldException {
+		Field field = Accessed.class.getDeclaredField("CONSTANT");
+		Function<Accessed,String> getter = AccessorFactory.getter(field);
+		assertThat(getter.apply(new Accessed())).isEqualTo("constant");
+	}
+	@Test
+	public void shouldWriteFinalField() throws NoSuchFieldException {
+		Field field = Accessed.class.getDeclaredField("id");
+		BiConsumer<Accessed,Long> setter = AccessorFactory.setter(field);
+		Accessed obj = new Accessed();
+		setter.accept(obj,7L);
+		assertThat(AccessorFactory.<Accessed,Long>getter(field).apply(obj)).isEqualTo(7L);
+	}
+
+	@SuppressWarnings("unused")
+	private static class Accessed {
+		private static final String CONSTANT = "constant";
+		private final Long id = Long.valueOf(1L);
+		private String name = "Pippo";
+		private int age = 42;
+	}
+
+}
@@ -5,11 +5,16 @@ import es.utils.mapper.exception.MappingException;
 import es.utils.mapper.exception.MappingNotFoundException;
 import es.utils.mapper.impl.element.ElementMapper;
 import es.utils.mapper.impl.object.ClassMapper;
+import es.utils.mapper.plan.TransformerKind;
 import from.ClassMapperFromTest;
 import from.From;
+import from.FromGraph;
+import from.FromPlan;
 import from.SpecificTestCaseFrom;
 import org.junit.jupiter.api.Test;
 import to.ClassMapperToTest;
+import to.ToGraph;
+import to.ToPlan;
 import to.SpecificTestCaseTo;
 import to.To;
 
@@ -293,5 +298,75 @@ public class ClassMapperTest {
 		Optional<ElementMapper<From,Object,Object,To>> em = mapping.getMapping("ignoredField2");
 		assertThat(em.isPresent()).isFalse();
 	}
+
+	@Test
+	public void shouldMapWithCompiledMapping() throws MappingNotFoundException, MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableCompiledMapping();
+		ClassMapper<ClassMapperFromTest, ClassMapperToTest> mapping = mapper.addForClass(ClassMapperFromTest.class, ClassMapperToTest.class);
+		mapper.build();
+		ClassMapperFromTest from = new ClassMapperFromTest();
+		ClassMapperToTest to = mapper.map(from, ClassMapperToTest.class);
+		assertThat(to.getNameTo()).isEqualTo(from.getNameFrom());
+		assertThat(to.getSurnameTo()).isEqualTo(from.getSurnameFrom());
+		assertThat(to.getFullName()).isNull();
+
+		mapping.addMapping().from("fullNameFrom", f->f.getNameFrom()+" "+f.getSurnameFrom())
+							.transform(s->s+"!")
+							.to("fullNameTo", ClassMapperToTest::setFullName)
+							.create();
+
+		to = mapper.map(from, ClassMapperToTest.class);
+		assertThat(to.getNameTo()).isEqualTo(from.getNameFrom());
+		assertThat(to.getSurnameTo()).isEqualTo(from.getSurnameFrom());
+		assertThat(to.getFullName()).isEqualTo(from.getNameFrom()+" "+from.getSurnameFrom()+"!");
+	}
+	@Test
+	public void shouldMapWithCompiledMappingAndIgnoredFields() throws MappingNotFoundException, MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableCompiledMapping();
+		ClassMapper<ClassMapperFromTest, ClassMapperToTest> mapping = mapper.addForClass(ClassMapperFromTest.class, ClassMapperToTest.class);
+		ClassMapperFromTest from = new ClassMapperFromTest();
+		ClassMapperToTest to = mapper.map(from, ClassMapperToTest.class);
+		assertThat(to.getNameTo()).isEqualTo(from.getNameFrom());
+
+		mapping.ignoreInputs("nameFrom");
+		to = mapper.map(from, ClassMapperToTest.class);
+		assertThat(to.getNameTo()).isNull();
+		assertThat(to.getSurnameTo()).isEqualTo(from.getSurnameFrom());
+	}
+
+	@Test
+	public void shouldKeepTheSameElementMappingsWhenActivatedAgain() throws MappingException {
+		Mapper mapper = new Mapper();
+		ClassMapper<FromPlan,ToPlan> mapping = mapper.addForClass(FromPlan.class, ToPlan.class);
+		mapper.build();
+		int size = mapping.getMappingPlan().getElements().size();
+		mapping.activate();
+		mapping.activate();
+		assertThat(mapping.getMappingPlan().getElements().size()).isEqualTo(size);
+	}
+	@Test
+	public void shouldNotActivateAgainWhenAnUnrelatedMappingIsAdded() throws MappingException {
+		Mapper mapper = new Mapper();
+		ClassMapper<FromPlan,ToPlan> mapping = mapper.addForClass(FromPlan.class, ToPlan.class);
+		mapper.build();
+		ElementMapper<FromPlan,Object,Object,ToPlan> nameMapping = mapping.getMapping("name","name").get();
+		mapper.add(From.class, To.class);
+		mapper.build();
+		assertThat(mapping.getMapping("name","name").get()).isSameAs(nameMapping);
+	}
+	@Test
+	public void shouldActivateAgainWhenAMappingOfAFieldTypeIsAdded() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		ClassMapper<FromPlan,ToPlan> mapping = mapper.addForClass(FromPlan.class, ToPlan.class);
+		mapper.build();
+		assertThat(mapping.getMapping("graph","graph").isPresent()).isFalse();
+		mapper.add(FromGraph.class, ToGraph.class);
+		FromPlan from = new FromPlan();
+		ToPlan to = mapper.map(from, ToPlan.class);
+		assertThat(mapping.getMappingPlan().getElements().stream().anyMatch(element->element.getTransformerKind()==TransformerKind.NESTED_MAPPING)).isTrue();
+		assertThat(to.getGraph().getName()).isEqualTo("graph");
+	}
 	
 }
@@ -29,6 +29,19 @@ public class CollectionFactoryTest {
     	Collection<Object> newCollection = CollectionFactory.create(Arrays.asList().getClass(),LinkedList.class);
     	assertThat(newCollection).isInstanceOf(LinkedList.class).isEmpty();
 	}
+    @Test
+	public void shouldCreateSizedCollectionOfKnownType() throws MappingNotFoundException, MappingException {
+    	assertThat(CollectionFactory.create(Arrays.asList().getClass(),null,100)).isInstanceOf(ArrayList.class).isEmpty();
+    	assertThat(CollectionFactory.create(HashSet.class,null,100)).isInstanceOf(HashSet.class).isEmpty();
+    	assertThat(CollectionFactory.create(ArrayList.class,LinkedHashSet.class,100)).isInstanceOf(LinkedHashSet.class).isEmpty();
+    	assertThat(CollectionFactory.create(PriorityQueue.class,null,0)).isInstanceOf(PriorityQueue.class).isEmpty();
+	}
+    @Test
+	public void shouldCreateCollectionOfTypeWithoutSizedConstructor() throws MappingNotFoundException, MappingException {
+    	assertThat(CollectionFactory.create(TreeSet.class,null,100)).isInstanceOf(TreeSet.class).isEmpty();
+    	assertThat(CollectionFactory.create(ArrayList.class,LinkedList.class,-1)).isInstanceOf(LinkedList.class).isEmpty();
+    	assertThat(CollectionFactory.create(ArrayList.class,null,-1)).isInstanceOf(ArrayList.class).isEmpty();
+	}
     @Test
 	public void shouldReturnNullAndPrintErrorInCreation() throws MappingNotFoundException, MappingException, IOException {
     	ByteArrayOutputStream err = new ByteArrayOutputStream();
@@ -4,11 +4,15 @@ import annotation.TestAnnotation;
 import es.utils.mapper.Mapper;
 import es.utils.mapper.annotation.AliasNames;
 import es.utils.mapper.configuration.Configuration;
+import es.utils.mapper.defaultvalue.DefaultValueStrategy;
 import es.utils.mapper.exception.MappingException;
 import es.utils.mapper.exception.MappingNotFoundException;
 import es.utils.mapper.impl.object.ClassMapper;
+import from.FromDeepCopy;
 import from.FromWithAnnotation;
 import org.junit.jupiter.api.Test;
+import to.To;
+import to.ToDeepCopy;
 import to.ToWithAnnotation;
 import to.ToWithNoEmptyConstructor;
 
@@ -29,6 +33,20 @@ public class ConfigurationTest {
 		assertThat(newInstance).isNotNull();
 		assertThat(newInstance.getName()).isEqualTo("Pippo");
 	}
+	@Test
+	public void shouldReturnInstantiator() throws MappingException {
+		Configuration configurations = new Configuration();
+		assertThat(configurations.getInstantiator(To.class).get()).isEqualTo(new To());
+		Supplier<ToWithNoEmptyConstructor> supplier = ()->ToWithNoEmptyConstructor.withName("Pippo");
+		configurations.addSupplier(ToWithNoEmptyConstructor.class, supplier);
+		assertThat(configurations.getInstantiator(ToWithNoEmptyConstructor.class)).isSameAs(supplier);
+	}
+	@Test
+	public void shouldThrowMappingExceptionForMissingInstantiator() {
+		Configuration configurations = new Configuration();
+		MappingException exception = assertThrows(MappingException.class, ()->configurations.getInstantiator(ToWithNoEmptyConstructor.class));
+		assertThat(exception.getCause()).isInstanceOf(NoSuchMethodException.class);
+	}
 
 	@Test
 	public void shouldReadCustomAnnotation() throws MappingException, MappingNotFoundException {
@@ -104,5 +122,40 @@ public class ConfigurationTest {
 		assertThat(to2).isNotNull();
 		assertThat(to2.getName()).isEqualTo("<No value>");
 	}
+
+	@Test
+	public void shouldChangeVersionWhenElementMappingSettingsChange() {
+		Configuration configurations = new Configuration();
+		int version = configurations.getVersion();
+		configurations.enableCompiledMapping();
+		assertThat(configurations.getVersion()).isEqualTo(version);
+		configurations.enableDeepCopy();
+		assertThat(configurations.getVersion()).isNotEqualTo(version);
+		version = configurations.getVersion();
+		configurations.setDefaultValueStrategy(DefaultValueStrategy.ALWAYS);
+		assertThat(configurations.getVersion()).isNotEqualTo(version);
+		assertThat(new Configuration().getVersion()).isNotEqualTo(configurations.getVersion());
+	}
+	@Test
+	public void shouldApplyDeepCopyEnabledAfterTheFirstMapping() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromDeepCopy.class, ToDeepCopy.class);
+		FromDeepCopy from = new FromDeepCopy();
+		assertThat(mapper.map(from, ToDeepCopy.class).getDate()).isSameAs(from.getDate());
+		mapper.config().enableDeepCopy();
+		assertThat(mapper.map(from, ToDeepCopy.class).getDate()).isNotSameAs(from.getDate()).isEqualTo(from.getDate());
+		mapper.config().disableDeepCopy();
+		assertThat(mapper.map(from, ToDeepCopy.class).getDate()).isSameAs(from.getDate());
+	}
+	@Test
+	public void shouldRecompileTheMappingWhenDeepCopyIsEnabled() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableCompiledMapping();
+		mapper.add(FromDeepCopy.class, ToDeepCopy.class);
+		FromDeepCopy from = new FromDeepCopy();
+		assertThat(mapper.map(from, ToDeepCopy.class).getDates()).isSameAs(from.getDates());
+		mapper.config().enableDeepCopy();
+		assertThat(mapper.map(from, ToDeepCopy.class).getDates()).isNotSameAs(from.getDates()).isEqualTo(from.getDates());
+	}
 	
 }
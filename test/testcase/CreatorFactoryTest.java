@@ -0,0 +1,146 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.factory.CreationStrategy;
+import es.utils.mapper.factory.CreatorFactory;
+import es.utils.mapper.factory.CreatorFactory.Creator;
+import es.utils.mapper.impl.object.ClassMapper;
+import es.utils.mapper.metrics.InMemoryMappingMetrics;
+import from.FromPerson;
+import org.junit.jupiter.api.Test;
+import to.To;
+import to.ToBuilderPerson;
+import to.ToFactoryPerson;
+import to.ToImmutablePerson;
+import to.ToNamedPerson;
+import to.ToUnknownPropertyPerson;
+import to.ToUnnamedPerson;
+import to.ToWithNoEmptyConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CreatorFactoryTest {
+
+	@Test
+	public void shouldFindTheAllArgsConstructor() {
+		Creator<ToImmutablePerson> creator = CreatorFactory.creator(ToImmutablePerson.class).get();
+		assertThat(creator.getStrategy()).isEqualTo(CreationStrategy.CONSTRUCTOR);
+		assertThat(creator.getParameterNames()).containsExactly("name","age","date");
+		ToImmutablePerson person = creator.create("Pippo",null,new Date(0));
+		assertThat(person.getName()).isEqualTo("Pippo");
+		assertThat(person.getAge()).isEqualTo(0);
+		assertThat(person.getDate()).isEqualTo(new Date(0));
+	}
+	@Test
+	public void shouldFindTheStaticFactory() {
+		Creator<ToFactoryPerson> creator = CreatorFactory.creator(ToFactoryPerson.class).get();
+		assertThat(creator.getStrategy()).isEqualTo(CreationStrategy.STATIC_FACTORY);
+		assertThat(creator.getParameterNames()).containsExactly("name","age","months");
+		assertThat(creator.create("Pippo",42,504L).getMonths()).isEqualTo(504L);
+	}
+	@Test
+	public void shouldFindTheBuilder() {
+		Creator<ToBuilderPerson> creator = CreatorFactory.creator(ToBuilderPerson.class).get();
+		assertThat(creator.getStrategy()).isEqualTo(CreationStrategy.BUILDER);
+		assertThat(creator.getParameterNames()).containsExactly("name","age","date");
+		ToBuilderPerson person = creator.create("Pippo",null,null);
+		assertThat(person.getName()).isEqualTo("Pippo");
+		assertThat(person.getAge()).isEqualTo(-1);
+	}
+	@Test
+	public void shouldReadTheConstructorProperties() {
+		Creator<ToNamedPerson> creator = CreatorFactory.creator(ToNamedPerson.class).get();
+		assertThat(creator.getParameterNames()).containsExactly("surname","name");
+		ToNamedPerson person = creator.create("Paperino","Pippo");
+		assertThat(person.getName()).isEqualTo("Pippo");
+		assertThat(person.getSurname()).isEqualTo("Paperino");
+	}
+	@Test
+	public void shouldNotMatchParametersOfTheSameTypeByPosition() {
+		assertThat(CreatorFactory.creator(ToUnnamedPerson.class).isPresent()).isFalse();
+		assertThat(CreatorFactory.creator(ToUnknownPropertyPerson.class).isPresent()).isFalse();
+	}
+	@Test
+	public void shouldNotFindCreatorWithoutMatchingParameters() {
+		assertThat(CreatorFactory.creator(ToWithNoEmptyConstructor.class).isPresent()).isFalse();
+		assertThat(CreatorFactory.creator(List.class).isPresent()).isFalse();
+		assertThat(CreatorFactory.creator(ToImmutablePerson.class)).isSameAs(CreatorFactory.creator(ToImmutablePerson.class));
+		assertThrows(IllegalArgumentException.class, ()->CreatorFactory.creator(ToImmutablePerson.class).get().create("Pippo"));
+	}
+
+	@Test
+	public void shouldMapIntoImmutableObject() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		ClassMapper<FromPerson,ToImmutablePerson> mapping = mapper.addForClass(FromPerson.class,ToImmutablePerson.class);
+		ToImmutablePerson person = mapper.map(new FromPerson(),ToImmutablePerson.class);
+		assertThat(person.getName()).isEqualTo("Pippo");
+		assertThat(person.getAge()).isEqualTo(42);
+		assertThat(person.getDate()).isEqualTo(new Date(0));
+		ToImmutablePerson empty = mapper.map(new FromPerson(null,null,null),ToImmutablePerson.class);
+		assertThat(empty.getName()).isNull();
+		assertThat(empty.getAge()).isEqualTo(0);
+		assertThat(mapping.getCreationStrategy()).isEqualTo(CreationStrategy.CONSTRUCTOR);
+	}
+	@Test
+	public void shouldMapUsingStaticFactoryAndCustomMapping() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		ClassMapper<FromPerson,ToFactoryPerson> mapping = mapper.addForClass(FromPerson.class,ToFactoryPerson.class);
+		mapping.addMapping().from("age",FromPerson::getAge).transform(age->age*12L).to("months",(to,months)->{}).create();
+		ToFactoryPerson person = mapper.map(new FromPerson(),ToFactoryPerson.class);
+		assertThat(person.getName()).isEqualTo("Pippo");
+		assertThat(person.getAge()).isEqualTo(42);
+		assertThat(person.getMonths()).isEqualTo(504L);
+	}
+	@Test
+	public void shouldApplyTheOtherElementMappingsAsTheInstantiator() throws MappingException, MappingNotFoundException {
+		for(boolean compiled : new boolean[] {false,true}) {
+			Mapper mapper = new Mapper();
+			InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+			if(compiled) {
+				mapper.config().enableCompiledMapping();
+			}
+			else {
+				mapper.config().setMetrics(metrics);
+			}
+			List<String> applied = new ArrayList<>();
+			mapper.addForClass(FromPerson.class,ToImmutablePerson.class)
+				  .addMapping().from("name",FromPerson::getName).to("log",(to,name)->applied.add(name)).create();
+			ToImmutablePerson person = mapper.map(new FromPerson(),ToImmutablePerson.class);
+			assertThat(person.getName()).isEqualTo("Pippo");
+			assertThat(applied).containsExactly("Pippo");
+			if(!compiled) {
+				assertThat(metrics.getElementStats(FromPerson.class,ToImmutablePerson.class,"name").getCount()).isEqualTo(1L);
+				assertThat(metrics.getElementStats(FromPerson.class,ToImmutablePerson.class,"log").getCount()).isEqualTo(1L);
+			}
+		}
+	}
+	@Test
+	public void shouldMapUsingBuilder() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromPerson.class,ToBuilderPerson.class);
+		ToBuilderPerson person = mapper.map(new FromPerson("Pluto",null,new Date(0)),ToBuilderPerson.class);
+		assertThat(person.getName()).isEqualTo("Pluto");
+		assertThat(person.getAge()).isEqualTo(-1);
+		assertThat(person.getDate()).isEqualTo(new Date(0));
+		assertThat(Arrays.asList(mapper.mapArray(new FromPerson[]{new FromPerson()},ToBuilderPerson.class)).get(0).getName()).isEqualTo("Pippo");
+	}
+	@Test
+	public void shouldKeepTheInstantiatorWhenAvailable() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.config().addSupplier(ToImmutablePerson.class,()->new ToImmutablePerson("Supplied",1,null));
+		ClassMapper<FromPerson,ToImmutablePerson> immutableMapping = mapper.addForClass(FromPerson.class,ToImmutablePerson.class);
+		ClassMapper<FromPerson,To> mapping = mapper.addForClass(FromPerson.class,To.class);
+		assertThat(immutableMapping.getCreationStrategy()).isEqualTo(CreationStrategy.INSTANTIATOR);
+		assertThat(mapping.getCreationStrategy()).isEqualTo(CreationStrategy.INSTANTIATOR);
+		assertThat(mapper.map(new FromPerson(),ToImmutablePerson.class).getName()).isEqualTo("Pippo");
+	}
+
+}
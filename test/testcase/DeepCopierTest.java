@@ -0,0 +1,224 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.copy.CopyContext;
+import es.utils.mapper.copy.DeepCopier;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.holder.FieldHolder;
+import from.FromDeepCopy;
+import from.FromGraph;
+import from.FromSelectiveCopy;
+import org.junit.jupiter.api.Test;
+import to.ToDeepCopy;
+import to.ToSelectiveCopy;
+import to.ToSelectiveDeepCopy;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DeepCopierTest {
+
+	@Test
+	public void shouldShareImmutableValues() {
+		DeepCopier copier = new DeepCopier();
+		String string = new String("value");
+		BigDecimal number = new BigDecimal("1.5");
+		LocalDate date = LocalDate.of(2020,1,1);
+		assertThat(copier.copy(string)).isSameAs(string);
+		assertThat(copier.copy(number)).isSameAs(number);
+		assertThat(copier.copy(date)).isSameAs(date);
+		assertThat(copier.copy(DayOfWeek.MONDAY)).isSameAs(DayOfWeek.MONDAY);
+		assertThat(copier.<Object>copy(null)).isNull();
+	}
+	@Test
+	public void shouldCopyArrays() {
+		DeepCopier copier = new DeepCopier();
+		int[] values = {1,2,3};
+		String[] strings = {"a","b"};
+		Date[] dates = {new Date(0)};
+		int[] valuesCopy = copier.copy(values);
+		String[] stringsCopy = copier.copy(strings);
+		Date[] datesCopy = copier.copy(dates);
+		assertThat(valuesCopy).isNotSameAs(values).containsExactly(1,2,3);
+		assertThat(stringsCopy).isNotSameAs(strings).containsExactly("a","b");
+		assertThat(stringsCopy[0]).isSameAs(strings[0]);
+		assertThat(datesCopy[0]).isNotSameAs(dates[0]).isEqualTo(dates[0]);
+	}
+	@Test
+	public void shouldCopyCollections() {
+		DeepCopier copier = new DeepCopier();
+		List<Date> list = new ArrayList<>(Arrays.asList(new Date(0),new Date(1)));
+		TreeSet<String> set = new TreeSet<>(Collections.reverseOrder());
+		set.addAll(Arrays.asList("a","b","c"));
+		List<Date> unmodifiable = Collections.unmodifiableList(list);
+		List<Date> listCopy = copier.copy(list);
+		TreeSet<String> setCopy = copier.copy(set);
+		List<Date> unmodifiableCopy = copier.copy(unmodifiable);
+		assertThat(listCopy).isInstanceOf(ArrayList.class).isNotSameAs(list).isEqualTo(list);
+		assertThat(listCopy.get(0)).isNotSameAs(list.get(0));
+		assertThat(setCopy).isNotSameAs(set).containsExactly("c","b","a");
+		assertThat(unmodifiableCopy).isNotSameAs(unmodifiable).isEqualTo(list);
+	}
+	@Test
+	public void shouldKeepTheWrappersOfTheJdkCollections() {
+		DeepCopier copier = new DeepCopier();
+		List<Date> list = new ArrayList<>(Arrays.asList(new Date(0),new Date(1)));
+		List<Date> unmodifiable = Collections.unmodifiableList(list);
+		List<Date> synchronizedList = Collections.synchronizedList(list);
+		List<Date> fixedSize = Arrays.asList(new Date(0),new Date(1));
+		SortedSet<String> sortedSet = Collections.unmodifiableSortedSet(new TreeSet<>(Collections.reverseOrder()));
+		List<Date> unmodifiableCopy = copier.copy(unmodifiable);
+		List<Date> synchronizedCopy = copier.copy(synchronizedList);
+		List<Date> fixedSizeCopy = copier.copy(fixedSize);
+		SortedSet<String> sortedSetCopy = copier.copy(sortedSet);
+		assertThat(unmodifiableCopy).isNotSameAs(unmodifiable).isEqualTo(list).isExactlyInstanceOf(unmodifiable.getClass());
+		assertThat(unmodifiableCopy.get(0)).isNotSameAs(list.get(0));
+		assertThrows(UnsupportedOperationException.class,()->unmodifiableCopy.add(new Date(2)));
+		assertThat(synchronizedCopy).isNotSameAs(synchronizedList).isEqualTo(list).isExactlyInstanceOf(synchronizedList.getClass());
+		assertThat(fixedSizeCopy).isNotSameAs(fixedSize).isEqualTo(fixedSize).isExactlyInstanceOf(fixedSize.getClass());
+		assertThat(fixedSizeCopy.get(0)).isNotSameAs(fixedSize.get(0));
+		assertThrows(UnsupportedOperationException.class,()->fixedSizeCopy.add(new Date(2)));
+		assertThat(sortedSetCopy).isNotSameAs(sortedSet).isExactlyInstanceOf(sortedSet.getClass());
+		assertThat(sortedSetCopy.comparator()).isSameAs(sortedSet.comparator());
+	}
+	@Test
+	public void shouldShareTheImmutableJdkCollectionsOfImmutableElements() {
+		DeepCopier copier = new DeepCopier();
+		List<String> emptyList = Collections.emptyList();
+		Map<String,String> emptyMap = Collections.emptyMap();
+		List<String> singletonList = Collections.singletonList("a");
+		Map<String,String> singletonMap = Collections.singletonMap("a","b");
+		List<Date> singletonDate = Collections.singletonList(new Date(0));
+		assertThat(copier.isImmutable(emptyList.getClass())).isTrue();
+		assertThat(copier.copy(emptyList)).isSameAs(emptyList);
+		assertThat(copier.copy(emptyMap)).isSameAs(emptyMap);
+		assertThat(copier.copy(singletonList)).isSameAs(singletonList);
+		assertThat(copier.copy(singletonMap)).isSameAs(singletonMap);
+		List<Date> singletonDateCopy = copier.copy(singletonDate);
+		assertThat(singletonDateCopy).isNotSameAs(singletonDate).isEqualTo(singletonDate).isExactlyInstanceOf(singletonDate.getClass());
+		assertThat(singletonDateCopy.get(0)).isNotSameAs(singletonDate.get(0));
+	}
+	@Test
+	public void shouldReproduceCycles() {
+		DeepCopier copier = new DeepCopier();
+		FromGraph node = new FromGraph("node");
+		node.setNext(node);
+		node.setOther(new FromGraph("other"));
+		node.getChildren().add(node);
+		node.getChildren().add(node.getOther());
+		FromGraph copy = copier.copy(node);
+		assertThat(copy).isNotSameAs(node);
+		assertThat(copy.getName()).isEqualTo("node");
+		assertThat(copy.getNext()).isSameAs(copy);
+		assertThat(copy.getOther()).isNotSameAs(node.getOther());
+		assertThat(copy.getOther().getName()).isEqualTo("other");
+		assertThat(copy.getChildren().get(0)).isSameAs(copy);
+		assertThat(copy.getChildren().get(1)).isSameAs(copy.getOther());
+	}
+	@Test
+	public void shouldShareTheAddedImmutableTypes() {
+		DeepCopier copier = new DeepCopier();
+		FromGraph node = new FromGraph("node");
+		assertThat(copier.copy(node)).isNotSameAs(node);
+		copier.addImmutableType(FromGraph.class);
+		assertThat(copier.isImmutable(FromGraph.class)).isTrue();
+		assertThat(copier.copy(node)).isSameAs(node);
+	}
+	@Test
+	public void shouldDeepCopyDuringTheMappingWithoutCloner() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableDeepCopy();
+		mapper.add(FromDeepCopy.class, ToDeepCopy.class);
+		FromDeepCopy from = new FromDeepCopy();
+		ToDeepCopy to = mapper.map(from, ToDeepCopy.class);
+		assertThat(to.getName()).isSameAs(from.getName());
+		assertThat(to.getDate()).isNotSameAs(from.getDate()).isEqualTo(from.getDate());
+		assertThat(to.getValues()).isNotSameAs(from.getValues()).containsExactly(1,2,3);
+		assertThat(to.getDates()).isNotSameAs(from.getDates()).isEqualTo(from.getDates());
+		assertThat(to.getNode()).isNotSameAs(from.getNode());
+		assertThat(to.getNode().getNext()).isSameAs(to.getNode());
+	}
+	@Test
+	public void shouldShareTheCopiesBetweenTheFieldsOfTheSameObject() throws MappingException, MappingNotFoundException {
+		for(boolean compiled : new boolean[] {false,true}) {
+			Mapper mapper = new Mapper();
+			mapper.config().enableDeepCopy();
+			if(compiled) {
+				mapper.config().enableCompiledMapping();
+			}
+			mapper.add(FromDeepCopy.class, ToDeepCopy.class);
+			FromDeepCopy from = new FromDeepCopy();
+			ToDeepCopy to = mapper.map(from, ToDeepCopy.class);
+			assertThat(to.getDate()).isNotSameAs(from.getDate());
+			assertThat(to.getDates().get("date")).isSameAs(to.getDate());
+			ToDeepCopy other = mapper.map(from, ToDeepCopy.class);
+			assertThat(other.getDate()).isNotSameAs(to.getDate());
+		}
+		DeepCopier copier = new DeepCopier();
+		Date date = new Date(0);
+		assertThat(copier.copy(date)).isNotSameAs(copier.copy(date));
+		CopyContext context = CopyContext.open();
+		try {
+			assertThat(copier.copy(date)).isSameAs(copier.copy(date));
+		} finally {
+			context.close();
+		}
+		assertThat(CopyContext.current()).isNull();
+	}
+
+	@Test
+	public void shouldReadTheDeepCopyAnnotation() {
+		Mapper mapper = new Mapper();
+		Map<String,FieldHolder> fields = mapper.getFieldsHolderFromCache(FromSelectiveCopy.class);
+		assertThat(fields.get("copied").getDeepCopy()).isEqualTo(Optional.of(true));
+		assertThat(fields.get("shared").getDeepCopy()).isEqualTo(Optional.of(false));
+		assertThat(fields.get("values").getDeepCopy()).isEqualTo(Optional.of(false));
+		assertThat(mapper.getFieldsHolderFromCache(FromDeepCopy.class).get("date").getDeepCopy().isPresent()).isFalse();
+	}
+	@Test
+	public void shouldDeepCopyOnlyTheAnnotatedFields() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromSelectiveCopy.class, ToSelectiveCopy.class);
+		FromSelectiveCopy from = new FromSelectiveCopy();
+		ToSelectiveCopy to = mapper.map(from, ToSelectiveCopy.class);
+		assertThat(to.getCopied()).isNotSameAs(from.getCopied()).isEqualTo(from.getCopied());
+		assertThat(to.getShared()).isSameAs(from.getShared());
+		assertThat(to.getValues()).isSameAs(from.getValues());
+	}
+	@Test
+	public void shouldNotDeepCopyTheIgnoredFieldsWhenDeepCopyIsEnabled() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableDeepCopy();
+		mapper.add(FromSelectiveCopy.class, ToSelectiveCopy.class);
+		FromSelectiveCopy from = new FromSelectiveCopy();
+		ToSelectiveCopy to = mapper.map(from, ToSelectiveCopy.class);
+		assertThat(to.getCopied()).isNotSameAs(from.getCopied());
+		assertThat(to.getShared()).isSameAs(from.getShared());
+		assertThat(to.getValues()).isSameAs(from.getValues());
+	}
+	@Test
+	public void shouldDeepCopyOnlyTheIncludedDestinationFields() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromDeepCopy.class, ToSelectiveDeepCopy.class);
+		FromDeepCopy from = new FromDeepCopy();
+		ToSelectiveDeepCopy to = mapper.map(from, ToSelectiveDeepCopy.class);
+		assertThat(to.getDate()).isNotSameAs(from.getDate()).isEqualTo(from.getDate());
+		assertThat(to.getDates()).isSameAs(from.getDates());
+		assertThat(to.getNode()).isSameAs(from.getNode());
+	}
+
+}
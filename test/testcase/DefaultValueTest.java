@@ -7,6 +7,7 @@ import es.utils.mapper.defaultvalue.DefaultValueStrategy;
 import es.utils.mapper.exception.MappingException;
 import es.utils.mapper.exception.MappingNotFoundException;
 import es.utils.mapper.holder.DefaultValueManager;
+import es.utils.mapper.holder.DefaultValuePlan;
 import es.utils.mapper.holder.suppliers.DefaultAnnotationSupplier2;
 import from.DefaultValuesFrom;
 import org.junit.jupiter.api.AfterEach;
@@ -158,4 +159,27 @@ public class DefaultValueTest {
 		assertThat(to).hasAllNullFieldsOrProperties();
 	}
 
+	@Test
+	public void shouldCreateDefaultValuePlanOnlyForFieldsWithDefaultValues() {
+		Mapper mapper = new Mapper();
+		DefaultValuePlan plan = mapper.getDefaultValuePlan(DefaultValuesTo.class);
+		assertThat(plan.getType()).isEqualTo(DefaultValuesTo.class);
+		assertThat(plan.size()).isEqualTo(14);
+		assertThat(mapper.getDefaultValuePlan(DefaultValuesTo.class)).isSameAs(plan);
+		assertThat(mapper.getDefaultValuePlan(DefaultValuesFrom.class).isEmpty()).isTrue();
+	}
+	@Test
+	public void shouldApplyDefaultValuePlanOnlyToEmptyFields() {
+		Mapper mapper = new Mapper();
+		DefaultValuePlan plan = mapper.getDefaultValuePlan(DefaultValuesTo.class);
+		DefaultValuesTo to = plan.apply(new DefaultValuesTo());
+		assertThat(to.getNumInteger()).isEqualTo(42);
+		assertThat(to.getTimeUnit()).isEqualTo(TimeUnit.DAYS);
+		assertThat(to.getDateF2()).isNull();
+		Date date = to.getDate();
+		assertThat(date).isNotNull();
+		plan.apply(to);
+		assertThat(to.getDate()).isSameAs(date);
+	}
+
 }
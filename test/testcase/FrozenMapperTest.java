@@ -0,0 +1,82 @@
+package testcase;
+
+import es.utils.mapper.FrozenMapper;
+import es.utils.mapper.Mapper;
+import es.utils.mapper.configuration.Configuration;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.impl.object.ClassMapper;
+import from.ClassMapperFromTest;
+import org.junit.jupiter.api.Test;
+import to.ClassMapperToTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FrozenMapperTest {
+
+	@Test
+	public void shouldMapWithFrozenMapper() throws MappingNotFoundException, MappingException {
+		for(boolean compiled : new boolean[] {false,true}) {
+			Mapper mapper = new Mapper();
+			if(compiled) {
+				mapper.config().enableCompiledMapping();
+			}
+			mapper.addForClass(ClassMapperFromTest.class,ClassMapperToTest.class).ignoreInputs("surnameFrom");
+			FrozenMapper frozenMapper = mapper.freeze();
+			assertThat(frozenMapper.isFrozen()).isTrue();
+			assertThat(frozenMapper.getAllMappings().size()).isEqualTo(1);
+			ClassMapperToTest to = frozenMapper.map(new ClassMapperFromTest("Pippo","Paperino"),ClassMapperToTest.class);
+			assertThat(to.getNameTo()).isEqualTo("Pippo");
+			assertThat(to.getSurnameTo()).isNull();
+		}
+	}
+	@Test
+	public void shouldMapAssignableTypesWithFrozenMapper() throws MappingNotFoundException, MappingException {
+		FrozenMapper frozenMapper = new Mapper().freeze();
+		assertThat(frozenMapper.map(42,Number.class)).isEqualTo(42);
+		assertThat(frozenMapper.getMappingBetween(Integer.class,Number.class)).isNotNull();
+		assertThat(frozenMapper.hasMappingBetween(Integer.class,Number.class)).isFalse();
+		assertThat(frozenMapper.getAllMappings().size()).isEqualTo(0);
+	}
+	@Test
+	public void shouldFreezeTheConfiguration() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().addImmutableType(ClassMapperFromTest.class);
+		FrozenMapper frozenMapper = mapper.freeze();
+		Configuration config = frozenMapper.config();
+		assertThat(config).isNotSameAs(mapper.config());
+		assertThat(config.isFrozen()).isTrue();
+		assertThat(config.freeze()).isSameAs(config);
+		assertThat(config.getDeepCopier().isImmutable(ClassMapperFromTest.class)).isTrue();
+		assertThrows(IllegalStateException.class, ()->config.enableDeepCopy());
+		assertThrows(IllegalStateException.class, ()->config.setMetrics(null));
+		assertThrows(IllegalStateException.class, ()->config.addSupplier(String.class,String::new));
+		assertThrows(IllegalStateException.class, ()->config.getDeepCopier().addImmutableType(ClassMapperToTest.class));
+		mapper.config().enableDeepCopy();
+		assertThat(config.isDeepCopyEnabled()).isFalse();
+	}
+	@Test
+	public void shouldFreezeOriginalMapper() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		FrozenMapper frozenMapper = mapper.freeze();
+		assertThat(mapper.isFrozen()).isTrue();
+		assertThat(frozenMapper.freeze()).isSameAs(frozenMapper);
+		assertThat(frozenMapper.build()).isSameAs(frozenMapper);
+	}
+	@Test
+	public void shouldFailRegistrationAfterFreeze() throws MappingException {
+		Mapper mapper = new Mapper();
+		ClassMapper<ClassMapperFromTest,ClassMapperToTest> classMapper = mapper.addForClass(ClassMapperFromTest.class,ClassMapperToTest.class);
+		FrozenMapper frozenMapper = mapper.freeze();
+		assertThrows(IllegalStateException.class, ()->mapper.add(ClassMapperToTest.class,ClassMapperFromTest.class));
+		assertThrows(IllegalStateException.class, ()->frozenMapper.add(ClassMapperToTest.class,ClassMapperFromTest.class));
+		assertThrows(IllegalStateException.class, ()->frozenMapper.add(Integer.class,String.class,String::valueOf));
+		assertThrows(IllegalStateException.class, ()->frozenMapper.setConfig(new Configuration()));
+		assertThrows(IllegalStateException.class, ()->classMapper.ignore("nameFrom"));
+		assertThrows(IllegalStateException.class, ()->classMapper.addMapping().from("nameFrom",ClassMapperFromTest::getNameFrom).to("fullName",ClassMapperToTest::setFullName).create());
+		assertThat(frozenMapper.getAllMappings().size()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,107 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.impl.MappingContext;
+import from.FromGraph;
+import org.junit.jupiter.api.Test;
+import to.ToGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GraphMappingTest {
+
+	@Test
+	public void shouldMapSharedReferenceOnce() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableGraphMapping();
+		mapper.add(FromGraph.class, ToGraph.class);
+		FromGraph shared = new FromGraph("shared");
+		FromGraph root = new FromGraph("root");
+		root.setNext(shared);
+		root.setOther(shared);
+		ToGraph to = mapper.map(root, ToGraph.class);
+		assertThat(to.getNext()).isNotNull();
+		assertThat(to.getNext().getName()).isEqualTo("shared");
+		assertThat(to.getOther()).isSameAs(to.getNext());
+	}
+	@Test
+	public void shouldMapSharedReferenceTwiceWithoutGraphMapping() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromGraph.class, ToGraph.class);
+		FromGraph shared = new FromGraph("shared");
+		FromGraph root = new FromGraph("root");
+		root.setNext(shared);
+		root.setOther(shared);
+		ToGraph to = mapper.map(root, ToGraph.class);
+		assertThat(to.getOther()).isNotSameAs(to.getNext());
+		assertThat(to.getOther().getName()).isEqualTo(to.getNext().getName());
+	}
+	@Test
+	public void shouldPreserveCycles() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableGraphMapping();
+		mapper.add(FromGraph.class, ToGraph.class);
+		FromGraph first = new FromGraph("first");
+		FromGraph second = new FromGraph("second");
+		first.setNext(second);
+		second.setNext(first);
+		first.getChildren().add(first);
+		ToGraph to = mapper.map(first, ToGraph.class);
+		assertThat(to.getName()).isEqualTo("first");
+		assertThat(to.getNext().getName()).isEqualTo("second");
+		assertThat(to.getNext().getNext()).isSameAs(to);
+		assertThat(to.getChildren()).containsExactly(to);
+	}
+	@Test
+	public void shouldShareReferencesBetweenCollectionElements() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableGraphMapping();
+		mapper.add(FromGraph.class, ToGraph.class);
+		FromGraph shared = new FromGraph("shared");
+		FromGraph first = new FromGraph("first");
+		FromGraph second = new FromGraph("second");
+		first.setNext(shared);
+		second.setNext(shared);
+		List<ToGraph> result = mapper.mapList(Arrays.asList(first,second,first), ToGraph.class);
+		assertThat(result).hasSize(3);
+		assertThat(result.get(0).getNext()).isSameAs(result.get(1).getNext());
+		assertThat(result.get(2)).isSameAs(result.get(0));
+		assertThat(MappingContext.current()).isNull();
+	}
+	@Test
+	public void shouldShareReferencesBetweenElementsMappedInParallel() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableGraphMapping().setParallelChunkSize(1);
+		mapper.add(FromGraph.class, ToGraph.class);
+		FromGraph first = new FromGraph("first");
+		FromGraph second = new FromGraph("second");
+		first.setNext(second);
+		second.setNext(first);
+		List<ToGraph> list = mapper.mapCollectionParallel(Arrays.asList(first,second,first), new ArrayList<>(), ToGraph.class);
+		assertThat(list.get(2)).isSameAs(list.get(0));
+		assertThat(list.get(0).getNext()).isSameAs(list.get(1));
+		assertThat(list.get(1).getNext()).isSameAs(list.get(0));
+		ToGraph[] array = mapper.mapArrayParallel(new FromGraph[]{first,second,first}, ToGraph.class);
+		assertThat(array[2]).isSameAs(array[0]);
+		assertThat(array[0].getNext()).isSameAs(array[1]);
+		assertThat(MappingContext.current()).isNull();
+	}
+	@Test
+	public void shouldNotShareReferencesBetweenMappingOperations() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.config().enableGraphMapping();
+		mapper.add(FromGraph.class, ToGraph.class);
+		FromGraph from = new FromGraph("from");
+		ToGraph first = mapper.map(from, ToGraph.class);
+		ToGraph second = mapper.map(from, ToGraph.class);
+		assertThat(second).isNotSameAs(first);
+		assertThat(MappingContext.current()).isNull();
+	}
+
+}
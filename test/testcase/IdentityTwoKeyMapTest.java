@@ -0,0 +1,45 @@
+package testcase;
+
+import es.utils.doublekeymap.IdentityTwoKeyMap;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdentityTwoKeyMapTest {
+
+	@Test
+	public void shouldPutAndGetValue() {
+		IdentityTwoKeyMap<Class<?>,Class<?>,String> map = new IdentityTwoKeyMap<>();
+		assertThat(map.isEmpty()).isTrue();
+		assertThat(map.put(String.class,Integer.class,"first")).isNull();
+		assertThat(map.put(String.class,Long.class,"second")).isNull();
+		assertThat(map.put(String.class,Integer.class,"third")).isEqualTo("first");
+		assertThat(map.size()).isEqualTo(2);
+		assertThat(map.get(String.class,Integer.class)).isEqualTo("third");
+		assertThat(map.get(String.class,Long.class)).isEqualTo("second");
+		assertThat(map.get(Integer.class,String.class)).isNull();
+		assertThat(map.containsKey(String.class,Long.class)).isTrue();
+		assertThat(map.containsKey(Long.class,String.class)).isFalse();
+	}
+	@Test
+	public void shouldRemoveValue() {
+		IdentityTwoKeyMap<Class<?>,Class<?>,String> map = new IdentityTwoKeyMap<>();
+		map.put(String.class,Integer.class,"first");
+		map.put(String.class,Long.class,"second");
+		assertThat(map.remove(String.class,Integer.class)).isEqualTo("first");
+		assertThat(map.remove(String.class,Integer.class)).isNull();
+		assertThat(map.size()).isEqualTo(1);
+		map.clear();
+		assertThat(map.isEmpty()).isTrue();
+		assertThat(map.get(String.class,Long.class)).isNull();
+	}
+	@Test
+	public void shouldCompareKeysByIdentity() {
+		IdentityTwoKeyMap<String,String,String> map = new IdentityTwoKeyMap<>();
+		String key = "key";
+		map.put(key,key,"value");
+		assertThat(map.get(key,key)).isEqualTo("value");
+		assertThat(map.get(new String(key),key)).isNull();
+	}
+
+}
@@ -0,0 +1,55 @@
+package testcase;
+
+import es.utils.mapper.factory.InstantiatorFactory;
+import org.junit.jupiter.api.Test;
+import to.To;
+import to.ToWithNoEmptyConstructor;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InstantiatorFactoryTest {
+
+	@Test
+	public void shouldCreateNewInstances() throws ReflectiveOperationException {
+		Supplier<To> instantiator = InstantiatorFactory.instantiator(To.class);
+		To first = instantiator.get();
+		To second = instantiator.get();
+		assertThat(first).isNotNull().isEqualTo(new To());
+		assertThat(second).isNotSameAs(first);
+	}
+	@Test
+	public void shouldReuseTheInstantiatorOfTheSameType() throws ReflectiveOperationException {
+		assertThat(InstantiatorFactory.instantiator(To.class)).isSameAs(InstantiatorFactory.instantiator(To.class));
+	}
+	@Test
+	public void shouldThrowForTypeWithoutEmptyConstructor() {
+		assertThrows(NoSuchMethodException.class, ()->InstantiatorFactory.instantiator(ToWithNoEmptyConstructor.class));
+		NoSuchMethodException exception = assertThrows(NoSuchMethodException.class, ()->InstantiatorFactory.instantiator(List.class));
+		assertThat(exception.getMessage()).isEqualTo("java.util.List.<init>()");
+	}
+	@Test
+	public void shouldThrowANewExceptionAtEveryRequest() {
+		NoSuchMethodException first = assertThrows(NoSuchMethodException.class, ()->InstantiatorFactory.instantiator(ToWithNoEmptyConstructor.class));
+		NoSuchMethodException second = assertThrows(NoSuchMethodException.class, ()->InstantiatorFactory.instantiator(ToWithNoEmptyConstructor.class));
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getMessage()).isEqualTo(first.getMessage());
+		assertThat(second.getCause()).isInstanceOf(NoSuchMethodException.class).isSameAs(first.getCause());
+	}
+	@Test
+	public void shouldPropagateConstructorException() throws ReflectiveOperationException {
+		Supplier<Failing> instantiator = InstantiatorFactory.instantiator(Failing.class);
+		UnsupportedOperationException exception = assertThrows(UnsupportedOperationException.class, instantiator::get);
+		assertThat(exception.getMessage()).isEqualTo("Failing");
+	}
+
+	public static class Failing {
+		public Failing() {
+			throw new UnsupportedOperationException("Failing");
+		}
+	}
+
+}
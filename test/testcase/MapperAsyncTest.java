@@ -0,0 +1,119 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import from.ClassMapperFromTest;
+import org.junit.jupiter.api.Test;
+import to.ClassMapperToTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MapperAsyncTest {
+
+	@Test
+	public void shouldMapAsync() throws MappingException, InterruptedException, ExecutionException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		ClassMapperToTest to = mapper.mapAsync(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class).get();
+		assertThat(to.getNameTo()).isEqualTo("name");
+		assertThat(to.getSurnameTo()).isEqualTo("surname");
+	}
+	@Test
+	public void shouldMapAsyncNullInput() throws MappingException, InterruptedException, ExecutionException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		assertThat(mapper.mapAsync(null,ClassMapperToTest.class).get()).isNull();
+	}
+	@Test
+	public void shouldMapAsyncWithGivenExecutor() throws MappingException, InterruptedException, ExecutionException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		AtomicInteger executed = new AtomicInteger();
+		Executor executor = task->{
+			executed.incrementAndGet();
+			task.run();
+		};
+		CompletableFuture<ClassMapperToTest> future = mapper.mapAsync(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class,executor);
+		assertThat(future.isDone()).isTrue();
+		assertThat(future.get().getNameTo()).isEqualTo("name");
+		assertThat(executed.get()).isEqualTo(1);
+	}
+	@Test
+	public void shouldMapAsyncWithConfiguredExecutor() throws MappingException, InterruptedException, ExecutionException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		AtomicInteger executed = new AtomicInteger();
+		mapper.config().setAsyncExecutor(task->{
+			executed.incrementAndGet();
+			task.run();
+		});
+		mapper.mapAsync(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class).get();
+		assertThat(executed.get()).isEqualTo(1);
+	}
+	@Test
+	public void shouldCompleteExceptionallyWithoutMapping() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		CompletableFuture<ClassMapperFromTest> future = mapper.mapAsync(new ClassMapperToTest(),ClassMapperFromTest.class);
+		ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+		assertThat(exception.getCause()).isInstanceOf(MappingNotFoundException.class);
+	}
+	@Test
+	public void shouldCompleteExceptionallyWhenExecutorRejects() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		CompletableFuture<ClassMapperToTest> future = mapper.mapAsync(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class,task->{
+			throw new RejectedExecutionException("rejected");
+		});
+		ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+		assertThat(exception.getCause()).isInstanceOf(RejectedExecutionException.class);
+	}
+	@Test
+	public void shouldMapAllAsyncKeepingOrder() throws MappingException, InterruptedException, ExecutionException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		List<ClassMapperFromTest> input = new ArrayList<>();
+		for(int i=0; i<100; ++i) {
+			input.add(new ClassMapperFromTest("name"+i,"surname"+i));
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<ClassMapperToTest> result = mapper.mapAllAsync(input,ClassMapperToTest.class,executor).get();
+			assertThat(result).hasSize(100);
+			for(int i=0; i<100; ++i) {
+				assertThat(result.get(i).getNameTo()).isEqualTo("name"+i);
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+	@Test
+	public void shouldMapAllAsyncNullInput() throws MappingException, InterruptedException, ExecutionException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		assertThat(mapper.mapAllAsync(null,ClassMapperToTest.class).get()).isNull();
+	}
+	@Test
+	public void shouldCompleteExceptionallyIfAnyElementFails() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		List<Object> input = Arrays.asList(new ClassMapperFromTest("name","surname"),"not mapped");
+		CompletableFuture<List<ClassMapperToTest>> future = mapper.mapAllAsync(input,ClassMapperToTest.class);
+		ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+		assertThat(exception.getCause()).isInstanceOf(MappingNotFoundException.class);
+	}
+
+}
@@ -0,0 +1,130 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.impl.MapperObject;
+import es.utils.mapper.impl.object.DirectMapper;
+import from.ClassMapperFromTest;
+import org.junit.jupiter.api.Test;
+import to.ClassMapperToTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MapperConcurrencyTest {
+
+	private static final int THREADS = 16;
+	private static final int ITERATIONS = 2_000;
+
+	@Test
+	public void shouldMapConcurrentlyWhileBuilding() throws Exception {
+		for(boolean compiled : new boolean[] {false,true}) {
+			Mapper mapper = new Mapper();
+			if(compiled) {
+				mapper.config().enableCompiledMapping();
+			}
+			mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+			List<ClassMapperToTest> results = runConcurrently(() -> mapper.map(new ClassMapperFromTest("Pippo","Paperino"),ClassMapperToTest.class));
+			assertThat(results).hasSize(THREADS*ITERATIONS);
+			for(ClassMapperToTest to : results) {
+				assertThat(to.getNameTo()).isEqualTo("Pippo");
+				assertThat(to.getSurnameTo()).isEqualTo("Paperino");
+			}
+		}
+	}
+	@Test
+	public void shouldRegisterDirectMapperOnlyOnceUnderConcurrentLookup() throws Exception {
+		Mapper mapper = new Mapper();
+		List<MapperObject<Integer,Number>> results = runConcurrently(() -> mapper.getMappingBetween(Integer.class,Number.class));
+		Set<MapperObject<Integer,Number>> distinct = ConcurrentHashMap.newKeySet();
+		distinct.addAll(results);
+		assertThat(distinct).hasSize(1);
+		assertThat(mapper.getAllMappings().size()).isEqualTo(1);
+	}
+	@Test
+	public void shouldRegisterMappingsWhileMapping() throws Exception {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		mapper.build();
+		Class<?>[] types = {Integer.class,Long.class,Double.class,Float.class,Short.class,Byte.class,Character.class,Boolean.class};
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> registration = executor.submit(() -> {
+				for(Class<?> t1 : types) {
+					for(Class<?> t2 : types) {
+						register(mapper,t1,t2);
+					}
+				}
+			});
+			List<ClassMapperToTest> results = runConcurrently(() -> mapper.map(new ClassMapperFromTest("Pippo","Paperino"),ClassMapperToTest.class));
+			registration.get(30,TimeUnit.SECONDS);
+			for(ClassMapperToTest to : results) {
+				assertThat(to.getNameTo()).isEqualTo("Pippo");
+			}
+			assertThat(mapper.getAllMappings().size()).isEqualTo(1+types.length*types.length);
+			for(Class<?> t1 : types) {
+				for(Class<?> t2 : types) {
+					assertThat(mapper.hasMappingBetween(t1,t2)).isTrue();
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+	@Test
+	public void shouldActivateMappingsReplacedWhileMapping() throws Exception {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> registration = executor.submit(() -> {
+				for(int i=0; i<ITERATIONS; ++i) {
+					mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+				}
+				return null;
+			});
+			List<ClassMapperToTest> results = runConcurrently(() -> mapper.<ClassMapperFromTest,ClassMapperToTest>map(new ClassMapperFromTest("Pippo","Paperino")));
+			registration.get(30,TimeUnit.SECONDS);
+			for(ClassMapperToTest to : results) {
+				assertThat(to.getNameTo()).isEqualTo("Pippo");
+				assertThat(to.getSurnameTo()).isEqualTo("Paperino");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static <T,U> void register(Mapper mapper, Class<T> from, Class<U> to) {
+		mapper.add(new DirectMapper<T,U>(from,to,in->null));
+	}
+
+	private static <R> List<R> runConcurrently(Callable<R> task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<List<R>>> futures = new ArrayList<>();
+			for(int i=0; i<THREADS; ++i) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					List<R> partial = new ArrayList<>(ITERATIONS);
+					for(int j=0; j<ITERATIONS; ++j) {
+						partial.add(task.call());
+					}
+					return partial;
+				}));
+			}
+			start.countDown();
+			List<R> result = new ArrayList<>();
+			for(Future<List<R>> future : futures) {
+				result.addAll(future.get(30,TimeUnit.SECONDS));
+			}
+			return result;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -0,0 +1,95 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import from.ClassMapperFromTest;
+import org.junit.jupiter.api.Test;
+import to.ClassMapperToTest;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MapperParallelTest {
+
+	private static final int SIZE = 1_000;
+
+	private static List<ClassMapperFromTest> createInput() {
+		List<ClassMapperFromTest> input = new ArrayList<>();
+		for(int i=0; i<SIZE; ++i) {
+			input.add(new ClassMapperFromTest("name"+i,"surname"+i));
+		}
+		return input;
+	}
+
+	@Test
+	public void shouldMapCollectionInParallelPreservingOrder() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().setParallelChunkSize(7);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			mapper.config().setParallelPool(pool);
+			List<ClassMapperToTest> result = mapper.mapCollectionParallel(createInput(),new LinkedList<>(),ClassMapperToTest.class);
+			assertThat(result).hasSize(SIZE);
+			int i = 0;
+			for(ClassMapperToTest to : result) {
+				assertThat(to.getNameTo()).isEqualTo("name"+i);
+				assertThat(to.getSurnameTo()).isEqualTo("surname"+i);
+				++i;
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+	@Test
+	public void shouldMapCollectionInParallelWithCollectionType() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().setParallelChunkSize(7);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		Set<ClassMapperToTest> result = mapper.mapCollectionParallel(createInput(),HashSet.class,ClassMapperToTest.class);
+		assertThat(result).hasSize(SIZE);
+	}
+	@Test
+	public void shouldMapArrayInParallelPreservingOrder() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().setParallelChunkSize(7);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		ClassMapperFromTest[] input = createInput().toArray(new ClassMapperFromTest[SIZE]);
+		ClassMapperToTest[] result = mapper.mapArrayParallel(input,ClassMapperToTest.class);
+		assertThat(result).hasSize(SIZE);
+		for(int i=0; i<SIZE; ++i) {
+			assertThat(result[i].getNameTo()).isEqualTo("name"+i);
+		}
+	}
+	@Test
+	public void shouldMapSmallInputOnCallingThread() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().setParallelChunkSize(7);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		mapper.config().setParallelChunkSize(SIZE);
+		List<ClassMapperToTest> result = mapper.mapCollectionParallel(createInput(),new ArrayList<>(),ClassMapperToTest.class);
+		assertThat(result).hasSize(SIZE);
+		assertThat(result.get(SIZE-1).getNameTo()).isEqualTo("name"+(SIZE-1));
+	}
+	@Test
+	public void shouldHandleEmptyAndNullInputs() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().setParallelChunkSize(7);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		assertThat(mapper.mapCollectionParallel((List<ClassMapperFromTest>)null,new ArrayList<>(),ClassMapperToTest.class)).isNull();
+		assertThat(mapper.mapCollectionParallel(new ArrayList<ClassMapperFromTest>(),new ArrayList<>(),ClassMapperToTest.class)).isEmpty();
+		assertThat(mapper.mapArrayParallel((ClassMapperFromTest[])null,ClassMapperToTest.class)).isNull();
+		assertThat(mapper.mapCollectionParallel(createInput(),new ArrayList<>(),String.class)).isEmpty();
+	}
+	@Test
+	public void shouldRejectInvalidChunkSize() {
+		Mapper mapper = new Mapper();
+		assertThrows(IllegalArgumentException.class, ()->mapper.config().setParallelChunkSize(0));
+		assertThat(mapper.config().getParallelChunkSize()).isEqualTo(1024);
+		assertThat(mapper.config().getParallelPool()).isSameAs(ForkJoinPool.commonPool());
+	}
+
+}
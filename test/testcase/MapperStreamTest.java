@@ -0,0 +1,82 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import from.ClassMapperFromTest;
+import org.junit.jupiter.api.Test;
+import to.ClassMapperToTest;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MapperStreamTest {
+
+	@Test
+	public void shouldMapStreamLazily() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		AtomicInteger generated = new AtomicInteger();
+		Stream<ClassMapperFromTest> input = Stream.generate(()->new ClassMapperFromTest("name"+generated.get(),"surname"+generated.getAndIncrement()));
+		List<ClassMapperToTest> result = mapper.mapStream(input,ClassMapperToTest.class).limit(5).collect(Collectors.toList());
+		assertThat(result).hasSize(5);
+		assertThat(generated.get()).isEqualTo(5);
+		for(int i=0; i<5; ++i) {
+			assertThat(result.get(i).getNameTo()).isEqualTo("name"+i);
+			assertThat(result.get(i).getSurnameTo()).isEqualTo("surname"+i);
+		}
+	}
+	@Test
+	public void shouldMapParallelStream() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		List<String> result = mapper.mapStream(IntStream.range(0,10_000).parallel().mapToObj(i->new ClassMapperFromTest("name"+i,"surname"+i)),ClassMapperToTest.class)
+									.map(ClassMapperToTest::getNameTo)
+									.collect(Collectors.toList());
+		assertThat(result).hasSize(10_000);
+		assertThat(result.get(9_999)).isEqualTo("name9999");
+	}
+	@Test
+	public void shouldMapStreamWithMissingMappingsAndNulls() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		Stream<Object> input = Stream.of(new ClassMapperFromTest("name","surname"),null,"not mapped",new ClassMapperFromTest("name2","surname2"));
+		List<ClassMapperToTest> result = mapper.mapStream(input,ClassMapperToTest.class).collect(Collectors.toList());
+		assertThat(result).hasSize(4);
+		assertThat(result.get(0).getNameTo()).isEqualTo("name");
+		assertThat(result.get(1)).isNull();
+		assertThat(result.get(2)).isNull();
+		assertThat(result.get(3).getNameTo()).isEqualTo("name2");
+		assertThat(mapper.mapStream(null,ClassMapperToTest.class)).isNull();
+	}
+	@Test
+	public void shouldMapStreamWithResolvedMapping() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		List<ClassMapperToTest> result = mapper.mapStream(Stream.of(new ClassMapperFromTest("name","surname")),ClassMapperFromTest.class,ClassMapperToTest.class).collect(Collectors.toList());
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).getNameTo()).isEqualTo("name");
+		assertThrows(MappingNotFoundException.class, ()->mapper.mapStream(Stream.of("value"),String.class,ClassMapperToTest.class));
+	}
+	@Test
+	public void shouldMapIteratorLazily() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		List<ClassMapperFromTest> input = new ArrayList<>(Arrays.asList(new ClassMapperFromTest("name1","surname1"),new ClassMapperFromTest("name2","surname2")));
+		Iterator<ClassMapperToTest> result = mapper.mapIterator(input.iterator(),ClassMapperToTest.class);
+		assertThat(result.hasNext()).isTrue();
+		assertThat(result.next().getNameTo()).isEqualTo("name1");
+		result.remove();
+		assertThat(result.next().getNameTo()).isEqualTo("name2");
+		assertThat(result.hasNext()).isFalse();
+		assertThat(input).hasSize(1);
+		assertThat(mapper.mapIterator(null,ClassMapperToTest.class)).isNull();
+	}
+
+}
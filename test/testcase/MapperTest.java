@@ -60,6 +60,16 @@ public class MapperTest {
 		assertThat(mappingBetweenToFrom).isNull();
 	}
 	@Test
+	public void shouldNotChangeMapperWhenModifyingAllMappings() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(From.class, To.class);
+		mapper.getAllMappings().clear();
+		assertThat(mapper.getAllMappings().size()).isEqualTo(1);
+		assertThat(mapper.hasMappingBetween(From.class, To.class)).isTrue();
+		assertThat(mapper.getRegisteredMapping(From.class, To.class)).isSameAs(mapper.getMappingBetween(From.class, To.class));
+		assertThat(mapper.getRegisteredMapping(Integer.class, Number.class)).isNull();
+	}
+	@Test
 	public void shouldAddClassMapper() throws MappingException {
 		Mapper mapper = new Mapper();
 		ClassMapper<From,To> classMapper = new ClassMapper<>(From.class,To.class);
@@ -204,6 +214,25 @@ public class MapperTest {
 		assertThat(exception.getMessage()).contains("Found 2 mapping(s) from class from.From. Cannot uniquely map the input "+from+".");
 	}
 	@Test
+	public void shouldMapFromInputOnlyAfterReplacingTheSameMapping() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(From.class, To.class);
+		mapper.add(From.class, To.class);
+		From from = new From("Pippo","Paperino",new From("InnerPippo","InnerPaperino"));
+		To result = mapper.map(from);
+		assertThat(result).isNotNull().isInstanceOf(To.class);
+		assertThat(mapper.<From,To>mapAsOptional(from)).isPresent();
+	}
+	@Test
+	public void shouldReturnEmptyOptionalFromInputOnlyAndMultipleMappingPresent() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(From.class, To.class);
+		mapper.add(From.class, String.class);
+		From from = new From("Pippo","Paperino",new From("InnerPippo","InnerPaperino"));
+		assertThat(mapper.mapAsOptional(from)).isNotPresent();
+		assertThat(mapper.mapAsOptional("ciao")).isNotPresent();
+	}
+	@Test
 	public void shouldNotMapWithNullInput() throws MappingException, MappingNotFoundException {
 		Mapper mapper = new Mapper();
 		mapper.add(From.class, To.class);
@@ -726,6 +755,30 @@ public class MapperTest {
 		ImplTo to = mapper.map(from, ImplTo.class);
 		assertThat(to.complexValue).isNotNull();
 	}
+	@Test
+	public void shouldMapComplexValueWithReplacedMapping() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(From.class,To.class)
+			  .add(ImplFrom.class,ImplTo.class);
+		ImplFrom from = new ImplFrom();
+		assertThat(mapper.map(from, ImplTo.class).complexValue).isNotNull();
+		To replaced = new To();
+		mapper.add(From.class,To.class,f->replaced);
+		assertThat(mapper.map(from, ImplTo.class).complexValue).isSameAs(replaced);
+	}
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldMapComplexValueOfSubclassOnlyWithItsMapping() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.add(From.class,To.class)
+			  .add(ImplFrom.class,ImplTo.class);
+		ImplFrom from = new ImplFrom();
+		from.complexValue = new From("Pippo","Paperino") {};
+		assertThat(mapper.map(from, ImplTo.class).complexValue).isNull();
+		To subclassTo = new To();
+		mapper.add((Class<From>)from.complexValue.getClass(),To.class,f->subclassTo);
+		assertThat(mapper.map(from, ImplTo.class).complexValue).isSameAs(subclassTo);
+	}
 
 	@Test
 	public void shouldReturnNamesForClass() throws MappingException {
@@ -751,4 +804,24 @@ public class MapperTest {
 		assertThat(exception.getMessage()).isEqualTo("Destination class does not have a public empty constructor. Please provide a public empty constructor or a Supplier in the configuration such that the mapping can be done.");
 	}
 
+	/* Heterogeneous collections */
+	@Test
+	public void shouldMapEachElementOfCollectionWithItsOwnMapping() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(From.class,String.class,from->"From");
+		mapper.add(SubFrom.class,String.class,from->"SubFrom");
+		List<Object> origin = Arrays.asList(new SubFrom("name","surname"),new From("name","surname"),"plain",null,42,new SubFrom("name2","surname2"));
+		List<String> result = mapper.mapCollection(origin,new ArrayList<>(),String.class);
+		assertThat(result).containsExactly("SubFrom","From","plain",null,"SubFrom");
+		List<String> resultParallel = mapper.mapCollectionParallel(origin,new ArrayList<>(),String.class);
+		assertThat(resultParallel).containsExactly("SubFrom","From","plain",null,"SubFrom");
+	}
+	@Test
+	public void shouldMapCollectionElementWithSuperclassMapping() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(From.class,String.class,from->"From");
+		List<From> origin = Arrays.asList(new SubFrom("name","surname"),new From("name","surname"));
+		assertThat(mapper.mapCollection(origin,new ArrayList<>(),String.class)).containsExactly("From","From");
+	}
+	
 }
@@ -0,0 +1,129 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.metrics.*;
+import from.ClassMapperFromTest;
+import org.junit.jupiter.api.Test;
+import to.ClassMapperToTest;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappingMetricsTest {
+
+	private static final String MAPPING_KEY = "from.ClassMapperFromTest->to.ClassMapperToTest";
+
+	@Test
+	public void shouldRecordMappingAndElements() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+		mapper.config().setMetrics(metrics);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		mapper.map(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class);
+		mapper.map(new ClassMapperFromTest("name",null),ClassMapperToTest.class);
+		MetricStats mappingStats = metrics.getMappingStats(ClassMapperFromTest.class,ClassMapperToTest.class);
+		assertThat(mappingStats.getCount()).isEqualTo(2L);
+		assertThat(mappingStats.getFailureCount()).isEqualTo(0L);
+		assertThat(mappingStats.getTotalNanos()).isGreaterThan(0L);
+		assertThat(mappingStats.getPercentileNanos(99)).isGreaterThanOrEqualTo((long)mappingStats.getMeanNanos()/2);
+		MetricStats nameStats = metrics.getElementStats(ClassMapperFromTest.class,ClassMapperToTest.class,"nameTo");
+		assertThat(nameStats.getCount()).isEqualTo(2L);
+		assertThat(nameStats.getNullValueRate()).isEqualTo(0d);
+		MetricStats surnameStats = metrics.getElementStats(ClassMapperFromTest.class,ClassMapperToTest.class,"surnameTo");
+		assertThat(surnameStats.getNullValueCount()).isEqualTo(1L);
+		assertThat(surnameStats.getNullValueRate()).isEqualTo(0.5d);
+		assertThat(metrics.getAllStats().keySet()).contains(new MetricKey(ClassMapperFromTest.class,ClassMapperToTest.class,null));
+	}
+	@Test
+	public void shouldRecordDefaultValues() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+		mapper.config().setMetrics(metrics);
+		mapper.addForClass(ClassMapperFromTest.class,ClassMapperToTest.class)
+			  .addMapping().from("fullName",ClassMapperFromTest::getSurnameFrom).defaultOutput(()->"none").to("fullNameTo",ClassMapperToTest::setFullName).create();
+		ClassMapperToTest to = mapper.map(new ClassMapperFromTest("name",null),ClassMapperToTest.class);
+		assertThat(to.getFullName()).isEqualTo("none");
+		MetricStats stats = metrics.getElementStats(ClassMapperFromTest.class,ClassMapperToTest.class,"fullNameTo");
+		assertThat(stats.getDefaultValueCount()).isEqualTo(1L);
+		assertThat(stats.getDefaultValueRate()).isEqualTo(1d);
+	}
+	@Test
+	public void shouldRecordFailures() throws MappingException {
+		Mapper mapper = new Mapper();
+		InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+		mapper.config().setMetrics(metrics);
+		mapper.addForClass(ClassMapperFromTest.class,ClassMapperToTest.class)
+			  .addMapping().<String>from("failing",f->{throw new IllegalStateException("failing");}).to("failingTo",ClassMapperToTest::setFullName).create();
+		assertThrows(MappingException.class, ()->mapper.map(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class));
+		assertThat(metrics.getMappingStats(ClassMapperFromTest.class,ClassMapperToTest.class).getFailureCount()).isEqualTo(1L);
+		assertThat(metrics.getElementStats(ClassMapperFromTest.class,ClassMapperToTest.class,"failingTo").getFailureCount()).isEqualTo(1L);
+	}
+	@Test
+	public void shouldSampleAllocations() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		InMemoryMappingMetrics metrics = new InMemoryMappingMetrics(1);
+		mapper.config().setMetrics(metrics);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		mapper.map(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class);
+		MetricStats stats = metrics.getMappingStats(ClassMapperFromTest.class,ClassMapperToTest.class);
+		if(AllocationMeter.isSupported()) {
+			assertThat(stats.getAllocationSampleCount()).isEqualTo(1L);
+			assertThat(stats.getMeanAllocatedBytes()).isGreaterThanOrEqualTo(0d);
+		}
+		else {
+			assertThat(stats.getMeanAllocatedBytes()).isEqualTo(-1d);
+		}
+	}
+	@Test
+	public void shouldNotRecordWhenDisabled() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+		mapper.config().setMetrics(metrics);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		mapper.config().setMetrics(null);
+		mapper.map(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class);
+		assertThat(metrics.getMappingStats(ClassMapperFromTest.class,ClassMapperToTest.class)).isNull();
+		assertThat(metrics.getAllStats()).isEmpty();
+	}
+	@Test
+	public void shouldResetStats() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+		mapper.config().setMetrics(metrics);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		mapper.map(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class);
+		metrics.reset();
+		MetricStats stats = metrics.getMappingStats(ClassMapperFromTest.class,ClassMapperToTest.class);
+		assertThat(stats.getCount()).isEqualTo(0L);
+		assertThat(stats.getPercentileNanos(50)).isEqualTo(0L);
+	}
+	@Test
+	public void shouldExposeStatsThroughJmx() throws MappingException, MappingNotFoundException, JMException {
+		Mapper mapper = new Mapper("jmxMapper");
+		InMemoryMappingMetrics metrics = new InMemoryMappingMetrics();
+		mapper.config().setMetrics(metrics);
+		mapper.add(ClassMapperFromTest.class,ClassMapperToTest.class);
+		mapper.map(new ClassMapperFromTest("name","surname"),ClassMapperToTest.class);
+		JmxMappingMetrics mbean = new JmxMappingMetrics(metrics,mapper.getMapperName()).register();
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			assertThat(server.isRegistered(mbean.getObjectName())).isTrue();
+			Map<String,Long> counts = mbean.getInvocationCounts();
+			assertThat(counts.get(MAPPING_KEY)).isEqualTo(1L);
+			assertThat(counts.get(MAPPING_KEY+"#nameTo")).isEqualTo(1L);
+			assertThat(mbean.getNullValueRates().containsKey(MAPPING_KEY)).isFalse();
+			assertThat(server.getAttribute(mbean.getObjectName(),"InvocationCounts")).isNotNull();
+		} finally {
+			mbean.unregister();
+		}
+		assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(mbean.getObjectName())).isFalse();
+	}
+
+}
@@ -0,0 +1,91 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.impl.object.ClassMapper;
+import es.utils.mapper.plan.*;
+import from.FromGraph;
+import from.FromPlan;
+import org.junit.jupiter.api.Test;
+import to.ToGraph;
+import to.ToPlan;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappingPlanTest {
+
+	@Test
+	public void shouldDescribeEveryDefaultElementMapping() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromGraph.class, ToGraph.class);
+		mapper.add(FromPlan.class, ToPlan.class);
+		MappingPlan plan = mapper.getMappingPlan(FromPlan.class, ToPlan.class).get();
+		Map<String,ElementPlan> elements = byDestName(plan);
+		assertThat(plan.fromClass()).isEqualTo(FromPlan.class);
+		assertThat(plan.toClass()).isEqualTo(ToPlan.class);
+
+		assertThat(elements.get("count").getAccessStrategy()).isEqualTo(AccessStrategy.PRIMITIVE_COPY);
+		assertThat(elements.get("count").getDefaultValuePolicy()).isEqualTo(DefaultValuePolicy.NONE);
+		assertThat(elements.get("count").getCostClass()).isEqualTo(CostClass.LOW);
+
+		assertThat(elements.get("boxedCount").getAccessStrategy()).isEqualTo(AccessStrategy.METHOD_HANDLE);
+		assertThat(elements.get("boxedCount").getTransformerKind()).isEqualTo(TransformerKind.IDENTITY);
+		assertThat(elements.get("boxedCount").isBoxed()).isTrue();
+		assertThat(elements.get("boxedCount").getCostClass()).isEqualTo(CostClass.MEDIUM);
+
+		assertThat(elements.get("name").getTransformerKind()).isEqualTo(TransformerKind.IDENTITY);
+		assertThat(elements.get("name").isBoxed()).isFalse();
+		assertThat(elements.get("name").getFromType()).isEqualTo(String.class);
+		assertThat(elements.get("name").getDefaultValuePolicy()).isEqualTo(DefaultValuePolicy.INPUT_AND_OUTPUT);
+		assertThat(elements.get("name").getCostClass()).isEqualTo(CostClass.LOW);
+
+		assertThat(elements.get("tags").getTransformerKind()).isEqualTo(TransformerKind.COLLECTION);
+		assertThat(elements.get("graph").getTransformerKind()).isEqualTo(TransformerKind.NESTED_MAPPING);
+		assertThat(elements.get("graph").getCostClass()).isEqualTo(CostClass.HIGH);
+		assertThat(plan.getElements().stream().anyMatch(element->element.getTransformerKind()==TransformerKind.ARRAY)).isTrue();
+		assertThat(plan.getCostClass()).isEqualTo(CostClass.HIGH);
+	}
+	@Test
+	public void shouldDescribeCustomElementMapping() throws MappingException {
+		Mapper mapper = new Mapper();
+		ClassMapper<FromPlan,ToPlan> classMapper = mapper.addForClass(FromPlan.class, ToPlan.class);
+		classMapper.addMapping().<String>from("name", FromPlan::getName).to("label", ToPlan::setLabel).create();
+		ElementPlan label = byDestName(mapper.getMappingPlan(FromPlan.class, ToPlan.class).get()).get("label");
+		assertThat(label.getAccessStrategy()).isEqualTo(AccessStrategy.CUSTOM);
+		assertThat(label.getTransformerKind()).isEqualTo(TransformerKind.CUSTOM);
+		assertThat(label.getFromType()).isNull();
+		assertThat(label.getCostClass()).isEqualTo(CostClass.MEDIUM);
+	}
+	@Test
+	public void shouldReflectConfiguration() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.config().<Object>setCloner(obj->obj).enableCompiledMapping();
+		mapper.add(FromPlan.class, ToPlan.class);
+		MappingPlan plan = mapper.getMappingPlan(FromPlan.class, ToPlan.class).get();
+		Map<String,ElementPlan> elements = byDestName(plan);
+		assertThat(plan.isCompiled()).isTrue();
+		assertThat(elements.get("name").isDeepCopied()).isTrue();
+		assertThat(elements.get("name").getCostClass()).isEqualTo(CostClass.HIGH);
+		assertThat(elements.get("count").isDeepCopied()).isFalse();
+	}
+	@Test
+	public void shouldListOnlyClassMappers() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromPlan.class, ToPlan.class);
+		mapper.add(String.class, Integer.class, Integer::valueOf);
+		assertThat(mapper.getMappingPlans()).hasSize(1);
+		assertThat(mapper.getMappingPlan(String.class, Integer.class).isPresent()).isFalse();
+		String explain = mapper.explain();
+		assertThat(explain).contains("MappingPlan[from.FromPlan -> to.ToPlan]");
+		assertThat(explain).contains("count(int) -> count(int) [LOW] access=PRIMITIVE_COPY");
+	}
+
+	private static Map<String,ElementPlan> byDestName(MappingPlan plan) {
+		return plan.getElements().stream().collect(Collectors.toMap(ElementPlan::getDestName,Function.identity(),(a,b)->a));
+	}
+
+}
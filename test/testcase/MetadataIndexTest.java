@@ -0,0 +1,159 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.holder.FieldHolder;
+import es.utils.mapper.index.ClassMetadata;
+import es.utils.mapper.index.FieldMetadata;
+import es.utils.mapper.index.MetadataIndex;
+import es.utils.mapper.index.MetadataIndexProcessor;
+import from.From;
+import from.FromSelectiveCopy;
+import org.junit.jupiter.api.Test;
+import to.To;
+import to.ToSelectiveDeepCopy;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.*;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetadataIndexTest {
+
+	@Test
+	public void shouldWriteAndReadIndex() throws IOException {
+		MetadataIndex index = MetadataIndex.of(From.class, To.class);
+		StringWriter writer = new StringWriter();
+		index.write(writer);
+		MetadataIndex read = MetadataIndex.read(new StringReader(writer.toString()));
+		assertThat(read.size()).isEqualTo(2);
+		assertThat(read.get(From.class)).isEqualTo(index.get(From.class));
+		assertThat(read.get(To.class)).isEqualTo(index.get(To.class));
+	}
+	@Test
+	public void shouldIndexAnnotations() throws NoSuchFieldException {
+		MetadataIndex index = MetadataIndex.of(From.class);
+		FieldMetadata fromCollection2 = index.get(From.class.getDeclaredField("fromCollection2"));
+		assertThat(fromCollection2.getAliases()).containsExactly("innerCollection2");
+		assertThat(fromCollection2.getElementType()).isEqualTo(From.class.getName());
+		assertThat(index.get(From.class.getDeclaredField("date2")).getConverters()).containsExactly("converter.ConverterDateTimestamp");
+		assertThat(index.get(From.class.getDeclaredField("ignoredField")).isIgnored()).isTrue();
+		assertThat(index.get(From.class.getDeclaredField("ignoredField2")).isIgnored()).isFalse();
+	}
+	@Test
+	public void shouldIndexDeepCopy() throws NoSuchFieldException, IOException {
+		MetadataIndex index = MetadataIndex.of(FromSelectiveCopy.class, ToSelectiveDeepCopy.class, From.class);
+		assertThat(index.get(FromSelectiveCopy.class.getDeclaredField("copied")).getDeepCopy()).isTrue();
+		assertThat(index.get(FromSelectiveCopy.class.getDeclaredField("shared")).getDeepCopy()).isFalse();
+		assertThat(index.get(FromSelectiveCopy.class.getDeclaredField("values")).getDeepCopy()).isFalse();
+		assertThat(index.get(ToSelectiveDeepCopy.class.getDeclaredField("date")).getDeepCopy()).isTrue();
+		assertThat(index.get(ToSelectiveDeepCopy.class.getDeclaredField("name")).getDeepCopy()).isFalse();
+		assertThat(index.get(From.class.getDeclaredField("name")).getDeepCopy()).isNull();
+		StringWriter writer = new StringWriter();
+		index.write(writer);
+		MetadataIndex read = MetadataIndex.read(new StringReader(writer.toString()));
+		assertThat(read.get(FromSelectiveCopy.class)).isEqualTo(index.get(FromSelectiveCopy.class));
+		assertThat(read.get(ToSelectiveDeepCopy.class)).isEqualTo(index.get(ToSelectiveDeepCopy.class));
+	}
+	@Test
+	public void shouldCreateSameFieldHoldersWithIndex() {
+		Mapper reflective = new Mapper();
+		reflective.config().setMetadataIndex(MetadataIndex.empty());
+		Mapper indexed = new Mapper();
+		indexed.config().setMetadataIndex(MetadataIndex.of(From.class, To.class, FromSelectiveCopy.class, ToSelectiveDeepCopy.class));
+		for(Class<?> type : Arrays.asList(From.class, To.class, FromSelectiveCopy.class, ToSelectiveDeepCopy.class)) {
+			Map<String,FieldHolder> expected = reflective.getFieldsHolderFromCache(type);
+			Map<String,FieldHolder> actual = indexed.getFieldsHolderFromCache(type);
+			assertThat(actual.keySet()).isEqualTo(expected.keySet());
+			for(String name : expected.keySet()) {
+				assertThat(actual.get(name).getAliases()).isEqualTo(expected.get(name).getAliases());
+				assertThat(actual.get(name).getConverters().size()).isEqualTo(expected.get(name).getConverters().size());
+				assertThat(actual.get(name).getCollectionType()).isEqualTo(expected.get(name).getCollectionType());
+				assertThat(actual.get(name).<Object>getGenericElementType()).isEqualTo(expected.get(name).getGenericElementType());
+				assertThat(actual.get(name).getDeepCopy()).isEqualTo(expected.get(name).getDeepCopy());
+			}
+		}
+	}
+	@Test
+	public void shouldMapWithIndex() throws MappingException, MappingNotFoundException {
+		Mapper mapper = new Mapper();
+		mapper.config().setMetadataIndex(MetadataIndex.of(From.class, To.class));
+		mapper.add(From.class, To.class);
+		Mapper reflective = new Mapper();
+		reflective.config().setMetadataIndex(MetadataIndex.empty());
+		reflective.add(From.class, To.class);
+		assertThat(mapper.map(new From(), To.class).toString()).isEqualTo(reflective.map(new From(), To.class).toString());
+	}
+	@Test
+	public void shouldUseIndexInsteadOfAnnotations() throws NoSuchFieldException {
+		FieldMetadata name = new FieldMetadata("name", true, Collections.emptyList(), Collections.emptyList(), false, null, null, null);
+		Mapper mapper = new Mapper();
+		mapper.config().setMetadataIndex(new MetadataIndex(Collections.singletonList(new ClassMetadata(From.class.getName(), Collections.singletonList(name)))));
+		Map<String,FieldHolder> fields = mapper.getFieldsHolderFromCache(From.class);
+		assertThat(fields.containsKey("name")).isFalse();
+		assertThat(fields.containsKey("surname")).isTrue();
+		assertThat(fields.containsKey("innerCollection")).isTrue();
+		assertThat(fields.containsKey("ignoredField")).isFalse();
+	}
+	@Test
+	public void shouldCreateIndexWithAnnotationProcessor() throws IOException, ClassNotFoundException {
+		String source = String.join("\n",
+				"package sample;",
+				"import es.utils.mapper.annotation.*;",
+				"import java.util.*;",
+				"@IgnoreField(\"skipped\")",
+				"public class Sample {",
+				"	@AliasNames({\"alias\",\"not valid\"}) private String name;",
+				"	@Converter(converter.ConverterDateTimestamp.class) private Date date;",
+				"	@Default(\"value\") private String withDefault;",
+				"	@CollectionType(LinkedList.class) private List<String> list;",
+				"	private List<? extends Number> numbers;",
+				"	private Map<String,String> map;",
+				"	private List<List<String>> nested;",
+				"	private String skipped;",
+				"	@IgnoreField private String ignored;",
+				"	@DeepCopy(ignore=true) private Date shared;",
+				"	@DeepCopy(ignoreAllExceptFields=\"samples\") public static class Inner { private Set<Sample> samples; private Date date; }",
+				"}");
+		Path output = Files.createTempDirectory("metadata-index");
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///sample/Sample.java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return source;
+			}
+		};
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, null,
+				Arrays.asList("-d", output.toString(), "-classpath", System.getProperty("java.class.path")), null, Collections.singletonList(file));
+		task.setProcessors(Collections.singletonList(new MetadataIndexProcessor()));
+		assertThat(task.call()).isTrue();
+
+		MetadataIndex generated;
+		try(Reader reader = Files.newBufferedReader(output.resolve(MetadataIndex.RESOURCE), StandardCharsets.UTF_8)) {
+			generated = MetadataIndex.read(reader);
+		}
+		try(URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+			assertThat(MetadataIndex.load(classLoader).size()).isEqualTo(2);
+			Class<?> sample = classLoader.loadClass("sample.Sample");
+			Class<?> inner = classLoader.loadClass("sample.Sample$Inner");
+			assertThat(generated.get(sample)).isEqualTo(MetadataIndex.of(sample).get(sample));
+			assertThat(generated.get(inner).getField("samples").getElementType()).isEqualTo("sample.Sample");
+			assertThat(generated.get(inner).getField("samples").getDeepCopy()).isTrue();
+			assertThat(generated.get(inner).getField("date").getDeepCopy()).isFalse();
+		}
+	}
+
+}
@@ -38,5 +38,14 @@ public class PairKeyTest {
 		PairKey<String,String> pk2 = new PairKey<String, String>("Pippo","Paperino");
 		assertThat(pk1.equals(pk2)).isTrue();
 	}
+	@Test
+	public void shouldHaveSameHashCodeForSameValues() {
+		PairKey<String,String> pk1 = new PairKey<String, String>("Pippo","Paperino");
+		PairKey<String,String> pk2 = new PairKey<String, String>("Pippo","Paperino");
+		PairKey<String,String> pk3 = new PairKey<String, String>(null,null);
+		assertThat(pk1.hashCode()).isEqualTo(pk2.hashCode());
+		assertThat(pk1.hashCode()).isEqualTo(java.util.Objects.hash("Pippo","Paperino"));
+		assertThat(pk3.hashCode()).isEqualTo(java.util.Objects.hash(null,null));
+	}
 
 }
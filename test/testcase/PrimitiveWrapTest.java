@@ -3,10 +3,18 @@ package testcase;
 import es.utils.mapper.Mapper;
 import es.utils.mapper.exception.MappingException;
 import es.utils.mapper.exception.MappingNotFoundException;
+import es.utils.mapper.impl.element.ElementMapper;
+import es.utils.mapper.impl.element.PrimitiveElementMapper;
+import es.utils.mapper.impl.object.ClassMapper;
+import es.utils.mapper.utils.MapperUtil;
+import from.FromPrimitives;
 import from.FromPrimitivesWrap;
 import org.junit.jupiter.api.Test;
+import to.ToPrimitives;
 import to.ToPrimitivesWrap;
 
+import java.util.Optional;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class PrimitiveWrapTest {
@@ -30,4 +38,49 @@ public class PrimitiveWrapTest {
 
 	}
 
+	@Test
+	public void shouldCopyPrimitivesWithoutBoxing() throws MappingException, MappingNotFoundException {
+		for(boolean compiled : new boolean[] {false,true}) {
+			Mapper mapper = new Mapper();
+			if(compiled) {
+				mapper.config().enableCompiledMapping();
+			}
+			ClassMapper<FromPrimitives,ToPrimitives> classMapper = mapper.addForClass(FromPrimitives.class,ToPrimitives.class);
+			ToPrimitives to = mapper.map(new FromPrimitives(),ToPrimitives.class);
+
+			assertThat(to.isBooleanValue()).isTrue();
+			assertThat(to.getByteValue()).isEqualTo((byte)1);
+			assertThat(to.getShortValue()).isEqualTo((short)2);
+			assertThat(to.getCharValue()).isEqualTo('c');
+			assertThat(to.getIntValue()).isEqualTo(3);
+			assertThat(to.getLongValue()).isEqualTo(4L);
+			assertThat(to.getFloatValue()).isEqualTo(5.5f);
+			assertThat(to.getDoubleValue()).isEqualTo(6.5d);
+			assertThat(to.getIntToLong()).isEqualTo(7L);
+			assertThat(to.getFloatToDouble()).isEqualTo(8.5d);
+			assertThat(to.getCharToInt()).isEqualTo(65);
+			assertThat(to.getLongToInt()).isEqualTo(0);
+
+			Optional<ElementMapper<FromPrimitives,Object,Object,ToPrimitives>> intMapping = classMapper.getMapping("intValue");
+			assertThat(intMapping.isPresent()).isTrue();
+			assertThat(intMapping.get()).isInstanceOf(PrimitiveElementMapper.class);
+			assertThat(classMapper.getMapping("longToInt").isPresent()).isFalse();
+		}
+	}
+	@Test
+	public void shouldCheckPrimitiveAssignable() {
+		assertThat(MapperUtil.isPrimitiveAssignable(int.class,int.class)).isTrue();
+		assertThat(MapperUtil.isPrimitiveAssignable(byte.class,short.class)).isTrue();
+		assertThat(MapperUtil.isPrimitiveAssignable(short.class,double.class)).isTrue();
+		assertThat(MapperUtil.isPrimitiveAssignable(char.class,int.class)).isTrue();
+		assertThat(MapperUtil.isPrimitiveAssignable(long.class,float.class)).isTrue();
+		assertThat(MapperUtil.isPrimitiveAssignable(boolean.class,boolean.class)).isTrue();
+		assertThat(MapperUtil.isPrimitiveAssignable(long.class,int.class)).isFalse();
+		assertThat(MapperUtil.isPrimitiveAssignable(char.class,short.class)).isFalse();
+		assertThat(MapperUtil.isPrimitiveAssignable(byte.class,char.class)).isFalse();
+		assertThat(MapperUtil.isPrimitiveAssignable(boolean.class,int.class)).isFalse();
+		assertThat(MapperUtil.isPrimitiveAssignable(Integer.class,int.class)).isFalse();
+		assertThat(MapperUtil.isPrimitiveAssignable(int.class,Integer.class)).isFalse();
+	}
+
 }
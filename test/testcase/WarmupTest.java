@@ -0,0 +1,91 @@
+package testcase;
+
+import es.utils.mapper.Mapper;
+import es.utils.mapper.WarmupOptions;
+import es.utils.mapper.WarmupReport;
+import es.utils.mapper.exception.MappingException;
+import es.utils.mapper.holder.FieldHolder;
+import from.FromGraph;
+import from.FromPlan;
+import from.SpecificTestCaseFrom;
+import org.junit.jupiter.api.Test;
+import to.ToGraph;
+import to.ToPlan;
+import to.SpecificTestCaseTo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WarmupTest {
+
+	@Test
+	public void shouldPrepareAllTheMappings() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromGraph.class, ToGraph.class);
+		mapper.add(FromPlan.class, ToPlan.class);
+		WarmupReport report = mapper.warmUp();
+		assertThat(report.getScannedTypes()).isEqualTo(4);
+		assertThat(report.getActivatedMappings()).isEqualTo(2);
+		assertThat(report.getSampleMappings()).isEqualTo(0L);
+		assertThat(report.getTotalNanos()).isEqualTo(report.getFieldScanNanos()+report.getActivationNanos()+report.getSampleMappingNanos());
+		Map<String,FieldHolder> fields = mapper.getFieldsHolderFromCache(ToPlan.class);
+		assertThat(fields.containsKey("label")).isTrue();
+	}
+	@Test
+	public void shouldRunSampleMappings() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromGraph.class, ToGraph.class);
+		mapper.add(FromPlan.class, ToPlan.class);
+		WarmupReport report = mapper.build(new WarmupOptions().sampleMappings(10));
+		assertThat(report.getSampleMappings()).isEqualTo(20L);
+		assertThat(report.getFailedSampleMappings()).isEmpty();
+	}
+	@Test
+	public void shouldReportUnmappedFields() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromPlan.class, ToPlan.class);
+		WarmupReport report = mapper.warmUp();
+		assertThat(report.getUnmappedFields()).contains("The field \"graph\" of "+ToPlan.class+" is not mapped from "+FromPlan.class);
+		mapper.add(FromGraph.class, ToGraph.class);
+		report = mapper.warmUp();
+		assertThat(report.getUnmappedFields()).containsExactly("The field \"label\" of "+ToPlan.class+" is not mapped from "+FromPlan.class);
+	}
+	@Test
+	public void shouldNotReportIgnoredFields() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromGraph.class, ToGraph.class);
+		mapper.addForClass(FromPlan.class, ToPlan.class).ignoreOutputs("label");
+		WarmupReport report = mapper.build(new WarmupOptions().validate());
+		assertThat(report.getUnmappedFields()).isEmpty();
+	}
+	@Test
+	public void shouldFailOnUnmappedFields() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(FromPlan.class, ToPlan.class);
+		MappingException exception = assertThrows(MappingException.class, ()->mapper.build(new WarmupOptions().failOnUnmappedFields()));
+		assertThat(exception.getMessage()).contains("The field \"label\" of "+ToPlan.class);
+	}
+	@Test
+	public void shouldFailOnAmbiguousFields() throws MappingException {
+		Mapper mapper = new Mapper();
+		mapper.add(SpecificTestCaseFrom.class, SpecificTestCaseTo.class);
+		PrintStream originalErr = System.err;
+		System.setErr(new PrintStream(new ByteArrayOutputStream()));
+		try {
+			MappingException exception = assertThrows(MappingException.class, ()->mapper.build(new WarmupOptions().failOnAmbiguousFields()));
+			assertThat(exception.getMessage()).contains("At least two fields in "+SpecificTestCaseFrom.class+" have the same name or alias \"string\"");
+			assertThat(mapper.warmUp().getAmbiguousFields()).hasSize(1);
+		} finally {
+			System.setErr(originalErr);
+		}
+	}
+	@Test
+	public void shouldRejectNegativeSampleMappings() {
+		assertThrows(IllegalArgumentException.class, ()->new WarmupOptions().sampleMappings(-1));
+	}
+
+}
@@ -0,0 +1,53 @@
+package to;
+
+import java.util.Date;
+
+public class ToBuilderPerson {
+
+	private final String name;
+	private final Integer age;
+	private final Date date;
+
+	private ToBuilderPerson(Builder builder) {
+		this.name = builder.name;
+		this.age = builder.age;
+		this.date = builder.date;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public String getName() {
+		return name;
+	}
+	public Integer getAge() {
+		return age;
+	}
+	public Date getDate() {
+		return date;
+	}
+
+	public static class Builder {
+		private String name;
+		private Integer age = -1;
+		private Date date;
+
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+		public Builder age(Integer age) {
+			this.age = age;
+			return this;
+		}
+		public Builder date(Date date) {
+			this.date = date;
+			return this;
+		}
+		public ToBuilderPerson build() {
+			return new ToBuilderPerson(this);
+		}
+	}
+
+}
@@ -0,0 +1,32 @@
+package to;
+
+import from.FromGraph;
+
+import java.util.Date;
+import java.util.Map;
+
+public class ToDeepCopy {
+
+    private String name;
+    private Date date;
+    private int[] values;
+    private Map<String,Date> dates;
+    private FromGraph node;
+
+    public String getName() {
+        return name;
+    }
+    public Date getDate() {
+        return date;
+    }
+    public int[] getValues() {
+        return values;
+    }
+    public Map<String,Date> getDates() {
+        return dates;
+    }
+    public FromGraph getNode() {
+        return node;
+    }
+
+}
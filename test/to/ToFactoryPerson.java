@@ -0,0 +1,30 @@
+package to;
+
+public class ToFactoryPerson {
+
+	private final String name;
+	private final Integer age;
+	private Long months;
+
+	private ToFactoryPerson(String name, Integer age) {
+		this.name = name;
+		this.age = age;
+	}
+
+	public static ToFactoryPerson of(String name, Integer age, Long months) {
+		ToFactoryPerson person = new ToFactoryPerson(name,age);
+		person.months = months;
+		return person;
+	}
+
+	public String getName() {
+		return name;
+	}
+	public Integer getAge() {
+		return age;
+	}
+	public Long getMonths() {
+		return months;
+	}
+
+}
@@ -0,0 +1,25 @@
+package to;
+
+import java.util.List;
+
+public class ToGraph {
+
+    private String name;
+    private ToGraph next;
+    private ToGraph other;
+    private List<ToGraph> children;
+
+    public String getName() {
+        return name;
+    }
+    public ToGraph getNext() {
+        return next;
+    }
+    public ToGraph getOther() {
+        return other;
+    }
+    public List<ToGraph> getChildren() {
+        return children;
+    }
+
+}
@@ -0,0 +1,27 @@
+package to;
+
+import java.util.Date;
+
+public class ToImmutablePerson {
+
+	private final String name;
+	private final int age;
+	private final Date date;
+
+	public ToImmutablePerson(String name, int age, Date date) {
+		this.name = name;
+		this.age = age;
+		this.date = date;
+	}
+
+	public String getName() {
+		return name;
+	}
+	public int getAge() {
+		return age;
+	}
+	public Date getDate() {
+		return date;
+	}
+
+}
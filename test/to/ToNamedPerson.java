@@ -0,0 +1,23 @@
+package to;
+
+import java.beans.ConstructorProperties;
+
+public class ToNamedPerson {
+
+	private final String name;
+	private final String surname;
+
+	@ConstructorProperties({"surname","name"})
+	public ToNamedPerson(String surname, String name) {
+		this.surname = surname;
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+	public String getSurname() {
+		return surname;
+	}
+
+}
@@ -0,0 +1,34 @@
+package to;
+
+import java.util.List;
+
+public class ToPlan {
+
+    private int count;
+    private Integer boxedCount;
+    private String name;
+    private List<String> tags;
+    private ToGraph graph;
+    private Object[] codes;
+    private String label;
+
+    public int getCount() {
+        return count;
+    }
+    public Integer getBoxedCount() {
+        return boxedCount;
+    }
+    public String getName() {
+        return name;
+    }
+    public ToGraph getGraph() {
+        return graph;
+    }
+    public String getLabel() {
+        return label;
+    }
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+}
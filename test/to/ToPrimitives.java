@@ -0,0 +1,67 @@
+package to;
+
+public class ToPrimitives {
+
+    private boolean booleanValue;
+    private byte byteValue;
+    private short shortValue;
+    private char charValue;
+    private int intValue;
+    private long longValue;
+    private float floatValue;
+    private double doubleValue;
+
+    private long intToLong;
+    private double floatToDouble;
+    private int charToInt;
+    private int longToInt;
+
+    public boolean isBooleanValue() {
+        return booleanValue;
+    }
+
+    public byte getByteValue() {
+        return byteValue;
+    }
+
+    public short getShortValue() {
+        return shortValue;
+    }
+
+    public char getCharValue() {
+        return charValue;
+    }
+
+    public int getIntValue() {
+        return intValue;
+    }
+
+    public long getLongValue() {
+        return longValue;
+    }
+
+    public float getFloatValue() {
+        return floatValue;
+    }
+
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    public long getIntToLong() {
+        return intToLong;
+    }
+
+    public double getFloatToDouble() {
+        return floatToDouble;
+    }
+
+    public int getCharToInt() {
+        return charToInt;
+    }
+
+    public int getLongToInt() {
+        return longToInt;
+    }
+
+}
@@ -0,0 +1,21 @@
+package to;
+
+import java.util.Date;
+
+public class ToSelectiveCopy {
+
+    private Date copied;
+    private Date shared;
+    private int[] values;
+
+    public Date getCopied() {
+        return copied;
+    }
+    public Date getShared() {
+        return shared;
+    }
+    public int[] getValues() {
+        return values;
+    }
+
+}
@@ -0,0 +1,27 @@
+package to;
+
+import es.utils.mapper.annotation.DeepCopy;
+import from.FromGraph;
+
+import java.util.Date;
+import java.util.Map;
+
+@DeepCopy(ignoreAllExceptFields="date")
+public class ToSelectiveDeepCopy {
+
+    private String name;
+    private Date date;
+    private Map<String,Date> dates;
+    private FromGraph node;
+
+    public Date getDate() {
+        return date;
+    }
+    public Map<String,Date> getDates() {
+        return dates;
+    }
+    public FromGraph getNode() {
+        return node;
+    }
+
+}
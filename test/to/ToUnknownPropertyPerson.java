@@ -0,0 +1,23 @@
+package to;
+
+import java.beans.ConstructorProperties;
+
+public class ToUnknownPropertyPerson {
+
+	private final String name;
+	private final Integer age;
+
+	@ConstructorProperties({"name","years"})
+	public ToUnknownPropertyPerson(String name, Integer age) {
+		this.name = name;
+		this.age = age;
+	}
+
+	public String getName() {
+		return name;
+	}
+	public Integer getAge() {
+		return age;
+	}
+
+}
@@ -0,0 +1,20 @@
+package to;
+
+public class ToUnnamedPerson {
+
+	private final String name;
+	private final String surname;
+
+	public ToUnnamedPerson(String surname, String name) {
+		this.surname = surname;
+		this.name = name;
+	}
+
+	public String getName() {
+		return name;
+	}
+	public String getSurname() {
+		return surname;
+	}
+
+}